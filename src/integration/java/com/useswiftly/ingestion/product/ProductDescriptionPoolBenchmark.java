@@ -0,0 +1,114 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.product.fields.ProductDescriptionField;
+import com.useswiftly.ingestion.records.StringPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.useswiftly.ingestion.product.TestRecordContexts.FIXED_POINT_ROUNDING;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FORMAT;
+
+/**
+ * JMH benchmarking class used to check that a {@link StringPool} shared by
+ * parsing threads doesn't slow down decoding of the product description
+ * column. Several threads decode the same descriptions with a shared pool
+ * and without a pool. With few distinct descriptions nearly every lookup is a
+ * hit, and with more distinct descriptions than slots nearly every lookup is
+ * a miss that stores to a slot other threads are reading.
+ */
+@State(Scope.Benchmark)
+public class ProductDescriptionPoolBenchmark {
+    private static final int ROWS = 65_536;
+    private static final int WIDTH = 59;
+    private static final int THREADS = 4;
+
+    @Param({"1024", "65536"})
+    private int distinctDescriptions;
+
+    private ByteBuffer buffer;
+    private ProductDescriptionField pooledField;
+    private ProductDescriptionField unpooledField;
+
+    @State(Scope.Thread)
+    public static class ThreadRecord {
+        private final ProductRecord record = new ProductRecordImpl(
+                new ProductRecordContext(null, FORMAT, FIXED_POINT_ROUNDING));
+    }
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(59L);
+        final StringBuilder builder = new StringBuilder(ROWS * WIDTH);
+
+        for (int i = 0; i < ROWS; i++) {
+            final String description = String.format("Product description %06d",
+                    random.nextInt(distinctDescriptions));
+            builder.append(String.format("%-" + WIDTH + "s", description));
+        }
+
+        this.buffer = ByteBuffer.allocateDirect(builder.length());
+        this.buffer.put(builder.toString().getBytes(StandardCharsets.US_ASCII));
+        this.pooledField = new ProductDescriptionField(new StringPool(StringPool.DEFAULT_CAPACITY));
+        this.unpooledField = new ProductDescriptionField();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(ROWS)
+    @Threads(THREADS)
+    public void pooled(final ThreadRecord state, final Blackhole blackhole) {
+        decode(pooledField, state.record, blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(ROWS)
+    @Threads(THREADS)
+    public void unpooled(final ThreadRecord state, final Blackhole blackhole) {
+        decode(unpooledField, state.record, blackhole);
+    }
+
+    private void decode(final ProductDescriptionField field,
+                        final ProductRecord record,
+                        final Blackhole blackhole) {
+        for (int offset = 0; offset < ROWS * WIDTH; offset += WIDTH) {
+            field.convertAndAssignValueToRecord(buffer, offset, offset + WIDTH, record);
+            blackhole.consume(record.getProductDescription());
+        }
+    }
+
+    private static void runBenchmarks() throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(ProductDescriptionPoolBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Test
+    public void benchmarks() throws RunnerException {
+        runBenchmarks();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmarks();
+    }
+}
@@ -0,0 +1,118 @@
+package com.useswiftly.ingestion.product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * JMH benchmarking class used to compare looking up rows by product ID in a
+ * {@link ProductIdIndex} against a {@link HashMap} keyed by the
+ * {@link BigInteger} product IDs of records.
+ */
+@State(Scope.Benchmark)
+public class ProductIdIndexBenchmark {
+    private static final int PRODUCTS = 1_000_000;
+    private static final int LOOKUPS = 4096;
+
+    private ProductIdIndex index;
+    private Map<BigInteger, Integer> map;
+    private long[] productIds;
+    private BigInteger[] boxedProductIds;
+    private int[] rows;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(17L);
+        final ProductIdIndex.Builder builder = new ProductIdIndex.Builder(PRODUCTS);
+        final long[] indexed = new long[PRODUCTS];
+
+        this.map = new HashMap<>(PRODUCTS * 2);
+
+        for (int row = 0; row < PRODUCTS; row++) {
+            final long productId = 10_000_000L + random.nextInt(89_999_999);
+            indexed[row] = productId;
+            builder.put(productId, row);
+            map.putIfAbsent(BigInteger.valueOf(productId), row);
+        }
+
+        this.index = builder.build();
+        this.productIds = new long[LOOKUPS];
+        this.boxedProductIds = new BigInteger[LOOKUPS];
+        this.rows = new int[LOOKUPS];
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            // Three quarters of the lookups find a product
+            productIds[i] = i % 4 == 0 ?
+                    random.nextInt(10_000_000) : indexed[random.nextInt(PRODUCTS)];
+            boxedProductIds[i] = BigInteger.valueOf(productIds[i]);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(LOOKUPS)
+    public void productIdIndex(final Blackhole blackhole) {
+        for (long productId : productIds) {
+            blackhole.consume(index.get(productId));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(LOOKUPS)
+    public void productIdIndexBulk(final Blackhole blackhole) {
+        index.getAll(productIds, rows);
+        blackhole.consume(rows);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(LOOKUPS)
+    public void hashMap(final Blackhole blackhole) {
+        for (BigInteger productId : boxedProductIds) {
+            blackhole.consume(map.get(productId));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(LOOKUPS)
+    public void hashMapFromLong(final Blackhole blackhole) {
+        for (long productId : productIds) {
+            blackhole.consume(map.get(BigInteger.valueOf(productId)));
+        }
+    }
+
+    private static void runBenchmarks() throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(ProductIdIndexBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Test
+    public void benchmarks() throws RunnerException {
+        runBenchmarks();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmarks();
+    }
+}
@@ -0,0 +1,128 @@
+package com.useswiftly.ingestion.product;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.format.CurrencyStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryRounding;
+import javax.money.RoundingQueryBuilder;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * JMH benchmarking class used to compare reading the derived prices of a
+ * {@link ProductRecordImpl} repeatedly, as the formatter and toString() do,
+ * when they are memoized against when they are recomputed. Setting a price
+ * field clears the memoized prices, so the recomputed benchmarks measure the
+ * cost of every access before memoization.
+ */
+@State(Scope.Benchmark)
+public class ProductRecordImplBenchmark {
+    private static final CurrencyUnit CURRENCY = Monetary.getCurrency("USD");
+    private static final MonetaryAmountFormat FORMAT = MonetaryFormats.getAmountFormat(
+            AmountFormatQueryBuilder.of(Locale.US).set(CurrencyStyle.SYMBOL).build());
+    private static final MonetaryRounding ROUNDING = Monetary.getRounding(
+            RoundingQueryBuilder.of()
+                    .setScale(4)
+                    .set(RoundingMode.HALF_DOWN).build());
+
+    /**
+     * Number of times each derived price is read per record.
+     */
+    private static final int READS = 3;
+
+    private ProductRecordImpl record;
+    private MonetaryAmount regularSplitPrice;
+    private MonetaryAmount promotionalSingularPrice;
+
+    @Setup
+    public void setup() {
+        this.regularSplitPrice = FastMoney.of(13.00, CURRENCY);
+        this.promotionalSingularPrice = FastMoney.of(5.49, CURRENCY);
+        this.record = new ProductRecordImpl(null, FORMAT, ROUNDING)
+                .setRegularSingularPrice(FastMoney.zero(CURRENCY))
+                .setRegularSplitPrice(regularSplitPrice)
+                .setRegularForX(BigInteger.valueOf(2L))
+                .setPromotionalSingularPrice(promotionalSingularPrice)
+                .setPromotionalSplitPrice(FastMoney.zero(CURRENCY))
+                .setPromotionalForX(BigInteger.ZERO);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void memoized(final Blackhole blackhole) {
+        readDerivedPrices(blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void recomputed(final Blackhole blackhole) {
+        for (int i = 0; i < READS; i++) {
+            invalidate();
+            blackhole.consume(record.regularDisplayPrice());
+            invalidate();
+            blackhole.consume(record.calculateRegularCalculatorPrice());
+            invalidate();
+            blackhole.consume(record.promotionalDisplayPrice());
+            invalidate();
+            blackhole.consume(record.calculatePromotionalCalculatorPrice());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void recomputedOncePerRecord(final Blackhole blackhole) {
+        invalidate();
+        readDerivedPrices(blackhole);
+    }
+
+    private void readDerivedPrices(final Blackhole blackhole) {
+        for (int i = 0; i < READS; i++) {
+            blackhole.consume(record.regularDisplayPrice());
+            blackhole.consume(record.calculateRegularCalculatorPrice());
+            blackhole.consume(record.promotionalDisplayPrice());
+            blackhole.consume(record.calculatePromotionalCalculatorPrice());
+        }
+    }
+
+    private void invalidate() {
+        record.setRegularSplitPrice(regularSplitPrice);
+        record.setPromotionalSingularPrice(promotionalSingularPrice);
+    }
+
+    private static void runBenchmarks() throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(ProductRecordImplBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Test
+    public void benchmarks() throws RunnerException {
+        runBenchmarks();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmarks();
+    }
+}
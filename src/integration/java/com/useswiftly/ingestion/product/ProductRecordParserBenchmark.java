@@ -0,0 +1,111 @@
+package com.useswiftly.ingestion.product;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.useswiftly.ingestion.product.app.ProductRecordIngestorModule;
+import com.useswiftly.ingestion.records.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JMH benchmarking class used to compare parsing product record lines from
+ * bytes with the field list compiled into a single decoder against looping
+ * over the field list, and against a compiled parser that only decodes the
+ * product ID and flags.
+ */
+@State(Scope.Benchmark)
+public class ProductRecordParserBenchmark {
+    private static final String LINE =
+            "14963801 Generic Soda 12-pack                                        00000000 00000549 00001300 00000000 00000002 00000000 NNNNYNNNN   12x12oz";
+    private static final int LINES = 1024;
+
+    private ByteBuffer buffer;
+    private int recordSize;
+    private ProductRecordParser compiled;
+    private ProductRecordParser interpreted;
+    private ProductRecordParser projected;
+
+    @Setup
+    public void setup() {
+        final Injector injector = Guice.createInjector(new ProductRecordIngestorModule());
+        final List<Field<?, ProductRecord>> fields = injector.getInstance(
+                Key.get(new TypeLiteral<List<Field<?, ProductRecord>>>() {}));
+        final Charset charset = injector.getInstance(Charset.class);
+
+        this.compiled = new ProductRecordParser(fields,
+                injector.getInstance(ProductRecordFactory.class), charset, true);
+        this.interpreted = new ProductRecordParser(fields,
+                injector.getInstance(ProductRecordFactory.class), charset, false);
+        this.projected = compiled.project(Set.of("Product ID", "Flags"));
+        this.recordSize = LINE.length();
+        this.buffer = ByteBuffer.allocateDirect(recordSize * LINES);
+
+        for (int i = 0; i < LINES; i++) {
+            buffer.put(LINE.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(LINES)
+    public void compiled(final Blackhole blackhole) {
+        for (int offset = 0; offset < recordSize * LINES; offset += recordSize) {
+            blackhole.consume(compiled.apply(buffer, offset, offset + recordSize));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(LINES)
+    public void interpreted(final Blackhole blackhole) {
+        for (int offset = 0; offset < recordSize * LINES; offset += recordSize) {
+            blackhole.consume(interpreted.apply(buffer, offset, offset + recordSize));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(LINES)
+    public void projected(final Blackhole blackhole) {
+        for (int offset = 0; offset < recordSize * LINES; offset += recordSize) {
+            blackhole.consume(projected.apply(buffer, offset, offset + recordSize));
+        }
+    }
+
+    private static void runBenchmarks() throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(ProductRecordParserBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Test
+    public void benchmarks() throws RunnerException {
+        runBenchmarks();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmarks();
+    }
+}
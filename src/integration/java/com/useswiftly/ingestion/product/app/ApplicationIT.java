@@ -1,17 +1,36 @@
 package com.useswiftly.ingestion.product.app;
 
 import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
 import com.useswiftly.ingestion.product.ProductRecord;
+import com.useswiftly.ingestion.product.ProductRecordFileParser;
 import com.useswiftly.ingestion.product.ProductRecordFlags;
+import com.useswiftly.ingestion.product.ProductRecordPredicates;
+import com.useswiftly.ingestion.product.ProductRecordTable;
+import com.useswiftly.ingestion.records.FixedWidthRecordReader;
+import com.useswiftly.ingestion.records.RecordFormattable;
+import com.useswiftly.ingestion.records.RecordLayout;
+import com.useswiftly.ingestion.records.RecordPredicate;
 import org.javamoney.moneta.FastMoney;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import javax.money.CurrencyUnit;
+import java.io.StringWriter;
 import java.math.BigInteger;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -120,4 +139,256 @@ public class ApplicationIT {
             Assert.assertEquals(actual, expected);
         }
     }
+
+    public void canParseExampleTestFileMemoryMapped() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample.txt").toURI());
+
+        try (Stream<ProductRecord> stream = Application.parseMappedPathForRecordsData(recordsFile)) {
+            final List<ProductRecord> actual =  stream.collect(
+                    Collectors.toUnmodifiableList());
+
+            Assert.assertEquals(actual, expectedSampleRecords());
+        }
+    }
+
+    public void canParseTestFileWithEmptyLinesMemoryMapped() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample-with-empty-lines.txt").toURI());
+
+        try (Stream<ProductRecord> stream = Application.parseMappedPathForRecordsData(recordsFile)) {
+            final List<ProductRecord> actual =  stream.collect(
+                    Collectors.toUnmodifiableList());
+
+            Assert.assertEquals(actual, expectedSampleRecords());
+        }
+    }
+
+    public void canParseExampleTestFileAsFixedWidthInParallel() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample.txt").toURI());
+        final ProductRecordFileParser parser =
+                Application.injector.getInstance(ProductRecordFileParser.class);
+
+        try (Stream<ProductRecord> stream = parser.parse(recordsFile, RecordLayout.FIXED_WIDTH)) {
+            final List<ProductRecord> actual =  stream.parallel().collect(
+                    Collectors.toUnmodifiableList());
+
+            Assert.assertEquals(actual, expectedSampleRecords());
+        }
+    }
+
+    public void canParseExampleTestFileLazily() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample.txt").toURI());
+        final ProductRecordFileParser parser =
+                Application.injector.getInstance(ProductRecordFileParser.class);
+        final List<ProductRecord> expected = expectedSampleRecords();
+
+        try (Stream<ProductRecord> stream = parser.parseLazily(recordsFile, RecordLayout.FIXED_WIDTH)) {
+            final List<ProductRecord> actual =  stream.collect(
+                    Collectors.toUnmodifiableList());
+
+            Assert.assertEquals(actual.size(), expected.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals(actual.get(i).toString().replace("LazyProductRecord", ""),
+                        expected.get(i).toString().replace("PrimitiveProductRecordImpl", ""));
+                Assert.assertEquals(actual.get(i).regularDisplayPrice(),
+                        expected.get(i).regularDisplayPrice());
+                Assert.assertEquals(actual.get(i).promotionalDisplayPrice(),
+                        expected.get(i).promotionalDisplayPrice());
+            }
+        }
+    }
+
+    public void canCollectExampleTestFileIntoTable() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample.txt").toURI());
+        final ProductRecordFileParser parser =
+                Application.injector.getInstance(ProductRecordFileParser.class);
+        final List<ProductRecord> expected = expectedSampleRecords();
+
+        try (Stream<ProductRecord> stream = parser.parse(recordsFile, RecordLayout.FIXED_WIDTH)) {
+            final ProductRecordTable table = Application.injector
+                    .getInstance(ProductRecordTable.Builder.class)
+                    .addAll(stream)
+                    .build();
+
+            Assert.assertEquals(table.size(), expected.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals(table.get(i).toRecord(), expected.get(i));
+                Assert.assertEquals(table.get(i).regularDisplayPrice(),
+                        expected.get(i).regularDisplayPrice());
+            }
+        }
+    }
+
+    public void canFilterExampleTestFileBeforeDecoding() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample.txt").toURI());
+        final ProductRecordFileParser parser =
+                Application.injector.getInstance(ProductRecordFileParser.class);
+        final ProductRecordPredicates predicates =
+                Application.injector.getInstance(ProductRecordPredicates.class);
+        final List<ProductRecord> expected = expectedSampleRecords();
+
+        final RecordPredicate taxable = predicates.taxable();
+        final RecordPredicate promoted = predicates.hasPromotionalPrice();
+        final RecordPredicate idRange = predicates.productIdBetween(40_000_000L, 60_000_000L);
+
+        for (RecordLayout layout : RecordLayout.values()) {
+            try (Stream<ProductRecord> stream = parser.parse(recordsFile, layout, taxable)) {
+                Assert.assertEquals(stream.parallel().collect(Collectors.toList()),
+                        expected.stream().filter(r -> r.getFlags().isTaxableItem())
+                                .collect(Collectors.toList()), layout.name());
+            }
+
+            try (Stream<ProductRecord> stream = parser.parse(recordsFile, layout, promoted.or(idRange))) {
+                Assert.assertEquals(stream.collect(Collectors.toList()),
+                        expected.stream().filter(r -> !r.getPromotionalSingularPrice().isZero()
+                                || !r.getPromotionalSplitPrice().isZero()
+                                || (r.getProductIdAsLong() >= 40_000_000L
+                                && r.getProductIdAsLong() <= 60_000_000L))
+                                .collect(Collectors.toList()), layout.name());
+            }
+        }
+    }
+
+    public void canLookUpRecordsOfSortedExampleTestFile() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample.txt").toURI());
+        final ProductRecordFileParser parser =
+                Application.injector.getInstance(ProductRecordFileParser.class);
+        final List<ProductRecord> expected = new ArrayList<>(expectedSampleRecords());
+        expected.sort(Comparator.comparingLong(ProductRecord::getProductIdAsLong));
+
+        // The sample file isn't sorted, so sort its lines by product ID
+        final Path sortedFile = Files.createTempFile("input-sample-sorted", ".txt");
+        final List<String> lines = Files.readAllLines(recordsFile, StandardCharsets.US_ASCII);
+        lines.sort(Comparator.comparing(line -> line.substring(0, 8)));
+        Files.write(sortedFile, lines, StandardCharsets.US_ASCII);
+
+        try (FixedWidthRecordReader<ProductRecord> reader = parser.openRandomAccess(sortedFile)) {
+            Assert.assertEquals(reader.size(), expected.size());
+            Assert.assertEquals(reader.get(expected.size() - 1), expected.get(expected.size() - 1));
+            Assert.assertEquals(reader.range(1L, 3L).collect(Collectors.toList()), expected.subList(1, 3));
+
+            for (ProductRecord record : expected) {
+                Assert.assertEquals(reader.find(record.getProductIdAsLong()).orElseThrow(), record);
+            }
+
+            Assert.assertFalse(reader.find(12345678L).isPresent());
+        } finally {
+            Files.deleteIfExists(sortedFile);
+        }
+    }
+
+    public void canDecodeOnlyProjectedFieldsOfExampleTestFile() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample.txt").toURI());
+        final ProductRecordFileParser parser = Application.injector
+                .getInstance(ProductRecordFileParser.class)
+                .project(Set.of("Product ID", "Flags"));
+        final RecordPredicate promoted = Application.injector
+                .getInstance(ProductRecordPredicates.class).hasPromotionalPrice();
+        final List<ProductRecord> expected = expectedSampleRecords();
+
+        try (Stream<ProductRecord> stream = parser.parse(recordsFile, RecordLayout.FIXED_WIDTH, promoted)) {
+            final List<ProductRecord> actual = stream.collect(Collectors.toList());
+
+            Assert.assertEquals(actual.size(), 2);
+            Assert.assertEquals(actual.get(0).getProductId(), expected.get(1).getProductId());
+            Assert.assertEquals(actual.get(1).getFlags(), expected.get(2).getFlags());
+            Assert.assertNull(actual.get(0).getPromotionalSingularPrice());
+            Assert.assertNull(actual.get(1).getProductDescription());
+        }
+
+        final Set<BigInteger> productIds = ConcurrentHashMap.newKeySet();
+        parser.forEachReusing(recordsFile, RecordLayout.DELIMITED, true, record -> {
+            Assert.assertNull(record.getProductSize());
+            productIds.add(record.getProductId());
+        });
+
+        Assert.assertEquals(productIds, expected.stream()
+                .map(ProductRecord::getProductId)
+                .collect(Collectors.toSet()));
+    }
+
+    public void canParseExampleTestFileReusingRecords() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample-with-empty-lines.txt").toURI());
+        final ProductRecordFileParser parser =
+                Application.injector.getInstance(ProductRecordFileParser.class);
+        final List<String> expected = expectedSampleRecords().stream()
+                .map(ProductRecord::toString)
+                .collect(Collectors.toList());
+        final List<String> actual = new ArrayList<>();
+        final Set<ProductRecord> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        parser.forEachReusing(recordsFile, record -> {
+            actual.add(record.toString());
+            instances.add(record);
+        });
+
+        Assert.assertEquals(actual, expected);
+        Assert.assertEquals(instances.size(), 1);
+    }
+
+    public void canParseExampleTestFileReusingRecordsInParallel() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample.txt").toURI());
+        final ProductRecordFileParser parser =
+                Application.injector.getInstance(ProductRecordFileParser.class);
+        final Set<String> expected = expectedSampleRecords().stream()
+                .map(ProductRecord::toString)
+                .collect(Collectors.toSet());
+        final Set<String> actual = ConcurrentHashMap.newKeySet();
+
+        parser.forEachReusing(recordsFile, RecordLayout.FIXED_WIDTH, true,
+                record -> actual.add(record.toString()));
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void canRunPipelineOnExampleTestFile() throws Exception {
+        final Path recordsFile = Paths.get(ClassLoader.getSystemResource(
+                "input-sample-with-empty-lines.txt").toURI());
+        final IngestionPipeline pipeline =
+                Application.injector.getInstance(IngestionPipeline.class);
+        final RecordFormattable<ProductRecord> formatter = Application.injector.getInstance(
+                Key.get(new TypeLiteral<RecordFormattable<ProductRecord>>() {}));
+        final StringWriter output = new StringWriter();
+
+        try (ReadableByteChannel source = Application.openChannelForRecordsData(recordsFile.toString())) {
+            Assert.assertEquals(pipeline.run(source, output), 4L);
+        }
+
+        final String expected = expectedSampleRecords().stream()
+                .map(record -> formatter.format(record) + System.lineSeparator())
+                .collect(Collectors.joining());
+
+        Assert.assertEquals(output.toString(), expected);
+    }
+
+    private List<ProductRecord> expectedSampleRecords() {
+        final ProductRecordFlags marlboroFlags = new ProductRecordFlags();
+        marlboroFlags.setFlagAtPosition(0, true);
+
+        return List.of(
+                instance(80000001, "Kimchi-flavored white rice", 5.67,
+                        0, 0, 0, 0, 0,
+                        false, false, "18oz"),
+                instance(14963801, "Generic Soda 12-pack", 0,
+                        5.49, 13.00, 0, 2, 0,
+                        false, true, "12x12oz"),
+                instance(40123401, "Marlboro Cigarettes", 10.00, 5.49,
+                        0, 0, 0, 0,
+                        marlboroFlags, null),
+                instance(50133333, "Fuji Apples (Organic)", 3.49, 0,
+                        0, 0, 0, 0, true,
+                        false, "lb")
+        );
+    }
 }
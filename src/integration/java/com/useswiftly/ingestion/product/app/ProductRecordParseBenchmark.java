@@ -26,11 +26,15 @@ import java.util.stream.Stream;
  * JMH benchmarking class used to assess the performance of parsing product
  * records. The key interesting comparison here is the difference in performance
  * between single threaded stream parsing and multi-threaded stream parsing.
+ * Parallel parsing of a {@link java.io.BufferedReader} stream is limited by the
+ * single iterator that hands out batches of lines, so it is compared against a
+ * memory mapped stream that splits the file by byte offset.
  */
 @State(Scope.Benchmark)
 public class ProductRecordParseBenchmark {
     private Path recordsFile;
     private Stream<ProductRecord> stream;
+    private Stream<ProductRecord> mappedStream;
 
     @Setup(Level.Invocation)
     public void setup() throws IOException {
@@ -43,11 +47,13 @@ public class ProductRecordParseBenchmark {
         }
 
         this.stream = Application.parsePathForRecordsData(recordsFile);
+        this.mappedStream = Application.parseMappedPathForRecordsData(recordsFile);
     }
 
     @TearDown(Level.Invocation)
     public void tearDown() {
         this.stream.close();
+        this.mappedStream.close();
     }
 
     @Benchmark
@@ -67,6 +73,23 @@ public class ProductRecordParseBenchmark {
                 .count();
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public long mappedSingleThreaded(final Blackhole blackhole) {
+        return mappedStream
+                .peek(blackhole::consume)
+                .count();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public long mappedParallelStream(final Blackhole blackhole) {
+        return mappedStream
+                .parallel()
+                .peek(blackhole::consume)
+                .count();
+    }
+
     private static void runBenchmarks() throws RunnerException {
         final Options opt = new OptionsBuilder()
                 .include(ProductRecordParseBenchmark.class.getSimpleName())
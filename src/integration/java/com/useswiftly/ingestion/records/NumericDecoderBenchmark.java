@@ -0,0 +1,106 @@
+package com.useswiftly.ingestion.records;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * JMH benchmarking class used to compare decoding of the eight character
+ * numeric columns of the product record data file. SWAR decoding of a single
+ * word is compared against decoding one byte at a time and against the
+ * original approach of creating a substring and passing it to
+ * {@link BigInteger#BigInteger(String)}.
+ */
+@State(Scope.Benchmark)
+public class NumericDecoderBenchmark {
+    private static final int VALUES = 1024;
+    private static final int WIDTH = 8;
+
+    private ByteBuffer buffer;
+    private String text;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(8L);
+        final StringBuilder builder = new StringBuilder(VALUES * WIDTH);
+
+        for (int i = 0; i < VALUES; i++) {
+            builder.append(String.format("%08d", random.nextInt(100_000_000)));
+        }
+
+        this.text = builder.toString();
+        this.buffer = ByteBuffer.allocateDirect(text.length());
+        this.buffer.put(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(VALUES)
+    public long swarBytes() {
+        long sum = 0L;
+
+        for (int offset = 0; offset < VALUES * WIDTH; offset += WIDTH) {
+            sum += NumericDecoder.parseLong(buffer, offset, offset + WIDTH);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(VALUES)
+    public long scalarBytes() {
+        long sum = 0L;
+
+        for (int offset = 0; offset < VALUES * WIDTH; offset += WIDTH) {
+            sum += NumericDecoder.parseLongScalar(buffer, offset, offset + WIDTH);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OperationsPerInvocation(VALUES)
+    public long substringBigInteger() {
+        long sum = 0L;
+
+        for (int offset = 0; offset < VALUES * WIDTH; offset += WIDTH) {
+            sum += new BigInteger(text.substring(offset, offset + WIDTH)).longValue();
+        }
+
+        return sum;
+    }
+
+    private static void runBenchmarks() throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(NumericDecoderBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Test
+    public void benchmarks() throws RunnerException {
+        runBenchmarks();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmarks();
+    }
+}
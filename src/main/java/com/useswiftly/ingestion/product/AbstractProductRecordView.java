@@ -0,0 +1,423 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.FixedPointMoney;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Read-only {@link ProductRecord} view over a row of primitive values held by
+ * a record container. Subclasses only read the raw values of their row; this
+ * class converts them to the {@link ProductRecord} types and applies the same
+ * pricing rules as {@link PrimitiveProductRecordImpl}. All setters throw
+ * {@link UnsupportedOperationException}.
+ */
+abstract class AbstractProductRecordView implements ProductRecord {
+    /**
+     * Raw value of a product ID or price that is not set.
+     */
+    static final long UNSET_LONG = Long.MIN_VALUE;
+
+    /**
+     * Raw value of a for X quantity that is not set.
+     */
+    static final int UNSET_INT = Integer.MIN_VALUE;
+
+    /**
+     * Raw value of flags that are not set.
+     */
+    static final short UNSET_FLAGS = -1;
+
+    /**
+     * @return index of this row within its container or -1 if the record
+     *         doesn't belong to a container
+     */
+    public abstract int getIndex();
+
+    /**
+     * @return mutable copy of this row that doesn't refer to its container
+     */
+    @NotNull
+    public PrimitiveProductRecordImpl toRecord() {
+        final PrimitiveProductRecordImpl record = pricing().newRecord();
+        final long productId = productIdValue();
+
+        if (productId != UNSET_LONG) {
+            record.setProductIdAsLong(productId);
+        }
+
+        record.setProductDescription(getProductDescription())
+                .setRegularSingularPrice(getRegularSingularPrice())
+                .setPromotionalSingularPrice(getPromotionalSingularPrice())
+                .setRegularSplitPrice(getRegularSplitPrice())
+                .setPromotionalSplitPrice(getPromotionalSplitPrice());
+
+        if (regularForXValue() != UNSET_INT) {
+            record.setRegularForXAsInt(regularForXValue());
+        }
+
+        if (promotionalForXValue() != UNSET_INT) {
+            record.setPromotionalForXAsInt(promotionalForXValue());
+        }
+
+        return record.setFlags(getFlags())
+                .setProductSize(getProductSize());
+    }
+
+    /*
+     * Raw values of the row.
+     */
+
+    protected abstract long productIdValue();
+
+    protected abstract long regularSingularValue();
+
+    protected abstract long promotionalSingularValue();
+
+    protected abstract long regularSplitValue();
+
+    protected abstract long promotionalSplitValue();
+
+    protected abstract int regularForXValue();
+
+    protected abstract int promotionalForXValue();
+
+    protected abstract short flagsValue();
+
+    /**
+     * @return currency of all prices of the row
+     */
+    protected abstract CurrencyUnit currency();
+
+    /**
+     * @return record whose pricing rules and dependencies are applied to the row
+     */
+    protected abstract PrimitiveProductRecordImpl pricing();
+
+    @Override
+    @Nullable
+    public BigInteger getProductId() {
+        final long productId = productIdValue();
+        return productId == UNSET_LONG ? null : BigInteger.valueOf(productId);
+    }
+
+    @Override
+    public long getProductIdAsLong() {
+        final long productId = productIdValue();
+
+        if (productId == UNSET_LONG) {
+            throw new IllegalStateException("Product ID is not set");
+        }
+
+        return productId;
+    }
+
+    @Override
+    public ProductRecord setProductId(@Nullable final BigInteger productId) {
+        throw readOnly();
+    }
+
+    @Override
+    public ProductRecord setProductIdAsLong(final long productId) {
+        throw readOnly();
+    }
+
+    @Override
+    public ProductRecord setProductDescription(@Nullable final String productDescription) {
+        throw readOnly();
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getRegularSingularPrice() {
+        return toMonetaryAmount(price(regularSingularValue()));
+    }
+
+    @Override
+    public ProductRecord setRegularSingularPrice(@Nullable final MonetaryAmount regularSingularPrice) {
+        throw readOnly();
+    }
+
+    @Override
+    public ProductRecord setRegularSingularPriceInCents(final long cents, @NotNull final CurrencyUnit currency) {
+        throw readOnly();
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getPromotionalSingularPrice() {
+        return toMonetaryAmount(price(promotionalSingularValue()));
+    }
+
+    @Override
+    public ProductRecord setPromotionalSingularPrice(@Nullable final MonetaryAmount promotionalSingularPrice) {
+        throw readOnly();
+    }
+
+    @Override
+    public ProductRecord setPromotionalSingularPriceInCents(final long cents, @NotNull final CurrencyUnit currency) {
+        throw readOnly();
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getRegularSplitPrice() {
+        return toMonetaryAmount(price(regularSplitValue()));
+    }
+
+    @Override
+    public ProductRecord setRegularSplitPrice(@Nullable final MonetaryAmount regularSplitPrice) {
+        throw readOnly();
+    }
+
+    @Override
+    public ProductRecord setRegularSplitPriceInCents(final long cents, @NotNull final CurrencyUnit currency) {
+        throw readOnly();
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getPromotionalSplitPrice() {
+        return toMonetaryAmount(price(promotionalSplitValue()));
+    }
+
+    @Override
+    public ProductRecord setPromotionalSplitPrice(@Nullable final MonetaryAmount promotionalSplitPrice) {
+        throw readOnly();
+    }
+
+    @Override
+    public ProductRecord setPromotionalSplitPriceInCents(final long cents, @NotNull final CurrencyUnit currency) {
+        throw readOnly();
+    }
+
+    @Override
+    @Nullable
+    public BigInteger getRegularForX() {
+        final int forX = regularForXValue();
+        return forX == UNSET_INT ? null : BigInteger.valueOf(forX);
+    }
+
+    @Override
+    public int getRegularForXAsInt() {
+        final int forX = regularForXValue();
+
+        if (forX == UNSET_INT) {
+            throw new IllegalStateException("Regular for X is not set");
+        }
+
+        return forX;
+    }
+
+    @Override
+    public ProductRecord setRegularForX(@Nullable final BigInteger regularForX) {
+        throw readOnly();
+    }
+
+    @Override
+    public ProductRecord setRegularForXAsInt(final int regularForX) {
+        throw readOnly();
+    }
+
+    @Override
+    @Nullable
+    public BigInteger getPromotionalForX() {
+        final int forX = promotionalForXValue();
+        return forX == UNSET_INT ? null : BigInteger.valueOf(forX);
+    }
+
+    @Override
+    public int getPromotionalForXAsInt() {
+        final int forX = promotionalForXValue();
+
+        if (forX == UNSET_INT) {
+            throw new IllegalStateException("Promotional for X is not set");
+        }
+
+        return forX;
+    }
+
+    @Override
+    public ProductRecord setPromotionalForX(@Nullable final BigInteger promotionalForX) {
+        throw readOnly();
+    }
+
+    @Override
+    public ProductRecord setPromotionalForXAsInt(final int promotionalForX) {
+        throw readOnly();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return shared immutable flags instance or null if not set
+     */
+    @Override
+    @Nullable
+    public ProductRecordFlags getFlags() {
+        final short mask = flagsValue();
+        return mask == UNSET_FLAGS ? null : ProductRecordFlags.valueOf(mask);
+    }
+
+    @Override
+    public ProductRecord setFlags(@Nullable final ProductRecordFlags flags) {
+        throw readOnly();
+    }
+
+    @Override
+    public ProductRecord setProductSize(@Nullable final String productSize) {
+        throw readOnly();
+    }
+
+    @Override
+    @NotNull
+    public String regularDisplayPrice() {
+        return pricing().computeDisplayPrice(price(regularSingularValue()),
+                price(regularSplitValue()), regularForXValue());
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount calculateRegularCalculatorPrice() {
+        return toMonetaryAmount(pricing().computeCalculatorPrice(price(regularSingularValue()),
+                price(regularSplitValue()), regularForXValue()));
+    }
+
+    @Override
+    @NotNull
+    public String promotionalDisplayPrice() {
+        return pricing().computeDisplayPrice(price(promotionalSingularValue()),
+                price(promotionalSplitValue()), promotionalForXValue());
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount calculatePromotionalCalculatorPrice() {
+        return toMonetaryAmount(pricing().computeCalculatorPrice(price(promotionalSingularValue()),
+                price(promotionalSplitValue()), promotionalForXValue()));
+    }
+
+    @Override
+    @Nullable
+    public UnitOfMeasure deriveUnitOfMeasure() {
+        final FlagRuleTable flagRules = pricing().getFlagRules();
+        return flagRules == null ? null : flagRules.lookupUnitOfMeasure(getFlags());
+    }
+
+    @Override
+    @Nullable
+    public BigDecimal calculateTaxRate() {
+        final FlagRuleTable flagRules = pricing().getFlagRules();
+        return flagRules == null ? null : flagRules.lookupTaxRate(getFlags());
+    }
+
+    @Override
+    public String toString() {
+        final StringJoiner joiner = new StringJoiner(", ", getClass().getSimpleName() + "[", "]");
+
+        if (getIndex() >= 0) {
+            joiner.add("index=" + getIndex());
+        }
+
+        return joiner.add("productId=" + getProductId())
+                .add("productDescription='" + getProductDescription() + "'")
+                .add("regularSingularPrice=" + getRegularSingularPrice())
+                .add("promotionalSingularPrice=" + getPromotionalSingularPrice())
+                .add("regularSplitPrice=" + getRegularSplitPrice())
+                .add("promotionalSplitPrice=" + getPromotionalSplitPrice())
+                .add("regularForX=" + getRegularForX())
+                .add("promotionalForX=" + getPromotionalForX())
+                .add("flags=" + getFlags())
+                .add("productSize='" + getProductSize() + "'")
+                .add("unitOfMeasure=" + deriveUnitOfMeasure())
+                .add("taxRate=" + calculateTaxRate())
+                .add("regularDisplayPrice=" + regularDisplayPrice())
+                .add("regularCalculatorPrice=" + calculateRegularCalculatorPrice())
+                .add("promotionalDisplayPrice=" + promotionalDisplayPrice())
+                .add("promotionalCalculatorPrice=" + calculatePromotionalCalculatorPrice())
+                .toString();
+    }
+
+    /**
+     * Views of the same type are equal when their rows have the same values,
+     * even if they belong to different containers.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final AbstractProductRecordView view = (AbstractProductRecordView) o;
+        return productIdValue() == view.productIdValue() &&
+                regularSingularValue() == view.regularSingularValue() &&
+                promotionalSingularValue() == view.promotionalSingularValue() &&
+                regularSplitValue() == view.regularSplitValue() &&
+                promotionalSplitValue() == view.promotionalSplitValue() &&
+                regularForXValue() == view.regularForXValue() &&
+                promotionalForXValue() == view.promotionalForXValue() &&
+                flagsValue() == view.flagsValue() &&
+                currency().equals(view.currency()) &&
+                Objects.equals(getProductDescription(), view.getProductDescription()) &&
+                Objects.equals(getProductSize(), view.getProductSize());
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(productIdValue(), getProductDescription(),
+                regularSingularValue(), promotionalSingularValue(),
+                regularSplitValue(), promotionalSplitValue(),
+                regularForXValue(), promotionalForXValue(), flagsValue(),
+                getProductSize());
+    }
+
+    /**
+     * Combines the raw values of a row in the same order as
+     * {@link Objects#hash(Object...)} without boxing them into an array.
+     */
+    static int hash(final long productId,
+                    @Nullable final String productDescription,
+                    final long regularSingularPrice,
+                    final long promotionalSingularPrice,
+                    final long regularSplitPrice,
+                    final long promotionalSplitPrice,
+                    final int regularForX,
+                    final int promotionalForX,
+                    final short flags,
+                    @Nullable final String productSize) {
+        int result = 1;
+        result = 31 * result + Long.hashCode(productId);
+        result = 31 * result + Objects.hashCode(productDescription);
+        result = 31 * result + Long.hashCode(regularSingularPrice);
+        result = 31 * result + Long.hashCode(promotionalSingularPrice);
+        result = 31 * result + Long.hashCode(regularSplitPrice);
+        result = 31 * result + Long.hashCode(promotionalSplitPrice);
+        result = 31 * result + regularForX;
+        result = 31 * result + promotionalForX;
+        result = 31 * result + flags;
+        result = 31 * result + Objects.hashCode(productSize);
+
+        return result;
+    }
+
+    @Nullable
+    private FixedPointMoney price(final long value) {
+        return value == UNSET_LONG ? null : FixedPointMoney.of(value, currency());
+    }
+
+    @Nullable
+    private static MonetaryAmount toMonetaryAmount(@Nullable final FixedPointMoney amount) {
+        return amount == null ? null : amount.toMonetaryAmount();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException(
+                "Product record views and immutable records are read-only - " +
+                "use toRecord() for a mutable copy");
+    }
+}
@@ -0,0 +1,190 @@
+package com.useswiftly.ingestion.product;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.money.CurrencyUnit;
+import java.util.Objects;
+
+/**
+ * Immutable {@link ProductRecord} that holds its values as the same primitive
+ * values as {@link ProductRecordTable} and {@link OffHeapProductRecordStore}
+ * rows. All fields are final and the hash code is computed once when the
+ * record is built, so records are safely published and can be shared by
+ * caches, indexes and parallel consumers without copying or locking. All
+ * setters throw {@link UnsupportedOperationException}; use
+ * {@link #toRecord()} for a mutable copy.
+ *
+ * <p>Records are created with a {@link Builder}, which is itself a mutable
+ * record that parsers fill in.</p>
+ */
+public final class ImmutableProductRecord extends AbstractProductRecordView {
+    private final long productId;
+    private final long regularSingularPrice;
+    private final long promotionalSingularPrice;
+    private final long regularSplitPrice;
+    private final long promotionalSplitPrice;
+    private final int regularForX;
+    private final int promotionalForX;
+    private final short flags;
+    private final int hash;
+    private final String productDescription;
+    private final String productSize;
+    private final CurrencyUnit currency;
+
+    /**
+     * Unchanging record whose pricing rules and dependencies are shared by
+     * all records of a builder.
+     */
+    private final PrimitiveProductRecordImpl pricing;
+
+    private ImmutableProductRecord(final ProductRowValues values,
+                                   final CurrencyUnit currency,
+                                   final PrimitiveProductRecordImpl pricing) {
+        this.productId = values.productId;
+        this.regularSingularPrice = values.regularSingularPrice;
+        this.promotionalSingularPrice = values.promotionalSingularPrice;
+        this.regularSplitPrice = values.regularSplitPrice;
+        this.promotionalSplitPrice = values.promotionalSplitPrice;
+        this.regularForX = values.regularForX;
+        this.promotionalForX = values.promotionalForX;
+        this.flags = values.flags;
+        this.productDescription = values.productDescription;
+        this.productSize = values.productSize;
+        this.currency = currency;
+        this.pricing = pricing;
+        this.hash = hash(productId, productDescription, regularSingularPrice,
+                promotionalSingularPrice, regularSplitPrice, promotionalSplitPrice,
+                regularForX, promotionalForX, flags, productSize);
+    }
+
+    /**
+     * @return always -1 because an immutable record doesn't belong to a container
+     */
+    @Override
+    public int getIndex() {
+        return -1;
+    }
+
+    @Override
+    @Nullable
+    public String getProductDescription() {
+        return productDescription;
+    }
+
+    @Override
+    @Nullable
+    public String getProductSize() {
+        return productSize;
+    }
+
+    @Override
+    protected long productIdValue() {
+        return productId;
+    }
+
+    @Override
+    protected long regularSingularValue() {
+        return regularSingularPrice;
+    }
+
+    @Override
+    protected long promotionalSingularValue() {
+        return promotionalSingularPrice;
+    }
+
+    @Override
+    protected long regularSplitValue() {
+        return regularSplitPrice;
+    }
+
+    @Override
+    protected long promotionalSplitValue() {
+        return promotionalSplitPrice;
+    }
+
+    @Override
+    protected int regularForXValue() {
+        return regularForX;
+    }
+
+    @Override
+    protected int promotionalForXValue() {
+        return promotionalForX;
+    }
+
+    @Override
+    protected short flagsValue() {
+        return flags;
+    }
+
+    @Override
+    protected CurrencyUnit currency() {
+        return currency;
+    }
+
+    @Override
+    protected PrimitiveProductRecordImpl pricing() {
+        return pricing;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ImmutableProductRecord)) return false;
+        return hash == ((ImmutableProductRecord) o).hash && super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Mutable record that parsers fill in and that creates
+     * {@link ImmutableProductRecord} instances from its current values. A
+     * builder can be filled in and built any number of times. All records
+     * built by a builder share its dependencies and a single currency.
+     * Builders are not thread safe.
+     */
+    public static class Builder extends PrimitiveProductRecordImpl {
+        private final CurrencyUnit currency;
+        private final PrimitiveProductRecordImpl pricing;
+        private final ProductRowValues values;
+
+        @Inject
+        public Builder(@NotNull final ProductRecordContext context,
+                       @NotNull final CurrencyUnit currency) {
+            super(context);
+            this.currency = Objects.requireNonNull(currency, "currency");
+            this.pricing = new PrimitiveProductRecordImpl(context);
+            this.values = new ProductRowValues(currency);
+        }
+
+        /**
+         * @return new immutable record with the current values of this builder
+         * @throws IllegalArgumentException thrown if a price has a different
+         *                                  currency than the builder
+         */
+        @NotNull
+        public ImmutableProductRecord build() {
+            return build(this);
+        }
+
+        /**
+         * Creates an immutable copy of a record without changing the values
+         * of this builder.
+         *
+         * @param record record to copy
+         * @return new immutable record with the values of the record
+         * @throws IllegalArgumentException thrown if a price has a different
+         *                                  currency than the builder or a value can't be stored
+         */
+        @NotNull
+        public ImmutableProductRecord build(@NotNull final ProductRecord record) {
+            values.readFrom(record);
+            return new ImmutableProductRecord(values, currency, pricing);
+        }
+    }
+}
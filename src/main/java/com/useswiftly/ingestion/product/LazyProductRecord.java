@@ -0,0 +1,431 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.records.Field;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.StringJoiner;
+
+/**
+ * Product record that is a view over the raw bytes of a record line. Each
+ * field is decoded from the line the first time it is accessed and is then
+ * cached in a backing record, so consumers that only read a few fields don't
+ * pay to decode and allocate the others.
+ *
+ * <p>Because decoding is deferred, a {@link com.useswiftly.ingestion.records.RecordParseException}
+ * for an invalid field is thrown by the first method that accesses the field
+ * rather than when the record is created. The record holds a reference to the
+ * source buffer until {@link #detach()} is called, so the contents of the
+ * buffer must not change while the record is in use. Instances are not thread
+ * safe.</p>
+ */
+@SuppressWarnings("UnusedReturnValue")
+public class LazyProductRecord implements ProductRecord {
+    /**
+     * Fields of a product record that can be decoded lazily identified by the
+     * name returned by {@link Field#getName()}.
+     */
+    enum Slot {
+        PRODUCT_ID("Product ID"),
+        PRODUCT_DESCRIPTION("Product Description"),
+        REGULAR_SINGULAR_PRICE("Regular Singular Price"),
+        PROMOTIONAL_SINGULAR_PRICE("Promotional Singular Price"),
+        REGULAR_SPLIT_PRICE("Regular Split Price"),
+        PROMOTIONAL_SPLIT_PRICE("Promotional Split Price"),
+        REGULAR_FOR_X("Regular For X"),
+        PROMOTIONAL_FOR_X("Promotional For X"),
+        FLAGS("Flags"),
+        PRODUCT_SIZE("Product Size");
+
+        private final String fieldName;
+
+        Slot(final String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        @Nullable
+        static Slot forFieldName(final String fieldName) {
+            for (Slot slot : values()) {
+                if (slot.fieldName.equals(fieldName)) {
+                    return slot;
+                }
+            }
+
+            return null;
+        }
+
+        private int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    private static final int ALL_DECODED = (1 << Slot.values().length) - 1;
+    private static final int REGULAR_PRICE_SLOTS = Slot.REGULAR_SINGULAR_PRICE.bit()
+            | Slot.REGULAR_SPLIT_PRICE.bit() | Slot.REGULAR_FOR_X.bit();
+    private static final int PROMOTIONAL_PRICE_SLOTS = Slot.PROMOTIONAL_SINGULAR_PRICE.bit()
+            | Slot.PROMOTIONAL_SPLIT_PRICE.bit() | Slot.PROMOTIONAL_FOR_X.bit();
+
+    /**
+     * Fields indexed by {@link Slot#ordinal()}. Slots without a field are
+     * never decoded.
+     */
+    private final Field<?, ProductRecord>[] fieldsBySlot;
+
+    /**
+     * Record that decoded fields are assigned to and business logic is
+     * delegated to.
+     */
+    private final ProductRecord decoded;
+
+    @Nullable
+    private ByteBuffer source;
+    private final int lineStart;
+
+    /**
+     * Bitmask of slots that have been decoded or set.
+     */
+    private int decodedSlots;
+
+    LazyProductRecord(@NotNull final Field<?, ProductRecord>[] fieldsBySlot,
+                      @NotNull final ProductRecord decoded,
+                      @NotNull final ByteBuffer source,
+                      final int lineStart) {
+        this.fieldsBySlot = fieldsBySlot;
+        this.decoded = decoded;
+        this.source = source;
+        this.lineStart = lineStart;
+    }
+
+    /**
+     * Decodes all remaining fields and releases the reference to the source
+     * buffer.
+     *
+     * @return this instance
+     */
+    public LazyProductRecord detach() {
+        decode(ALL_DECODED);
+        source = null;
+        return this;
+    }
+
+    /**
+     * @return true if the specified slot has been decoded or set
+     */
+    boolean isDecoded(final Slot slot) {
+        return (decodedSlots & slot.bit()) != 0;
+    }
+
+    private void decode(final Slot slot) {
+        if ((decodedSlots & slot.bit()) == 0) {
+            decode(slot.bit());
+        }
+    }
+
+    private void decode(final int slots) {
+        final int pending = slots & ~decodedSlots;
+
+        if (pending == 0 || source == null) {
+            return;
+        }
+
+        for (Slot slot : Slot.values()) {
+            if ((pending & slot.bit()) == 0) {
+                continue;
+            }
+
+            final Field<?, ProductRecord> field = fieldsBySlot[slot.ordinal()];
+
+            if (field != null) {
+                field.convertAndAssignValueToRecord(source,
+                        lineStart + field.getStartPositionInclusive(),
+                        lineStart + field.getEndPositionExclusive(), decoded);
+            }
+
+            decodedSlots |= slot.bit();
+        }
+    }
+
+    private LazyProductRecord assigned(final Slot slot) {
+        decodedSlots |= slot.bit();
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public BigInteger getProductId() {
+        decode(Slot.PRODUCT_ID);
+        return decoded.getProductId();
+    }
+
+    @Override
+    public LazyProductRecord setProductId(@Nullable final BigInteger productId) {
+        decoded.setProductId(productId);
+        return assigned(Slot.PRODUCT_ID);
+    }
+
+    @Override
+    public long getProductIdAsLong() {
+        decode(Slot.PRODUCT_ID);
+        return decoded.getProductIdAsLong();
+    }
+
+    @Override
+    public LazyProductRecord setProductIdAsLong(final long productId) {
+        decoded.setProductIdAsLong(productId);
+        return assigned(Slot.PRODUCT_ID);
+    }
+
+    @Override
+    @Nullable
+    public String getProductDescription() {
+        decode(Slot.PRODUCT_DESCRIPTION);
+        return decoded.getProductDescription();
+    }
+
+    @Override
+    public LazyProductRecord setProductDescription(@Nullable final String productDescription) {
+        decoded.setProductDescription(productDescription);
+        return assigned(Slot.PRODUCT_DESCRIPTION);
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getRegularSingularPrice() {
+        decode(Slot.REGULAR_SINGULAR_PRICE);
+        return decoded.getRegularSingularPrice();
+    }
+
+    @Override
+    public LazyProductRecord setRegularSingularPrice(@Nullable final MonetaryAmount regularSingularPrice) {
+        decoded.setRegularSingularPrice(regularSingularPrice);
+        return assigned(Slot.REGULAR_SINGULAR_PRICE);
+    }
+
+    @Override
+    public LazyProductRecord setRegularSingularPriceInCents(final long cents,
+                                                            @NotNull final CurrencyUnit currency) {
+        decoded.setRegularSingularPriceInCents(cents, currency);
+        return assigned(Slot.REGULAR_SINGULAR_PRICE);
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getPromotionalSingularPrice() {
+        decode(Slot.PROMOTIONAL_SINGULAR_PRICE);
+        return decoded.getPromotionalSingularPrice();
+    }
+
+    @Override
+    public LazyProductRecord setPromotionalSingularPrice(@Nullable final MonetaryAmount promotionalSingularPrice) {
+        decoded.setPromotionalSingularPrice(promotionalSingularPrice);
+        return assigned(Slot.PROMOTIONAL_SINGULAR_PRICE);
+    }
+
+    @Override
+    public LazyProductRecord setPromotionalSingularPriceInCents(final long cents,
+                                                                @NotNull final CurrencyUnit currency) {
+        decoded.setPromotionalSingularPriceInCents(cents, currency);
+        return assigned(Slot.PROMOTIONAL_SINGULAR_PRICE);
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getRegularSplitPrice() {
+        decode(Slot.REGULAR_SPLIT_PRICE);
+        return decoded.getRegularSplitPrice();
+    }
+
+    @Override
+    public LazyProductRecord setRegularSplitPrice(@Nullable final MonetaryAmount regularSplitPrice) {
+        decoded.setRegularSplitPrice(regularSplitPrice);
+        return assigned(Slot.REGULAR_SPLIT_PRICE);
+    }
+
+    @Override
+    public LazyProductRecord setRegularSplitPriceInCents(final long cents,
+                                                         @NotNull final CurrencyUnit currency) {
+        decoded.setRegularSplitPriceInCents(cents, currency);
+        return assigned(Slot.REGULAR_SPLIT_PRICE);
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getPromotionalSplitPrice() {
+        decode(Slot.PROMOTIONAL_SPLIT_PRICE);
+        return decoded.getPromotionalSplitPrice();
+    }
+
+    @Override
+    public LazyProductRecord setPromotionalSplitPrice(@Nullable final MonetaryAmount promotionalSplitPrice) {
+        decoded.setPromotionalSplitPrice(promotionalSplitPrice);
+        return assigned(Slot.PROMOTIONAL_SPLIT_PRICE);
+    }
+
+    @Override
+    public LazyProductRecord setPromotionalSplitPriceInCents(final long cents,
+                                                             @NotNull final CurrencyUnit currency) {
+        decoded.setPromotionalSplitPriceInCents(cents, currency);
+        return assigned(Slot.PROMOTIONAL_SPLIT_PRICE);
+    }
+
+    @Override
+    @Nullable
+    public BigInteger getRegularForX() {
+        decode(Slot.REGULAR_FOR_X);
+        return decoded.getRegularForX();
+    }
+
+    @Override
+    public LazyProductRecord setRegularForX(@Nullable final BigInteger regularForX) {
+        decoded.setRegularForX(regularForX);
+        return assigned(Slot.REGULAR_FOR_X);
+    }
+
+    @Override
+    public int getRegularForXAsInt() {
+        decode(Slot.REGULAR_FOR_X);
+        return decoded.getRegularForXAsInt();
+    }
+
+    @Override
+    public LazyProductRecord setRegularForXAsInt(final int regularForX) {
+        decoded.setRegularForXAsInt(regularForX);
+        return assigned(Slot.REGULAR_FOR_X);
+    }
+
+    @Override
+    @Nullable
+    public BigInteger getPromotionalForX() {
+        decode(Slot.PROMOTIONAL_FOR_X);
+        return decoded.getPromotionalForX();
+    }
+
+    @Override
+    public LazyProductRecord setPromotionalForX(@Nullable final BigInteger promotionalForX) {
+        decoded.setPromotionalForX(promotionalForX);
+        return assigned(Slot.PROMOTIONAL_FOR_X);
+    }
+
+    @Override
+    public int getPromotionalForXAsInt() {
+        decode(Slot.PROMOTIONAL_FOR_X);
+        return decoded.getPromotionalForXAsInt();
+    }
+
+    @Override
+    public LazyProductRecord setPromotionalForXAsInt(final int promotionalForX) {
+        decoded.setPromotionalForXAsInt(promotionalForX);
+        return assigned(Slot.PROMOTIONAL_FOR_X);
+    }
+
+    @Override
+    @Nullable
+    public ProductRecordFlags getFlags() {
+        decode(Slot.FLAGS);
+        return decoded.getFlags();
+    }
+
+    @Override
+    public LazyProductRecord setFlags(@Nullable final ProductRecordFlags flags) {
+        decoded.setFlags(flags);
+        return assigned(Slot.FLAGS);
+    }
+
+    @Override
+    @Nullable
+    public String getProductSize() {
+        decode(Slot.PRODUCT_SIZE);
+        return decoded.getProductSize();
+    }
+
+    @Override
+    public LazyProductRecord setProductSize(@Nullable final String productSize) {
+        decoded.setProductSize(productSize);
+        return assigned(Slot.PRODUCT_SIZE);
+    }
+
+    @Override
+    @NotNull
+    public String regularDisplayPrice() {
+        decode(REGULAR_PRICE_SLOTS);
+        return decoded.regularDisplayPrice();
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount calculateRegularCalculatorPrice() {
+        decode(REGULAR_PRICE_SLOTS);
+        return decoded.calculateRegularCalculatorPrice();
+    }
+
+    @Override
+    @Nullable
+    public String promotionalDisplayPrice() {
+        decode(PROMOTIONAL_PRICE_SLOTS);
+        return decoded.promotionalDisplayPrice();
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount calculatePromotionalCalculatorPrice() {
+        decode(PROMOTIONAL_PRICE_SLOTS);
+        return decoded.calculatePromotionalCalculatorPrice();
+    }
+
+    @Override
+    @Nullable
+    public UnitOfMeasure deriveUnitOfMeasure() {
+        decode(Slot.FLAGS);
+        return decoded.deriveUnitOfMeasure();
+    }
+
+    @Override
+    @Nullable
+    public BigDecimal calculateTaxRate() {
+        decode(Slot.FLAGS);
+        return decoded.calculateTaxRate();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final LazyProductRecord record = (LazyProductRecord) o;
+        decode(ALL_DECODED);
+        record.decode(ALL_DECODED);
+        return decoded.equals(record.decoded);
+    }
+
+    @Override
+    public int hashCode() {
+        decode(ALL_DECODED);
+        return decoded.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", LazyProductRecord.class.getSimpleName() + "[", "]")
+                .add("productId=" + getProductId())
+                .add("productDescription='" + getProductDescription() + "'")
+                .add("regularSingularPrice=" + getRegularSingularPrice())
+                .add("promotionalSingularPrice=" + getPromotionalSingularPrice())
+                .add("regularSplitPrice=" + getRegularSplitPrice())
+                .add("promotionalSplitPrice=" + getPromotionalSplitPrice())
+                .add("regularForX=" + getRegularForX())
+                .add("promotionalForX=" + getPromotionalForX())
+                .add("flags=" + getFlags())
+                .add("productSize='" + getProductSize() + "'")
+                .add("unitOfMeasure=" + deriveUnitOfMeasure())
+                .add("taxRate=" + calculateTaxRate())
+                .add("regularDisplayPrice=" + regularDisplayPrice())
+                .add("regularCalculatorPrice=" + calculateRegularCalculatorPrice())
+                .add("promotionalDisplayPrice=" + promotionalDisplayPrice())
+                .add("promotionalCalculatorPrice=" + calculatePromotionalCalculatorPrice())
+                .toString();
+    }
+}
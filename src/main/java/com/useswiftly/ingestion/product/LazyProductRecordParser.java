@@ -0,0 +1,99 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.records.Field;
+import com.useswiftly.ingestion.records.RecordBytesParser;
+import com.useswiftly.ingestion.records.RecordParseException;
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Inject;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Creates {@link LazyProductRecord} views over record lines. Only the length
+ * of the line is validated up front; fields are decoded when accessed.
+ */
+public class LazyProductRecordParser implements RecordBytesParser<ProductRecord> {
+    /**
+     * Fields indexed by {@link LazyProductRecord.Slot#ordinal()}.
+     */
+    private final Field<?, ProductRecord>[] fieldsBySlot;
+
+    /**
+     * Total size in characters of a single line in the record data file.
+     */
+    private final int recordSize;
+
+    /**
+     * Factory of the records that fields are decoded into.
+     */
+    private final ProductRecordFactory recordFactory;
+
+    /**
+     * Character set used to decode lines for error messages.
+     */
+    private final Charset charset;
+
+    @Inject
+    @SuppressWarnings("unchecked")
+    public LazyProductRecordParser(final List<Field<?, ProductRecord>> fieldsToParse,
+                                   final ProductRecordFactory recordFactory,
+                                   final Charset charset) {
+        this.fieldsBySlot = (Field<?, ProductRecord>[]) new Field<?, ?>[LazyProductRecord.Slot.values().length];
+        int recordSize = 0;
+
+        for (Field<?, ProductRecord> field : fieldsToParse) {
+            final LazyProductRecord.Slot slot = LazyProductRecord.Slot.forFieldName(field.getName());
+
+            if (slot == null) {
+                String msg = String.format("Field [%s] can't be decoded lazily " +
+                        "because it isn't a known product record field", field.getName());
+                throw new IllegalArgumentException(msg);
+            }
+
+            fieldsBySlot[slot.ordinal()] = field;
+            recordSize = Math.max(recordSize, field.getEndPositionExclusive());
+        }
+
+        this.recordSize = recordSize;
+        this.recordFactory = recordFactory;
+        this.charset = charset;
+    }
+
+    /**
+     * @return total size in characters of a single record line
+     */
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned record refers to the source buffer and decodes fields
+     * from it when they are first accessed.</p>
+     */
+    @Override
+    public LazyProductRecord apply(@NotNull final ByteBuffer source,
+                                   final int startInclusive,
+                                   final int endExclusive) {
+        final int length = endExclusive - startInclusive;
+
+        if (length != recordSize) {
+            final byte[] line = new byte[length];
+
+            for (int i = 0; i < length; i++) {
+                line[i] = source.get(startInclusive + i);
+            }
+
+            String msg = String.format("Expected a record length of [%d], " +
+                            "actual length of record was [%d] characters. Line contents:\n%s",
+                    recordSize, length, new String(line, charset));
+            throw new RecordParseException(msg);
+        }
+
+        return new LazyProductRecord(fieldsBySlot, recordFactory.newRecord(),
+                source, startInclusive);
+    }
+}
@@ -0,0 +1,632 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.product.fields.ProductDescriptionField;
+import com.useswiftly.ingestion.product.fields.ProductSizeField;
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.Field;
+import com.useswiftly.ingestion.records.FixedPointRounding;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.money.CurrencyUnit;
+import javax.money.format.MonetaryAmountFormat;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Append-only store of product records kept outside of the Java heap. Each
+ * record is written as a fixed-size binary row into segments that are either
+ * direct {@link ByteBuffer}s or regions of a memory-mapped scratch file, so
+ * the heap cost per record is close to zero and the garbage collector never
+ * scans the records.
+ *
+ * <p>Rows have the following layout in native byte order:</p>
+ * <pre>
+ *   0  product ID                  long
+ *   8  regular singular price      long (FixedPointMoney unscaled value)
+ *  16  promotional singular price  long
+ *  24  regular split price         long
+ *  32  promotional split price     long
+ *  40  regular for X               int
+ *  44  promotional for X           int
+ *  48  flags mask                  short
+ *  50  description length          short (-1 if null)
+ *  52  product size length         short (-1 if null)
+ *  54  description                 {@link #DESCRIPTION_BYTES} bytes of ISO-8859-1
+ * 113  product size                {@link #PRODUCT_SIZE_BYTES} bytes of ISO-8859-1
+ * </pre>
+ *
+ * <p>The text slots are as wide as the fields of the data file, so any value
+ * parsed from an ASCII or ISO-8859-1 data file fits. Text that can't be
+ * encoded as ISO-8859-1 can't be stored.</p>
+ *
+ * <p>Capacity is managed explicitly: {@link #ensureCapacity(int)} allocates
+ * whole segments up front and {@link #append(ProductRecord)} allocates one more
+ * segment when the store is full. {@link #close()} releases all segments to
+ * the garbage collector and deletes the scratch file, after which the store
+ * and its rows throw {@link IllegalStateException}. The memory of a segment
+ * is only freed once no reader refers to it, so a read that races with
+ * closing either completes or fails with that exception.</p>
+ *
+ * <p>Appending is not thread safe. Rows that have been appended can be read
+ * concurrently from any number of threads.</p>
+ */
+public class OffHeapProductRecordStore implements Iterable<ProductRecord>, Closeable {
+    /**
+     * Default size in bytes of each segment.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Maximum size in bytes of a description, the width of its field.
+     */
+    public static final int DESCRIPTION_BYTES = widthOf(new ProductDescriptionField());
+
+    /**
+     * Maximum size in bytes of a product size, the width of its field.
+     */
+    public static final int PRODUCT_SIZE_BYTES = widthOf(new ProductSizeField());
+
+    private static final int PRODUCT_ID_OFFSET = 0;
+    private static final int REGULAR_SINGULAR_PRICE_OFFSET = 8;
+    private static final int PROMOTIONAL_SINGULAR_PRICE_OFFSET = 16;
+    private static final int REGULAR_SPLIT_PRICE_OFFSET = 24;
+    private static final int PROMOTIONAL_SPLIT_PRICE_OFFSET = 32;
+    private static final int REGULAR_FOR_X_OFFSET = 40;
+    private static final int PROMOTIONAL_FOR_X_OFFSET = 44;
+    private static final int FLAGS_OFFSET = 48;
+    private static final int DESCRIPTION_LENGTH_OFFSET = 50;
+    private static final int PRODUCT_SIZE_LENGTH_OFFSET = 52;
+    private static final int DESCRIPTION_OFFSET = 54;
+    private static final int PRODUCT_SIZE_OFFSET = DESCRIPTION_OFFSET + DESCRIPTION_BYTES;
+
+    /**
+     * Size in bytes of a row, padded to a multiple of 8.
+     */
+    static final int ROW_SIZE = (PRODUCT_SIZE_OFFSET + PRODUCT_SIZE_BYTES + 7) & ~7;
+
+    private final CurrencyUnit currency;
+    private final PrimitiveProductRecordImpl pricing;
+    private final ProductRowValues values;
+
+    /**
+     * Rows per segment as a power of two so a row index splits into a segment
+     * and a position with a shift and a mask.
+     */
+    private final int segmentShift;
+    private final int rowMask;
+
+    /**
+     * Channel of the scratch file or null if segments are direct buffers.
+     */
+    private final FileChannel scratchChannel;
+    private final Path scratchFile;
+
+    private ByteBuffer[] segments = new ByteBuffer[0];
+    private volatile int size = 0;
+    private volatile boolean closed = false;
+
+    private OffHeapProductRecordStore(final Factory factory,
+                                      final int segmentSize,
+                                      @Nullable final Path scratchFile) throws IOException {
+        if (segmentSize < ROW_SIZE) {
+            String msg = String.format("Segment size must be at least %d - " +
+                    "Segment size [%d] value is invalid", ROW_SIZE, segmentSize);
+            throw new IllegalArgumentException(msg);
+        }
+
+        this.currency = factory.currency;
+        this.pricing = new PrimitiveProductRecordImpl(factory.context);
+        this.values = new ProductRowValues(currency);
+
+        final int rowsPerSegment = Integer.highestOneBit(segmentSize / ROW_SIZE);
+        this.segmentShift = Integer.numberOfTrailingZeros(rowsPerSegment);
+        this.rowMask = rowsPerSegment - 1;
+
+        this.scratchFile = scratchFile;
+        this.scratchChannel = scratchFile == null ? null : FileChannel.open(scratchFile,
+                StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    /**
+     * @return number of rows in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of rows that can be appended without allocating a segment
+     */
+    public int getCapacity() {
+        return (int)Math.min(Integer.MAX_VALUE, (long)segments.length << segmentShift);
+    }
+
+    /**
+     * @return number of bytes allocated outside of the heap
+     */
+    public long getAllocatedBytes() {
+        return ((long)segments.length << segmentShift) * ROW_SIZE;
+    }
+
+    /**
+     * @return currency of all prices in the store
+     */
+    @NotNull
+    public CurrencyUnit getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @return true if the store has been closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Allocates segments until the store can hold the given number of rows.
+     *
+     * @param capacity number of rows
+     * @throws UncheckedIOException thrown if the scratch file can't be extended
+     */
+    public void ensureCapacity(final int capacity) {
+        checkOpen();
+
+        final int segmentCount = (int)(((long)capacity + rowMask) >>> segmentShift);
+
+        if (segmentCount <= segments.length) {
+            return;
+        }
+
+        final ByteBuffer[] grown = Arrays.copyOf(segments, segmentCount);
+
+        for (int i = segments.length; i < segmentCount; i++) {
+            grown[i] = allocateSegment(i);
+        }
+
+        segments = grown;
+    }
+
+    /**
+     * Appends all records of a stream. If the stream reports its exact size,
+     * all segments are allocated up front.
+     *
+     * @param records records to append
+     * @return this instance
+     */
+    public OffHeapProductRecordStore appendAll(@NotNull final Stream<? extends ProductRecord> records) {
+        final Spliterator<? extends ProductRecord> spliterator = records.spliterator();
+        final long exactSize = spliterator.getExactSizeIfKnown();
+
+        if (exactSize > 0L) {
+            ensureCapacity(Math.addExact(size, Math.toIntExact(exactSize)));
+        }
+
+        spliterator.forEachRemaining(this::append);
+        return this;
+    }
+
+    /**
+     * Copies the values of a record into a new row.
+     *
+     * @param record record to append
+     * @return index of the new row
+     * @throws IllegalArgumentException thrown if a price has a different
+     *                                  currency than the store or a value can't be stored
+     */
+    public int append(@NotNull final ProductRecord record) {
+        checkOpen();
+        values.readFrom(record);
+
+        final byte[] description = encode(values.productDescription, DESCRIPTION_BYTES);
+        final byte[] productSize = encode(values.productSize, PRODUCT_SIZE_BYTES);
+
+        final int index = size;
+
+        if (index == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Store is full");
+        }
+
+        ensureCapacity(index + 1);
+
+        final ByteBuffer segment = segments[index >>> segmentShift];
+        final int row = (index & rowMask) * ROW_SIZE;
+
+        segment.putLong(row + PRODUCT_ID_OFFSET, values.productId);
+        segment.putLong(row + REGULAR_SINGULAR_PRICE_OFFSET, values.regularSingularPrice);
+        segment.putLong(row + PROMOTIONAL_SINGULAR_PRICE_OFFSET, values.promotionalSingularPrice);
+        segment.putLong(row + REGULAR_SPLIT_PRICE_OFFSET, values.regularSplitPrice);
+        segment.putLong(row + PROMOTIONAL_SPLIT_PRICE_OFFSET, values.promotionalSplitPrice);
+        segment.putInt(row + REGULAR_FOR_X_OFFSET, values.regularForX);
+        segment.putInt(row + PROMOTIONAL_FOR_X_OFFSET, values.promotionalForX);
+        segment.putShort(row + FLAGS_OFFSET, values.flags);
+        putString(segment, row + DESCRIPTION_LENGTH_OFFSET, row + DESCRIPTION_OFFSET, description);
+        putString(segment, row + PRODUCT_SIZE_LENGTH_OFFSET, row + PRODUCT_SIZE_OFFSET, productSize);
+
+        // Publishes the row to readers
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * @param index index of row
+     * @return read-only view of the row
+     * @throws IndexOutOfBoundsException thrown if the index is outside of the store
+     */
+    @NotNull
+    public Row get(final int index) {
+        checkOpen();
+        return new Row(Objects.checkIndex(index, size));
+    }
+
+    @NotNull
+    @Override
+    public Iterator<ProductRecord> iterator() {
+        checkOpen();
+        final int end = size;
+
+        return new Iterator<ProductRecord>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public ProductRecord next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+
+                return new Row(next++);
+            }
+        };
+    }
+
+    /**
+     * @return stream of views of the rows appended so far
+     */
+    @NotNull
+    public Stream<ProductRecord> stream() {
+        checkOpen();
+        return IntStream.range(0, size).mapToObj(Row::new);
+    }
+
+    /**
+     * Releases all segments and deletes the scratch file. Segments aren't
+     * freed eagerly, because a row that is read concurrently may still refer
+     * to one; their memory is reclaimed by the garbage collector instead.
+     * Rows of the store throw {@link IllegalStateException} afterwards.
+     *
+     * @throws IOException thrown if the scratch file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        segments = new ByteBuffer[0];
+        size = 0;
+
+        if (scratchChannel != null) {
+            scratchChannel.close();
+            Files.deleteIfExists(scratchFile);
+        }
+    }
+
+    /**
+     * @param index index of row, not checked against the size of the store
+     * @return raw product ID of the row
+     */
+    long productIdAt(final int index) {
+        return segmentOf(index).getLong(positionOf(index, rowMask) + PRODUCT_ID_OFFSET);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[size=%d, capacity=%d, scratchFile=%s, closed=%b]",
+                OffHeapProductRecordStore.class.getSimpleName(), size,
+                getCapacity(), scratchFile, closed);
+    }
+
+    private ByteBuffer allocateSegment(final int segmentIndex) {
+        final int segmentBytes = (rowMask + 1) * ROW_SIZE;
+        final ByteBuffer segment;
+
+        if (scratchChannel == null) {
+            segment = ByteBuffer.allocateDirect(segmentBytes);
+        } else {
+            try {
+                segment = scratchChannel.map(FileChannel.MapMode.READ_WRITE,
+                        (long)segmentIndex * segmentBytes, segmentBytes);
+            } catch (IOException e) {
+                String msg = String.format("Unable to extend scratch file [%s]", scratchFile);
+                throw new UncheckedIOException(msg, e);
+            }
+        }
+
+        return segment.order(ByteOrder.nativeOrder());
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Off-heap product record store is closed");
+        }
+    }
+
+    private ByteBuffer segmentOf(final int index) {
+        checkOpen();
+        final ByteBuffer[] current = segments;
+        final int segmentIndex = index >>> segmentShift;
+
+        // Rows only refer to allocated segments, so a missing one was released by close()
+        if (segmentIndex >= current.length) {
+            throw new IllegalStateException("Off-heap product record store is closed");
+        }
+
+        return current[segmentIndex];
+    }
+
+    private static int widthOf(final Field<?, ?> field) {
+        return field.getEndPositionExclusive() - field.getStartPositionInclusive();
+    }
+
+    private static int positionOf(final int index, final int rowMask) {
+        return (index & rowMask) * ROW_SIZE;
+    }
+
+    @Nullable
+    private static byte[] encode(@Nullable final String value, final int maxBytes) {
+        if (value == null) {
+            return null;
+        }
+
+        if (value.length() > maxBytes) {
+            String msg = String.format("Value [%s] is longer than the maximum " +
+                    "of [%d] bytes", value, maxBytes);
+            throw new IllegalArgumentException(msg);
+        }
+
+        final byte[] bytes = new byte[value.length()];
+
+        for (int i = 0; i < bytes.length; i++) {
+            final char c = value.charAt(i);
+
+            if (c > 0xFF) {
+                String msg = String.format("Value [%s] can't be stored because it " +
+                        "isn't ISO-8859-1 text", value);
+                throw new IllegalArgumentException(msg);
+            }
+
+            bytes[i] = (byte)c;
+        }
+
+        return bytes;
+    }
+
+    private static void putString(final ByteBuffer segment,
+                                  final int lengthPosition,
+                                  final int position,
+                                  @Nullable final byte[] bytes) {
+        if (bytes == null) {
+            segment.putShort(lengthPosition, (short)-1);
+            return;
+        }
+
+        segment.putShort(lengthPosition, (short)bytes.length);
+
+        for (int i = 0; i < bytes.length; i++) {
+            segment.put(position + i, bytes[i]);
+        }
+    }
+
+    @Nullable
+    private static String getString(final ByteBuffer segment,
+                                    final int lengthPosition,
+                                    final int position) {
+        final int length = segment.getShort(lengthPosition);
+
+        if (length < 0) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            bytes[i] = segment.get(position + i);
+        }
+
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Read-only {@link ProductRecord} view of a single row of the store. Views
+     * hold no copies of the row's values and must not be used after the store
+     * is closed.
+     */
+    public final class Row extends AbstractProductRecordView {
+        private final int index;
+
+        private Row(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        @Nullable
+        public String getProductDescription() {
+            final int row = positionOf(index, rowMask);
+            return getString(segmentOf(index), row + DESCRIPTION_LENGTH_OFFSET,
+                    row + DESCRIPTION_OFFSET);
+        }
+
+        @Override
+        @Nullable
+        public String getProductSize() {
+            final int row = positionOf(index, rowMask);
+            return getString(segmentOf(index), row + PRODUCT_SIZE_LENGTH_OFFSET,
+                    row + PRODUCT_SIZE_OFFSET);
+        }
+
+        @Override
+        protected long productIdValue() {
+            return segmentOf(index).getLong(positionOf(index, rowMask) + PRODUCT_ID_OFFSET);
+        }
+
+        @Override
+        protected long regularSingularValue() {
+            return segmentOf(index).getLong(positionOf(index, rowMask) + REGULAR_SINGULAR_PRICE_OFFSET);
+        }
+
+        @Override
+        protected long promotionalSingularValue() {
+            return segmentOf(index).getLong(positionOf(index, rowMask) + PROMOTIONAL_SINGULAR_PRICE_OFFSET);
+        }
+
+        @Override
+        protected long regularSplitValue() {
+            return segmentOf(index).getLong(positionOf(index, rowMask) + REGULAR_SPLIT_PRICE_OFFSET);
+        }
+
+        @Override
+        protected long promotionalSplitValue() {
+            return segmentOf(index).getLong(positionOf(index, rowMask) + PROMOTIONAL_SPLIT_PRICE_OFFSET);
+        }
+
+        @Override
+        protected int regularForXValue() {
+            return segmentOf(index).getInt(positionOf(index, rowMask) + REGULAR_FOR_X_OFFSET);
+        }
+
+        @Override
+        protected int promotionalForXValue() {
+            return segmentOf(index).getInt(positionOf(index, rowMask) + PROMOTIONAL_FOR_X_OFFSET);
+        }
+
+        @Override
+        protected short flagsValue() {
+            return segmentOf(index).getShort(positionOf(index, rowMask) + FLAGS_OFFSET);
+        }
+
+        @Override
+        protected CurrencyUnit currency() {
+            return currency;
+        }
+
+        @Override
+        protected PrimitiveProductRecordImpl pricing() {
+            return pricing;
+        }
+    }
+
+    /**
+     * Creates {@link OffHeapProductRecordStore} instances with the
+     * dependencies that their rows apply pricing rules with.
+     */
+    public static class Factory {
+        private final ProductRecordContext context;
+        private final CurrencyUnit currency;
+
+        public Factory(final FlagRuleTable flagRules,
+                       final MonetaryAmountFormat displayPriceFormat,
+                       final FixedPointRounding rounding,
+                       final CurrencyUnit currency) {
+            this(new ProductRecordContext(flagRules, displayPriceFormat, rounding), currency);
+        }
+
+        @Inject
+        public Factory(final ProductRecordContext context, final CurrencyUnit currency) {
+            this.context = Objects.requireNonNull(context, "context");
+            this.currency = Objects.requireNonNull(currency, "currency");
+        }
+
+        /**
+         * Creates a store whose segments are direct byte buffers.
+         *
+         * @param initialCapacity number of rows to allocate up front
+         * @param segmentSize maximum size in bytes of each segment
+         * @return new empty store
+         */
+        public OffHeapProductRecordStore allocateDirect(final int initialCapacity,
+                                                        final int segmentSize) {
+            try {
+                final OffHeapProductRecordStore store =
+                        new OffHeapProductRecordStore(this, segmentSize, null);
+                store.ensureCapacity(initialCapacity);
+                return store;
+            } catch (IOException e) {
+                // Only thrown when opening a scratch file
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Creates a store whose segments are direct byte buffers of the
+         * default size.
+         *
+         * @param initialCapacity number of rows to allocate up front
+         * @return new empty store
+         */
+        public OffHeapProductRecordStore allocateDirect(final int initialCapacity) {
+            return allocateDirect(initialCapacity, DEFAULT_SEGMENT_SIZE);
+        }
+
+        /**
+         * Creates a store whose segments are mapped from a new scratch file in
+         * the given directory. The operating system can page the rows out to
+         * the file, so the store can be larger than physical memory. The file
+         * is deleted when the store is closed, or as soon as it is opened on
+         * platforms that keep unlinked files open.
+         *
+         * @param directory directory to create the scratch file in
+         * @param initialCapacity number of rows to allocate up front
+         * @param segmentSize maximum size in bytes of each segment
+         * @return new empty store
+         * @throws IOException thrown if the scratch file can't be created
+         */
+        public OffHeapProductRecordStore mapScratchFile(@NotNull final Path directory,
+                                                        final int initialCapacity,
+                                                        final int segmentSize) throws IOException {
+            final Path scratchFile = Files.createTempFile(directory, "product-records-", ".bin");
+            // The store creates the file exclusively so no other process can open it first
+            Files.delete(scratchFile);
+
+            final OffHeapProductRecordStore store =
+                    new OffHeapProductRecordStore(this, segmentSize, scratchFile);
+
+            try {
+                store.ensureCapacity(initialCapacity);
+            } catch (RuntimeException e) {
+                store.close();
+                throw e;
+            }
+
+            return store;
+        }
+    }
+}
@@ -0,0 +1,697 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.product.functions.DisplayPriceCache;
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.FixedPointMoney;
+import com.useswiftly.ingestion.records.FixedPointRounding;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryAmountFormat;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Domain entity object that represents a single product record with the
+ * product ID stored as a <code>long</code> and the for X quantities stored as
+ * <code>int</code> values. The data file allows at most 8 digits for each of
+ * these fields, so they always fit and can be parsed and compared without
+ * allocating {@link BigInteger} instances.
+ *
+ * <p>The {@link BigInteger} getters are lazily created views of the primitive
+ * values, so callers of the original {@link ProductRecord} contract are
+ * unaffected.</p>
+ *
+ * <p>Prices are stored as {@link FixedPointMoney}, so selecting the applicable
+ * price, dividing by for X and rounding are done with long arithmetic. A
+ * {@link MonetaryAmount} is only created when a price getter is called or a
+ * price is formatted for display. Amounts passed to the price setters are
+ * held with the precision of {@link org.javamoney.moneta.FastMoney} and the
+ * getters always return {@link org.javamoney.moneta.FastMoney} instances.</p>
+ */
+@SuppressWarnings("UnusedReturnValue")
+public class PrimitiveProductRecordImpl implements ProductRecord {
+    /**
+     * Sentinel value of the product ID when it is not set. It can't be
+     * represented by an 8 digit field.
+     */
+    private static final long UNSET_LONG = Long.MIN_VALUE;
+
+    /**
+     * Sentinel value of a for X quantity when it is not set. It can't be
+     * represented by an 8 digit field.
+     */
+    private static final int UNSET_INT = Integer.MIN_VALUE;
+
+    private long productId = UNSET_LONG;
+    private String productDescription;
+    private FixedPointMoney regularSingularPrice;
+    private FixedPointMoney promotionalSingularPrice;
+    private FixedPointMoney regularSplitPrice;
+    private FixedPointMoney promotionalSplitPrice;
+    private int regularForX = UNSET_INT;
+    private int promotionalForX = UNSET_INT;
+    private ProductRecordFlags flags;
+    private String productSize;
+
+    /*
+     * Lazily created BigInteger views of the primitive values.
+     */
+    private BigInteger productIdView;
+    private BigInteger regularForXView;
+    private BigInteger promotionalForXView;
+
+    /**
+     * Shared collaborators that the business rules are applied with.
+     */
+    private final ProductRecordContext context;
+
+    public PrimitiveProductRecordImpl(final FlagRuleTable flagRules,
+                                      final MonetaryAmountFormat displayPriceFormat,
+                                      final FixedPointRounding rounding) {
+        this(new ProductRecordContext(flagRules, displayPriceFormat, rounding));
+    }
+
+    @Inject
+    public PrimitiveProductRecordImpl(@NotNull final ProductRecordContext context) {
+        this.context = Objects.requireNonNull(context, "context");
+    }
+
+    @Override
+    @Nullable
+    public BigInteger getProductId() {
+        if (productId == UNSET_LONG) {
+            return null;
+        }
+
+        if (productIdView == null) {
+            productIdView = BigInteger.valueOf(productId);
+        }
+
+        return productIdView;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setProductId(@Nullable final BigInteger productId) {
+        if (productId == null) {
+            this.productId = UNSET_LONG;
+        } else {
+            this.productId = checkLong(productId.longValueExact(), "Product ID");
+        }
+
+        this.productIdView = productId;
+        return this;
+    }
+
+    @Override
+    public long getProductIdAsLong() {
+        if (productId == UNSET_LONG) {
+            throw new IllegalStateException("Product ID is not set");
+        }
+
+        return productId;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setProductIdAsLong(final long productId) {
+        this.productId = checkLong(productId, "Product ID");
+        this.productIdView = null;
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public String getProductDescription() {
+        return productDescription;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setProductDescription(@Nullable final String productDescription) {
+        this.productDescription = productDescription;
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getRegularSingularPrice() {
+        return toMonetaryAmount(regularSingularPrice);
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setRegularSingularPrice(@Nullable final MonetaryAmount regularSingularPrice) {
+        this.regularSingularPrice = fromMonetaryAmount(regularSingularPrice);
+        return this;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setRegularSingularPriceInCents(final long cents,
+                                                                     @NotNull final CurrencyUnit currency) {
+        this.regularSingularPrice = FixedPointMoney.ofCents(cents, currency);
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getPromotionalSingularPrice() {
+        return toMonetaryAmount(promotionalSingularPrice);
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setPromotionalSingularPrice(@Nullable final MonetaryAmount promotionalSingularPrice) {
+        this.promotionalSingularPrice = fromMonetaryAmount(promotionalSingularPrice);
+        return this;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setPromotionalSingularPriceInCents(final long cents,
+                                                                         @NotNull final CurrencyUnit currency) {
+        this.promotionalSingularPrice = FixedPointMoney.ofCents(cents, currency);
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getRegularSplitPrice() {
+        return toMonetaryAmount(regularSplitPrice);
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setRegularSplitPrice(@Nullable final MonetaryAmount regularSplitPrice) {
+        this.regularSplitPrice = fromMonetaryAmount(regularSplitPrice);
+        return this;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setRegularSplitPriceInCents(final long cents,
+                                                                  @NotNull final CurrencyUnit currency) {
+        this.regularSplitPrice = FixedPointMoney.ofCents(cents, currency);
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount getPromotionalSplitPrice() {
+        return toMonetaryAmount(promotionalSplitPrice);
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setPromotionalSplitPrice(@Nullable final MonetaryAmount promotionalSplitPrice) {
+        this.promotionalSplitPrice = fromMonetaryAmount(promotionalSplitPrice);
+        return this;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setPromotionalSplitPriceInCents(final long cents,
+                                                                      @NotNull final CurrencyUnit currency) {
+        this.promotionalSplitPrice = FixedPointMoney.ofCents(cents, currency);
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public BigInteger getRegularForX() {
+        if (regularForX == UNSET_INT) {
+            return null;
+        }
+
+        if (regularForXView == null) {
+            regularForXView = BigInteger.valueOf(regularForX);
+        }
+
+        return regularForXView;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setRegularForX(@Nullable final BigInteger regularForX) {
+        if (regularForX == null) {
+            this.regularForX = UNSET_INT;
+        } else {
+            this.regularForX = checkInt(regularForX.intValueExact(), "Regular for X");
+        }
+
+        this.regularForXView = regularForX;
+        return this;
+    }
+
+    @Override
+    public int getRegularForXAsInt() {
+        if (regularForX == UNSET_INT) {
+            throw new IllegalStateException("Regular for X is not set");
+        }
+
+        return regularForX;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setRegularForXAsInt(final int regularForX) {
+        this.regularForX = checkInt(regularForX, "Regular for X");
+        this.regularForXView = null;
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public BigInteger getPromotionalForX() {
+        if (promotionalForX == UNSET_INT) {
+            return null;
+        }
+
+        if (promotionalForXView == null) {
+            promotionalForXView = BigInteger.valueOf(promotionalForX);
+        }
+
+        return promotionalForXView;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setPromotionalForX(@Nullable final BigInteger promotionalForX) {
+        if (promotionalForX == null) {
+            this.promotionalForX = UNSET_INT;
+        } else {
+            this.promotionalForX = checkInt(promotionalForX.intValueExact(), "Promotional for X");
+        }
+
+        this.promotionalForXView = promotionalForX;
+        return this;
+    }
+
+    @Override
+    public int getPromotionalForXAsInt() {
+        if (promotionalForX == UNSET_INT) {
+            throw new IllegalStateException("Promotional for X is not set");
+        }
+
+        return promotionalForX;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setPromotionalForXAsInt(final int promotionalForX) {
+        this.promotionalForX = checkInt(promotionalForX, "Promotional for X");
+        this.promotionalForXView = null;
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public ProductRecordFlags getFlags() {
+        return flags;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setFlags(@Nullable final ProductRecordFlags flags) {
+        this.flags = flags;
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public String getProductSize() {
+        return productSize;
+    }
+
+    @Override
+    public PrimitiveProductRecordImpl setProductSize(@Nullable final String productSize) {
+        this.productSize = productSize;
+        return this;
+    }
+
+    /* ====================================================================== *\
+     * The below methods calculate their values based on data already stored in
+     * this object and/or providers and are not persisted within this object.
+     * ====================================================================== */
+
+    @Override
+    @NotNull
+    public String regularDisplayPrice() {
+        return computeDisplayPrice(regularSingularPrice, regularSplitPrice, regularForX);
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount calculateRegularCalculatorPrice() {
+        return toMonetaryAmount(computeCalculatorPrice(regularSingularPrice,
+                regularSplitPrice, regularForX));
+    }
+
+    @Override
+    @Nullable
+    public String promotionalDisplayPrice() {
+        return computeDisplayPrice(promotionalSingularPrice, promotionalSplitPrice,
+                promotionalForX);
+    }
+
+    @Override
+    @Nullable
+    public MonetaryAmount calculatePromotionalCalculatorPrice() {
+        return toMonetaryAmount(computeCalculatorPrice(promotionalSingularPrice,
+                promotionalSplitPrice, promotionalForX));
+    }
+
+    @Override
+    @Nullable
+    public UnitOfMeasure deriveUnitOfMeasure() {
+        final FlagRuleTable flagRules = context.getFlagRules();
+
+        if (flagRules != null) {
+            return flagRules.lookupUnitOfMeasure(getFlags());
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    @Nullable
+    public BigDecimal calculateTaxRate() {
+        final FlagRuleTable flagRules = context.getFlagRules();
+
+        if (flagRules != null) {
+            return flagRules.lookupTaxRate(getFlags());
+        } else {
+            return null;
+        }
+    }
+
+    /* ====================================================================== *\
+     * The below methods expose the fixed-point values of this object so that
+     * ProductRecordFormatter and ProductRecordTable can read it without
+     * intermediate objects.
+     * ====================================================================== */
+
+    /**
+     * @return new empty record with the same dependencies as this record
+     */
+    PrimitiveProductRecordImpl newRecord() {
+        return new PrimitiveProductRecordImpl(context);
+    }
+
+    FlagRuleTable getFlagRules() {
+        return context.getFlagRules();
+    }
+
+    boolean isProductIdSet() {
+        return productId != UNSET_LONG;
+    }
+
+    @Nullable
+    FixedPointMoney regularSingularAmount() {
+        return regularSingularPrice;
+    }
+
+    @Nullable
+    FixedPointMoney promotionalSingularAmount() {
+        return promotionalSingularPrice;
+    }
+
+    @Nullable
+    FixedPointMoney regularSplitAmount() {
+        return regularSplitPrice;
+    }
+
+    @Nullable
+    FixedPointMoney promotionalSplitAmount() {
+        return promotionalSplitPrice;
+    }
+
+    MonetaryAmountFormat getDisplayPriceFormat() {
+        return context.getDisplayPriceFormat();
+    }
+
+    /**
+     * @return price shown by {@link #regularDisplayPrice()} or null if it is unknown
+     */
+    @Nullable
+    FixedPointMoney regularDisplayAmount() {
+        return computeDisplayAmount(regularSingularPrice, regularSplitPrice);
+    }
+
+    /**
+     * @return quantity shown by {@link #regularDisplayPrice()} if greater than zero
+     */
+    int regularDisplayQuantity() {
+        return regularForX;
+    }
+
+    @Nullable
+    FixedPointMoney regularCalculatorAmount() {
+        return computeCalculatorPrice(regularSingularPrice, regularSplitPrice, regularForX);
+    }
+
+    /**
+     * @return price shown by {@link #promotionalDisplayPrice()} or null if it is unknown
+     */
+    @Nullable
+    FixedPointMoney promotionalDisplayAmount() {
+        return computeDisplayAmount(promotionalSingularPrice, promotionalSplitPrice);
+    }
+
+    /**
+     * @return quantity shown by {@link #promotionalDisplayPrice()} if greater than zero
+     */
+    int promotionalDisplayQuantity() {
+        return promotionalForX;
+    }
+
+    @Nullable
+    FixedPointMoney promotionalCalculatorAmount() {
+        return computeCalculatorPrice(promotionalSingularPrice, promotionalSplitPrice,
+                promotionalForX);
+    }
+
+    @Nullable
+    private FixedPointMoney computeDisplayAmount(@Nullable final FixedPointMoney singularPrice,
+                                                @Nullable final FixedPointMoney splitPrice) {
+        if (singularPrice == null || splitPrice == null) {
+            return null;
+        }
+
+        return selectApplicablePrice(singularPrice, splitPrice);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", PrimitiveProductRecordImpl.class.getSimpleName() + "[", "]")
+                .add("productId=" + getProductId())
+                .add("productDescription='" + productDescription + "'")
+                .add("regularSingularPrice=" + getRegularSingularPrice())
+                .add("promotionalSingularPrice=" + getPromotionalSingularPrice())
+                .add("regularSplitPrice=" + getRegularSplitPrice())
+                .add("promotionalSplitPrice=" + getPromotionalSplitPrice())
+                .add("regularForX=" + getRegularForX())
+                .add("promotionalForX=" + getPromotionalForX())
+                .add("flags=" + flags)
+                .add("productSize='" + productSize + "'")
+                .add("unitOfMeasure=" + deriveUnitOfMeasure())
+                .add("taxRate=" + calculateTaxRate())
+                .add("regularDisplayPrice=" + regularDisplayPrice())
+                .add("regularCalculatorPrice=" + calculateRegularCalculatorPrice())
+                .add("promotionalDisplayPrice=" + promotionalDisplayPrice())
+                .add("promotionalCalculatorPrice=" + calculatePromotionalCalculatorPrice())
+                .toString();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final PrimitiveProductRecordImpl record = (PrimitiveProductRecordImpl) o;
+        return productId == record.productId &&
+                regularForX == record.regularForX &&
+                promotionalForX == record.promotionalForX &&
+                Objects.equals(productDescription, record.productDescription) &&
+                Objects.equals(regularSingularPrice, record.regularSingularPrice) &&
+                Objects.equals(promotionalSingularPrice, record.promotionalSingularPrice) &&
+                Objects.equals(regularSplitPrice, record.regularSplitPrice) &&
+                Objects.equals(promotionalSplitPrice, record.promotionalSplitPrice) &&
+                Objects.equals(flags, record.flags) &&
+                Objects.equals(productSize, record.productSize);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productId, productDescription, regularSingularPrice,
+                promotionalSingularPrice, regularSplitPrice,
+                promotionalSplitPrice, regularForX, promotionalForX, flags,
+                productSize);
+    }
+
+    private static long checkLong(final long value, final String name) {
+        if (value == UNSET_LONG) {
+            String msg = String.format("%s [%d] value is out of range", name, value);
+            throw new ArithmeticException(msg);
+        }
+
+        return value;
+    }
+
+    private static int checkInt(final int value, final String name) {
+        if (value == UNSET_INT) {
+            String msg = String.format("%s [%d] value is out of range", name, value);
+            throw new ArithmeticException(msg);
+        }
+
+        return value;
+    }
+
+    @Nullable
+    private static MonetaryAmount toMonetaryAmount(@Nullable final FixedPointMoney amount) {
+        if (amount == null) {
+            return null;
+        }
+
+        return amount.toMonetaryAmount();
+    }
+
+    @Nullable
+    private static FixedPointMoney fromMonetaryAmount(@Nullable final MonetaryAmount amount) {
+        if (amount == null) {
+            return null;
+        }
+
+        return FixedPointMoney.from(amount);
+    }
+
+    /**
+     * Chooses the appropriate price between the specified singular price
+     * and split price.
+     */
+    @NotNull
+    protected FixedPointMoney selectApplicablePrice(@NotNull final FixedPointMoney singularPrice,
+                                                    @NotNull final FixedPointMoney splitPrice) {
+        final FixedPointMoney amount;
+
+        if (singularPrice.isZero() && splitPrice.isZero()) {
+            // since both prices are zero, we just return one of them
+            amount = singularPrice;
+        } else if (!singularPrice.isZero()) {
+            amount = context.getRounding().apply(singularPrice);
+        } else {
+            amount = context.getRounding().apply(splitPrice);
+        }
+
+        return amount;
+    }
+
+    /**
+     * Renders a price to display based on the supplied singular price,
+     * split price and forX parameters. A forX that is not set is treated
+     * the same as zero. Display prices are read from the price cache of the
+     * context when there is one.
+     */
+    @NotNull
+    protected String computeDisplayPrice(@Nullable final FixedPointMoney singularPrice,
+                                         @Nullable final FixedPointMoney splitPrice,
+                                         final int forX) {
+        /* If either price is null, it indicates that we don't have a properly
+         * populated ProductRecord object and it is likely a test instance.
+         * In these cases, we just return a "unknown" string because we aren't
+         * following the expected contract. */
+        if (singularPrice == null || splitPrice == null) {
+            return "unknown";
+        }
+
+        final FixedPointMoney amount = selectApplicablePrice(singularPrice, splitPrice);
+        final DisplayPriceCache priceCache = context.getPriceCache();
+
+        if (priceCache != null) {
+            final String cached = priceCache.getDisplayPrice(amount, forX, context.getDisplayPriceFormat());
+
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Price formatted to a friendly string with a currency symbol
+        final String formattedPrice = context.getDisplayPriceFormat().format(amount.toMonetaryAmount());
+
+        // End price to display to users
+        final String displayPrice;
+
+        // If forX is greater than zero (the unset sentinel is negative)
+        if (forX > 0) {
+            // Perhaps, this format should be externalized for localization
+            displayPrice = String.format("%d for %s", forX, formattedPrice);
+        } else {
+            displayPrice = formattedPrice;
+        }
+
+        if (priceCache != null) {
+            priceCache.putDisplayPrice(amount, forX, context.getDisplayPriceFormat(), displayPrice);
+        }
+
+        return displayPrice;
+    }
+
+    /**
+     * Calculates the appropriate price for a product based on the supplied
+     * singular price, split price and forX parameters. The calculated price
+     * is rounded to 4 decimals (opposed to the default MonetaryAmount of 5).
+     * Calculator prices are read from the price cache of the context when
+     * there is one.
+     */
+    @Nullable
+    protected FixedPointMoney computeCalculatorPrice(@Nullable final FixedPointMoney singularPrice,
+                                                     @Nullable final FixedPointMoney splitPrice,
+                                                     final int forX) {
+        /* If either price is null, it indicates that we don't have a properly
+         * populated ProductRecord object and it is likely a test instance.
+         * In these cases, we just return a null because we aren't
+         * following the expected contract. */
+        if (singularPrice == null || splitPrice == null) {
+            return null;
+        }
+
+        final FixedPointMoney amount = selectApplicablePrice(singularPrice, splitPrice);
+        final DisplayPriceCache priceCache = context.getPriceCache();
+
+        if (priceCache != null) {
+            final FixedPointMoney cached = priceCache.getCalculatorPrice(amount, forX, context.getRounding());
+
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final FixedPointMoney calculatorPrice;
+
+        // Don't do any additional computation if the value is already zero
+        if (amount.isZero()) {
+            calculatorPrice = amount;
+        // If forX is greater than zero (the unset sentinel is negative)
+        } else if (forX > 0) {
+            /* Assume that amount is the proper split price because we assume
+             * the data file isn't corrupt. */
+            calculatorPrice = context.getRounding().apply(amount.divide(forX));
+        } else {
+            calculatorPrice = amount;
+        }
+
+        if (priceCache != null) {
+            priceCache.putCalculatorPrice(amount, forX, context.getRounding(), calculatorPrice);
+        }
+
+        return calculatorPrice;
+    }
+
+    /**
+     * Creates records that share a single {@link ProductRecordContext}.
+     */
+    public static class Factory implements ProductRecordFactory {
+        private final ProductRecordContext context;
+
+        @Inject
+        public Factory(@NotNull final ProductRecordContext context) {
+            this.context = Objects.requireNonNull(context, "context");
+        }
+
+        @NotNull
+        @Override
+        public PrimitiveProductRecordImpl newRecord() {
+            return new PrimitiveProductRecordImpl(context);
+        }
+    }
+}
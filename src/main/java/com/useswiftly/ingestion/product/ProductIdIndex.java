@@ -0,0 +1,325 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.records.FixedWidthRecordReader;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+import static com.useswiftly.ingestion.product.AbstractProductRecordView.UNSET_LONG;
+
+/**
+ * Immutable index of product IDs to the row numbers of a record container.
+ * Product IDs and rows are held in a pair of primitive arrays that form an
+ * open-addressing hash table with linear probing, so lookups don't box keys
+ * or follow references. Instances are thread safe.
+ *
+ * <p>When a product ID occurs in more than one row, the lowest row is
+ * indexed. Rows without a product ID aren't indexed.</p>
+ *
+ * <p>An index can be built from a filled container, or from a fixed width
+ * data file while it is parsed with {@link #of(FixedWidthRecordReader)}.</p>
+ */
+public final class ProductIdIndex {
+    /**
+     * Row returned for product IDs that aren't in the index.
+     */
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * Largest number of slots of a table.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Product ID of empty slots. It is the raw value of product IDs that
+     * aren't set, so it is never a key.
+     */
+    private static final long EMPTY = UNSET_LONG;
+
+    private final long[] productIds;
+    private final int[] rows;
+    private final int mask;
+    private final int size;
+
+    private ProductIdIndex(final long[] productIds, final int[] rows, final int size) {
+        this.productIds = productIds;
+        this.rows = rows;
+        this.mask = productIds.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Indexes all rows of a table in parallel.
+     *
+     * @param table table to index
+     * @return new index
+     */
+    @NotNull
+    public static ProductIdIndex of(@NotNull final ProductRecordTable table) {
+        return of(table.size(), table::productIdAt);
+    }
+
+    /**
+     * Indexes all rows of a store in parallel. The store must not be appended
+     * to or closed while it is indexed.
+     *
+     * @param store store to index
+     * @return new index
+     */
+    @NotNull
+    public static ProductIdIndex of(@NotNull final OffHeapProductRecordStore store) {
+        return of(store.size(), store::productIdAt);
+    }
+
+    /**
+     * Indexes all records of a fixed width data file by parsing them in
+     * parallel. The rows are the ordinals of the records in the file, which
+     * are also the rows of a table or store filled from a sequential parse of
+     * the file. A reader whose parser only decodes the product ID, as opened
+     * by {@link ProductRecordFileParser#indexProductIds(java.nio.file.Path)},
+     * avoids decoding the other fields.
+     *
+     * @param reader reader of the data file to index
+     * @return new index
+     * @throws IllegalArgumentException thrown if the file has too many records to index
+     */
+    @NotNull
+    public static ProductIdIndex of(@NotNull final FixedWidthRecordReader<? extends ProductRecord> reader) {
+        if (reader.size() > MAX_CAPACITY / 4) {
+            String msg = String.format("Data file of [%d] records has too many " +
+                    "records to index", reader.size());
+            throw new IllegalArgumentException(msg);
+        }
+
+        final int size = (int)reader.size();
+        final Builder builder = new Builder(size);
+
+        IntStream.range(0, size).parallel().forEach(row -> {
+            final BigInteger productId = reader.get(row).getProductId();
+
+            if (productId != null) {
+                builder.put(productId.longValueExact(), row);
+            }
+        });
+
+        return builder.build();
+    }
+
+    private static ProductIdIndex of(final int size, final IntToLongFunction productIdOfRow) {
+        final Builder builder = new Builder(size);
+
+        IntStream.range(0, size).parallel().forEach(row -> {
+            final long productId = productIdOfRow.applyAsLong(row);
+
+            if (productId != UNSET_LONG) {
+                builder.put(productId, row);
+            }
+        });
+
+        return builder.build();
+    }
+
+    /**
+     * @param productId product ID to look up
+     * @return row of the product ID or {@link #NOT_FOUND}
+     */
+    public int get(final long productId) {
+        if (productId == EMPTY) {
+            return NOT_FOUND;
+        }
+
+        int slot = slotOf(productId, mask);
+
+        while (true) {
+            final long key = productIds[slot];
+
+            if (key == productId) {
+                return rows[slot];
+            }
+
+            if (key == EMPTY) {
+                return NOT_FOUND;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @param productId product ID to look up
+     * @return true if the product ID is in the index
+     */
+    public boolean contains(final long productId) {
+        return get(productId) != NOT_FOUND;
+    }
+
+    /**
+     * Looks up many product IDs at once.
+     *
+     * @param productIds product IDs to look up
+     * @param rows array that receives the row of each product ID or {@link #NOT_FOUND}
+     * @throws IllegalArgumentException thrown if the arrays have different lengths
+     */
+    public void getAll(@NotNull final long[] productIds, @NotNull final int[] rows) {
+        if (rows.length != productIds.length) {
+            String msg = String.format("Rows length [%d] doesn't match product " +
+                    "IDs length [%d]", rows.length, productIds.length);
+            throw new IllegalArgumentException(msg);
+        }
+
+        for (int i = 0; i < productIds.length; i++) {
+            rows[i] = get(productIds[i]);
+        }
+    }
+
+    /**
+     * Looks up many product IDs at once.
+     *
+     * @param productIds product IDs to look up
+     * @return row of each product ID or {@link #NOT_FOUND}
+     */
+    @NotNull
+    public int[] getAll(@NotNull final long[] productIds) {
+        final int[] rows = new int[productIds.length];
+        getAll(productIds, rows);
+        return rows;
+    }
+
+    /**
+     * @return number of product IDs in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of slots of the table
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[size=%d, capacity=%d]",
+                ProductIdIndex.class.getSimpleName(), size, getCapacity());
+    }
+
+    private static int slotOf(final long productId, final int mask) {
+        long hash = productId * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+
+        return (int)hash & mask;
+    }
+
+    /**
+     * Collects product IDs and their rows into a {@link ProductIdIndex}.
+     * {@link #put(long, int)} is lock free and can be called from many
+     * threads at once, such as from the stages of a parallel parse that
+     * assign rows to records (see {@link #of(FixedWidthRecordReader)}). The number of product IDs is bounded by the
+     * expected size given on creation.
+     */
+    public static class Builder {
+        private final AtomicLongArray productIds;
+        private final AtomicIntegerArray rows;
+        private final AtomicInteger size = new AtomicInteger();
+        private final int mask;
+        private final int maxSize;
+
+        /**
+         * @param expectedSize number of distinct product IDs to index
+         */
+        public Builder(final int expectedSize) {
+            if (expectedSize < 0 || expectedSize > MAX_CAPACITY / 4) {
+                String msg = String.format("Expected size must be between 0 and %d - " +
+                        "Expected size [%d] value is invalid", MAX_CAPACITY / 4, expectedSize);
+                throw new IllegalArgumentException(msg);
+            }
+
+            // Keeps the table at most half full so that probe sequences stay short
+            final int capacity = Math.max(2, Integer.highestOneBit(Math.max(1, expectedSize)) << 2);
+            final long[] emptyProductIds = new long[capacity];
+            final int[] emptyRows = new int[capacity];
+            Arrays.fill(emptyProductIds, EMPTY);
+            Arrays.fill(emptyRows, Integer.MAX_VALUE);
+
+            this.productIds = new AtomicLongArray(emptyProductIds);
+            this.rows = new AtomicIntegerArray(emptyRows);
+            this.mask = capacity - 1;
+            this.maxSize = capacity / 2;
+        }
+
+        /**
+         * Adds a product ID and its row. If the product ID was already added,
+         * the lower of the two rows is kept.
+         *
+         * @param productId product ID of the row
+         * @param row row number
+         * @return this instance
+         * @throws IllegalArgumentException thrown if the product ID or row is invalid
+         * @throws IllegalStateException thrown if more product IDs than expected are added
+         */
+        public Builder put(final long productId, final int row) {
+            if (productId == EMPTY) {
+                String msg = String.format("Product ID [%d] value is invalid", productId);
+                throw new IllegalArgumentException(msg);
+            }
+
+            if (row < 0) {
+                String msg = String.format("Row [%d] value is invalid", row);
+                throw new IllegalArgumentException(msg);
+            }
+
+            int slot = slotOf(productId, mask);
+
+            while (true) {
+                final long key = productIds.get(slot);
+
+                if (key == EMPTY) {
+                    if (!productIds.compareAndSet(slot, EMPTY, productId)) {
+                        // Another thread claimed the slot, so check its key again
+                        continue;
+                    }
+
+                    if (size.incrementAndGet() > maxSize) {
+                        String msg = String.format("Index is full with [%d] product IDs", maxSize);
+                        throw new IllegalStateException(msg);
+                    }
+                }
+
+                if (productIds.get(slot) == productId) {
+                    rows.accumulateAndGet(slot, row, Math::min);
+                    return this;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * Copies the added product IDs into a new index. All calls to
+         * {@link #put(long, int)} must have completed.
+         *
+         * @return new index
+         */
+        @NotNull
+        public ProductIdIndex build() {
+            final int capacity = mask + 1;
+            final long[] builtProductIds = new long[capacity];
+            final int[] builtRows = new int[capacity];
+
+            for (int i = 0; i < capacity; i++) {
+                builtProductIds[i] = productIds.get(i);
+                builtRows[i] = rows.get(i);
+            }
+
+            return new ProductIdIndex(builtProductIds, builtRows, Math.min(size.get(), maxSize));
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.useswiftly.ingestion.product;
 
+import com.useswiftly.ingestion.records.FixedPointMoney;
 import com.useswiftly.ingestion.records.Record;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -16,6 +18,25 @@ public interface ProductRecord extends Record {
 
     ProductRecord setProductId(@Nullable BigInteger productId);
 
+    /**
+     * @return product ID as a primitive value
+     * @throws IllegalStateException thrown if the product ID is not set
+     * @throws ArithmeticException thrown if the product ID doesn't fit in a long
+     */
+    default long getProductIdAsLong() {
+        final BigInteger productId = getProductId();
+
+        if (productId == null) {
+            throw new IllegalStateException("Product ID is not set");
+        }
+
+        return productId.longValueExact();
+    }
+
+    default ProductRecord setProductIdAsLong(final long productId) {
+        return setProductId(BigInteger.valueOf(productId));
+    }
+
     @Nullable String getProductDescription();
 
     ProductRecord setProductDescription(@Nullable String productDescription);
@@ -24,26 +45,112 @@ public interface ProductRecord extends Record {
 
     ProductRecord setRegularSingularPrice(@Nullable MonetaryAmount regularSingularPrice);
 
+    /**
+     * Sets the regular singular price from a whole number of cents as found in the
+     * record data file.
+     *
+     * @param cents price in hundredths of the currency unit
+     * @param currency currency of price
+     * @return this instance
+     */
+    default ProductRecord setRegularSingularPriceInCents(final long cents, @NotNull final CurrencyUnit currency) {
+        return setRegularSingularPrice(FixedPointMoney.ofCents(cents, currency).toMonetaryAmount());
+    }
+
     @Nullable MonetaryAmount getPromotionalSingularPrice();
 
     ProductRecord setPromotionalSingularPrice(@Nullable MonetaryAmount promotionalSingularPrice);
 
+    /**
+     * Sets the promotional singular price from a whole number of cents as found in the
+     * record data file.
+     *
+     * @param cents price in hundredths of the currency unit
+     * @param currency currency of price
+     * @return this instance
+     */
+    default ProductRecord setPromotionalSingularPriceInCents(final long cents, @NotNull final CurrencyUnit currency) {
+        return setPromotionalSingularPrice(FixedPointMoney.ofCents(cents, currency).toMonetaryAmount());
+    }
+
     @Nullable MonetaryAmount getRegularSplitPrice();
 
     ProductRecord setRegularSplitPrice(@Nullable MonetaryAmount regularSplitPrice);
 
+    /**
+     * Sets the regular split price from a whole number of cents as found in the
+     * record data file.
+     *
+     * @param cents price in hundredths of the currency unit
+     * @param currency currency of price
+     * @return this instance
+     */
+    default ProductRecord setRegularSplitPriceInCents(final long cents, @NotNull final CurrencyUnit currency) {
+        return setRegularSplitPrice(FixedPointMoney.ofCents(cents, currency).toMonetaryAmount());
+    }
+
     @Nullable MonetaryAmount getPromotionalSplitPrice();
 
     ProductRecord setPromotionalSplitPrice(@Nullable MonetaryAmount promotionalSplitPrice);
 
+    /**
+     * Sets the promotional split price from a whole number of cents as found in the
+     * record data file.
+     *
+     * @param cents price in hundredths of the currency unit
+     * @param currency currency of price
+     * @return this instance
+     */
+    default ProductRecord setPromotionalSplitPriceInCents(final long cents, @NotNull final CurrencyUnit currency) {
+        return setPromotionalSplitPrice(FixedPointMoney.ofCents(cents, currency).toMonetaryAmount());
+    }
+
     @Nullable BigInteger getRegularForX();
 
     ProductRecord setRegularForX(@Nullable BigInteger regularForX);
 
+    /**
+     * @return regular for X as a primitive value
+     * @throws IllegalStateException thrown if regular for X is not set
+     * @throws ArithmeticException thrown if regular for X doesn't fit in an int
+     */
+    default int getRegularForXAsInt() {
+        final BigInteger regularForX = getRegularForX();
+
+        if (regularForX == null) {
+            throw new IllegalStateException("Regular for X is not set");
+        }
+
+        return regularForX.intValueExact();
+    }
+
+    default ProductRecord setRegularForXAsInt(final int regularForX) {
+        return setRegularForX(BigInteger.valueOf(regularForX));
+    }
+
     @Nullable BigInteger getPromotionalForX();
 
     ProductRecord setPromotionalForX(@Nullable BigInteger promotionalForX);
 
+    /**
+     * @return promotional for X as a primitive value
+     * @throws IllegalStateException thrown if promotional for X is not set
+     * @throws ArithmeticException thrown if promotional for X doesn't fit in an int
+     */
+    default int getPromotionalForXAsInt() {
+        final BigInteger promotionalForX = getPromotionalForX();
+
+        if (promotionalForX == null) {
+            throw new IllegalStateException("Promotional for X is not set");
+        }
+
+        return promotionalForX.intValueExact();
+    }
+
+    default ProductRecord setPromotionalForXAsInt(final int promotionalForX) {
+        return setPromotionalForX(BigInteger.valueOf(promotionalForX));
+    }
+
     @Nullable ProductRecordFlags getFlags();
 
     ProductRecord setFlags(@Nullable ProductRecordFlags flags);
@@ -0,0 +1,104 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.product.functions.DisplayPriceCache;
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.FixedPointRounding;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.money.MonetaryRounding;
+import javax.money.format.MonetaryAmountFormat;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Immutable set of the collaborators that product records apply their
+ * business rules with. A single context is resolved once and shared by all
+ * records, so each record holds one reference instead of one per
+ * collaborator and records can be created without the injector.
+ */
+public final class ProductRecordContext {
+    /**
+     * Table of the tax rate and unit of measure for each flag combination.
+     * The rules are injected as closures so that the business logic is
+     * decoupled and the tax rate can be updated at runtime.
+     */
+    @Nullable
+    private final FlagRuleTable flagRules;
+
+    private final MonetaryAmountFormat displayPriceFormat;
+
+    private final FixedPointRounding rounding;
+
+    /**
+     * Cache of display and calculator prices shared by all records or null
+     * if prices are computed every time.
+     */
+    @Nullable
+    private final DisplayPriceCache priceCache;
+
+    public ProductRecordContext(@Nullable final FlagRuleTable flagRules,
+                                @NotNull final MonetaryAmountFormat displayPriceFormat,
+                                @NotNull final FixedPointRounding rounding) {
+        this(flagRules, displayPriceFormat, rounding, null);
+    }
+
+    @Inject
+    public ProductRecordContext(@Nullable final FlagRuleTable flagRules,
+                                @NotNull final MonetaryAmountFormat displayPriceFormat,
+                                @NotNull final FixedPointRounding rounding,
+                                @Nullable final DisplayPriceCache priceCache) {
+        this.flagRules = flagRules;
+        this.displayPriceFormat = Objects.requireNonNull(displayPriceFormat, "displayPriceFormat");
+        this.rounding = Objects.requireNonNull(rounding, "rounding");
+        this.priceCache = priceCache;
+    }
+
+    /**
+     * @return flag rules or null if records have no unit of measure or tax rate
+     */
+    @Nullable
+    public FlagRuleTable getFlagRules() {
+        return flagRules;
+    }
+
+    @NotNull
+    public MonetaryAmountFormat getDisplayPriceFormat() {
+        return displayPriceFormat;
+    }
+
+    /**
+     * @return rounding applied to fixed-point prices
+     */
+    @NotNull
+    public FixedPointRounding getRounding() {
+        return rounding;
+    }
+
+    /**
+     * @return rounding applied to {@link javax.money.MonetaryAmount} prices
+     */
+    @NotNull
+    public MonetaryRounding getMonetaryRounding() {
+        return rounding.getMonetaryRounding();
+    }
+
+    /**
+     * @return price cache or null if prices are computed every time
+     */
+    @Nullable
+    public DisplayPriceCache getPriceCache() {
+        return priceCache;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ProductRecordContext.class.getSimpleName() + "[", "]")
+                .add("flagRules=" + flagRules)
+                .add("displayPriceFormat=" + displayPriceFormat)
+                .add("rounding=" + getMonetaryRounding())
+                .add("priceCache=" + priceCache)
+                .toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.useswiftly.ingestion.product;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates empty {@link ProductRecord} instances for parsers. Implementations
+ * hold a shared {@link ProductRecordContext} and call a constructor directly,
+ * so creating a record doesn't go through the injector.
+ */
+@FunctionalInterface
+public interface ProductRecordFactory {
+    /**
+     * @return new empty record
+     */
+    @NotNull
+    ProductRecord newRecord();
+}
@@ -1,13 +1,36 @@
 package com.useswiftly.ingestion.product;
 
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.Field;
+import com.useswiftly.ingestion.records.FixedWidthRecordReader;
+import com.useswiftly.ingestion.records.FixedWidthRecordSpliterator;
+import com.useswiftly.ingestion.records.MappedRecordSpliterator;
+import com.useswiftly.ingestion.records.RecordBytesParser;
 import com.useswiftly.ingestion.records.RecordFileParser;
+import com.useswiftly.ingestion.records.RecordLayout;
+import com.useswiftly.ingestion.records.RecordPredicate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
 import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Provides an implementation of {@link RecordFileParser} that allows for
@@ -21,9 +44,31 @@ public class ProductRecordFileParser implements RecordFileParser<ProductRecord>
      */
     private final Provider<ProductRecordParser> productRecordParserProvider;
 
+    /**
+     * Provider of the parser used to create lazily decoded records.
+     */
+    private final Provider<LazyProductRecordParser> lazyProductRecordParserProvider;
+
+    /**
+     * Character set of the record data files.
+     */
+    private final Charset charset;
+
+    /**
+     * Flag rules of the parsed records, refreshed before each parse so that
+     * a changed tax rate applies to the records of the next file.
+     */
+    private final FlagRuleTable flagRules;
+
     @Inject
-    public ProductRecordFileParser(final Provider<ProductRecordParser> productRecordParserProvider) {
+    public ProductRecordFileParser(final Provider<ProductRecordParser> productRecordParserProvider,
+                                   final Provider<LazyProductRecordParser> lazyProductRecordParserProvider,
+                                   final Charset charset,
+                                   final FlagRuleTable flagRules) {
         this.productRecordParserProvider = productRecordParserProvider;
+        this.lazyProductRecordParserProvider = lazyProductRecordParserProvider;
+        this.charset = charset;
+        this.flagRules = flagRules;
     }
 
     /**
@@ -50,10 +95,270 @@ public class ProductRecordFileParser implements RecordFileParser<ProductRecord>
             bufferedReader = new BufferedReader(reader);
         }
 
-        final ProductRecordParser recordParser = productRecordParserProvider.get();
+        final ProductRecordParser recordParser = newRecordParser();
         return bufferedReader.lines()
                 // Skip empty / blank lines
                 .filter(line -> !line.isBlank())
                 .map(recordParser);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>When the configured character set encodes each character as a single
+     * byte, the file is memory mapped and records are parsed directly from the
+     * mapped bytes. Otherwise, the file is read as a character stream and the
+     * layout is ignored.</p>
+     *
+     * @param path location of data file to parse
+     * @param layout layout of the lines within the data file
+     * @return stream of records
+     * @throws IOException thrown if there is a problem opening the data file
+     */
+    @Override
+    public Stream<ProductRecord> parse(@NotNull final Path path,
+                                       @NotNull final RecordLayout layout) throws IOException {
+        if (!MappedRecordSpliterator.supportsCharset(charset)) {
+            final BufferedReader reader = Files.newBufferedReader(path, charset);
+            return parse(reader).onClose(() -> close(reader, path));
+        }
+
+        final ProductRecordParser recordParser = newRecordParser();
+        return parseMapped(path, layout, recordParser, null, recordParser.getRecordSize());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>When the configured character set encodes each character as a single
+     * byte, the predicate is evaluated against the mapped bytes of each line.
+     * Otherwise, it is evaluated against each line read as a {@link String}
+     * and the layout is ignored.</p>
+     *
+     * @param path location of data file to parse
+     * @param layout layout of the lines within the data file
+     * @param filter predicate that lines must match to be parsed
+     * @return stream of matching records
+     * @throws IOException thrown if there is a problem opening the data file
+     */
+    @Override
+    public Stream<ProductRecord> parse(@NotNull final Path path,
+                                       @NotNull final RecordLayout layout,
+                                       @NotNull final RecordPredicate filter) throws IOException {
+        final ProductRecordParser recordParser = newRecordParser();
+
+        if (!MappedRecordSpliterator.supportsCharset(charset)) {
+            final BufferedReader reader = Files.newBufferedReader(path, charset);
+            return reader.lines()
+                    // Skip empty / blank lines
+                    .filter(line -> !line.isBlank())
+                    .filter(line -> filter.test(line, 0, line.length()))
+                    .map(recordParser)
+                    .onClose(() -> close(reader, path));
+        }
+
+        return parseMapped(path, layout, recordParser, filter, recordParser.getRecordSize());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The projected record parser is created, and compiled if enabled,
+     * once by this method and shared by every parse of the returned parser.
+     * Lazily decoded records from {@link #parseLazily(Path, RecordLayout)}
+     * already only decode the fields that are accessed, so they aren't
+     * projected.</p>
+     *
+     * @param fieldNames plain-text names of the fields to decode
+     * @return new parser that only decodes the named fields
+     * @throws IllegalArgumentException thrown if no fields are named or a
+     *                                  name isn't in the field list
+     */
+    @Override
+    public ProductRecordFileParser project(@NotNull final Collection<String> fieldNames) {
+        final ProductRecordParser projected = productRecordParserProvider.get()
+                .project(Set.copyOf(fieldNames));
+
+        return new ProductRecordFileParser(() -> projected,
+                lazyProductRecordParserProvider, charset, flagRules);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each thread parses every line into its own record, which is created
+     * once by the record provider. When the configured character set encodes
+     * each character as a single byte, the lines are parsed directly from the
+     * mapped bytes of the file.</p>
+     *
+     * @param path location of data file to parse
+     * @param layout layout of the lines within the data file
+     * @param parallel true to parse the file with many threads
+     * @param action action to perform on each record
+     * @throws IOException thrown if there is a problem opening the data file
+     */
+    @Override
+    public void forEachReusing(@NotNull final Path path,
+                               @NotNull final RecordLayout layout,
+                               final boolean parallel,
+                               @NotNull final Consumer<? super ProductRecord> action) throws IOException {
+        final ProductRecordParser recordParser = newRecordParser();
+        final Supplier<ProductRecord> records;
+
+        if (parallel) {
+            records = ThreadLocal.withInitial(recordParser::newRecord)::get;
+        } else {
+            final ProductRecord record = recordParser.newRecord();
+            records = () -> record;
+        }
+
+        if (!MappedRecordSpliterator.supportsCharset(charset)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, charset);
+                 Stream<String> lines = reader.lines()) {
+                (parallel ? lines.parallel() : lines)
+                        // Skip empty / blank lines
+                        .filter(line -> !line.isBlank())
+                        .forEach(line -> action.accept(recordParser.apply(line, records.get())));
+            }
+
+            return;
+        }
+
+        final RecordBytesParser<ProductRecord> reusingParser = (source, startInclusive, endExclusive) ->
+                recordParser.apply(source, startInclusive, endExclusive, records.get());
+
+        try (Stream<ProductRecord> stream = parseMapped(path, layout, reusingParser, null,
+                recordParser.getRecordSize())) {
+            (parallel ? stream.parallel() : stream).forEach(action);
+        }
+    }
+
+    /**
+     * Parses a given data file as a stream of {@link LazyProductRecord} views
+     * that only decode the fields that are accessed. This is useful when most
+     * records are filtered out based on one or two fields. The records remain
+     * valid after the stream is closed.
+     *
+     * <p>When the configured character set doesn't encode each character as a
+     * single byte, the file is parsed eagerly as with
+     * {@link #parse(Path, RecordLayout)}.</p>
+     *
+     * @param path location of data file to parse
+     * @param layout layout of the lines within the data file
+     * @return stream of records
+     * @throws IOException thrown if there is a problem opening the data file
+     */
+    public Stream<ProductRecord> parseLazily(@NotNull final Path path,
+                                             @NotNull final RecordLayout layout) throws IOException {
+        if (!MappedRecordSpliterator.supportsCharset(charset)) {
+            return parse(path, layout);
+        }
+
+        flagRules.refresh();
+        final LazyProductRecordParser recordParser = lazyProductRecordParserProvider.get();
+        return parseMapped(path, layout, recordParser, null, recordParser.getRecordSize());
+    }
+
+    /**
+     * Opens a fixed width data file for reading individual records by ordinal
+     * without ingesting the whole file. When the parser decodes the product
+     * ID, the returned reader can also find records by product ID with
+     * {@link FixedWidthRecordReader#find(long)}, provided that the file is
+     * sorted in ascending order of product ID.
+     *
+     * <p><strong>Note:</strong> Be sure to close the reader when finished
+     * because the file remains open until the reader is closed.</p>
+     *
+     * @param path location of data file to read
+     * @return reader of the records in the data file
+     * @throws IOException thrown if there is a problem opening the data file
+     * @throws IllegalStateException thrown if the configured character set
+     *                               doesn't encode each character as a single byte
+     */
+    public FixedWidthRecordReader<ProductRecord> openRandomAccess(@NotNull final Path path) throws IOException {
+        if (!MappedRecordSpliterator.supportsCharset(charset)) {
+            String msg = String.format("Random access requires a single byte character " +
+                    "set - Character set [%s] is not supported", charset);
+            throw new IllegalStateException(msg);
+        }
+
+        final ProductRecordParser recordParser = newRecordParser();
+        Field<?, ProductRecord> productIdField = null;
+
+        for (final Field<?, ProductRecord> field : recordParser.getFields()) {
+            if (field.getName().equals("Product ID")) {
+                productIdField = field;
+                break;
+            }
+        }
+
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            return new FixedWidthRecordReader<>(channel, recordParser,
+                    recordParser.getRecordSize(), productIdField);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Indexes the product IDs of a fixed width data file. Only the product ID
+     * of each line is decoded, and the lines are parsed in parallel straight
+     * into the index, so no records are kept. The rows of the index are the
+     * ordinals of the lines as read by {@link #openRandomAccess(Path)}.
+     *
+     * @param path location of data file to index
+     * @return index of the product IDs of the data file
+     * @throws IOException thrown if there is a problem opening the data file
+     * @throws IllegalArgumentException thrown if the parser doesn't decode the product ID
+     * @throws IllegalStateException thrown if the configured character set
+     *                               doesn't encode each character as a single byte
+     * @see ProductIdIndex#of(FixedWidthRecordReader)
+     */
+    public ProductIdIndex indexProductIds(@NotNull final Path path) throws IOException {
+        try (FixedWidthRecordReader<ProductRecord> reader =
+                     project(Set.of("Product ID")).openRandomAccess(path)) {
+            return ProductIdIndex.of(reader);
+        }
+    }
+
+    private ProductRecordParser newRecordParser() {
+        flagRules.refresh();
+        return productRecordParserProvider.get();
+    }
+
+    private Stream<ProductRecord> parseMapped(final Path path,
+                                              final RecordLayout layout,
+                                              final RecordBytesParser<ProductRecord> recordParser,
+                                              @Nullable final RecordPredicate filter,
+                                              final int recordSize) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            final Spliterator<ProductRecord> spliterator;
+
+            if (layout == RecordLayout.FIXED_WIDTH) {
+                spliterator = new FixedWidthRecordSpliterator<>(channel, recordParser, filter, recordSize);
+            } else {
+                spliterator = new MappedRecordSpliterator<>(channel, recordParser, filter, recordSize);
+            }
+
+            return StreamSupport.stream(spliterator, false)
+                    .onClose(() -> close(channel, path));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void close(final Closeable closeable, final Path path) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            String msg = String.format("Unable to close data file [%s]", path);
+            throw new UncheckedIOException(msg, e);
+        }
+    }
 }
@@ -6,16 +6,81 @@ import com.useswiftly.ingestion.records.RecordFlags;
  * Flags wrapper class that allows for accessing specific flags at specific
  * positions via name Java beans in order to provide a human friendly interface
  * for product record flags.
+ *
+ * <p>There are only 2^{@value #FLAG_COUNT} possible combinations of product
+ * record flags, so a shared immutable instance for each combination is
+ * available via {@link #valueOf(int)}. Records parsed from the data file use
+ * these canonical instances. Use {@link #withFlagAtPosition(int, boolean)} to
+ * derive a different combination from a canonical instance or
+ * {@link #mutableCopy()} to get an instance that can be modified.</p>
  */
 public class ProductRecordFlags extends RecordFlags {
     public static final int FLAG_COUNT = 9;
-    private static final int PER_WEIGHT_FLAG_POS = 2;
-    private static final int TAXABLE_ITEM_FLAG_POS = 4;
+    static final int PER_WEIGHT_FLAG_POS = 2;
+    static final int TAXABLE_ITEM_FLAG_POS = 4;
+
+    /**
+     * Shared immutable instances indexed by bitmask.
+     */
+    private static final ProductRecordFlags[] CANONICAL = new ProductRecordFlags[1 << FLAG_COUNT];
+
+    static {
+        for (int mask = 0; mask < CANONICAL.length; mask++) {
+            CANONICAL[mask] = new ProductRecordFlags(mask, true);
+        }
+    }
 
     public ProductRecordFlags() {
         super(FLAG_COUNT);
     }
 
+    private ProductRecordFlags(final int mask, final boolean immutable) {
+        super(FLAG_COUNT, mask, immutable);
+    }
+
+    /**
+     * Returns the shared immutable instance for a combination of flags.
+     *
+     * @param mask bitmask of flags with the flag at position n stored in bit n
+     * @return shared immutable instance
+     */
+    public static ProductRecordFlags valueOf(final int mask) {
+        if (mask < 0 || mask >= CANONICAL.length) {
+            String msg = String.format("Mask [%d] is out of range for [%d] flags",
+                    mask, FLAG_COUNT);
+            throw new IllegalArgumentException(msg);
+        }
+
+        return CANONICAL[mask];
+    }
+
+    /**
+     * Copy-on-write alternative to {@link #setFlagAtPosition(int, boolean)}.
+     * This instance is not modified.
+     *
+     * @param position flag position starting at 0
+     * @param flag boolean value associate with flag
+     * @return shared immutable instance with the flag changed
+     */
+    public ProductRecordFlags withFlagAtPosition(final int position, final boolean flag) {
+        checkPosition(position);
+        return valueOf(withBit(getMask(), position, flag));
+    }
+
+    /**
+     * @return shared immutable instance with the same flags as this instance
+     */
+    public ProductRecordFlags toImmutable() {
+        return valueOf(getMask());
+    }
+
+    /**
+     * @return new mutable instance with the same flags as this instance
+     */
+    public ProductRecordFlags mutableCopy() {
+        return new ProductRecordFlags(getMask(), false);
+    }
+
     public boolean isPerWeightItem() {
         return getFlagAtPosition(PER_WEIGHT_FLAG_POS);
     }
@@ -1,5 +1,8 @@
 package com.useswiftly.ingestion.product;
 
+import com.useswiftly.ingestion.product.functions.DisplayPriceCache;
+import com.useswiftly.ingestion.records.FixedPointMoney;
+import com.useswiftly.ingestion.records.FixedPointMoneyFormat;
 import com.useswiftly.ingestion.records.RecordFormattable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -8,7 +11,6 @@ import javax.inject.Inject;
 import javax.money.MonetaryAmount;
 import javax.money.format.MonetaryAmountFormat;
 import java.math.BigInteger;
-import java.util.StringJoiner;
 
 /**
  * Formatter for {@link ProductRecord} instances that will display a single
@@ -17,52 +19,260 @@ import java.util.StringJoiner;
  * and all prices are formatted with currency symbols.
  */
 public class ProductRecordFormatter implements RecordFormattable<ProductRecord> {
+    /**
+     * Width of the zero padded product ID.
+     */
+    private static final int PRODUCT_ID_WIDTH = 8;
+
+    /**
+     * Typical length of a formatted record used to size new builders.
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
     private final MonetaryAmountFormat displayPriceFormat;
 
-    @Inject
+    /**
+     * Flag indicating that prices can be rendered with
+     * {@link FixedPointMoneyFormat} instead of the display price format.
+     */
+    private final boolean isFixedPointFormat;
+
+    /**
+     * Cache of formatted prices or null if prices are formatted every time.
+     */
+    private final DisplayPriceCache priceCache;
+
     public ProductRecordFormatter(final MonetaryAmountFormat displayPriceFormat) {
+        this(displayPriceFormat, null);
+    }
+
+    @Inject
+    public ProductRecordFormatter(final MonetaryAmountFormat displayPriceFormat,
+                                  @Nullable final DisplayPriceCache priceCache) {
         this.displayPriceFormat = displayPriceFormat;
+        this.isFixedPointFormat = FixedPointMoneyFormat.supports(displayPriceFormat);
+        this.priceCache = priceCache;
     }
 
     @NotNull
     @Override
     public String format(@Nullable final ProductRecord record) {
+        return formatTo(record, new StringBuilder(INITIAL_CAPACITY)).toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Records of type {@link PrimitiveProductRecordImpl} are rendered from
+     * their fixed-point values, so no intermediate objects are created when
+     * the display price format is the default US dollar format. The output is
+     * identical to {@link #format(ProductRecord)}.</p>
+     */
+    @NotNull
+    @Override
+    public StringBuilder formatTo(@Nullable final ProductRecord record,
+                                  @NotNull final StringBuilder out) {
         if (record == null) {
-            return "<null>";
+            return out.append("<null>");
+        }
+
+        if (record instanceof PrimitiveProductRecordImpl) {
+            return formatPrimitiveTo((PrimitiveProductRecordImpl)record, out);
         }
 
         // We format null to something more human friendly
         final String productSize = record.getProductSize() == null ?
                 "n/a" : record.getProductSize();
 
-        return new StringJoiner(", ", "[", "]")
-                .add("productId=" + formatProductId(record.getProductId()))
-                .add("productDescription='" + record.getProductDescription() + "'")
-                .add("regularDisplayPrice=" + record.regularDisplayPrice())
-                .add("regularCalculatorPrice=" + formatPrice(record.calculateRegularCalculatorPrice()))
-                .add("promotionalDisplayPrice=" + record.promotionalDisplayPrice())
-                .add("promotionalCalculatorPrice=" + formatPrice(record.calculatePromotionalCalculatorPrice()))
-                .add("unitOfMeasure=" + record.deriveUnitOfMeasure())
-                .add("productSize='" + productSize + "'")
-                .add("taxRate=" + record.calculateTaxRate())
-                .toString();
+        out.append("[productId=");
+        appendProductId(record.getProductId(), out);
+        out.append(", productDescription='").append(record.getProductDescription())
+                .append("', regularDisplayPrice=").append(record.regularDisplayPrice())
+                .append(", regularCalculatorPrice=");
+        appendPrice(record.calculateRegularCalculatorPrice(), out);
+        out.append(", promotionalDisplayPrice=").append(record.promotionalDisplayPrice())
+                .append(", promotionalCalculatorPrice=");
+        appendPrice(record.calculatePromotionalCalculatorPrice(), out);
+
+        return appendTail(record, productSize, out);
+    }
+
+    @NotNull
+    private StringBuilder formatPrimitiveTo(final PrimitiveProductRecordImpl record,
+                                            final StringBuilder out) {
+        final String productSize = record.getProductSize() == null ?
+                "n/a" : record.getProductSize();
+
+        out.append("[productId=");
+
+        if (record.isProductIdSet()) {
+            appendZeroPadded(record.getProductIdAsLong(), out);
+        } else {
+            out.append("null");
+        }
+
+        out.append(", productDescription='").append(record.getProductDescription())
+                .append("', regularDisplayPrice=");
+
+        if (isDisplayPriceFormatShared(record)) {
+            appendDisplayPrice(record.regularDisplayAmount(),
+                    record.regularDisplayQuantity(), record.getDisplayPriceFormat(), out);
+        } else {
+            out.append(record.regularDisplayPrice());
+        }
+
+        out.append(", regularCalculatorPrice=");
+        appendPrice(record.regularCalculatorAmount(), out);
+        out.append(", promotionalDisplayPrice=");
+
+        if (isDisplayPriceFormatShared(record)) {
+            appendDisplayPrice(record.promotionalDisplayAmount(),
+                    record.promotionalDisplayQuantity(), record.getDisplayPriceFormat(), out);
+        } else {
+            out.append(record.promotionalDisplayPrice());
+        }
+
+        out.append(", promotionalCalculatorPrice=");
+        appendPrice(record.promotionalCalculatorAmount(), out);
+
+        return appendTail(record, productSize, out);
     }
 
     @NotNull
-    private String formatPrice(final MonetaryAmount amount) {
+    private static StringBuilder appendTail(final ProductRecord record,
+                                            final String productSize,
+                                            final StringBuilder out) {
+        return out.append(", unitOfMeasure=").append(record.deriveUnitOfMeasure())
+                .append(", productSize='").append(productSize)
+                .append("', taxRate=").append(record.calculateTaxRate())
+                .append(']');
+    }
+
+    /**
+     * Checks if the record renders its display prices with a format that
+     * produces the same output as {@link FixedPointMoneyFormat}.
+     */
+    private boolean isDisplayPriceFormatShared(final PrimitiveProductRecordImpl record) {
+        final MonetaryAmountFormat recordFormat = record.getDisplayPriceFormat();
+
+        if (recordFormat == displayPriceFormat) {
+            return isFixedPointFormat;
+        }
+
+        return recordFormat != null && FixedPointMoneyFormat.supports(recordFormat);
+    }
+
+    /**
+     * Renders the same text as {@link PrimitiveProductRecordImpl#computeDisplayPrice}.
+     */
+    private void appendDisplayPrice(@Nullable final FixedPointMoney amount,
+                                    final int forX,
+                                    final MonetaryAmountFormat format,
+                                    final StringBuilder out) {
         if (amount == null) {
-            return "null";
+            out.append("unknown");
+            return;
+        }
+
+        if (forX > 0) {
+            out.append(forX).append(" for ");
+        }
+
+        if (FixedPointMoneyFormat.supports(amount)) {
+            FixedPointMoneyFormat.append(amount, out);
+        } else {
+            out.append(formatPrice(amount, amount.toMonetaryAmount(), format));
         }
-        // Price formatted to a friendly string with a currency symbol
-        return displayPriceFormat.format(amount);
     }
 
+    private void appendPrice(@Nullable final FixedPointMoney amount,
+                             final StringBuilder out) {
+        if (amount == null) {
+            out.append("null");
+        } else if (isFixedPointFormat && FixedPointMoneyFormat.supports(amount)) {
+            FixedPointMoneyFormat.append(amount, out);
+        } else {
+            out.append(formatPrice(amount, amount.toMonetaryAmount(), displayPriceFormat));
+        }
+    }
+
+    private void appendPrice(@Nullable final MonetaryAmount amount,
+                             final StringBuilder out) {
+        if (amount == null) {
+            out.append("null");
+        } else {
+            final FixedPointMoney key = priceCache == null ? null : DisplayPriceCache.keyOf(amount);
+            // Price formatted to a friendly string with a currency symbol
+            out.append(formatPrice(key, amount, displayPriceFormat));
+        }
+    }
+
+    /**
+     * Formats an amount with the price cache if there is one.
+     *
+     * @param key amount as a cache key or null if it can't be cached
+     * @param amount amount to format
+     * @param format format to use
+     */
     @NotNull
-    private String formatProductId(final BigInteger productId) {
+    private String formatPrice(@Nullable final FixedPointMoney key,
+                               @NotNull final MonetaryAmount amount,
+                               @NotNull final MonetaryAmountFormat format) {
+        if (priceCache == null || key == null) {
+            return format.format(amount);
+        }
+
+        final String cached = priceCache.getDisplayPrice(key, 0, format);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final String formatted = format.format(amount);
+        priceCache.putDisplayPrice(key, 0, format, formatted);
+
+        return formatted;
+    }
+
+    private static void appendProductId(@Nullable final BigInteger productId,
+                                        final StringBuilder out) {
         if (productId == null) {
-            return "null";
+            out.append("null");
+        } else if (productId.bitLength() < Long.SIZE) {
+            appendZeroPadded(productId.longValue(), out);
+        } else {
+            out.append(String.format("%08d", productId));
+        }
+    }
+
+    /**
+     * Appends the value in the same way as <code>String.format("%08d")</code>.
+     */
+    private static void appendZeroPadded(final long value, final StringBuilder out) {
+        if (value == Long.MIN_VALUE) {
+            out.append(value);
+            return;
+        }
+
+        int width = PRODUCT_ID_WIDTH;
+        long absolute = value;
+
+        if (value < 0) {
+            out.append('-');
+            absolute = -value;
+            width--;
+        }
+
+        long limit = 10L;
+
+        for (int i = 1; i < width; i++) {
+            if (absolute < limit) {
+                out.append('0');
+            }
+
+            limit *= 10L;
         }
 
-        return String.format("%08d", productId);
+        out.append(absolute);
     }
 }
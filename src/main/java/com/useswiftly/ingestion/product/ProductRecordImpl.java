@@ -1,10 +1,13 @@
 package com.useswiftly.ingestion.product;
 
+import com.useswiftly.ingestion.product.functions.DisplayPriceCache;
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.FixedPointMoney;
+import com.useswiftly.ingestion.records.FixedPointRounding;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
-import javax.inject.Named;
 import javax.money.MonetaryAmount;
 import javax.money.MonetaryRounding;
 import javax.money.format.MonetaryAmountFormat;
@@ -12,7 +15,6 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Objects;
 import java.util.StringJoiner;
-import java.util.function.Function;
 
 /**
  * Domain entity object that represents a single product record.
@@ -31,33 +33,37 @@ public class ProductRecordImpl implements ProductRecord {
     private String productSize;
 
     /**
-     * Function that dynamically provides that tax rate when requested so that
-     * the tax rate can be updated at runtime and does the tax rate calculation
-     * as a closure so that the business logic is decoupled.
+     * Shared collaborators that the business rules are applied with.
      */
-    private final Function<ProductRecordFlags, BigDecimal> taxRateCalculatorFunction;
+    private final ProductRecordContext context;
 
-    /**
-     * Function that dynamically determines what unit of measure is associated with
-     * a given product record.
+    /*
+     * Memoized derived prices. Each memo is immutable and records the price
+     * fields it was derived from, so a memo is only used while those fields
+     * are unchanged. Setters clear the memos of the prices they affect.
      */
-    private final Function<ProductRecordFlags, UnitOfMeasure> unitOfMeasureDeciderFunction;
+    private volatile PriceMemo<String> regularDisplayPriceMemo;
+    private volatile PriceMemo<MonetaryAmount> regularCalculatorPriceMemo;
+    private volatile PriceMemo<String> promotionalDisplayPriceMemo;
+    private volatile PriceMemo<MonetaryAmount> promotionalCalculatorPriceMemo;
 
-    private final MonetaryAmountFormat displayPriceFormat;
+    public ProductRecordImpl(final FlagRuleTable flagRules,
+                             final MonetaryAmountFormat displayPriceFormat,
+                             final MonetaryRounding rounding) {
+        this(flagRules, displayPriceFormat, rounding, null);
+    }
 
-    private final MonetaryRounding rounding;
+    public ProductRecordImpl(final FlagRuleTable flagRules,
+                             final MonetaryAmountFormat displayPriceFormat,
+                             final MonetaryRounding rounding,
+                             @Nullable final DisplayPriceCache priceCache) {
+        this(new ProductRecordContext(flagRules, displayPriceFormat,
+                FixedPointRounding.of(rounding), priceCache));
+    }
 
     @Inject
-    public ProductRecordImpl(@Named("TaxRateCalculator")
-                         final Function<ProductRecordFlags, BigDecimal> taxRateCalculator,
-                             @Named("UnitOfMeasureDecider")
-                         final Function<ProductRecordFlags, UnitOfMeasure> unitOfMeasureDeciderFunction,
-                             final MonetaryAmountFormat displayPriceFormat,
-                             final MonetaryRounding rounding) {
-        this.taxRateCalculatorFunction = taxRateCalculator;
-        this.unitOfMeasureDeciderFunction = unitOfMeasureDeciderFunction;
-        this.displayPriceFormat = displayPriceFormat;
-        this.rounding = rounding;
+    public ProductRecordImpl(@NotNull final ProductRecordContext context) {
+        this.context = Objects.requireNonNull(context, "context");
     }
 
     @Override
@@ -93,6 +99,7 @@ public class ProductRecordImpl implements ProductRecord {
     @Override
     public ProductRecordImpl setRegularSingularPrice(@Nullable final MonetaryAmount regularSingularPrice) {
         this.regularSingularPrice = regularSingularPrice;
+        invalidateRegularPrices();
         return this;
     }
 
@@ -105,6 +112,7 @@ public class ProductRecordImpl implements ProductRecord {
     @Override
     public ProductRecordImpl setPromotionalSingularPrice(@Nullable final MonetaryAmount promotionalSingularPrice) {
         this.promotionalSingularPrice = promotionalSingularPrice;
+        invalidatePromotionalPrices();
         return this;
     }
 
@@ -117,6 +125,7 @@ public class ProductRecordImpl implements ProductRecord {
     @Override
     public ProductRecordImpl setRegularSplitPrice(@Nullable final MonetaryAmount regularSplitPrice) {
         this.regularSplitPrice = regularSplitPrice;
+        invalidateRegularPrices();
         return this;
     }
 
@@ -129,6 +138,7 @@ public class ProductRecordImpl implements ProductRecord {
     @Override
     public ProductRecordImpl setPromotionalSplitPrice(@Nullable final MonetaryAmount promotionalSplitPrice) {
         this.promotionalSplitPrice = promotionalSplitPrice;
+        invalidatePromotionalPrices();
         return this;
     }
 
@@ -141,6 +151,7 @@ public class ProductRecordImpl implements ProductRecord {
     @Override
     public ProductRecordImpl setRegularForX(@Nullable final BigInteger regularForX) {
         this.regularForX = regularForX;
+        invalidateRegularPrices();
         return this;
     }
 
@@ -153,6 +164,7 @@ public class ProductRecordImpl implements ProductRecord {
     @Override
     public ProductRecordImpl setPromotionalForX(@Nullable final BigInteger promotionalForX) {
         this.promotionalForX = promotionalForX;
+        invalidatePromotionalPrices();
         return this;
     }
 
@@ -182,42 +194,85 @@ public class ProductRecordImpl implements ProductRecord {
 
     /* ====================================================================== *\
      * The below methods calculate their values based on data already stored in
-     * this object and/or providers and are not persisted within this object.
+     * this object and/or providers. Prices are memoized until the price fields
+     * they are derived from are set.
      * ====================================================================== */
 
     @Override
     @NotNull
     public String regularDisplayPrice() {
-        return computeDisplayPrice(getRegularSingularPrice(),
-                getRegularSplitPrice(), getRegularForX());
+        final MonetaryAmount singularPrice = getRegularSingularPrice();
+        final MonetaryAmount splitPrice = getRegularSplitPrice();
+        final BigInteger forX = getRegularForX();
+        final PriceMemo<String> memo = regularDisplayPriceMemo;
+
+        if (memo != null && memo.isDerivedFrom(singularPrice, splitPrice, forX)) {
+            return memo.value;
+        }
+
+        final String displayPrice = computeDisplayPrice(singularPrice, splitPrice, forX);
+        regularDisplayPriceMemo = new PriceMemo<>(singularPrice, splitPrice, forX, displayPrice);
+        return displayPrice;
     }
 
     @Override
     @Nullable
     public MonetaryAmount calculateRegularCalculatorPrice() {
-        return computeCalculatorPrice(getRegularSingularPrice(),
-                getRegularSplitPrice(), getRegularForX());
+        final MonetaryAmount singularPrice = getRegularSingularPrice();
+        final MonetaryAmount splitPrice = getRegularSplitPrice();
+        final BigInteger forX = getRegularForX();
+        final PriceMemo<MonetaryAmount> memo = regularCalculatorPriceMemo;
+
+        if (memo != null && memo.isDerivedFrom(singularPrice, splitPrice, forX)) {
+            return memo.value;
+        }
+
+        final MonetaryAmount calculatorPrice = computeCalculatorPrice(singularPrice, splitPrice, forX);
+        regularCalculatorPriceMemo = new PriceMemo<>(singularPrice, splitPrice, forX, calculatorPrice);
+        return calculatorPrice;
     }
 
     @Override
     @Nullable
     public String promotionalDisplayPrice() {
-        return computeDisplayPrice(getPromotionalSingularPrice(),
-                getPromotionalSplitPrice(), getPromotionalForX());
+        final MonetaryAmount singularPrice = getPromotionalSingularPrice();
+        final MonetaryAmount splitPrice = getPromotionalSplitPrice();
+        final BigInteger forX = getPromotionalForX();
+        final PriceMemo<String> memo = promotionalDisplayPriceMemo;
+
+        if (memo != null && memo.isDerivedFrom(singularPrice, splitPrice, forX)) {
+            return memo.value;
+        }
+
+        final String displayPrice = computeDisplayPrice(singularPrice, splitPrice, forX);
+        promotionalDisplayPriceMemo = new PriceMemo<>(singularPrice, splitPrice, forX, displayPrice);
+        return displayPrice;
     }
 
     @Override
     @Nullable
     public MonetaryAmount calculatePromotionalCalculatorPrice() {
-        return computeCalculatorPrice(getPromotionalSingularPrice(),
-                getPromotionalSplitPrice(), getPromotionalForX());
+        final MonetaryAmount singularPrice = getPromotionalSingularPrice();
+        final MonetaryAmount splitPrice = getPromotionalSplitPrice();
+        final BigInteger forX = getPromotionalForX();
+        final PriceMemo<MonetaryAmount> memo = promotionalCalculatorPriceMemo;
+
+        if (memo != null && memo.isDerivedFrom(singularPrice, splitPrice, forX)) {
+            return memo.value;
+        }
+
+        final MonetaryAmount calculatorPrice = computeCalculatorPrice(singularPrice, splitPrice, forX);
+        promotionalCalculatorPriceMemo = new PriceMemo<>(singularPrice, splitPrice, forX, calculatorPrice);
+        return calculatorPrice;
     }
 
     @Override
     @Nullable
     public UnitOfMeasure deriveUnitOfMeasure() {
-        if (unitOfMeasureDeciderFunction != null) {
-            return unitOfMeasureDeciderFunction.apply(getFlags());
+        final FlagRuleTable flagRules = context.getFlagRules();
+
+        if (flagRules != null) {
+            return flagRules.lookupUnitOfMeasure(getFlags());
         } else {
             return null;
         }
@@ -226,8 +281,10 @@ public class ProductRecordImpl implements ProductRecord {
     @Override
     @Nullable
     public BigDecimal calculateTaxRate() {
-        if (taxRateCalculatorFunction != null) {
-            return taxRateCalculatorFunction.apply(getFlags());
+        final FlagRuleTable flagRules = context.getFlagRules();
+
+        if (flagRules != null) {
+            return flagRules.lookupTaxRate(getFlags());
         } else {
             return null;
         }
@@ -293,9 +350,9 @@ public class ProductRecordImpl implements ProductRecord {
             // since both prices are zero, we just return one of them
             amount = singularPrice;
         } else if (!singularPrice.isZero()) {
-            amount = singularPrice.with(rounding);
+            amount = singularPrice.with(context.getMonetaryRounding());
         } else if (!splitPrice.isZero()) {
-            amount = splitPrice.with(rounding);
+            amount = splitPrice.with(context.getMonetaryRounding());
         } else {
             String msg = String.format("Either singular price [%s] or split " +
                     "price [%s] must be zero", singularPrice, splitPrice);
@@ -322,9 +379,20 @@ public class ProductRecordImpl implements ProductRecord {
         }
 
         final MonetaryAmount amount = selectApplicablePrice(singularPrice, splitPrice);
+        final FixedPointMoney key = cacheKeyOf(amount, forX);
+        final int cachedForX = forX != null && forX.signum() > 0 ? forX.intValue() : 0;
+
+        if (key != null) {
+            final String cached = context.getPriceCache().getDisplayPrice(key, cachedForX,
+                    context.getDisplayPriceFormat());
+
+            if (cached != null) {
+                return cached;
+            }
+        }
 
         // Price formatted to a friendly string with a currency symbol
-        final String formattedPrice = displayPriceFormat.format(amount);
+        final String formattedPrice = context.getDisplayPriceFormat().format(amount);
 
         // End price to display to users
         final String displayPrice;
@@ -337,6 +405,11 @@ public class ProductRecordImpl implements ProductRecord {
             displayPrice = formattedPrice;
         }
 
+        if (key != null) {
+            context.getPriceCache().putDisplayPrice(key, cachedForX,
+                    context.getDisplayPriceFormat(), displayPrice);
+        }
+
         return displayPrice;
     }
 
@@ -358,6 +431,18 @@ public class ProductRecordImpl implements ProductRecord {
         }
 
         final MonetaryAmount amount = selectApplicablePrice(singularPrice, splitPrice);
+        final FixedPointMoney key = cacheKeyOf(amount, forX);
+        final int cachedForX = forX != null && forX.signum() > 0 ? forX.intValue() : 0;
+
+        if (key != null) {
+            final MonetaryAmount cached = context.getPriceCache().getCalculatorPrice(key,
+                    cachedForX, context.getMonetaryRounding());
+
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         final MonetaryAmount calculatorPrice;
 
         // Don't do any additional computation if the value is already zero
@@ -368,11 +453,93 @@ public class ProductRecordImpl implements ProductRecord {
             /* Assume that amount is the proper split price because we assume
              * the data file isn't corrupt - I really don't like this assumption
              * but it is fine for this exercise. */
-            calculatorPrice = amount.divide(forX).with(rounding).stripTrailingZeros();
+            calculatorPrice = amount.divide(forX)
+                    .with(context.getMonetaryRounding())
+                    .stripTrailingZeros();
         } else {
             calculatorPrice = amount;
         }
 
+        if (key != null) {
+            context.getPriceCache().putCalculatorPrice(key, cachedForX,
+                    context.getMonetaryRounding(), calculatorPrice);
+        }
+
         return calculatorPrice;
     }
+
+    /**
+     * Gets the key of an applicable price in the price cache.
+     *
+     * @return key or null if there is no cache or the price can't be cached
+     */
+    @Nullable
+    private FixedPointMoney cacheKeyOf(@NotNull final MonetaryAmount amount,
+                                      @Nullable final BigInteger forX) {
+        // for X quantities that don't fit an int are too rare to cache
+        if (context.getPriceCache() == null || (forX != null && forX.bitLength() >= Integer.SIZE)) {
+            return null;
+        }
+
+        return DisplayPriceCache.keyOf(amount);
+    }
+
+    private void invalidateRegularPrices() {
+        regularDisplayPriceMemo = null;
+        regularCalculatorPriceMemo = null;
+    }
+
+    private void invalidatePromotionalPrices() {
+        promotionalDisplayPriceMemo = null;
+        promotionalCalculatorPriceMemo = null;
+    }
+
+    /**
+     * Immutable derived price together with the price fields it was derived
+     * from. Memos are published through volatile fields and compare their
+     * inputs by identity, so a thread never uses a memo of fields that have
+     * been replaced, even if it races with a setter.
+     */
+    private static final class PriceMemo<T> {
+        private final MonetaryAmount singularPrice;
+        private final MonetaryAmount splitPrice;
+        private final BigInteger forX;
+        private final T value;
+
+        private PriceMemo(final MonetaryAmount singularPrice,
+                          final MonetaryAmount splitPrice,
+                          final BigInteger forX,
+                          final T value) {
+            this.singularPrice = singularPrice;
+            this.splitPrice = splitPrice;
+            this.forX = forX;
+            this.value = value;
+        }
+
+        private boolean isDerivedFrom(final MonetaryAmount singularPrice,
+                                      final MonetaryAmount splitPrice,
+                                      final BigInteger forX) {
+            return this.singularPrice == singularPrice
+                    && this.splitPrice == splitPrice
+                    && this.forX == forX;
+        }
+    }
+
+    /**
+     * Creates records that share a single {@link ProductRecordContext}.
+     */
+    public static class Factory implements ProductRecordFactory {
+        private final ProductRecordContext context;
+
+        @Inject
+        public Factory(@NotNull final ProductRecordContext context) {
+            this.context = Objects.requireNonNull(context, "context");
+        }
+
+        @NotNull
+        @Override
+        public ProductRecordImpl newRecord() {
+            return new ProductRecordImpl(context);
+        }
+    }
 }
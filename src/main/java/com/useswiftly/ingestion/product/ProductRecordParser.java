@@ -1,20 +1,40 @@
 package com.useswiftly.ingestion.product;
 
 import com.useswiftly.ingestion.records.Field;
+import com.useswiftly.ingestion.records.RecordBytesParser;
 import com.useswiftly.ingestion.records.RecordParseException;
+import com.useswiftly.ingestion.records.RecordParserCompiler;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
  * Closure that encapsulates the per-line record parsing logic for the product
- * record data file such that it can be used within a Java 8 stream.
+ * record data file such that it can be used within a Java 8 stream. Lines can
+ * be parsed either from a {@link String} or directly from a range of bytes.
+ *
+ * <p>When compilation is enabled, the field list is compiled by
+ * {@link RecordParserCompiler} into a single decoder for this exact layout.
+ * Otherwise, or if the fields can't be compiled, each line is parsed by
+ * looping over the field list.</p>
+ *
+ * <p>A parser that only decodes some of the fields can be created with
+ * {@link #project(Collection)}.</p>
  */
-public class ProductRecordParser implements Function<String, ProductRecord> {
+public class ProductRecordParser implements Function<String, ProductRecord>,
+        RecordBytesParser<ProductRecord> {
     /**
      * List of fields to be parsed from data file.
      */
@@ -26,16 +46,130 @@ public class ProductRecordParser implements Function<String, ProductRecord> {
     private final int recordSize;
 
     /**
-     * Provider class that provides new pre-injected instances of {@link ProductRecord}.
+     * Factory of new records that share a single context.
      */
-    private final Provider<ProductRecord> productRecordProvider;
+    private final ProductRecordFactory recordFactory;
+
+    /**
+     * Character set used to decode lines for error messages when parsing
+     * directly from bytes.
+     */
+    private final Charset charset;
+
+    /**
+     * Field decoder compiled for the field list or null if the field list is
+     * interpreted.
+     */
+    @Nullable
+    private final RecordParserCompiler.CompiledFields<ProductRecord> compiledFields;
+
+    /**
+     * Creates a parser that interprets the field list.
+     *
+     * @param fieldsToParse fields to parse from each line
+     * @param productRecordProvider provider of new records
+     * @param charset character set of the data file
+     */
+    public ProductRecordParser(final List<Field<?, ProductRecord>> fieldsToParse,
+                               final Provider<ProductRecord> productRecordProvider,
+                               final Charset charset) {
+        this(fieldsToParse, productRecordProvider, charset, false);
+    }
+
+    /**
+     * Creates a parser that creates each record with a provider, such as one
+     * obtained from the injector.
+     *
+     * @param fieldsToParse fields to parse from each line
+     * @param productRecordProvider provider of new records
+     * @param charset character set of the data file
+     * @param compile true to compile the field list into a single decoder
+     */
+    public ProductRecordParser(final List<Field<?, ProductRecord>> fieldsToParse,
+                               final Provider<ProductRecord> productRecordProvider,
+                               final Charset charset,
+                               final boolean compile) {
+        this(fieldsToParse, (ProductRecordFactory)productRecordProvider::get, charset, compile);
+    }
 
     @Inject
     public ProductRecordParser(final List<Field<?, ProductRecord>> fieldsToParse,
-                               final Provider<ProductRecord> productRecordProvider) {
+                               final ProductRecordFactory recordFactory,
+                               final Charset charset,
+                               @Named("CompileRecordParser") final boolean compile) {
         this.fieldsToParse = fieldsToParse;
-        this.productRecordProvider = productRecordProvider;
+        this.recordFactory = recordFactory;
+        this.charset = charset;
         this.recordSize = calculateRecordSize();
+        this.compiledFields = compile ? compileFields(fieldsToParse) : null;
+    }
+
+    /**
+     * Creates a parser of a subset of the fields of another parser.
+     */
+    private ProductRecordParser(final ProductRecordParser parent,
+                                final List<Field<?, ProductRecord>> projection) {
+        this.fieldsToParse = projection;
+        this.recordFactory = parent.recordFactory;
+        this.charset = parent.charset;
+        this.recordSize = parent.recordSize;
+        this.compiledFields = parent.isCompiled() ? compileFields(projection) : null;
+    }
+
+    /**
+     * Creates a parser that only decodes the named fields and leaves the
+     * other fields of each record unset. Lines are still checked against the
+     * full record size, and the selected fields are validated the same as
+     * when every field is decoded. Fields are decoded in the order of this
+     * parser's field list.
+     *
+     * @param fieldNames plain-text names of the fields to decode
+     * @return new parser of the named fields
+     * @throws IllegalArgumentException thrown if no fields are named or a
+     *                                  name isn't in the field list
+     */
+    public ProductRecordParser project(@NotNull final Collection<String> fieldNames) {
+        if (fieldNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be decoded");
+        }
+
+        final Set<String> unknownNames = new HashSet<>(fieldNames);
+        final List<Field<?, ProductRecord>> projection = new ArrayList<>(fieldNames.size());
+
+        for (final Field<?, ProductRecord> field : fieldsToParse) {
+            if (fieldNames.contains(field.getName())) {
+                projection.add(field);
+                unknownNames.remove(field.getName());
+            }
+        }
+
+        if (!unknownNames.isEmpty()) {
+            String msg = String.format("Fields %s aren't parsed by this parser", unknownNames);
+            throw new IllegalArgumentException(msg);
+        }
+
+        return new ProductRecordParser(this, List.copyOf(projection));
+    }
+
+    /**
+     * @return fields decoded from each line
+     */
+    public List<Field<?, ProductRecord>> getFields() {
+        return fieldsToParse;
+    }
+
+    /**
+     * @return true if lines are parsed by a decoder compiled for the field list
+     */
+    public boolean isCompiled() {
+        return compiledFields != null;
+    }
+
+    /**
+     * @return total size in characters of a single record line
+     */
+    public int getRecordSize() {
+        return recordSize;
     }
 
     /**
@@ -57,8 +191,41 @@ public class ProductRecordParser implements Function<String, ProductRecord> {
         return recordSize;
     }
 
+    @Nullable
+    private static RecordParserCompiler.CompiledFields<ProductRecord> compileFields(
+            final List<Field<?, ProductRecord>> fieldsToParse) {
+        try {
+            return RecordParserCompiler.compile(fieldsToParse);
+        } catch (IllegalStateException e) {
+            // Fall back to interpreting the field list
+            return null;
+        }
+    }
+
+    /**
+     * @return new record from the record factory, for use with the methods
+     *         that parse into an existing record
+     */
+    @NotNull
+    public ProductRecord newRecord() {
+        return recordFactory.newRecord();
+    }
+
     @Override
     public ProductRecord apply(@NotNull final String line) {
+        return apply(line, recordFactory.newRecord());
+    }
+
+    /**
+     * Parses a line into an existing record instead of a new one. Every field
+     * in the field list is assigned, so a record that was only ever parsed
+     * into by this parser holds no values of the previous line afterwards.
+     *
+     * @param line line to parse
+     * @param record record to assign the fields of the line to
+     * @return the given record
+     */
+    public ProductRecord apply(@NotNull final String line, @NotNull final ProductRecord record) {
         if (line.length() != recordSize) {
             String msg = String.format("Expected a record length of [%d], " +
                     "actual length of record was [%d] characters. Line contents:\n%s",
@@ -66,15 +233,76 @@ public class ProductRecordParser implements Function<String, ProductRecord> {
             throw new RecordParseException(msg);
         }
 
-        final ProductRecord record = productRecordProvider.get();
+        if (compiledFields != null) {
+            compiledFields.assign(line, 0, record);
+            return record;
+        }
 
         /* Assign and populate all fields onto a record object based on the
          * field metadata. This approach makes it easy for us to add/change/remove
          * fields from a record. */
         for (final Field<?, ProductRecord> field : fieldsToParse) {
-            final String substring = line.substring(
-                    field.getStartPositionInclusive(), field.getEndPositionExclusive());
-            field.convertAndAssignValueToRecord(substring, record);
+            field.convertAndAssignValueToRecord(line,
+                    field.getStartPositionInclusive(), field.getEndPositionExclusive(), record);
+        }
+
+        return record;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each field is decoded directly from the bytes at the field's position
+     * within the line, so no intermediate {@link String} copies of the line or
+     * of the individual fields are made.</p>
+     */
+    @Override
+    public ProductRecord apply(@NotNull final ByteBuffer source,
+                               final int startInclusive,
+                               final int endExclusive) {
+        return apply(source, startInclusive, endExclusive, recordFactory.newRecord());
+    }
+
+    /**
+     * Parses a line of bytes into an existing record instead of a new one.
+     * Every field in the field list is assigned, so a record that was only
+     * ever parsed into by this parser holds no values of the previous line
+     * afterwards.
+     *
+     * @param source buffer containing the record line
+     * @param startInclusive absolute index of the first byte of the line
+     * @param endExclusive absolute index after the last byte of the line
+     * @param record record to assign the fields of the line to
+     * @return the given record
+     */
+    public ProductRecord apply(@NotNull final ByteBuffer source,
+                               final int startInclusive,
+                               final int endExclusive,
+                               @NotNull final ProductRecord record) {
+        final int length = endExclusive - startInclusive;
+
+        if (length != recordSize) {
+            final byte[] line = new byte[length];
+
+            for (int i = 0; i < length; i++) {
+                line[i] = source.get(startInclusive + i);
+            }
+
+            String msg = String.format("Expected a record length of [%d], " +
+                    "actual length of record was [%d] characters. Line contents:\n%s",
+                    recordSize, length, new String(line, charset));
+            throw new RecordParseException(msg);
+        }
+
+        if (compiledFields != null) {
+            compiledFields.assign(source, startInclusive, record);
+            return record;
+        }
+
+        for (final Field<?, ProductRecord> field : fieldsToParse) {
+            field.convertAndAssignValueToRecord(source,
+                    startInclusive + field.getStartPositionInclusive(),
+                    startInclusive + field.getEndPositionExclusive(), record);
         }
 
         return record;
@@ -0,0 +1,78 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.records.Field;
+import com.useswiftly.ingestion.records.FieldPredicates;
+import com.useswiftly.ingestion.records.RecordPredicate;
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Factory of {@link RecordPredicate} instances for common product record
+ * filters, for use with
+ * {@link ProductRecordFileParser#parse(java.nio.file.Path, com.useswiftly.ingestion.records.RecordLayout, RecordPredicate)}.
+ * Fields are looked up by name in the configured field list, so the
+ * predicates read the same positions as the parser. Predicates on other
+ * fields can be created with {@link FieldPredicates} and combined with
+ * {@link RecordPredicate#and(RecordPredicate)} and
+ * {@link RecordPredicate#or(RecordPredicate)}.
+ */
+public class ProductRecordPredicates {
+    private final List<Field<?, ProductRecord>> fields;
+
+    @Inject
+    public ProductRecordPredicates(@NotNull final List<Field<?, ProductRecord>> fields) {
+        this.fields = Objects.requireNonNull(fields, "fields");
+    }
+
+    /**
+     * @return predicate that matches taxable items
+     */
+    public RecordPredicate taxable() {
+        return FieldPredicates.flag(field("Flags"), ProductRecordFlags.TAXABLE_ITEM_FLAG_POS);
+    }
+
+    /**
+     * @return predicate that matches items sold by weight
+     */
+    public RecordPredicate perWeight() {
+        return FieldPredicates.flag(field("Flags"), ProductRecordFlags.PER_WEIGHT_FLAG_POS);
+    }
+
+    /**
+     * @param minInclusive lowest matching product ID
+     * @param maxInclusive highest matching product ID
+     * @return predicate that matches product IDs within the range
+     */
+    public RecordPredicate productIdBetween(final long minInclusive, final long maxInclusive) {
+        return FieldPredicates.between(field("Product ID"), minInclusive, maxInclusive);
+    }
+
+    /**
+     * @return predicate that matches items with a promotional singular or
+     *         split price other than zero
+     */
+    public RecordPredicate hasPromotionalPrice() {
+        return FieldPredicates.notZero(field("Promotional Singular Price"))
+                .or(FieldPredicates.notZero(field("Promotional Split Price")));
+    }
+
+    /**
+     * @param name plain-text name of the field
+     * @return field of the field list with the name
+     * @throws IllegalStateException thrown if no field has the name
+     */
+    @NotNull
+    public Field<?, ProductRecord> field(@NotNull final String name) {
+        for (final Field<?, ProductRecord> field : fields) {
+            if (field.getName().equals(name)) {
+                return field;
+            }
+        }
+
+        String msg = String.format("No field named [%s] is parsed", name);
+        throw new IllegalStateException(msg);
+    }
+}
@@ -0,0 +1,451 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.FixedPointMoney;
+import com.useswiftly.ingestion.records.FixedPointRounding;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.format.MonetaryAmountFormat;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Immutable in-memory table of product records stored by column in primitive
+ * arrays. Holding a whole data file as a list of {@link ProductRecord} objects
+ * costs hundreds of bytes per record across {@link BigInteger},
+ * {@link MonetaryAmount}, {@link ProductRecordFlags} and {@link String}
+ * instances. A table stores each record in about 70 bytes plus the UTF-8
+ * bytes of its description and size:
+ *
+ * <ul>
+ *     <li>product IDs in a <code>long[]</code></li>
+ *     <li>prices in <code>long[]</code> columns of {@link FixedPointMoney}
+ *     unscaled values, so whole cents are stored exactly</li>
+ *     <li>for X quantities in <code>int[]</code> columns</li>
+ *     <li>flags as their bit mask in a <code>short[]</code></li>
+ *     <li>descriptions and product sizes as UTF-8 bytes in shared byte pages
+ *     with a packed <code>long</code> reference per value</li>
+ * </ul>
+ *
+ * <p>{@link #get(int)} returns a {@link Row} view that implements
+ * {@link ProductRecord} by reading the columns. Rows are read-only; use
+ * {@link Row#toRecord()} for a mutable copy. All prices in a table share a
+ * single currency. Tables are created with a {@link Builder} and are thread
+ * safe once built.</p>
+ */
+public class ProductRecordTable implements Iterable<ProductRecord> {
+    /**
+     * Size in bytes of each page of string data. Values never span pages.
+     */
+    private static final int PAGE_SHIFT = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    /**
+     * Number of low bits of a string reference holding its length plus one.
+     * A reference of zero is a null value.
+     */
+    private static final int LENGTH_BITS = 16;
+
+    /**
+     * String reference of an empty value, which has no bytes in any page.
+     */
+    private static final long EMPTY_STRING = 1L;
+    private static final int MAX_STRING_BYTES = (1 << LENGTH_BITS) - 2;
+
+    private final int size;
+    private final CurrencyUnit currency;
+
+    private final long[] productIds;
+    private final long[] regularSingularPrices;
+    private final long[] promotionalSingularPrices;
+    private final long[] regularSplitPrices;
+    private final long[] promotionalSplitPrices;
+    private final int[] regularForX;
+    private final int[] promotionalForX;
+    private final short[] flags;
+    private final long[] descriptions;
+    private final long[] productSizes;
+    private final byte[][] pages;
+
+    /**
+     * Record used only to apply the display and calculator price rules to
+     * column values. Its own fields are never set.
+     */
+    private final PrimitiveProductRecordImpl pricing;
+
+    private ProductRecordTable(final Builder builder) {
+        final int size = builder.size;
+
+        this.size = size;
+        this.currency = builder.currency;
+        this.productIds = Arrays.copyOf(builder.productIds, size);
+        this.regularSingularPrices = Arrays.copyOf(builder.regularSingularPrices, size);
+        this.promotionalSingularPrices = Arrays.copyOf(builder.promotionalSingularPrices, size);
+        this.regularSplitPrices = Arrays.copyOf(builder.regularSplitPrices, size);
+        this.promotionalSplitPrices = Arrays.copyOf(builder.promotionalSplitPrices, size);
+        this.regularForX = Arrays.copyOf(builder.regularForX, size);
+        this.promotionalForX = Arrays.copyOf(builder.promotionalForX, size);
+        this.flags = Arrays.copyOf(builder.flags, size);
+        this.descriptions = Arrays.copyOf(builder.descriptions, size);
+        this.productSizes = Arrays.copyOf(builder.productSizes, size);
+        this.pages = builder.pagesForTable();
+
+        this.pricing = new PrimitiveProductRecordImpl(builder.context);
+    }
+
+    /**
+     * @return number of rows in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return currency of all prices in the table
+     */
+    @NotNull
+    public CurrencyUnit getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @param index index of row
+     * @return read-only view of the row
+     * @throws IndexOutOfBoundsException thrown if the index is outside of the table
+     */
+    @NotNull
+    public Row get(final int index) {
+        return new Row(Objects.checkIndex(index, size));
+    }
+
+    @NotNull
+    @Override
+    public Iterator<ProductRecord> iterator() {
+        return new Iterator<ProductRecord>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public ProductRecord next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+
+                return new Row(next++);
+            }
+        };
+    }
+
+    /**
+     * @return stream of row views that can be efficiently split for parallel processing
+     */
+    @NotNull
+    public Stream<ProductRecord> stream() {
+        return IntStream.range(0, size).mapToObj(Row::new);
+    }
+
+    /**
+     * Estimates the number of bytes of heap used by the columns and string
+     * pages of the table, ignoring object headers.
+     *
+     * @return estimated size in bytes
+     */
+    public long estimateHeapBytes() {
+        final long perRow = Long.BYTES * 7L + Integer.BYTES * 2L + Short.BYTES;
+        long pageBytes = 0L;
+
+        for (byte[] page : pages) {
+            pageBytes += page.length;
+        }
+
+        return perRow * size + pageBytes;
+    }
+
+    /**
+     * @param index index of row, not checked against the size of the table
+     * @return raw product ID of the row
+     */
+    long productIdAt(final int index) {
+        return productIds[index];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[size=%d, currency=%s]",
+                ProductRecordTable.class.getSimpleName(), size, currency);
+    }
+
+    @Nullable
+    private String string(final long[] column, final int index) {
+        final long reference = column[index];
+
+        if (reference == 0L) {
+            return null;
+        }
+
+        final long offset = reference >>> LENGTH_BITS;
+        final int length = (int)(reference & ((1L << LENGTH_BITS) - 1L)) - 1;
+
+        if (length == 0) {
+            return "";
+        }
+
+        final byte[] page = pages[(int)(offset >>> PAGE_SHIFT)];
+
+        return new String(page, (int)(offset & (PAGE_SIZE - 1)), length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read-only {@link ProductRecord} view of a single row of the table.
+     * Views are cheap to create and hold no copies of the row's values.
+     */
+    public final class Row extends AbstractProductRecordView {
+        private final int index;
+
+        private Row(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        @Nullable
+        public String getProductDescription() {
+            return string(descriptions, index);
+        }
+
+        @Override
+        @Nullable
+        public String getProductSize() {
+            return string(productSizes, index);
+        }
+
+        @Override
+        protected long productIdValue() {
+            return productIds[index];
+        }
+
+        @Override
+        protected long regularSingularValue() {
+            return regularSingularPrices[index];
+        }
+
+        @Override
+        protected long promotionalSingularValue() {
+            return promotionalSingularPrices[index];
+        }
+
+        @Override
+        protected long regularSplitValue() {
+            return regularSplitPrices[index];
+        }
+
+        @Override
+        protected long promotionalSplitValue() {
+            return promotionalSplitPrices[index];
+        }
+
+        @Override
+        protected int regularForXValue() {
+            return regularForX[index];
+        }
+
+        @Override
+        protected int promotionalForXValue() {
+            return promotionalForX[index];
+        }
+
+        @Override
+        protected short flagsValue() {
+            return flags[index];
+        }
+
+        @Override
+        protected CurrencyUnit currency() {
+            return currency;
+        }
+
+        @Override
+        protected PrimitiveProductRecordImpl pricing() {
+            return pricing;
+        }
+    }
+
+    /**
+     * Collects product records into a {@link ProductRecordTable}. Builders
+     * are not thread safe.
+     */
+    public static class Builder {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final ProductRecordContext context;
+        private final CurrencyUnit currency;
+        private final ProductRowValues values;
+
+        private int size = 0;
+        private long[] productIds = new long[INITIAL_CAPACITY];
+        private long[] regularSingularPrices = new long[INITIAL_CAPACITY];
+        private long[] promotionalSingularPrices = new long[INITIAL_CAPACITY];
+        private long[] regularSplitPrices = new long[INITIAL_CAPACITY];
+        private long[] promotionalSplitPrices = new long[INITIAL_CAPACITY];
+        private int[] regularForX = new int[INITIAL_CAPACITY];
+        private int[] promotionalForX = new int[INITIAL_CAPACITY];
+        private short[] flags = new short[INITIAL_CAPACITY];
+        private long[] descriptions = new long[INITIAL_CAPACITY];
+        private long[] productSizes = new long[INITIAL_CAPACITY];
+
+        private final List<byte[]> pages = new ArrayList<>();
+        private byte[] page = null;
+        private int pagePosition = PAGE_SIZE;
+
+        public Builder(final FlagRuleTable flagRules,
+                       final MonetaryAmountFormat displayPriceFormat,
+                       final FixedPointRounding rounding,
+                       final CurrencyUnit currency) {
+            this(new ProductRecordContext(flagRules, displayPriceFormat, rounding), currency);
+        }
+
+        @Inject
+        public Builder(final ProductRecordContext context, final CurrencyUnit currency) {
+            this.context = Objects.requireNonNull(context, "context");
+            this.currency = Objects.requireNonNull(currency, "currency");
+            this.values = new ProductRowValues(currency);
+        }
+
+        /**
+         * Adds all records of a stream. If the stream reports its exact size,
+         * the columns are sized once up front.
+         *
+         * @param records records to add
+         * @return this instance
+         */
+        public Builder addAll(@NotNull final Stream<? extends ProductRecord> records) {
+            final Spliterator<? extends ProductRecord> spliterator = records.spliterator();
+            final long exactSize = spliterator.getExactSizeIfKnown();
+
+            if (exactSize > 0L) {
+                ensureCapacity(Math.addExact(size, Math.toIntExact(exactSize)));
+            }
+
+            spliterator.forEachRemaining(this::add);
+            return this;
+        }
+
+        /**
+         * Copies the values of a record into a new row.
+         *
+         * @param record record to add
+         * @return this instance
+         * @throws IllegalArgumentException thrown if a price has a different
+         *                                  currency than the table or a value can't be stored
+         */
+        public Builder add(@NotNull final ProductRecord record) {
+            values.readFrom(record);
+            ensureCapacity(size + 1);
+
+            final int index = size;
+            productIds[index] = values.productId;
+            regularSingularPrices[index] = values.regularSingularPrice;
+            promotionalSingularPrices[index] = values.promotionalSingularPrice;
+            regularSplitPrices[index] = values.regularSplitPrice;
+            promotionalSplitPrices[index] = values.promotionalSplitPrice;
+            regularForX[index] = values.regularForX;
+            promotionalForX[index] = values.promotionalForX;
+            flags[index] = values.flags;
+            descriptions[index] = store(values.productDescription);
+            productSizes[index] = store(values.productSize);
+
+            size++;
+            return this;
+        }
+
+        /**
+         * @return new table containing all added records
+         */
+        public ProductRecordTable build() {
+            return new ProductRecordTable(this);
+        }
+
+        private byte[][] pagesForTable() {
+            final byte[][] result = pages.toArray(new byte[0][]);
+
+            // The last page is trimmed to the bytes in use
+            if (result.length > 0) {
+                result[result.length - 1] = Arrays.copyOf(page, pagePosition);
+            }
+
+            return result;
+        }
+
+        private long store(@Nullable final String value) {
+            if (value == null) {
+                return 0L;
+            }
+
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            if (bytes.length > MAX_STRING_BYTES) {
+                String msg = String.format("Value [%s] is longer than the maximum " +
+                        "of [%d] bytes", value, MAX_STRING_BYTES);
+                throw new IllegalArgumentException(msg);
+            }
+
+            // Empty values don't reference a page, which may not exist yet
+            if (bytes.length == 0) {
+                return EMPTY_STRING;
+            }
+
+            if (pagePosition + bytes.length > PAGE_SIZE) {
+                page = new byte[PAGE_SIZE];
+                pages.add(page);
+                pagePosition = 0;
+            }
+
+            final long offset = ((long)(pages.size() - 1) << PAGE_SHIFT) + pagePosition;
+            System.arraycopy(bytes, 0, page, pagePosition, bytes.length);
+            pagePosition += bytes.length;
+
+            return (offset << LENGTH_BITS) | (bytes.length + 1);
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity <= productIds.length) {
+                return;
+            }
+
+            final int newCapacity = Math.max(capacity,
+                    (int)Math.min(Integer.MAX_VALUE - 8L, productIds.length * 3L / 2L));
+
+            productIds = Arrays.copyOf(productIds, newCapacity);
+            regularSingularPrices = Arrays.copyOf(regularSingularPrices, newCapacity);
+            promotionalSingularPrices = Arrays.copyOf(promotionalSingularPrices, newCapacity);
+            regularSplitPrices = Arrays.copyOf(regularSplitPrices, newCapacity);
+            promotionalSplitPrices = Arrays.copyOf(promotionalSplitPrices, newCapacity);
+            regularForX = Arrays.copyOf(regularForX, newCapacity);
+            promotionalForX = Arrays.copyOf(promotionalForX, newCapacity);
+            flags = Arrays.copyOf(flags, newCapacity);
+            descriptions = Arrays.copyOf(descriptions, newCapacity);
+            productSizes = Arrays.copyOf(productSizes, newCapacity);
+        }
+    }
+}
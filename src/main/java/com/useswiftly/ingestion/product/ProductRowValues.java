@@ -0,0 +1,118 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.records.FixedPointMoney;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.util.Objects;
+
+import static com.useswiftly.ingestion.product.AbstractProductRecordView.UNSET_FLAGS;
+import static com.useswiftly.ingestion.product.AbstractProductRecordView.UNSET_INT;
+import static com.useswiftly.ingestion.product.AbstractProductRecordView.UNSET_LONG;
+
+/**
+ * Reusable holder of the raw values of a product record as they are stored by
+ * record containers that are read through {@link AbstractProductRecordView}.
+ * {@link PrimitiveProductRecordImpl} records are read without converting
+ * their values. Instances are not thread safe.
+ */
+final class ProductRowValues {
+    private final CurrencyUnit currency;
+
+    long productId;
+    long regularSingularPrice;
+    long promotionalSingularPrice;
+    long regularSplitPrice;
+    long promotionalSplitPrice;
+    int regularForX;
+    int promotionalForX;
+    short flags;
+    String productDescription;
+    String productSize;
+
+    ProductRowValues(@NotNull final CurrencyUnit currency) {
+        this.currency = Objects.requireNonNull(currency, "currency");
+    }
+
+    /**
+     * Replaces the held values with the values of a record.
+     *
+     * @param record record to read
+     * @throws IllegalArgumentException thrown if a price has a different
+     *                                  currency or a value can't be stored
+     */
+    void readFrom(@NotNull final ProductRecord record) {
+        if (record instanceof PrimitiveProductRecordImpl) {
+            final PrimitiveProductRecordImpl primitive = (PrimitiveProductRecordImpl)record;
+            productId = primitive.isProductIdSet() ? primitive.getProductIdAsLong() : UNSET_LONG;
+            regularSingularPrice = unscaled(primitive.regularSingularAmount());
+            promotionalSingularPrice = unscaled(primitive.promotionalSingularAmount());
+            regularSplitPrice = unscaled(primitive.regularSplitAmount());
+            promotionalSplitPrice = unscaled(primitive.promotionalSplitAmount());
+            regularForX = primitive.regularDisplayQuantity();
+            promotionalForX = primitive.promotionalDisplayQuantity();
+        } else {
+            productId = record.getProductId() == null ?
+                    UNSET_LONG : checkNotUnset(record.getProductIdAsLong(), "Product ID");
+            regularSingularPrice = unscaled(record.getRegularSingularPrice());
+            promotionalSingularPrice = unscaled(record.getPromotionalSingularPrice());
+            regularSplitPrice = unscaled(record.getRegularSplitPrice());
+            promotionalSplitPrice = unscaled(record.getPromotionalSplitPrice());
+            regularForX = record.getRegularForX() == null ?
+                    UNSET_INT : checkNotUnset(record.getRegularForXAsInt(), "Regular for X");
+            promotionalForX = record.getPromotionalForX() == null ?
+                    UNSET_INT : checkNotUnset(record.getPromotionalForXAsInt(), "Promotional for X");
+        }
+
+        final ProductRecordFlags recordFlags = record.getFlags();
+        flags = recordFlags == null ? UNSET_FLAGS : (short)recordFlags.getMask();
+        productDescription = record.getProductDescription();
+        productSize = record.getProductSize();
+    }
+
+    private long unscaled(@Nullable final MonetaryAmount amount) {
+        if (amount == null) {
+            return UNSET_LONG;
+        }
+
+        try {
+            return unscaled(FixedPointMoney.from(amount));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private long unscaled(@Nullable final FixedPointMoney amount) {
+        if (amount == null) {
+            return UNSET_LONG;
+        }
+
+        if (!currency.equals(amount.getCurrency())) {
+            String msg = String.format("Price currency [%s] doesn't match " +
+                    "currency [%s]", amount.getCurrency(), currency);
+            throw new IllegalArgumentException(msg);
+        }
+
+        return checkNotUnset(amount.getUnscaledValue(), "Price");
+    }
+
+    private static long checkNotUnset(final long value, final String name) {
+        if (value == UNSET_LONG) {
+            String msg = String.format("%s [%d] value is out of range", name, value);
+            throw new IllegalArgumentException(msg);
+        }
+
+        return value;
+    }
+
+    private static int checkNotUnset(final int value, final String name) {
+        if (value == UNSET_INT) {
+            String msg = String.format("%s [%d] value is out of range", name, value);
+            throw new IllegalArgumentException(msg);
+        }
+
+        return value;
+    }
+}
@@ -6,7 +6,9 @@ import com.google.inject.Key;
 import com.google.inject.TypeLiteral;
 import com.useswiftly.ingestion.product.ProductRecord;
 import com.useswiftly.ingestion.product.ProductRecordFileParser;
+import com.useswiftly.ingestion.records.ChannelRecordSink;
 import com.useswiftly.ingestion.records.RecordFormattable;
+import com.useswiftly.ingestion.records.RecordSink;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.BufferedReader;
@@ -17,10 +19,14 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
 import java.util.stream.Stream;
 
 /**
@@ -42,15 +48,26 @@ public class Application {
             System.exit(1);
         }
 
+        final IngestionPipeline pipeline = injector.getInstance(IngestionPipeline.class);
+
+        if (pipeline.supportsCharset()) {
+            runPipeline(pipeline, argv[0]);
+            return;
+        }
+
         /* Interestingly, generic type inference will not work below with the
          * Java 11 compiler. */
         //noinspection Convert2Diamond
         final RecordFormattable<ProductRecord> formatter = injector.getInstance(
                 Key.get(new TypeLiteral<RecordFormattable<ProductRecord>>() {}));
 
-        try (final Stream<ProductRecord> records = parseForRecordsData(argv[0])) {
-            records.map(formatter::format)
-                   .forEach(System.out::println);
+        try (final Stream<ProductRecord> records = parseForRecordsData(argv[0]);
+             final RecordSink sink = ChannelRecordSink.stdout(Charset.defaultCharset())) {
+            final Iterator<ProductRecord> iterator = records.iterator();
+
+            while (iterator.hasNext()) {
+                sink.write(formatter.format(iterator.next()));
+            }
 
             /* If we needed to turn this stream into a collection as written in
              * the specification, we could do the following:
@@ -62,6 +79,44 @@ public class Application {
         }
     }
 
+    /**
+     * Parses, formats and prints all records in the data file using the multi-
+     * threaded ingestion pipeline.
+     *
+     * @param pipeline pipeline to run
+     * @param dataLocation URL or local file path to a records data file
+     */
+    private static void runPipeline(final IngestionPipeline pipeline,
+                                    final String dataLocation) {
+        try (final ReadableByteChannel source = openChannelForRecordsData(dataLocation);
+             final RecordSink sink = ChannelRecordSink.stdout(Charset.defaultCharset())) {
+            pipeline.run(source, sink);
+        } catch (Exception e) {
+            System.err.printf("Error processing data file: %s\n", dataLocation);
+            e.printStackTrace(System.err);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Attempts to determine if the passed string is a URL or a local file path
+     * and opens a channel to the appropriate data source.
+     *
+     * @param dataLocation URL or local file path to a records data file
+     * @return channel to read records data from
+     * @throws IOException thrown if there is a problem opening the records data file
+     */
+    static ReadableByteChannel openChannelForRecordsData(@NotNull final String dataLocation)
+            throws IOException {
+        try {
+            final URL url = new URL(dataLocation);
+            return Channels.newChannel(url.openStream());
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            final Path path = openFileAtPath(dataLocation);
+            return FileChannel.open(path, StandardOpenOption.READ);
+        }
+    }
+
     /**
      * Loads the product record stream from the passed NIO path location.
      *
@@ -79,6 +134,26 @@ public class Application {
         return parseInputStreamForRecordsData(in);
     }
 
+    /**
+     * Loads the product record stream from the passed NIO path location by
+     * memory mapping the file and parsing each record directly from the
+     * mapped bytes. This avoids decoding the file into characters and copying
+     * each line into a {@link String}, which makes a large difference for
+     * multi-gigabyte data files.
+     *
+     * <p><strong>Note:</strong> Be sure to close the stream when finished
+     * because the file remains open and mapped until the stream is closed.</p>
+     *
+     * @param path NIO path location in which to load product record data
+     * @return stream of product records
+     */
+    static Stream<ProductRecord> parseMappedPathForRecordsData(final Path path)
+            throws IOException {
+        final ProductRecordFileParser parser =
+                injector.getInstance(ProductRecordFileParser.class);
+        return parser.parse(path);
+    }
+
     /**
      * Loads the product record stream from the passed binary input stream.
      *
@@ -123,7 +198,7 @@ public class Application {
             return parseInputStreamForRecordsData(url.openStream());
         } catch (MalformedURLException | IllegalArgumentException e) {
             final Path path = openFileAtPath(dataLocation);
-            return parsePathForRecordsData(path);
+            return parseMappedPathForRecordsData(path);
         }
     }
 
@@ -0,0 +1,444 @@
+package com.useswiftly.ingestion.product.app;
+
+import com.useswiftly.ingestion.product.ProductRecord;
+import com.useswiftly.ingestion.product.ProductRecordParser;
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.MappedRecordSpliterator;
+import com.useswiftly.ingestion.records.RecordFormattable;
+import com.useswiftly.ingestion.records.RecordSink;
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-threaded ingestion pipeline that reads a record data file, parses and
+ * formats its records and writes the formatted records. The work is split into
+ * three stages connected by bounded queues:
+ *
+ * <ol>
+ *     <li>A single reader thread reads the data in chunks that end on a line
+ *     terminator and numbers each chunk.</li>
+ *     <li>Worker threads parse every line of a chunk with
+ *     {@link ProductRecordParser} and format each record with
+ *     {@link RecordFormattable}.</li>
+ *     <li>A single writer thread writes the formatted records of each chunk to
+ *     a {@link RecordSink}. In ordered mode,
+ *     chunks are written in source order using their sequence numbers.
+ *     In unordered mode, chunks are written as soon as they are formatted.</li>
+ * </ol>
+ *
+ * <p>The number of chunks in flight is bounded, so memory use doesn't depend
+ * on the size of the data file even if a chunk is slow to be formatted. Only
+ * character sets supported by {@link MappedRecordSpliterator#supportsCharset(Charset)}
+ * can be processed.</p>
+ */
+public class IngestionPipeline {
+    /**
+     * Default number of bytes read per chunk.
+     */
+    static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * Initial number of record end offsets allocated per formatted chunk.
+     */
+    private static final int INITIAL_RECORDS_PER_CHUNK = 64;
+
+    private final ProductRecordParser parser;
+    private final RecordFormattable<ProductRecord> formatter;
+    private final FlagRuleTable flagRules;
+    private final Charset charset;
+    private final int workerCount;
+    private final boolean ordered;
+    private final int chunkSize;
+
+    /**
+     * A record-aligned range of the source data.
+     */
+    private static final class Chunk {
+        private static final Chunk END = new Chunk(-1L, new byte[0], 0);
+
+        private final long sequence;
+        private final byte[] bytes;
+        private final int length;
+
+        private Chunk(final long sequence, final byte[] bytes, final int length) {
+            this.sequence = sequence;
+            this.bytes = bytes;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Formatted records of a chunk. The records are stored back to back in a
+     * single builder and <code>ends[i]</code> is the end of record <code>i</code>.
+     */
+    private static final class FormattedChunk {
+        private static final FormattedChunk END = new FormattedChunk(-1L,
+                new StringBuilder(0), new int[0], 0);
+
+        private final long sequence;
+        private final StringBuilder records;
+        private final int[] ends;
+        private final int recordCount;
+
+        private FormattedChunk(final long sequence,
+                               final StringBuilder records,
+                               final int[] ends,
+                               final int recordCount) {
+            this.sequence = sequence;
+            this.records = records;
+            this.ends = ends;
+            this.recordCount = recordCount;
+        }
+    }
+
+    @Inject
+    public IngestionPipeline(final ProductRecordParser parser,
+                             final RecordFormattable<ProductRecord> formatter,
+                             final FlagRuleTable flagRules,
+                             final Charset charset,
+                             @Named("IngestionThreads") final int workerCount,
+                             @Named("OrderedOutput") final boolean ordered) {
+        this(parser, formatter, flagRules, charset, workerCount, ordered, DEFAULT_CHUNK_SIZE);
+    }
+
+    IngestionPipeline(final ProductRecordParser parser,
+                      final RecordFormattable<ProductRecord> formatter,
+                      final FlagRuleTable flagRules,
+                      final Charset charset,
+                      final int workerCount,
+                      final boolean ordered,
+                      final int chunkSize) {
+        if (workerCount < 1) {
+            String msg = String.format("Worker count must be at least 1 - " +
+                    "Worker count [%d] value is invalid", workerCount);
+            throw new IllegalArgumentException(msg);
+        }
+
+        if (chunkSize < 1) {
+            String msg = String.format("Chunk size must be at least 1 - " +
+                    "Chunk size [%d] value is invalid", chunkSize);
+            throw new IllegalArgumentException(msg);
+        }
+
+        this.parser = parser;
+        this.formatter = formatter;
+        this.flagRules = flagRules;
+        this.charset = charset;
+        this.workerCount = workerCount;
+        this.ordered = ordered;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return true if the configured character set can be processed by the pipeline
+     */
+    public boolean supportsCharset() {
+        return MappedRecordSpliterator.supportsCharset(charset);
+    }
+
+    /**
+     * Reads all records from the source, formats them and writes one formatted
+     * record per line to the output. The output is not flushed or closed.
+     *
+     * @param source channel to read record data from
+     * @param output destination of formatted records
+     * @return number of records written
+     * @throws IOException thrown if there is a problem reading or writing
+     * @throws com.useswiftly.ingestion.records.RecordParseException thrown if a record can't be parsed
+     */
+    public long run(@NotNull final ReadableByteChannel source,
+                    @NotNull final Writer output) throws IOException {
+        return run(source, RecordSink.of(output));
+    }
+
+    /**
+     * Reads all records from the source, formats them and writes them to the
+     * sink. The sink is not flushed or closed. A tax rate changed since the
+     * last run is applied to the records of this run.
+     *
+     * @param source channel to read record data from
+     * @param sink destination of formatted records
+     * @return number of records written
+     * @throws IOException thrown if there is a problem reading or writing
+     * @throws com.useswiftly.ingestion.records.RecordParseException thrown if a record can't be parsed
+     */
+    public long run(@NotNull final ReadableByteChannel source,
+                    @NotNull final RecordSink sink) throws IOException {
+        if (!supportsCharset()) {
+            String msg = String.format("Character set [%s] can't be processed " +
+                    "by the ingestion pipeline", charset);
+            throw new IllegalStateException(msg);
+        }
+
+        flagRules.refresh();
+
+        final int queueCapacity = workerCount * 2;
+        final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(queueCapacity);
+        final BlockingQueue<FormattedChunk> formatted = new ArrayBlockingQueue<>(queueCapacity);
+        // Bounds the number of chunks read but not yet written
+        final Semaphore inFlight = new Semaphore(queueCapacity * 2);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(workerCount + 2,
+                new PipelineThreadFactory());
+        final CompletionService<Long> stages = new ExecutorCompletionService<>(executor);
+
+        try {
+            stages.submit(() -> read(source, chunks, inFlight));
+
+            for (int i = 0; i < workerCount; i++) {
+                stages.submit(() -> format(chunks, formatted));
+            }
+
+            final Future<Long> recordCount = stages.submit(() -> write(formatted, sink, inFlight));
+
+            // Wait for every stage so that the first failure is reported immediately
+            for (int i = 0; i < workerCount + 2; i++) {
+                stages.take().get();
+            }
+
+            return recordCount.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for ingestion", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long read(final ReadableByteChannel source,
+                      final BlockingQueue<Chunk> chunks,
+                      final Semaphore inFlight) throws IOException, InterruptedException {
+        long sequence = 0L;
+        byte[] carry = new byte[0];
+        int carryLength = 0;
+        boolean endOfInput = false;
+
+        while (!endOfInput) {
+            final byte[] bytes = new byte[carryLength + chunkSize];
+            System.arraycopy(carry, 0, bytes, 0, carryLength);
+
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, carryLength, chunkSize);
+
+            while (buffer.hasRemaining()) {
+                if (source.read(buffer) < 0) {
+                    endOfInput = true;
+                    break;
+                }
+            }
+
+            final int length = buffer.position();
+            final int chunkLength;
+
+            if (endOfInput) {
+                chunkLength = length;
+            } else {
+                chunkLength = lastIndexOfNewLine(bytes, length) + 1;
+            }
+
+            // Keep the partial line at the end for the next chunk
+            carryLength = length - chunkLength;
+            carry = new byte[carryLength];
+            System.arraycopy(bytes, chunkLength, carry, 0, carryLength);
+
+            if (chunkLength > 0) {
+                inFlight.acquire();
+                chunks.put(new Chunk(sequence++, bytes, chunkLength));
+            }
+        }
+
+        for (int i = 0; i < workerCount; i++) {
+            chunks.put(Chunk.END);
+        }
+
+        return sequence;
+    }
+
+    private Long format(final BlockingQueue<Chunk> chunks,
+                        final BlockingQueue<FormattedChunk> formatted) throws InterruptedException {
+        long chunkCount = 0L;
+        // Records are formatted before the next line is parsed, so one record is reused
+        final ProductRecord record = parser.newRecord();
+
+        while (true) {
+            final Chunk chunk = chunks.take();
+
+            if (chunk == Chunk.END) {
+                formatted.put(FormattedChunk.END);
+                return chunkCount;
+            }
+
+            final ByteBuffer buffer = ByteBuffer.wrap(chunk.bytes, 0, chunk.length);
+            final StringBuilder records = new StringBuilder(chunk.length + chunk.length / 2);
+            int[] ends = new int[INITIAL_RECORDS_PER_CHUNK];
+            int recordCount = 0;
+            int lineStart = 0;
+
+            while (lineStart < chunk.length) {
+                int terminator = indexOfNewLine(chunk.bytes, lineStart, chunk.length);
+
+                if (terminator < 0) {
+                    terminator = chunk.length;
+                }
+
+                int lineEnd = terminator;
+
+                if (lineEnd > lineStart && chunk.bytes[lineEnd - 1] == '\r') {
+                    lineEnd--;
+                }
+
+                // Skip empty / blank lines
+                if (!isBlank(chunk.bytes, lineStart, lineEnd)) {
+                    parser.apply(buffer, lineStart, lineEnd, record);
+                    formatter.formatTo(record, records);
+
+                    if (recordCount == ends.length) {
+                        ends = Arrays.copyOf(ends, ends.length * 2);
+                    }
+
+                    ends[recordCount++] = records.length();
+                }
+
+                lineStart = terminator + 1;
+            }
+
+            formatted.put(new FormattedChunk(chunk.sequence, records, ends, recordCount));
+            chunkCount++;
+        }
+    }
+
+    private Long write(final BlockingQueue<FormattedChunk> formatted,
+                       final RecordSink sink,
+                       final Semaphore inFlight) throws IOException, InterruptedException {
+        final Map<Long, FormattedChunk> pending = new HashMap<>();
+        long nextSequence = 0L;
+        long recordCount = 0L;
+        int finishedWorkers = 0;
+
+        while (finishedWorkers < workerCount) {
+            final FormattedChunk chunk = formatted.take();
+
+            if (chunk == FormattedChunk.END) {
+                finishedWorkers++;
+                continue;
+            }
+
+            if (!ordered) {
+                recordCount += write(chunk, sink);
+                inFlight.release();
+                continue;
+            }
+
+            pending.put(chunk.sequence, chunk);
+
+            // Write all chunks that are next in source order
+            FormattedChunk next;
+            while ((next = pending.remove(nextSequence)) != null) {
+                recordCount += write(next, sink);
+                nextSequence++;
+                inFlight.release();
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            String msg = String.format("Chunk [%d] was never formatted", nextSequence);
+            throw new IllegalStateException(msg);
+        }
+
+        return recordCount;
+    }
+
+    private static int write(final FormattedChunk chunk, final RecordSink sink) throws IOException {
+        int start = 0;
+
+        for (int i = 0; i < chunk.recordCount; i++) {
+            sink.write(chunk.records, start, chunk.ends[i]);
+            start = chunk.ends[i];
+        }
+
+        return chunk.recordCount;
+    }
+
+    private static int lastIndexOfNewLine(final byte[] bytes, final int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int indexOfNewLine(final byte[] bytes, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isBlank(final byte[] bytes, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace((char)(bytes[i] & 0xFF))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static RuntimeException rethrow(final Throwable cause) throws IOException {
+        if (cause instanceof IOException) {
+            throw (IOException)cause;
+        } else if (cause instanceof UncheckedIOException) {
+            throw ((UncheckedIOException)cause).getCause();
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException)cause;
+        } else if (cause instanceof Error) {
+            throw (Error)cause;
+        }
+
+        return new IllegalStateException("Ingestion pipeline stage failed", cause);
+    }
+
+    /**
+     * Creates named daemon threads so that a failed pipeline can't keep the
+     * JVM alive.
+     */
+    private static final class PipelineThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NotNull final Runnable runnable) {
+            final Thread thread = new Thread(runnable,
+                    "ingestion-pipeline-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -6,24 +6,31 @@ import com.google.inject.Singleton;
 import com.google.inject.TypeLiteral;
 import com.google.inject.name.Names;
 import com.useswiftly.ingestion.product.ProductRecord;
+import com.useswiftly.ingestion.product.ProductRecordContext;
+import com.useswiftly.ingestion.product.ProductRecordFactory;
 import com.useswiftly.ingestion.product.ProductRecordFlags;
+import com.useswiftly.ingestion.product.PrimitiveProductRecordImpl;
 import com.useswiftly.ingestion.product.ProductRecordFormatter;
-import com.useswiftly.ingestion.product.ProductRecordImpl;
 import com.useswiftly.ingestion.product.UnitOfMeasure;
 import com.useswiftly.ingestion.product.fields.FlagsField;
 import com.useswiftly.ingestion.product.fields.ProductDescriptionField;
-import com.useswiftly.ingestion.product.fields.ProductIdField;
+import com.useswiftly.ingestion.product.fields.ProductIdAsLongField;
 import com.useswiftly.ingestion.product.fields.ProductSizeField;
-import com.useswiftly.ingestion.product.fields.PromotionalForXField;
+import com.useswiftly.ingestion.product.fields.PromotionalForXAsIntField;
 import com.useswiftly.ingestion.product.fields.PromotionalSingularPriceField;
 import com.useswiftly.ingestion.product.fields.PromotionalSplitPriceField;
-import com.useswiftly.ingestion.product.fields.RegularForXField;
+import com.useswiftly.ingestion.product.fields.RegularForXAsIntField;
 import com.useswiftly.ingestion.product.fields.RegularSingularPriceField;
 import com.useswiftly.ingestion.product.fields.RegularSplitPriceField;
 import com.useswiftly.ingestion.product.functions.CalculateTaxRateFunction;
 import com.useswiftly.ingestion.product.functions.DeriveUnitOfMeasureFunction;
+import com.useswiftly.ingestion.product.functions.DisplayPriceCache;
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
 import com.useswiftly.ingestion.records.Field;
+import com.useswiftly.ingestion.records.FixedPointRounding;
 import com.useswiftly.ingestion.records.RecordFormattable;
+import com.useswiftly.ingestion.records.StringPool;
+import com.useswiftly.ingestion.records.ThreadLocalMonetaryAmountFormat;
 import org.javamoney.moneta.format.CurrencyStyle;
 
 import javax.money.CurrencyUnit;
@@ -32,13 +39,13 @@ import javax.money.MonetaryRounding;
 import javax.money.RoundingQueryBuilder;
 import javax.money.format.AmountFormatQueryBuilder;
 import javax.money.format.MonetaryAmountFormat;
-import javax.money.format.MonetaryFormats;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 /**
@@ -62,7 +69,8 @@ public class ProductRecordIngestorModule implements Module {
         binder.bind(CurrencyUnit.class).toInstance(currencyUnit);
 
         // The currency format for display prices can be configured here
-        final MonetaryAmountFormat format = MonetaryFormats.getAmountFormat(
+        // Moneta formats aren't thread safe, so each thread uses its own instance
+        final MonetaryAmountFormat format = ThreadLocalMonetaryAmountFormat.of(
                 AmountFormatQueryBuilder.of(locale).set(CurrencyStyle.SYMBOL).build());
         binder.bind(MonetaryAmountFormat.class).toInstance(format);
 
@@ -73,16 +81,17 @@ public class ProductRecordIngestorModule implements Module {
                         .setScale(4)
                         .set(RoundingMode.HALF_DOWN).build());
         binder.bind(MonetaryRounding.class).toInstance(rounding);
+        binder.bind(FixedPointRounding.class).toInstance(FixedPointRounding.of(rounding));
 
         // The tax rate settings can be configured here
         binder.bind(BigDecimal.class).annotatedWith(Names.named("TaxRate"))
                 .toInstance(new BigDecimal("7.775"));
 
         // The logic for deciding how the tax rate is applied can be configured here
-        binder.bind(new TypeLiteral<Function<ProductRecordFlags, BigDecimal>>(){})
+        // The flag rule table applies it to each flag combination and the current tax rate
+        binder.bind(new TypeLiteral<BiFunction<ProductRecordFlags, BigDecimal, BigDecimal>>(){})
                 .annotatedWith(Names.named("TaxRateCalculator"))
-                .to(CalculateTaxRateFunction.class)
-                .in(Singleton.class);
+                .toInstance(CalculateTaxRateFunction::taxRateFor);
 
         // The logic for deciding how the unit of measure is determined can be configured here
         binder.bind(new TypeLiteral<Function<ProductRecordFlags, UnitOfMeasure>>(){})
@@ -90,28 +99,64 @@ public class ProductRecordIngestorModule implements Module {
                 .to(DeriveUnitOfMeasureFunction.class)
                 .in(Singleton.class);
 
+        // The results of the flag based rules are precomputed for every flag combination
+        binder.bind(FlagRuleTable.class).in(Singleton.class);
+
+        // The number of cached display and calculator prices can be configured here
+        binder.bindConstant().annotatedWith(Names.named("DisplayPriceCacheCapacity"))
+                .to(DisplayPriceCache.DEFAULT_CAPACITY);
+        binder.bind(DisplayPriceCache.class).in(Singleton.class);
+
+        // The number of pooled product descriptions can be configured here
+        final StringPool descriptionPool = new StringPool(StringPool.DEFAULT_CAPACITY);
+        binder.bind(StringPool.class).annotatedWith(Names.named("ProductDescriptionPool"))
+                .toInstance(descriptionPool);
+
+        // The number of pooled product sizes can be configured here
+        final StringPool productSizePool = new StringPool(StringPool.DEFAULT_CAPACITY);
+        binder.bind(StringPool.class).annotatedWith(Names.named("ProductSizePool"))
+                .toInstance(productSizePool);
+
         // The fields to parse from the record file can be configured and defined here
+        // The product ID and for X fields are decoded to primitives
         final List<Field<?, ProductRecord>> fieldsToParse =
                 List.of(
-                        new ProductIdField(),
-                        new ProductDescriptionField(),
+                        new ProductIdAsLongField(),
+                        new ProductDescriptionField(descriptionPool),
                         new RegularSingularPriceField(currencyUnit),
                         new PromotionalSingularPriceField(currencyUnit),
                         new RegularSplitPriceField(currencyUnit),
                         new PromotionalSplitPriceField(currencyUnit),
-                        new RegularForXField(),
-                        new PromotionalForXField(),
+                        new RegularForXAsIntField(),
+                        new PromotionalForXAsIntField(),
                         new FlagsField(),
-                        new ProductSizeField()
+                        new ProductSizeField(productSizePool)
                 );
         binder.bind(new TypeLiteral<List<Field<?, ProductRecord>>>(){})
                 .toInstance(fieldsToParse);
 
+        // The field list is compiled into a single decoder unless disabled here
+        binder.bindConstant().annotatedWith(Names.named("CompileRecordParser")).to(true);
+
+        // The number of parser / formatter threads used by the ingestion pipeline can be configured here
+        binder.bindConstant().annotatedWith(Names.named("IngestionThreads"))
+                .to(Runtime.getRuntime().availableProcessors());
+
+        // Records are written in the order they are read unless disabled here
+        binder.bindConstant().annotatedWith(Names.named("OrderedOutput")).to(true);
+
         // The record output formatting can be specified here
         binder.bind(new TypeLiteral<RecordFormattable<ProductRecord>>() {})
                 .to(ProductRecordFormatter.class).in(Singleton.class);
 
-        // Bind all ProductRecord to ProductRecordImpl and inject all dependencies
-        binder.bind(ProductRecord.class).to(ProductRecordImpl.class);
+        // Records share one context of their dependencies that is resolved once
+        binder.bind(ProductRecordContext.class).in(Singleton.class);
+
+        // Parsers create records with a plain factory instead of the injector
+        binder.bind(ProductRecordFactory.class).to(PrimitiveProductRecordImpl.Factory.class)
+                .in(Singleton.class);
+
+        // Bind all ProductRecord to the primitive backed implementation and inject all dependencies
+        binder.bind(ProductRecord.class).to(PrimitiveProductRecordImpl.class);
     }
 }
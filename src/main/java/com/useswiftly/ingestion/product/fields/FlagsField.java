@@ -6,8 +6,12 @@ import com.useswiftly.ingestion.records.Field;
 import com.useswiftly.ingestion.records.RecordParseException;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+
 /**
- * Metadata for product record flag field.
+ * Metadata for product record flag field. Flags are decoded into a bitmask and
+ * assigned as the shared immutable {@link ProductRecordFlags} instance for
+ * that mask.
  */
 public class FlagsField implements Field<ProductRecordFlags, ProductRecord> {
     @Override
@@ -32,36 +36,63 @@ public class FlagsField implements Field<ProductRecordFlags, ProductRecord> {
 
     @Override
     public void convertAndAssignValueToRecord(@NotNull final String substring, @NotNull final ProductRecord record) {
-        final char[] charValues = substring.toCharArray();
+        convertAndAssignValueToRecord(substring, 0, substring.length(), record);
+    }
 
-        if (ProductRecordFlags.FLAG_COUNT != charValues.length) {
-            String msg = String.format("Unexpected number of flags found [%d]" +
-                    " in field [%s] - expecting [%d] flags", charValues.length,
-                    getName(), ProductRecordFlags.FLAG_COUNT);
-            throw new RecordParseException(msg);
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final CharSequence source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        checkFlagCount(endExclusive - startInclusive);
+
+        int mask = 0;
+
+        for (int position = 0; position < ProductRecordFlags.FLAG_COUNT; position++) {
+            final char character = source.charAt(startInclusive + position);
+            mask |= convertCharacterToBit(character) << position;
         }
 
-        final ProductRecordFlags flags = new ProductRecordFlags();
+        record.setFlags(ProductRecordFlags.valueOf(mask));
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final ByteBuffer source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        checkFlagCount(endExclusive - startInclusive);
 
-        for (int position = 0; position < charValues.length; position++) {
-            final char character = charValues[position];
-            final boolean flag;
+        int mask = 0;
 
-            if (character == 'Y') {
-                flag = true;
-            } else if (character == 'N') {
-                flag = false;
-            } else {
-                String msg = String.format("Invalid flag character encountered " +
-                        "[%c] in field [%s] - only 'Y' or 'N' are " +
-                        "valid characters", character, getName());
-                throw new RecordParseException(msg);
-            }
+        for (int position = 0; position < ProductRecordFlags.FLAG_COUNT; position++) {
+            final char character = (char)(source.get(startInclusive + position) & 0xFF);
+            mask |= convertCharacterToBit(character) << position;
+        }
 
-            flags.setFlagAtPosition(position, flag);
+        record.setFlags(ProductRecordFlags.valueOf(mask));
+    }
+
+    private void checkFlagCount(final int length) {
+        if (ProductRecordFlags.FLAG_COUNT != length) {
+            String msg = String.format("Unexpected number of flags found [%d]" +
+                    " in field [%s] - expecting [%d] flags", length,
+                    getName(), ProductRecordFlags.FLAG_COUNT);
+            throw new RecordParseException(msg);
         }
+    }
 
-        record.setFlags(flags);
+    private int convertCharacterToBit(final char character) {
+        if (character == 'Y') {
+            return 1;
+        } else if (character == 'N') {
+            return 0;
+        } else {
+            String msg = String.format("Invalid flag character encountered " +
+                    "[%c] in field [%s] - only 'Y' or 'N' are " +
+                    "valid characters", character, getName());
+            throw new RecordParseException(msg);
+        }
     }
 
     @Override
@@ -2,12 +2,27 @@ package com.useswiftly.ingestion.product.fields;
 
 import com.useswiftly.ingestion.product.ProductRecord;
 import com.useswiftly.ingestion.records.StringField;
+import com.useswiftly.ingestion.records.StringPool;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
 
 /**
  * Metadata for product description field.
  */
 public class ProductDescriptionField extends StringField<ProductRecord> {
+    public ProductDescriptionField() {
+    }
+
+    /**
+     * @param pool pool of canonical product descriptions or null to create a new
+     *             string for every record
+     */
+    public ProductDescriptionField(@Nullable final StringPool pool) {
+        super(pool);
+    }
+
     @Override
     public int getStartPositionInclusive() {
         return 9;
@@ -25,7 +40,24 @@ public class ProductDescriptionField extends StringField<ProductRecord> {
 
     @Override
     public void convertAndAssignValueToRecord(@NotNull final String substring, @NotNull final ProductRecord record) {
-        final String displayText = convertSubstringToDisplayString(substring);
+        convertAndAssignValueToRecord(substring, 0, substring.length(), record);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final CharSequence source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final String displayText = convertToDisplayString(source, startInclusive, endExclusive);
+        record.setProductDescription(displayText);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final ByteBuffer source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final String displayText = convertToDisplayString(source, startInclusive, endExclusive);
         record.setProductDescription(displayText);
     }
 }
@@ -0,0 +1,53 @@
+package com.useswiftly.ingestion.product.fields;
+
+import com.useswiftly.ingestion.product.ProductRecord;
+import com.useswiftly.ingestion.records.LongField;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Metadata for product ID field decoded to a primitive long.
+ */
+public class ProductIdAsLongField extends LongField<ProductRecord> {
+    public ProductIdAsLongField() {
+    }
+
+    @Override
+    public int getStartPositionInclusive() {
+        return 0;
+    }
+
+    @Override
+    public int getEndPositionExclusive() {
+        return 8;
+    }
+
+    @Override
+    public String getName() {
+        return "Product ID";
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final String substring, @NotNull final ProductRecord record) {
+        convertAndAssignValueToRecord(substring, 0, substring.length(), record);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final CharSequence source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final long productId = convertToLong(source, startInclusive, endExclusive);
+        record.setProductIdAsLong(productId);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final ByteBuffer source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final long productId = convertToLong(source, startInclusive, endExclusive);
+        record.setProductIdAsLong(productId);
+    }
+}
@@ -5,6 +5,7 @@ import com.useswiftly.ingestion.records.BigIntegerField;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * Metadata for product ID field.
@@ -30,7 +31,24 @@ public class ProductIdField extends BigIntegerField<ProductRecord> {
 
     @Override
     public void convertAndAssignValueToRecord(@NotNull final String substring, @NotNull final ProductRecord record) {
-        final BigInteger productId = convertStringToBigInteger(substring);
+        convertAndAssignValueToRecord(substring, 0, substring.length(), record);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final CharSequence source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final BigInteger productId = convertToBigInteger(source, startInclusive, endExclusive);
+        record.setProductId(productId);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final ByteBuffer source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final BigInteger productId = convertToBigInteger(source, startInclusive, endExclusive);
         record.setProductId(productId);
     }
 }
@@ -0,0 +1,53 @@
+package com.useswiftly.ingestion.product.fields;
+
+import com.useswiftly.ingestion.product.ProductRecord;
+import com.useswiftly.ingestion.records.IntegerField;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Metadata for promotional for X field decoded to a primitive int.
+ */
+public class PromotionalForXAsIntField extends IntegerField<ProductRecord> {
+    public PromotionalForXAsIntField() {
+    }
+
+    @Override
+    public int getStartPositionInclusive() {
+        return 114;
+    }
+
+    @Override
+    public int getEndPositionExclusive() {
+        return 122;
+    }
+
+    @Override
+    public String getName() {
+        return "Promotional For X";
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final String substring, @NotNull final ProductRecord record) {
+        convertAndAssignValueToRecord(substring, 0, substring.length(), record);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final CharSequence source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final int forX = convertToInt(source, startInclusive, endExclusive);
+        record.setPromotionalForXAsInt(forX);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final ByteBuffer source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final int forX = convertToInt(source, startInclusive, endExclusive);
+        record.setPromotionalForXAsInt(forX);
+    }
+}
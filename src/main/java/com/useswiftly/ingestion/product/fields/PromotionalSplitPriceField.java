@@ -5,7 +5,7 @@ import com.useswiftly.ingestion.records.MonetaryField;
 import org.jetbrains.annotations.NotNull;
 
 import javax.money.CurrencyUnit;
-import javax.money.MonetaryAmount;
+import java.nio.ByteBuffer;
 
 /**
  * Metadata for promotional split price field.
@@ -32,7 +32,24 @@ public class PromotionalSplitPriceField extends MonetaryField<ProductRecord> {
 
     @Override
     public void convertAndAssignValueToRecord(@NotNull final String substring, @NotNull final ProductRecord record) {
-        final MonetaryAmount price = convertStringToMonetaryAmount(substring);
-        record.setPromotionalSplitPrice(price);
+        convertAndAssignValueToRecord(substring, 0, substring.length(), record);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final CharSequence source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final long cents = convertToCents(source, startInclusive, endExclusive);
+        record.setPromotionalSplitPriceInCents(cents, getCurrencyUnit());
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final ByteBuffer source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final long cents = convertToCents(source, startInclusive, endExclusive);
+        record.setPromotionalSplitPriceInCents(cents, getCurrencyUnit());
     }
 }
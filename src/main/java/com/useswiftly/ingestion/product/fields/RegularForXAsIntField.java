@@ -0,0 +1,53 @@
+package com.useswiftly.ingestion.product.fields;
+
+import com.useswiftly.ingestion.product.ProductRecord;
+import com.useswiftly.ingestion.records.IntegerField;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Metadata for regular for X field decoded to a primitive int.
+ */
+public class RegularForXAsIntField extends IntegerField<ProductRecord> {
+    public RegularForXAsIntField() {
+    }
+
+    @Override
+    public int getStartPositionInclusive() {
+        return 105;
+    }
+
+    @Override
+    public int getEndPositionExclusive() {
+        return 113;
+    }
+
+    @Override
+    public String getName() {
+        return "Regular For X";
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final String substring, @NotNull final ProductRecord record) {
+        convertAndAssignValueToRecord(substring, 0, substring.length(), record);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final CharSequence source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final int forX = convertToInt(source, startInclusive, endExclusive);
+        record.setRegularForXAsInt(forX);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final ByteBuffer source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final int forX = convertToInt(source, startInclusive, endExclusive);
+        record.setRegularForXAsInt(forX);
+    }
+}
@@ -5,6 +5,7 @@ import com.useswiftly.ingestion.records.BigIntegerField;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * Metadata for regular for X field.
@@ -30,7 +31,24 @@ public class RegularForXField extends BigIntegerField<ProductRecord> {
 
     @Override
     public void convertAndAssignValueToRecord(@NotNull final String substring, @NotNull final ProductRecord record) {
-        final BigInteger forX = convertStringToBigInteger(substring);
+        convertAndAssignValueToRecord(substring, 0, substring.length(), record);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final CharSequence source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final BigInteger forX = convertToBigInteger(source, startInclusive, endExclusive);
+        record.setRegularForX(forX);
+    }
+
+    @Override
+    public void convertAndAssignValueToRecord(@NotNull final ByteBuffer source,
+                                              final int startInclusive,
+                                              final int endExclusive,
+                                              @NotNull final ProductRecord record) {
+        final BigInteger forX = convertToBigInteger(source, startInclusive, endExclusive);
         record.setRegularForX(forX);
     }
 }
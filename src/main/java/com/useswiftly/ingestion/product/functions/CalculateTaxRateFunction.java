@@ -12,7 +12,10 @@ import java.util.function.Function;
 /**
  * Closure that calculates the applicable tax rate for a given
  * {@link com.useswiftly.ingestion.product.ProductRecord} based on the
- * record's {@link ProductRecordFlags}.
+ * record's {@link ProductRecordFlags}. The same rule is available for an
+ * explicit tax rate with {@link #taxRateFor(ProductRecordFlags, BigDecimal)},
+ * so that tables of tax rates can be computed from a single reading of the
+ * tax rate provider.
  */
 @Named("TaxRateCalculator")
 public class CalculateTaxRateFunction implements Function<ProductRecordFlags, BigDecimal> {
@@ -26,12 +29,23 @@ public class CalculateTaxRateFunction implements Function<ProductRecordFlags, Bi
     @Nullable
     @Override
     public BigDecimal apply(@Nullable final ProductRecordFlags flags) {
+        return taxRateFor(flags, taxRateProvider.get());
+    }
+
+    /**
+     * @param flags flags of product record
+     * @param taxRate tax rate applied to taxable items
+     * @return tax rate for the flags or null if flags are null
+     */
+    @Nullable
+    public static BigDecimal taxRateFor(@Nullable final ProductRecordFlags flags,
+                                        @Nullable final BigDecimal taxRate) {
         if (flags == null) {
             return null;
         } else if (flags.isTaxableItem()) {
-            return taxRateProvider.get();
+            return taxRate;
         } else {
-            return new BigDecimal("0");
+            return BigDecimal.ZERO;
         }
     }
 }
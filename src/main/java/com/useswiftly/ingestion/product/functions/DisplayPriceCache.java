@@ -0,0 +1,307 @@
+package com.useswiftly.ingestion.product.functions;
+
+import com.useswiftly.ingestion.records.FixedPointMoney;
+import com.useswiftly.ingestion.records.FixedPointRounding;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryRounding;
+import javax.money.format.MonetaryAmountFormat;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of rendered display prices and calculated calculator prices.
+ * Retail prices repeat heavily, so most records share a small number of
+ * (price, for X) pairs and only the first occurrence of each pair needs to be
+ * formatted or divided.
+ *
+ * <p>Display prices are keyed by the price, for X quantity, currency and the
+ * display price format (which carries the locale). Calculator prices are keyed
+ * by the price, for X quantity, currency and the rounding applied, which is
+ * either a {@link MonetaryRounding} or a {@link FixedPointRounding}. Callers
+ * compute a value on a miss and store it with the matching <code>put</code>
+ * method, so the pricing rules stay with the records.</p>
+ *
+ * <p>The cache is direct mapped: each key can only be stored in one slot and
+ * a new key evicts the entry in its slot. Entries are immutable, so the cache
+ * is thread safe without locking. Hit and miss counts are kept so that the
+ * capacity can be sized for a catalog.</p>
+ */
+public class DisplayPriceCache {
+    /**
+     * Default number of slots of each table.
+     */
+    public static final int DEFAULT_CAPACITY = 16_384;
+
+    /**
+     * Largest number of slots of each table.
+     */
+    private static final int MAX_CAPACITY = 1 << 24;
+
+    private final AtomicReferenceArray<Entry> displayPrices;
+    private final AtomicReferenceArray<Entry> calculatorPrices;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Cached value and its key. The context is the display price format or
+     * rounding and is compared by identity because they are shared instances.
+     */
+    private static final class Entry {
+        private final long unscaledValue;
+        private final int forX;
+        private final CurrencyUnit currency;
+        private final Object context;
+        private final Object value;
+
+        private Entry(final long unscaledValue,
+                      final int forX,
+                      final CurrencyUnit currency,
+                      final Object context,
+                      final Object value) {
+            this.unscaledValue = unscaledValue;
+            this.forX = forX;
+            this.currency = currency;
+            this.context = context;
+            this.value = value;
+        }
+
+        private boolean matches(final long unscaledValue,
+                                final int forX,
+                                final CurrencyUnit currency,
+                                final Object context) {
+            return this.unscaledValue == unscaledValue
+                    && this.forX == forX
+                    && this.context == context
+                    && this.currency.equals(currency);
+        }
+    }
+
+    public DisplayPriceCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of slots of each table, rounded up to a power of two
+     */
+    @Inject
+    public DisplayPriceCache(@Named("DisplayPriceCacheCapacity") final int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            String msg = String.format("Capacity must be between 1 and %d - " +
+                    "Capacity [%d] value is invalid", MAX_CAPACITY, capacity);
+            throw new IllegalArgumentException(msg);
+        }
+
+        final int size = Integer.highestOneBit(capacity) == capacity ?
+                capacity : Integer.highestOneBit(capacity) << 1;
+
+        this.displayPrices = new AtomicReferenceArray<>(size);
+        this.calculatorPrices = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Converts an amount to the fixed-point form used as a cache key.
+     *
+     * @param amount amount to convert
+     * @return fixed-point amount or null if the amount can't be cached
+     */
+    @Nullable
+    public static FixedPointMoney keyOf(@NotNull final MonetaryAmount amount) {
+        try {
+            return FixedPointMoney.from(amount);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param price applicable price
+     * @param forX for X quantity, zero or less if the price isn't split
+     * @param format format the display price is rendered with
+     * @return cached display price or null if it isn't cached
+     */
+    @Nullable
+    public String getDisplayPrice(@NotNull final FixedPointMoney price,
+                                  final int forX,
+                                  @NotNull final MonetaryAmountFormat format) {
+        return (String)get(displayPrices, price, normalize(forX), format);
+    }
+
+    /**
+     * @param price applicable price
+     * @param forX for X quantity, zero or less if the price isn't split
+     * @param format format the display price is rendered with
+     * @param displayPrice display price to cache
+     */
+    public void putDisplayPrice(@NotNull final FixedPointMoney price,
+                                final int forX,
+                                @NotNull final MonetaryAmountFormat format,
+                                @NotNull final String displayPrice) {
+        put(displayPrices, price, normalize(forX), format, displayPrice);
+    }
+
+    /**
+     * @param price applicable price
+     * @param forX for X quantity, zero or less if the price isn't split
+     * @param rounding rounding applied to the calculator price
+     * @return cached calculator price or null if it isn't cached
+     */
+    @Nullable
+    public MonetaryAmount getCalculatorPrice(@NotNull final FixedPointMoney price,
+                                             final int forX,
+                                             @NotNull final MonetaryRounding rounding) {
+        return (MonetaryAmount)get(calculatorPrices, price, normalize(forX), rounding);
+    }
+
+    /**
+     * @param price applicable price
+     * @param forX for X quantity, zero or less if the price isn't split
+     * @param rounding rounding applied to the calculator price
+     * @param calculatorPrice calculator price to cache
+     */
+    public void putCalculatorPrice(@NotNull final FixedPointMoney price,
+                                   final int forX,
+                                   @NotNull final MonetaryRounding rounding,
+                                   @NotNull final MonetaryAmount calculatorPrice) {
+        put(calculatorPrices, price, normalize(forX), rounding, calculatorPrice);
+    }
+
+    /**
+     * @param price applicable price
+     * @param forX for X quantity, zero or less if the price isn't split
+     * @param rounding rounding applied to the calculator price
+     * @return cached fixed-point calculator price or null if it isn't cached
+     */
+    @Nullable
+    public FixedPointMoney getCalculatorPrice(@NotNull final FixedPointMoney price,
+                                              final int forX,
+                                              @NotNull final FixedPointRounding rounding) {
+        return (FixedPointMoney)get(calculatorPrices, price, normalize(forX), rounding);
+    }
+
+    /**
+     * @param price applicable price
+     * @param forX for X quantity, zero or less if the price isn't split
+     * @param rounding rounding applied to the calculator price
+     * @param calculatorPrice fixed-point calculator price to cache
+     */
+    public void putCalculatorPrice(@NotNull final FixedPointMoney price,
+                                   final int forX,
+                                   @NotNull final FixedPointRounding rounding,
+                                   @NotNull final FixedPointMoney calculatorPrice) {
+        put(calculatorPrices, price, normalize(forX), rounding, calculatorPrice);
+    }
+
+    /**
+     * @return number of slots of each table
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return number of lookups that found a cached value
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that didn't find a cached value
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of cached values replaced by a value with a different key
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes all cached values. The counters are not reset.
+     */
+    public void clear() {
+        for (int i = 0; i <= mask; i++) {
+            displayPrices.set(i, null);
+            calculatorPrices.set(i, null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[capacity=%d, hits=%d, misses=%d, evictions=%d]",
+                DisplayPriceCache.class.getSimpleName(), getCapacity(),
+                getHitCount(), getMissCount(), getEvictionCount());
+    }
+
+    /**
+     * All quantities that aren't greater than zero are displayed and
+     * calculated the same way, so they share a key.
+     */
+    private static int normalize(final int forX) {
+        return Math.max(forX, 0);
+    }
+
+    private Object get(final AtomicReferenceArray<Entry> table,
+                       final FixedPointMoney price,
+                       final int forX,
+                       final Object context) {
+        final long unscaledValue = price.getUnscaledValue();
+        final CurrencyUnit currency = price.getCurrency();
+        final Entry entry = table.get(indexOf(unscaledValue, forX, currency, context));
+
+        if (entry != null && entry.matches(unscaledValue, forX, currency, context)) {
+            hits.increment();
+            return entry.value;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    private void put(final AtomicReferenceArray<Entry> table,
+                     final FixedPointMoney price,
+                     final int forX,
+                     final Object context,
+                     final Object value) {
+        Objects.requireNonNull(value, "value");
+
+        final long unscaledValue = price.getUnscaledValue();
+        final CurrencyUnit currency = price.getCurrency();
+        final int index = indexOf(unscaledValue, forX, currency, context);
+        final Entry previous = table.getAndSet(index,
+                new Entry(unscaledValue, forX, currency, context, value));
+
+        if (previous != null && !previous.matches(unscaledValue, forX, currency, context)) {
+            evictions.increment();
+        }
+    }
+
+    private int indexOf(final long unscaledValue,
+                        final int forX,
+                        final CurrencyUnit currency,
+                        final Object context) {
+        long hash = unscaledValue * 0x9E3779B97F4A7C15L;
+        hash += forX * 0xC2B2AE3D27D4EB4FL;
+        hash ^= currency.getCurrencyCode().hashCode();
+        hash ^= System.identityHashCode(context);
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 32;
+
+        return (int)hash & mask;
+    }
+}
@@ -0,0 +1,133 @@
+package com.useswiftly.ingestion.product.functions;
+
+import com.useswiftly.ingestion.product.ProductRecordFlags;
+import com.useswiftly.ingestion.product.UnitOfMeasure;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Lookup table of the results of the flag based business rules indexed by
+ * {@link ProductRecordFlags#getMask()}. The tax rate and unit of measure of a
+ * product record only depend on its flags, so the rule functions are applied
+ * once to each of the possible flag combinations and the results are returned
+ * with a single array load.
+ *
+ * <p>The tax rate table is computed from a single reading of the tax rate
+ * provider. Lookups never consult the provider. Instead, parsers call
+ * {@link #refresh()} before each parse, which reads the provider once and
+ * only rebuilds the table when the tax rate has changed.</p>
+ */
+public class FlagRuleTable {
+    private static final int TABLE_SIZE = 1 << ProductRecordFlags.FLAG_COUNT;
+
+    private final BiFunction<ProductRecordFlags, BigDecimal, BigDecimal> taxRateCalculator;
+    private final Provider<BigDecimal> taxRateProvider;
+    private final UnitOfMeasure[] unitsOfMeasure;
+
+    /**
+     * Tax rates for every flag combination and the tax rate they were built
+     * from. Replaced as a whole so that readers always see a complete table.
+     */
+    private volatile TaxRates taxRates;
+
+    private static final class TaxRates {
+        @Nullable
+        private final BigDecimal taxRate;
+        private final BigDecimal[] rates;
+
+        private TaxRates(@Nullable final BigDecimal taxRate, final BigDecimal[] rates) {
+            this.taxRate = taxRate;
+            this.rates = rates;
+        }
+
+        private boolean isBuiltFrom(@Nullable final BigDecimal taxRate) {
+            if (this.taxRate == null || taxRate == null) {
+                return this.taxRate == taxRate;
+            }
+
+            return this.taxRate.compareTo(taxRate) == 0;
+        }
+    }
+
+    @Inject
+    public FlagRuleTable(@Named("TaxRateCalculator")
+                         final BiFunction<ProductRecordFlags, BigDecimal, BigDecimal> taxRateCalculator,
+                         @Named("UnitOfMeasureDecider")
+                         final Function<ProductRecordFlags, UnitOfMeasure> unitOfMeasureDecider,
+                         @Named("TaxRate")
+                         final Provider<BigDecimal> taxRateProvider) {
+        this.taxRateCalculator = Objects.requireNonNull(taxRateCalculator, "taxRateCalculator");
+        this.taxRateProvider = Objects.requireNonNull(taxRateProvider, "taxRateProvider");
+        Objects.requireNonNull(unitOfMeasureDecider, "unitOfMeasureDecider");
+
+        this.unitsOfMeasure = new UnitOfMeasure[TABLE_SIZE];
+        for (int mask = 0; mask < TABLE_SIZE; mask++) {
+            unitsOfMeasure[mask] = unitOfMeasureDecider.apply(ProductRecordFlags.valueOf(mask));
+        }
+
+        this.taxRates = buildTaxRates(taxRateProvider.get());
+    }
+
+    /**
+     * @param flags flags of product record
+     * @return tax rate for the flags or null if flags are null
+     */
+    @Nullable
+    public BigDecimal lookupTaxRate(@Nullable final ProductRecordFlags flags) {
+        if (flags == null) {
+            return null;
+        }
+
+        return taxRates.rates[flags.getMask()];
+    }
+
+    /**
+     * @param flags flags of product record
+     * @return unit of measure for the flags or null if flags are null
+     */
+    @Nullable
+    public UnitOfMeasure lookupUnitOfMeasure(@Nullable final ProductRecordFlags flags) {
+        if (flags == null) {
+            return null;
+        }
+
+        return unitsOfMeasure[flags.getMask()];
+    }
+
+    /**
+     * Reads the tax rate provider and rebuilds the tax rate table if the tax
+     * rate differs from the one the table was built from. Lookups made while
+     * the table is rebuilt return the previous tax rates.
+     *
+     * @return true if the table was rebuilt
+     */
+    public boolean refresh() {
+        final BigDecimal taxRate = taxRateProvider.get();
+
+        if (taxRates.isBuiltFrom(taxRate)) {
+            return false;
+        }
+
+        taxRates = buildTaxRates(taxRate);
+        return true;
+    }
+
+    @NotNull
+    private TaxRates buildTaxRates(@Nullable final BigDecimal taxRate) {
+        final BigDecimal[] rates = new BigDecimal[TABLE_SIZE];
+
+        for (int mask = 0; mask < TABLE_SIZE; mask++) {
+            rates[mask] = taxRateCalculator.apply(ProductRecordFlags.valueOf(mask), taxRate);
+        }
+
+        return new TaxRates(taxRate, rates);
+    }
+}
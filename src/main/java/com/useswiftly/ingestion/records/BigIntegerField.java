@@ -1,6 +1,9 @@
 package com.useswiftly.ingestion.records;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * Record field with the data type {@link BigInteger}.
@@ -15,16 +18,67 @@ public abstract class BigIntegerField<RECORD_TYPE> implements Field<BigInteger,
     }
 
     public BigInteger convertStringToBigInteger(final String numericString) {
+        return convertToBigInteger(numericString, 0, numericString.length());
+    }
+
+    /**
+     * Converts a range of characters to a {@link BigInteger} without creating
+     * a substring. Values too large to fit in a long are delegated to
+     * {@link BigInteger#BigInteger(String)}.
+     *
+     * @param source characters to convert
+     * @param startInclusive index of the first character
+     * @param endExclusive index after the last character
+     * @return converted value
+     * @throws RecordParseException thrown if the range is not a valid integer
+     */
+    public BigInteger convertToBigInteger(@NotNull final CharSequence source,
+                                          final int startInclusive,
+                                          final int endExclusive) {
+        try {
+            if (endExclusive - startInclusive > NumericDecoder.MAX_LONG_DIGITS) {
+                return new BigInteger(source.subSequence(startInclusive, endExclusive).toString());
+            }
+
+            return BigInteger.valueOf(NumericDecoder.parseLong(source, startInclusive, endExclusive));
+        } catch (RuntimeException e) {
+            throw conversionException(source.subSequence(startInclusive, endExclusive), e);
+        }
+    }
+
+    /**
+     * Converts a range of bytes to a {@link BigInteger} without creating
+     * a substring. Values too large to fit in a long are delegated to
+     * {@link BigInteger#BigInteger(String)}.
+     *
+     * @param source bytes to convert
+     * @param startInclusive absolute index of the first byte
+     * @param endExclusive absolute index after the last byte
+     * @return converted value
+     * @throws RecordParseException thrown if the range is not a valid integer
+     */
+    public BigInteger convertToBigInteger(@NotNull final ByteBuffer source,
+                                          final int startInclusive,
+                                          final int endExclusive) {
         try {
-            return new BigInteger(numericString);
+            if (endExclusive - startInclusive > NumericDecoder.MAX_LONG_DIGITS) {
+                return new BigInteger(Field.decodeString(source, startInclusive, endExclusive));
+            }
+
+            return BigInteger.valueOf(NumericDecoder.parseLong(source, startInclusive, endExclusive));
         } catch (RuntimeException e) {
-            String msg = String.format("Unable to convert string to BigInteger " +
-                            "for field [%s]. Offending String:\n%s",
-                    getName(), numericString);
-            throw new RecordParseException(msg, e);
+            throw conversionException(Field.decodeString(source, startInclusive, endExclusive), e);
         }
     }
 
+    private RecordParseException conversionException(final CharSequence numericString,
+                                                     final RuntimeException cause) {
+        String msg = String.format("Unable to convert string to BigInteger " +
+                        "for field [%s]. Offending String:\n%s",
+                getName(), numericString);
+        return new RecordParseException(msg, cause);
+    }
+
     @Override
     public String toString() {
         return Field.toString(this);
@@ -0,0 +1,316 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * {@link RecordSink} that encodes records into large reusable byte buffers and
+ * writes them to a {@link WritableByteChannel} from a dedicated writer thread.
+ * Two buffers are used: while the writer thread writes one, records are
+ * encoded into the other, so the producer only waits when it fills a buffer
+ * before the previous one has been written.
+ *
+ * <p>The sink owns the channel and closes it when the sink is closed. An
+ * I/O or unchecked error from the writer thread is wrapped in an
+ * {@link IOException} and rethrown by the next call to
+ * {@link #write(CharSequence)}, {@link #flush()} or {@link #close()}. Only a
+ * single producer thread may use a sink.</p>
+ */
+public class ChannelRecordSink implements RecordSink {
+    /**
+     * Default size in bytes of each of the two buffers.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Smallest buffer size that can hold any encoded character.
+     */
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    /**
+     * Marker handed to the writer thread to make it exit.
+     */
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final boolean singleByte;
+    private final int maxChar;
+    private final byte[] lineSeparator;
+
+    /**
+     * Buffers filled by the producer waiting to be written.
+     */
+    private final BlockingQueue<ByteBuffer> filled = new ArrayBlockingQueue<>(2);
+
+    /**
+     * Buffers that have been written and can be reused by the producer.
+     */
+    private final BlockingQueue<ByteBuffer> empty = new ArrayBlockingQueue<>(2);
+
+    private final Thread writerThread;
+    private volatile Exception failure;
+
+    /**
+     * Buffer records are currently encoded into.
+     */
+    private ByteBuffer current;
+    private boolean closed = false;
+
+    public ChannelRecordSink(@NotNull final WritableByteChannel channel,
+                             @NotNull final Charset charset) {
+        this(channel, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ChannelRecordSink(@NotNull final WritableByteChannel channel,
+                             @NotNull final Charset charset,
+                             final int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            String msg = String.format("Buffer size must be at least %d - " +
+                    "Buffer size [%d] value is invalid", MIN_BUFFER_SIZE, bufferSize);
+            throw new IllegalArgumentException(msg);
+        }
+
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.singleByte = MappedRecordSpliterator.supportsCharset(charset);
+        this.maxChar = StandardCharsets.US_ASCII.equals(charset) ? 0x7F : 0xFF;
+        this.lineSeparator = System.lineSeparator().getBytes(charset);
+
+        this.current = ByteBuffer.allocateDirect(bufferSize);
+        this.empty.add(ByteBuffer.allocateDirect(bufferSize));
+
+        this.writerThread = new Thread(this::writeBuffers, "record-sink-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Creates a sink that writes to the standard output of the process.
+     * Closing the sink writes all buffered records and stops the writer
+     * thread, but leaves the standard output of the process open.
+     *
+     * @param charset character set to encode records with
+     * @return new instance
+     */
+    public static ChannelRecordSink stdout(@NotNull final Charset charset) {
+        return new ChannelRecordSink(nonClosing(new FileOutputStream(FileDescriptor.out).getChannel()),
+                charset);
+    }
+
+    /**
+     * @param channel channel to write to
+     * @return channel that writes to the passed channel but never closes it
+     */
+    static WritableByteChannel nonClosing(@NotNull final WritableByteChannel channel) {
+        return new WritableByteChannel() {
+            private volatile boolean open = true;
+
+            @Override
+            public int write(final ByteBuffer source) throws IOException {
+                if (!open) {
+                    throw new ClosedChannelException();
+                }
+
+                return channel.write(source);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open && channel.isOpen();
+            }
+
+            @Override
+            public void close() {
+                open = false;
+            }
+        };
+    }
+
+    @Override
+    public void write(@NotNull final CharSequence formattedRecord) throws IOException {
+        write(formattedRecord, 0, formattedRecord.length());
+    }
+
+    @Override
+    public void write(@NotNull final CharSequence formattedRecords,
+                      final int startInclusive,
+                      final int endExclusive) throws IOException {
+        checkOpen();
+
+        if (singleByte) {
+            encodeSingleByte(formattedRecords, startInclusive, endExclusive);
+        } else {
+            encode(CharBuffer.wrap(formattedRecords, startInclusive, endExclusive));
+        }
+
+        for (byte b : lineSeparator) {
+            if (!current.hasRemaining()) {
+                handOff();
+            }
+
+            current.put(b);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            drain();
+        } finally {
+            filled.add(END);
+
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            channel.close();
+        }
+    }
+
+    private void encodeSingleByte(final CharSequence formattedRecords,
+                                  final int startInclusive,
+                                  final int endExclusive) throws IOException {
+        for (int i = startInclusive; i < endExclusive; i++) {
+            if (!current.hasRemaining()) {
+                handOff();
+            }
+
+            final char c = formattedRecords.charAt(i);
+            current.put(c <= maxChar ? (byte)c : (byte)'?');
+        }
+    }
+
+    private void encode(final CharBuffer in) throws IOException {
+        encoder.reset();
+
+        CoderResult result;
+
+        do {
+            result = encoder.encode(in, current, true);
+
+            if (result.isOverflow()) {
+                handOff();
+            }
+        } while (result.isOverflow());
+
+        while (encoder.flush(current).isOverflow()) {
+            handOff();
+        }
+    }
+
+    /**
+     * Passes the current buffer to the writer thread and continues with the
+     * other buffer once it has been written.
+     */
+    private void handOff() throws IOException {
+        current.flip();
+        filled.add(current);
+
+        try {
+            current = empty.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for record sink buffer");
+        }
+
+        checkFailure();
+    }
+
+    /**
+     * Waits until all encoded records have been written.
+     */
+    private void drain() throws IOException {
+        if (current.position() > 0) {
+            handOff();
+        }
+
+        try {
+            // Both buffers are only available when the writer thread is idle
+            final ByteBuffer spare = empty.take();
+            empty.add(spare);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing record sink");
+        }
+
+        checkFailure();
+    }
+
+    private void writeBuffers() {
+        while (true) {
+            final ByteBuffer buffer;
+
+            try {
+                buffer = filled.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (buffer == END) {
+                return;
+            }
+
+            try {
+                if (failure == null) {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // Keep unchecked failures too, so the producer isn't left waiting
+                failure = e;
+            } finally {
+                buffer.clear();
+                empty.add(buffer);
+            }
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Record sink is closed");
+        }
+
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        final Exception e = failure;
+
+        if (e != null) {
+            throw new IOException("Unable to write records", e);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.useswiftly.ingestion.records;
 import com.useswiftly.ingestion.product.fields.ProductIdField;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.StringJoiner;
 
 /**
@@ -38,6 +40,76 @@ public interface Field<FIELD_TYPE, RECORD_TYPE> {
      */
     void convertAndAssignValueToRecord(@NotNull String substring, @NotNull RECORD_TYPE record);
 
+    /**
+     * Converts the raw characters in the specified range of a record line to
+     * the appropriate data type and assigns it to the specified record instance.
+     * Implementations should decode directly from the source without creating
+     * substrings.
+     *
+     * <p>The default implementation copies the range to a {@link String} and
+     * delegates to {@link #convertAndAssignValueToRecord(String, Object)}.</p>
+     *
+     * @param source characters of the record line
+     * @param startInclusive index of the first character of the field
+     * @param endExclusive index after the last character of the field
+     * @param record record to associate field with
+     */
+    default void convertAndAssignValueToRecord(@NotNull final CharSequence source,
+                                               final int startInclusive,
+                                               final int endExclusive,
+                                               @NotNull final RECORD_TYPE record) {
+        final String substring = source.subSequence(startInclusive, endExclusive).toString();
+        convertAndAssignValueToRecord(substring, record);
+    }
+
+    /**
+     * Converts the raw bytes in the specified range of a record line to the
+     * appropriate data type and assigns it to the specified record instance.
+     * Bytes are interpreted as single byte characters and the position and
+     * limit of the buffer are not read or modified.
+     *
+     * <p>The default implementation copies the range to a {@link String} and
+     * delegates to {@link #convertAndAssignValueToRecord(String, Object)}.</p>
+     *
+     * @param source bytes of the record line
+     * @param startInclusive absolute index of the first byte of the field
+     * @param endExclusive absolute index after the last byte of the field
+     * @param record record to associate field with
+     */
+    default void convertAndAssignValueToRecord(@NotNull final ByteBuffer source,
+                                               final int startInclusive,
+                                               final int endExclusive,
+                                               @NotNull final RECORD_TYPE record) {
+        convertAndAssignValueToRecord(decodeString(source, startInclusive, endExclusive), record);
+    }
+
+    /**
+     * Decodes a range of single byte characters to a {@link String}.
+     *
+     * @param source bytes to decode
+     * @param startInclusive absolute index of the first byte
+     * @param endExclusive absolute index after the last byte
+     * @return decoded string
+     */
+    static String decodeString(@NotNull final ByteBuffer source,
+                               final int startInclusive,
+                               final int endExclusive) {
+        final int length = endExclusive - startInclusive;
+
+        if (source.hasArray()) {
+            return new String(source.array(), source.arrayOffset() + startInclusive,
+                    length, StandardCharsets.ISO_8859_1);
+        }
+
+        final byte[] bytes = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            bytes[i] = source.get(startInclusive + i);
+        }
+
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
     /**
      * Default toString() implementation.
      */
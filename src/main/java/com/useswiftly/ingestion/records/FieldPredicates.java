@@ -0,0 +1,162 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+
+/**
+ * Factory of {@link RecordPredicate} instances that evaluate the raw
+ * characters of a single field of a record line. Only the position of the
+ * field is used, so the value is read directly from the line without the
+ * field's conversion to its data type. A line that is too short to contain
+ * the field or holds an invalid value results in a
+ * {@link RecordParseException}, the same as if the line were decoded.
+ */
+public final class FieldPredicates {
+    private FieldPredicates() {
+    }
+
+    /**
+     * Creates a predicate on the value of a numeric field, such as an integer
+     * field or a price field holding a whole number of cents.
+     *
+     * @param field field holding a signed base 10 integer
+     * @param condition condition the decoded value must match
+     * @return predicate on the value of the field
+     * @throws IllegalArgumentException thrown if the field is too wide to decode into a long
+     */
+    public static RecordPredicate numeric(@NotNull final Field<?, ?> field,
+                                          @NotNull final LongPredicate condition) {
+        Objects.requireNonNull(condition, "condition");
+        final int width = field.getEndPositionExclusive() - field.getStartPositionInclusive();
+
+        if (width > NumericDecoder.MAX_LONG_DIGITS) {
+            String msg = String.format("Field [%s] is [%d] characters wide - only fields " +
+                    "of up to [%d] characters can be decoded", field.getName(), width,
+                    NumericDecoder.MAX_LONG_DIGITS);
+            throw new IllegalArgumentException(msg);
+        }
+
+        return new RecordPredicate() {
+            @Override
+            public boolean test(@NotNull final ByteBuffer source, final int startInclusive, final int endExclusive) {
+                checkLength(field, endExclusive - startInclusive);
+                final int start = startInclusive + field.getStartPositionInclusive();
+                final int end = startInclusive + field.getEndPositionExclusive();
+                final long value;
+
+                try {
+                    value = NumericDecoder.parseLong(source, start, end);
+                } catch (RuntimeException e) {
+                    throw conversionException(field, Field.decodeString(source, start, end), e);
+                }
+
+                return condition.test(value);
+            }
+
+            @Override
+            public boolean test(@NotNull final CharSequence source, final int startInclusive, final int endExclusive) {
+                checkLength(field, endExclusive - startInclusive);
+                final int start = startInclusive + field.getStartPositionInclusive();
+                final int end = startInclusive + field.getEndPositionExclusive();
+                final long value;
+
+                try {
+                    value = NumericDecoder.parseLong(source, start, end);
+                } catch (RuntimeException e) {
+                    throw conversionException(field, source.subSequence(start, end), e);
+                }
+
+                return condition.test(value);
+            }
+        };
+    }
+
+    /**
+     * @param field field holding a signed base 10 integer
+     * @param minInclusive lowest matching value
+     * @param maxInclusive highest matching value
+     * @return predicate that matches values of the field within the range
+     */
+    public static RecordPredicate between(@NotNull final Field<?, ?> field,
+                                          final long minInclusive,
+                                          final long maxInclusive) {
+        return numeric(field, value -> value >= minInclusive && value <= maxInclusive);
+    }
+
+    /**
+     * @param field field holding a signed base 10 integer
+     * @return predicate that matches values of the field other than zero
+     */
+    public static RecordPredicate notZero(@NotNull final Field<?, ?> field) {
+        return numeric(field, value -> value != 0L);
+    }
+
+    /**
+     * Creates a predicate on a single <code>Y</code> or <code>N</code>
+     * character of a flags field.
+     *
+     * @param field field holding positional flags
+     * @param position flag position starting at 0
+     * @return predicate that matches lines in which the flag is set
+     * @throws IllegalArgumentException thrown if the position is outside of the field
+     */
+    public static RecordPredicate flag(@NotNull final Field<?, ?> field, final int position) {
+        final int width = field.getEndPositionExclusive() - field.getStartPositionInclusive();
+
+        if (position < 0 || position >= width) {
+            String msg = String.format("Flag position [%d] is outside of field [%s] " +
+                    "of [%d] flags", position, field.getName(), width);
+            throw new IllegalArgumentException(msg);
+        }
+
+        final int offset = field.getStartPositionInclusive() + position;
+
+        return new RecordPredicate() {
+            @Override
+            public boolean test(@NotNull final ByteBuffer source, final int startInclusive, final int endExclusive) {
+                checkLength(field, endExclusive - startInclusive);
+                return isFlagSet(field, (char)(source.get(startInclusive + offset) & 0xFF));
+            }
+
+            @Override
+            public boolean test(@NotNull final CharSequence source, final int startInclusive, final int endExclusive) {
+                checkLength(field, endExclusive - startInclusive);
+                return isFlagSet(field, source.charAt(startInclusive + offset));
+            }
+        };
+    }
+
+    private static void checkLength(final Field<?, ?> field, final int length) {
+        if (length < field.getEndPositionExclusive()) {
+            String msg = String.format("Record of [%d] characters is too short to " +
+                    "contain field [%s] ending at [%d]", length, field.getName(),
+                    field.getEndPositionExclusive());
+            throw new RecordParseException(msg);
+        }
+    }
+
+    private static boolean isFlagSet(final Field<?, ?> field, final char character) {
+        if (character == 'Y') {
+            return true;
+        } else if (character == 'N') {
+            return false;
+        } else {
+            String msg = String.format("Invalid flag character encountered " +
+                    "[%c] in field [%s] - only 'Y' or 'N' are " +
+                    "valid characters", character, field.getName());
+            throw new RecordParseException(msg);
+        }
+    }
+
+    private static RecordParseException conversionException(final Field<?, ?> field,
+                                                            final CharSequence numericString,
+                                                            final RuntimeException cause) {
+        String msg = String.format("Unable to convert string to long " +
+                        "for field [%s]. Offending String:\n%s",
+                field.getName(), numericString);
+        return new RecordParseException(msg, cause);
+    }
+}
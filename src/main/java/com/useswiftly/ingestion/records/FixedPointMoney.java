@@ -0,0 +1,216 @@
+package com.useswiftly.ingestion.records;
+
+import org.javamoney.moneta.FastMoney;
+import org.jetbrains.annotations.NotNull;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Immutable monetary amount stored as a long count of the smallest unit
+ * supported by {@link FastMoney} (5 decimal places) plus its currency. It is
+ * used internally so that prices can be parsed, compared, divided and rounded
+ * with plain long arithmetic. A {@link MonetaryAmount} is only created when one
+ * is requested via {@link #toMonetaryAmount()}.
+ *
+ * <p>Arithmetic deliberately mirrors {@link FastMoney} so that results are
+ * identical to the equivalent {@link MonetaryAmount} operations.</p>
+ */
+public final class FixedPointMoney {
+    /**
+     * Number of decimal places of the unscaled value. Matches the scale used by
+     * {@link FastMoney} so that conversion in either direction is exact.
+     */
+    public static final int SCALE = 5;
+
+    /**
+     * Powers of ten up to and including 10^{@value #SCALE}.
+     */
+    private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L };
+
+    /**
+     * Number of decimal places of a price in the record data file.
+     */
+    private static final int CENTS_SCALE = 2;
+
+    private final long unscaledValue;
+    private final CurrencyUnit currency;
+
+    private FixedPointMoney(final long unscaledValue, final CurrencyUnit currency) {
+        this.unscaledValue = unscaledValue;
+        this.currency = Objects.requireNonNull(currency, "currency");
+    }
+
+    /**
+     * @param unscaledValue amount in units of 10^-{@value #SCALE}
+     * @param currency currency of amount
+     * @return new instance
+     */
+    public static FixedPointMoney of(final long unscaledValue, @NotNull final CurrencyUnit currency) {
+        return new FixedPointMoney(unscaledValue, currency);
+    }
+
+    /**
+     * @param cents amount in hundredths of the currency unit
+     * @param currency currency of amount
+     * @return new instance
+     * @throws ArithmeticException thrown if the amount is too large to represent
+     */
+    public static FixedPointMoney ofCents(final long cents, @NotNull final CurrencyUnit currency) {
+        return new FixedPointMoney(Math.multiplyExact(cents, POWERS_OF_TEN[SCALE - CENTS_SCALE]), currency);
+    }
+
+    /**
+     * Converts a {@link MonetaryAmount} to a fixed-point amount.
+     *
+     * @param amount amount to convert
+     * @return new instance
+     * @throws ArithmeticException thrown if the amount has more than
+     *                             {@value #SCALE} decimal places or is too large to represent
+     */
+    public static FixedPointMoney from(@NotNull final MonetaryAmount amount) {
+        final BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
+
+        try {
+            return new FixedPointMoney(number.movePointRight(SCALE).longValueExact(), amount.getCurrency());
+        } catch (ArithmeticException e) {
+            String msg = String.format("Monetary amount [%s] can't be represented " +
+                    "with [%d] decimal places as a long", amount, SCALE);
+            final ArithmeticException exception = new ArithmeticException(msg);
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    /**
+     * @return amount in units of 10^-{@value #SCALE}
+     */
+    public long getUnscaledValue() {
+        return unscaledValue;
+    }
+
+    public CurrencyUnit getCurrency() {
+        return currency;
+    }
+
+    public boolean isZero() {
+        return unscaledValue == 0L;
+    }
+
+    /**
+     * Divides this amount by a whole number. As with
+     * {@link FastMoney#divide(Number)}, the result is rounded to the nearest
+     * unit with ties rounding up.
+     *
+     * @param divisor number to divide by
+     * @return quotient
+     * @throws ArithmeticException thrown if divisor is zero
+     */
+    public FixedPointMoney divide(final long divisor) {
+        if (divisor == 0L) {
+            throw new ArithmeticException("Division by zero");
+        }
+
+        if (divisor == 1L) {
+            return this;
+        }
+
+        return new FixedPointMoney(Math.round(unscaledValue / (double)divisor), currency);
+    }
+
+    /**
+     * Rounds this amount to the specified number of decimal places.
+     *
+     * @param scale number of decimal places to keep (0 to {@value #SCALE})
+     * @param mode rounding mode to apply to discarded digits
+     * @return rounded amount
+     * @throws ArithmeticException thrown if mode is {@link RoundingMode#UNNECESSARY}
+     *                             and rounding is necessary
+     */
+    public FixedPointMoney round(final int scale, @NotNull final RoundingMode mode) {
+        if (scale < 0 || scale > SCALE) {
+            String msg = String.format("Scale must be between 0 and %d - " +
+                    "Scale [%d] value is invalid", SCALE, scale);
+            throw new IllegalArgumentException(msg);
+        }
+
+        if (scale == SCALE) {
+            return this;
+        }
+
+        final long divisor = POWERS_OF_TEN[SCALE - scale];
+        final long quotient = unscaledValue / divisor;
+        final long remainder = unscaledValue % divisor;
+
+        if (remainder == 0L) {
+            return this;
+        }
+
+        final int sign = unscaledValue < 0L ? -1 : 1;
+        final long doubledRemainder = Math.abs(remainder) * 2;
+        final boolean awayFromZero;
+
+        switch (mode) {
+            case UP:
+                awayFromZero = true;
+                break;
+            case DOWN:
+                awayFromZero = false;
+                break;
+            case CEILING:
+                awayFromZero = sign > 0;
+                break;
+            case FLOOR:
+                awayFromZero = sign < 0;
+                break;
+            case HALF_UP:
+                awayFromZero = doubledRemainder >= divisor;
+                break;
+            case HALF_DOWN:
+                awayFromZero = doubledRemainder > divisor;
+                break;
+            case HALF_EVEN:
+                awayFromZero = doubledRemainder > divisor
+                        || (doubledRemainder == divisor && (quotient & 1L) != 0L);
+                break;
+            case UNNECESSARY:
+            default:
+                String msg = String.format("Rounding necessary for amount [%s] " +
+                        "with rounding mode [%s]", this, mode);
+                throw new ArithmeticException(msg);
+        }
+
+        final long rounded = awayFromZero ? quotient + sign : quotient;
+        return new FixedPointMoney(rounded * divisor, currency);
+    }
+
+    /**
+     * @return equivalent {@link FastMoney} instance
+     */
+    public MonetaryAmount toMonetaryAmount() {
+        return FastMoney.of(BigDecimal.valueOf(unscaledValue, SCALE), currency);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final FixedPointMoney that = (FixedPointMoney) o;
+        return unscaledValue == that.unscaledValue &&
+                currency.equals(that.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(unscaledValue, currency);
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + ' '
+                + BigDecimal.valueOf(unscaledValue, SCALE).toPlainString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.useswiftly.ingestion.records;
+
+import org.javamoney.moneta.format.CurrencyStyle;
+import org.jetbrains.annotations.NotNull;
+
+import javax.money.format.AmountFormatContext;
+import javax.money.format.MonetaryAmountFormat;
+import java.util.Locale;
+
+/**
+ * Renders {@link FixedPointMoney} amounts in US dollars directly into a
+ * {@link StringBuilder}. The output is identical to the default Moneta
+ * {@link MonetaryAmountFormat} for {@link Locale#US} with
+ * {@link CurrencyStyle#SYMBOL} (for example <code>$-1,234.57</code>), but no
+ * {@link java.math.BigDecimal} or intermediate {@link String} is created.
+ *
+ * <p>Callers must check {@link #supports(MonetaryAmountFormat)} and
+ * {@link #supports(FixedPointMoney)} before using this class in place of a
+ * {@link MonetaryAmountFormat}.</p>
+ */
+public final class FixedPointMoneyFormat {
+    private static final String DEFAULT_FORMAT_NAME = "default";
+    private static final String PATTERN_KEY = "pattern";
+    private static final String CURRENCY_CODE = "USD";
+    private static final char CURRENCY_SYMBOL = '$';
+    private static final int DISPLAY_SCALE = 2;
+
+    /**
+     * Value of one unit of the display scale in the unscaled value of a
+     * {@link FixedPointMoney}.
+     */
+    private static final long DISPLAY_UNIT = 1_000L;
+
+    private FixedPointMoneyFormat() {
+    }
+
+    /**
+     * @param format format to check
+     * @return true if the output of this class is identical to the format
+     */
+    public static boolean supports(@NotNull final MonetaryAmountFormat format) {
+        final AmountFormatContext context = format.getContext();
+
+        return DEFAULT_FORMAT_NAME.equals(context.getFormatName())
+                && Locale.US.equals(context.get(Locale.class))
+                && CurrencyStyle.SYMBOL.equals(context.get(CurrencyStyle.class))
+                && context.getText(PATTERN_KEY) == null;
+    }
+
+    /**
+     * @param amount amount to check
+     * @return true if the amount can be rendered by this class
+     */
+    public static boolean supports(@NotNull final FixedPointMoney amount) {
+        return CURRENCY_CODE.equals(amount.getCurrency().getCurrencyCode())
+                && amount.getUnscaledValue() != Long.MIN_VALUE;
+    }
+
+    /**
+     * Appends the amount rounded half even to cents with a currency symbol,
+     * a sign if negative and grouping separators.
+     *
+     * @param amount amount in US dollars
+     * @param out destination of the formatted amount
+     * @return the destination
+     */
+    @NotNull
+    public static StringBuilder append(@NotNull final FixedPointMoney amount,
+                                       @NotNull final StringBuilder out) {
+        final long value = amount.getUnscaledValue();
+        final long absolute = Math.abs(value);
+
+        long cents = absolute / DISPLAY_UNIT;
+        final long remainder = absolute % DISPLAY_UNIT;
+        final long half = DISPLAY_UNIT / 2;
+
+        if (remainder > half || (remainder == half && (cents & 1L) == 1L)) {
+            cents++;
+        }
+
+        out.append(CURRENCY_SYMBOL);
+
+        // The default format keeps the sign of negative amounts that round to zero
+        if (value < 0) {
+            out.append('-');
+        }
+
+        appendGrouped(cents / 100L, out);
+        out.append('.');
+        appendZeroPadded(cents % 100L, DISPLAY_SCALE, out);
+
+        return out;
+    }
+
+    private static void appendGrouped(final long value, final StringBuilder out) {
+        if (value < 1_000L) {
+            out.append(value);
+            return;
+        }
+
+        appendGrouped(value / 1_000L, out);
+        out.append(',');
+        appendZeroPadded(value % 1_000L, 3, out);
+    }
+
+    private static void appendZeroPadded(final long value, final int width, final StringBuilder out) {
+        long limit = 10L;
+
+        for (int i = 1; i < width; i++) {
+            if (value < limit) {
+                out.append('0');
+            }
+
+            limit *= 10L;
+        }
+
+        out.append(value);
+    }
+}
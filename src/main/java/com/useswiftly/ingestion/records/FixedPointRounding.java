@@ -0,0 +1,82 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.money.MonetaryRounding;
+import javax.money.RoundingContext;
+import java.math.RoundingMode;
+
+/**
+ * Applies a {@link MonetaryRounding} to {@link FixedPointMoney} amounts. When
+ * the rounding is the default JSR 354 rounding configured with a scale and a
+ * {@link RoundingMode}, it is applied with long arithmetic. Any other rounding
+ * is applied by converting to a {@link javax.money.MonetaryAmount} and back.
+ */
+public final class FixedPointRounding {
+    private static final String DEFAULT_PROVIDER = "default";
+    private static final String SCALE_KEY = "scale";
+
+    private final MonetaryRounding rounding;
+
+    /**
+     * Scale of the rounding or -1 if the rounding isn't a fixed scale rounding.
+     */
+    private final int scale;
+
+    private final RoundingMode mode;
+
+    private FixedPointRounding(final MonetaryRounding rounding,
+                               final int scale,
+                               final RoundingMode mode) {
+        this.rounding = rounding;
+        this.scale = scale;
+        this.mode = mode;
+    }
+
+    /**
+     * @param rounding rounding to apply to amounts
+     * @return new instance
+     */
+    public static FixedPointRounding of(@NotNull final MonetaryRounding rounding) {
+        final RoundingContext context = rounding.getRoundingContext();
+        final Integer scale = context.getInt(SCALE_KEY);
+        final RoundingMode mode = context.get(RoundingMode.class);
+
+        final boolean isFixedScale = DEFAULT_PROVIDER.equals(context.getProviderName())
+                && DEFAULT_PROVIDER.equals(context.getRoundingName())
+                && scale != null && scale >= 0 && scale <= FixedPointMoney.SCALE
+                && mode != null;
+
+        if (isFixedScale) {
+            return new FixedPointRounding(rounding, scale, mode);
+        }
+
+        return new FixedPointRounding(rounding, -1, null);
+    }
+
+    /**
+     * @param amount amount to round
+     * @return rounded amount
+     */
+    public FixedPointMoney apply(@NotNull final FixedPointMoney amount) {
+        if (scale >= 0) {
+            return amount.round(scale, mode);
+        }
+
+        return FixedPointMoney.from(amount.toMonetaryAmount().with(rounding));
+    }
+
+    /**
+     * @return true if the rounding is applied with long arithmetic
+     */
+    public boolean isFixedScale() {
+        return scale >= 0;
+    }
+
+    /**
+     * @return rounding being applied
+     */
+    public MonetaryRounding getMonetaryRounding() {
+        return rounding;
+    }
+}
@@ -0,0 +1,191 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.StringJoiner;
+
+/**
+ * Describes the byte layout of a data file in which every line is a record of
+ * the same width terminated by the same line terminator. Given such a layout,
+ * the byte offset of any record can be computed from its ordinal.
+ */
+public final class FixedWidthLayout {
+    private final int recordWidth;
+    private final int terminatorLength;
+    private final long fileSize;
+    private final long recordCount;
+
+    private FixedWidthLayout(final int recordWidth,
+                             final int terminatorLength,
+                             final long fileSize,
+                             final long recordCount) {
+        this.recordWidth = recordWidth;
+        this.terminatorLength = terminatorLength;
+        this.fileSize = fileSize;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Determines the layout of a data file by reading the line terminator of
+     * the first record and verifying that the file size is consistent with
+     * every line having the same width.
+     *
+     * @param channel channel of data file to inspect
+     * @param recordWidth width in bytes of a record, not including the line terminator
+     * @return layout of the data file
+     * @throws IOException thrown if there is a problem reading the data file
+     * @throws RecordParseException thrown if the data file is not fixed width
+     */
+    public static FixedWidthLayout detect(@NotNull final FileChannel channel,
+                                          final int recordWidth) throws IOException {
+        if (recordWidth <= 0) {
+            String msg = String.format("Record width must be greater than zero - " +
+                    "Record width [%d] value is invalid", recordWidth);
+            throw new IllegalArgumentException(msg);
+        }
+
+        final long fileSize = channel.size();
+
+        if (fileSize == 0L) {
+            return new FixedWidthLayout(recordWidth, 1, fileSize, 0L);
+        }
+
+        if (fileSize == recordWidth) {
+            return new FixedWidthLayout(recordWidth, 1, fileSize, 1L);
+        }
+
+        // Read the two bytes following the first record
+        final ByteBuffer terminator = ByteBuffer.allocate(2);
+
+        while (terminator.hasRemaining()) {
+            if (channel.read(terminator, recordWidth + terminator.position()) < 0) {
+                break;
+            }
+        }
+
+        final int terminatorLength;
+
+        if (terminator.position() >= 1 && terminator.get(0) == '\n') {
+            terminatorLength = 1;
+        } else if (terminator.position() == 2 && terminator.get(0) == '\r'
+                && terminator.get(1) == '\n') {
+            terminatorLength = 2;
+        } else {
+            String msg = String.format("The first line of the data file is not " +
+                    "[%d] characters long followed by a line terminator", recordWidth);
+            throw new RecordParseException(msg);
+        }
+
+        final int stride = recordWidth + terminatorLength;
+        final long remainder = fileSize % stride;
+        final long recordCount;
+
+        if (remainder == 0L) {
+            recordCount = fileSize / stride;
+        // The last record doesn't have a line terminator
+        } else if (remainder == recordWidth) {
+            recordCount = fileSize / stride + 1;
+        } else {
+            String msg = String.format("Data file size [%d] is not consistent with " +
+                    "records of [%d] characters terminated by [%d] line terminator " +
+                    "characters. The data file likely contains blank lines or lines " +
+                    "of differing lengths.", fileSize, recordWidth, terminatorLength);
+            throw new RecordParseException(msg);
+        }
+
+        return new FixedWidthLayout(recordWidth, terminatorLength, fileSize, recordCount);
+    }
+
+    /**
+     * @return width in bytes of a record, not including the line terminator
+     */
+    public int getRecordWidth() {
+        return recordWidth;
+    }
+
+    /**
+     * @return number of bytes in each line terminator (1 or 2)
+     */
+    public int getTerminatorLength() {
+        return terminatorLength;
+    }
+
+    /**
+     * @return distance in bytes between the start of two consecutive records
+     */
+    public int getStride() {
+        return recordWidth + terminatorLength;
+    }
+
+    /**
+     * @return size in bytes of the data file
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * @return total number of records in the data file
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @param ordinal zero indexed record number
+     * @return byte offset of the first byte of the record
+     */
+    public long offsetOf(final long ordinal) {
+        return ordinal * getStride();
+    }
+
+    /**
+     * Verifies that the record at the passed ordinal is followed by the
+     * expected line terminator within the buffer.
+     *
+     * @param buffer buffer containing the record
+     * @param recordStart absolute index within the buffer of the start of the record
+     * @param ordinal zero indexed record number
+     * @throws RecordParseException thrown if the record is not followed by a line terminator
+     */
+    public void verifyTerminator(@NotNull final ByteBuffer buffer,
+                                 final int recordStart,
+                                 final long ordinal) {
+        final long terminatorOffset = offsetOf(ordinal) + recordWidth;
+
+        // The last record may not have a line terminator
+        if (terminatorOffset == fileSize) {
+            return;
+        }
+
+        final int index = recordStart + recordWidth;
+        final boolean valid;
+
+        if (terminatorLength == 1) {
+            valid = buffer.get(index) == '\n';
+        } else {
+            valid = buffer.get(index) == '\r' && buffer.get(index + 1) == '\n';
+        }
+
+        if (!valid) {
+            String msg = String.format("Record [%d] at byte offset [%d] is not " +
+                    "followed by a line terminator. Fixed width data files must " +
+                    "not contain blank lines or lines of differing lengths.",
+                    ordinal, offsetOf(ordinal));
+            throw new RecordParseException(msg);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", FixedWidthLayout.class.getSimpleName() + "[", "]")
+                .add("recordWidth=" + recordWidth)
+                .add("terminatorLength=" + terminatorLength)
+                .add("fileSize=" + fileSize)
+                .add("recordCount=" + recordCount)
+                .toString();
+    }
+}
@@ -0,0 +1,266 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Reads individual records by ordinal from a memory mapped data file in which
+ * every line has exactly the same width (see {@link FixedWidthLayout}). The
+ * number of records is computed from the file size and the offset of any
+ * record from its ordinal, so point lookups and range reads only touch the
+ * pages of the records that are read instead of ingesting the whole file.
+ *
+ * <p>When a numeric key field is given and the data file is sorted in
+ * ascending order of that key, records can be found by key with a binary
+ * search that only decodes the key field of the records it probes. The sort
+ * order isn't verified; searching a file that isn't sorted by the key gives
+ * undefined results.</p>
+ *
+ * <p>Instances are safe to use from many threads as long as the parser is.
+ * The data file remains open until the reader is closed.</p>
+ */
+public class FixedWidthRecordReader<RECORD_TYPE extends Record> implements Closeable {
+    private final FileChannel channel;
+    private final RecordBytesParser<RECORD_TYPE> parser;
+    private final FixedWidthLayout layout;
+
+    /**
+     * Numeric field the data file is sorted by or null if it can't be searched.
+     */
+    @Nullable
+    private final Field<?, ?> keyField;
+
+    /**
+     * Mapped regions of the file, each holding the same number of whole records.
+     */
+    private final MappedByteBuffer[] windows;
+    private final long recordsPerWindow;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new instance that reads records by ordinal. The reader takes
+     * ownership of the channel and closes it when it is closed.
+     *
+     * @param channel channel of data file to read
+     * @param parser parser used to convert lines to records
+     * @param recordWidth width in bytes of a record, not including the line terminator
+     * @param keyField numeric field the data file is sorted by or null if it isn't sorted
+     * @throws IOException thrown if the data file can't be read
+     * @throws RecordParseException thrown if the data file is not fixed width
+     */
+    public FixedWidthRecordReader(@NotNull final FileChannel channel,
+                                  @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                                  final int recordWidth,
+                                  @Nullable final Field<?, ?> keyField) throws IOException {
+        this(channel, parser, FixedWidthLayout.detect(channel, recordWidth), keyField,
+                MappedRecordSpliterator.DEFAULT_WINDOW_SIZE);
+    }
+
+    FixedWidthRecordReader(@NotNull final FileChannel channel,
+                           @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                           @NotNull final FixedWidthLayout layout,
+                           @Nullable final Field<?, ?> keyField,
+                           final int windowSize) {
+        if (windowSize < layout.getStride()) {
+            String msg = String.format("Window size must be at least the size of a " +
+                    "single record [%d] - Window size [%d] value is invalid",
+                    layout.getStride(), windowSize);
+            throw new IllegalArgumentException(msg);
+        }
+
+        if (keyField != null && keyField.getEndPositionExclusive() > layout.getRecordWidth()) {
+            String msg = String.format("Key field [%s] ending at [%d] doesn't fit " +
+                    "within records of [%d] characters", keyField.getName(),
+                    keyField.getEndPositionExclusive(), layout.getRecordWidth());
+            throw new IllegalArgumentException(msg);
+        }
+
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.parser = Objects.requireNonNull(parser, "parser");
+        this.layout = layout;
+        this.keyField = keyField;
+        this.recordsPerWindow = windowSize / layout.getStride();
+
+        final long recordCount = layout.getRecordCount();
+        final int windowCount = Math.toIntExact((recordCount + recordsPerWindow - 1) / recordsPerWindow);
+        this.windows = new MappedByteBuffer[windowCount];
+
+        /* Mapping only reserves address space, so the whole file is mapped up
+         * front and pages are read from disk as the records are accessed. */
+        for (int i = 0; i < windowCount; i++) {
+            final long start = layout.offsetOf(i * recordsPerWindow);
+            final long end = Math.min(layout.offsetOf((i + 1) * recordsPerWindow), layout.getFileSize());
+            windows[i] = MappedRecordSpliterator.map(channel, start, end - start);
+        }
+    }
+
+    /**
+     * @return number of records in the data file
+     */
+    public long size() {
+        return layout.getRecordCount();
+    }
+
+    /**
+     * @return layout of the data file
+     */
+    public FixedWidthLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Parses the record at an ordinal.
+     *
+     * @param ordinal zero indexed record number
+     * @return record parsed from the line
+     * @throws IndexOutOfBoundsException thrown if the ordinal is outside of the data file
+     * @throws RecordParseException thrown if the record can't be parsed
+     */
+    public RECORD_TYPE get(final long ordinal) {
+        checkOpen();
+
+        if (ordinal < 0L || ordinal >= size()) {
+            String msg = String.format("Record ordinal [%d] is outside of the " +
+                    "[%d] records in the data file", ordinal, size());
+            throw new IndexOutOfBoundsException(msg);
+        }
+
+        final MappedByteBuffer window = windowOf(ordinal);
+        final int start = startOf(ordinal);
+        layout.verifyTerminator(window, start, ordinal);
+
+        return parser.apply(window, start, start + layout.getRecordWidth());
+    }
+
+    /**
+     * Parses the records within a range of ordinals. The returned stream is
+     * ordered, reports its exact size and can be split for parallel
+     * processing. It must not be used after the reader is closed.
+     *
+     * @param fromInclusive ordinal of the first record
+     * @param toExclusive ordinal after the last record
+     * @return stream of records in order of their ordinals
+     * @throws IndexOutOfBoundsException thrown if the range is outside of the data file
+     */
+    public Stream<RECORD_TYPE> range(final long fromInclusive, final long toExclusive) {
+        checkOpen();
+
+        if (fromInclusive < 0L || fromInclusive > toExclusive || toExclusive > size()) {
+            String msg = String.format("Record range [%d, %d) is outside of the " +
+                    "[%d] records in the data file", fromInclusive, toExclusive, size());
+            throw new IndexOutOfBoundsException(msg);
+        }
+
+        return LongStream.range(fromInclusive, toExclusive).mapToObj(this::get);
+    }
+
+    /**
+     * Finds the ordinal of a key with a binary search over the key field. When
+     * several records have the key, the lowest ordinal is returned so that
+     * the rest can be read with {@link #range(long, long)}.
+     *
+     * @param key value of the key field to find
+     * @return ordinal of the first record with the key or
+     *         <code>(-(insertion point) - 1)</code> if no record has it,
+     *         as with {@link java.util.Arrays#binarySearch(long[], long)}
+     * @throws IllegalStateException thrown if the reader has no key field
+     * @throws RecordParseException thrown if a probed key can't be decoded
+     */
+    public long binarySearch(final long key) {
+        checkOpen();
+
+        if (keyField == null) {
+            throw new IllegalStateException("Data file can't be searched because no key field was given");
+        }
+
+        final RecordPredicate lessThanKey = FieldPredicates.numeric(keyField, value -> value < key);
+
+        // Find the first record whose key isn't less than the key searched for
+        long low = 0L;
+        long high = size();
+
+        while (low < high) {
+            final long middle = (low + high) >>> 1;
+
+            if (matches(lessThanKey, middle)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        if (low < size() && matches(FieldPredicates.between(keyField, key, key), low)) {
+            return low;
+        }
+
+        return -(low + 1);
+    }
+
+    /**
+     * Finds the first record with a key using {@link #binarySearch(long)}.
+     *
+     * @param key value of the key field to find
+     * @return record with the key or empty if no record has it
+     * @throws IllegalStateException thrown if the reader has no key field
+     */
+    public Optional<RECORD_TYPE> find(final long key) {
+        final long ordinal = binarySearch(key);
+
+        if (ordinal < 0L) {
+            return Optional.empty();
+        }
+
+        return Optional.of(get(ordinal));
+    }
+
+    /**
+     * @return true if the reader has been closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the data file. The mapped regions are released once they are
+     * no longer referenced.
+     *
+     * @throws IOException thrown if the data file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    private boolean matches(final RecordPredicate predicate, final long ordinal) {
+        final MappedByteBuffer window = windowOf(ordinal);
+        final int start = startOf(ordinal);
+        layout.verifyTerminator(window, start, ordinal);
+
+        return predicate.test(window, start, start + layout.getRecordWidth());
+    }
+
+    private MappedByteBuffer windowOf(final long ordinal) {
+        return windows[(int)(ordinal / recordsPerWindow)];
+    }
+
+    private int startOf(final long ordinal) {
+        return (int)(ordinal % recordsPerWindow) * layout.getStride();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Record reader is closed");
+        }
+    }
+}
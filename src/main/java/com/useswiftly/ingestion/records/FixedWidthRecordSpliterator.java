@@ -0,0 +1,216 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} that reads records from a memory mapped data file in
+ * which every line has exactly the same width (see {@link FixedWidthLayout}).
+ * Because the position of every record can be calculated from its ordinal,
+ * this spliterator splits by record count without reading the file and
+ * reports an exact size for itself and for every split.
+ *
+ * <p>Every record is verified to be followed by a line terminator as it is
+ * read, so data files containing blank lines or lines of differing widths
+ * will result in a {@link RecordParseException} instead of misaligned
+ * records.</p>
+ *
+ * <p>When a {@link RecordPredicate} is given, records that don't match it
+ * are skipped without being parsed. The size is then only an upper bound and
+ * is no longer reported as exact.</p>
+ */
+public class FixedWidthRecordSpliterator<RECORD_TYPE extends Record> implements Spliterator<RECORD_TYPE> {
+    private final FileChannel channel;
+    private final RecordBytesParser<RECORD_TYPE> parser;
+
+    /**
+     * Predicate that records must match to be parsed or null if all records are parsed.
+     */
+    @Nullable
+    private final RecordPredicate filter;
+
+    private final FixedWidthLayout layout;
+    private final int windowSize;
+    private final long minSplitSize;
+
+    /**
+     * Ordinal of the next record to be read.
+     */
+    private long index;
+
+    /**
+     * Exclusive ordinal at which no more records are owned by this spliterator.
+     */
+    private final long endIndex;
+
+    private MappedByteBuffer window;
+    private long windowStartIndex;
+    private long windowEndIndex;
+
+    /**
+     * Creates a new instance covering the entire file.
+     *
+     * @param channel channel of data file to read
+     * @param parser parser used to convert lines to records
+     * @param recordWidth width in bytes of a record, not including the line terminator
+     * @throws IOException thrown if the data file can't be read
+     * @throws RecordParseException thrown if the data file is not fixed width
+     */
+    public FixedWidthRecordSpliterator(@NotNull final FileChannel channel,
+                                       @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                                       final int recordWidth) throws IOException {
+        this(channel, parser, null, recordWidth);
+    }
+
+    /**
+     * Creates a new instance covering the entire file that only parses the
+     * records matching a predicate.
+     *
+     * @param channel channel of data file to read
+     * @param parser parser used to convert lines to records
+     * @param filter predicate that records must match to be parsed or null to parse all records
+     * @param recordWidth width in bytes of a record, not including the line terminator
+     * @throws IOException thrown if the data file can't be read
+     * @throws RecordParseException thrown if the data file is not fixed width
+     */
+    public FixedWidthRecordSpliterator(@NotNull final FileChannel channel,
+                                       @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                                       @Nullable final RecordPredicate filter,
+                                       final int recordWidth) throws IOException {
+        this(channel, parser, filter, FixedWidthLayout.detect(channel, recordWidth),
+                MappedRecordSpliterator.DEFAULT_WINDOW_SIZE,
+                MappedRecordSpliterator.DEFAULT_MIN_SPLIT_SIZE);
+    }
+
+    FixedWidthRecordSpliterator(@NotNull final FileChannel channel,
+                                @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                                @NotNull final FixedWidthLayout layout,
+                                final int windowSize,
+                                final long minSplitSize) {
+        this(channel, parser, null, layout, windowSize, minSplitSize, 0L, layout.getRecordCount());
+    }
+
+    FixedWidthRecordSpliterator(@NotNull final FileChannel channel,
+                                @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                                @Nullable final RecordPredicate filter,
+                                @NotNull final FixedWidthLayout layout,
+                                final int windowSize,
+                                final long minSplitSize) {
+        this(channel, parser, filter, layout, windowSize, minSplitSize, 0L, layout.getRecordCount());
+    }
+
+    private FixedWidthRecordSpliterator(final FileChannel channel,
+                                        final RecordBytesParser<RECORD_TYPE> parser,
+                                        final RecordPredicate filter,
+                                        final FixedWidthLayout layout,
+                                        final int windowSize,
+                                        final long minSplitSize,
+                                        final long startIndex,
+                                        final long endIndex) {
+        if (windowSize < layout.getStride()) {
+            String msg = String.format("Window size must be at least the size of a " +
+                    "single record [%d] - Window size [%d] value is invalid",
+                    layout.getStride(), windowSize);
+            throw new IllegalArgumentException(msg);
+        }
+
+        this.channel = channel;
+        this.parser = parser;
+        this.filter = filter;
+        this.layout = layout;
+        this.windowSize = windowSize;
+        this.minSplitSize = Math.max(minSplitSize, 1L);
+        this.index = startIndex;
+        this.endIndex = endIndex;
+    }
+
+    /**
+     * @return layout of the data file being read
+     */
+    public FixedWidthLayout getLayout() {
+        return layout;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super RECORD_TYPE> action) {
+        while (index < endIndex) {
+            if (window == null || index < windowStartIndex || index >= windowEndIndex) {
+                mapWindow(index);
+            }
+
+            final int recordStart = (int)(layout.offsetOf(index) - layout.offsetOf(windowStartIndex));
+            final int recordEnd = recordStart + layout.getRecordWidth();
+            layout.verifyTerminator(window, recordStart, index);
+            index++;
+
+            if (filter != null && !filter.test(window, recordStart, recordEnd)) {
+                continue;
+            }
+
+            action.accept(parser.apply(window, recordStart, recordEnd));
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Splits the remaining records in half by count. The prefix of the
+     * range is returned and this instance continues with the suffix.</p>
+     */
+    @Override
+    public Spliterator<RECORD_TYPE> trySplit() {
+        final long remaining = endIndex - index;
+
+        if (remaining < 2 || remaining * layout.getStride() < minSplitSize * 2) {
+            return null;
+        }
+
+        final long splitIndex = index + remaining / 2;
+        final FixedWidthRecordSpliterator<RECORD_TYPE> prefix =
+                new FixedWidthRecordSpliterator<>(channel, parser, filter, layout,
+                        windowSize, minSplitSize, index, splitIndex);
+        index = splitIndex;
+
+        return prefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The size is exact unless records are filtered, in which case it is
+     * the number of remaining records before filtering.</p>
+     */
+    @Override
+    public long estimateSize() {
+        return endIndex - index;
+    }
+
+    @Override
+    public int characteristics() {
+        if (filter != null) {
+            return ORDERED | NONNULL;
+        }
+
+        return ORDERED | NONNULL | SIZED | SUBSIZED;
+    }
+
+    private void mapWindow(final long startIndex) {
+        final long recordsPerWindow = windowSize / layout.getStride();
+        final long lastIndex = Math.min(endIndex, startIndex + recordsPerWindow);
+        final long start = layout.offsetOf(startIndex);
+        final long size = Math.min(layout.offsetOf(lastIndex), layout.getFileSize()) - start;
+
+        window = MappedRecordSpliterator.map(channel, start, size);
+        windowStartIndex = startIndex;
+        windowEndIndex = lastIndex;
+    }
+}
@@ -0,0 +1,71 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Record field with the primitive data type <code>int</code>. Intended for
+ * numeric fields narrow enough to always fit in an int, so that they can be
+ * decoded and stored without allocating a {@link java.math.BigInteger}.
+ */
+public abstract class IntegerField<RECORD_TYPE> implements Field<Integer, RECORD_TYPE> {
+    public IntegerField() {
+    }
+
+    @Override
+    public Class<Integer> getType() {
+        return Integer.class;
+    }
+
+    /**
+     * Converts a range of characters to an int.
+     *
+     * @param source characters to convert
+     * @param startInclusive index of the first character
+     * @param endExclusive index after the last character
+     * @return converted value
+     * @throws RecordParseException thrown if the range is not a valid int
+     */
+    public int convertToInt(@NotNull final CharSequence source,
+                            final int startInclusive,
+                            final int endExclusive) {
+        try {
+            return Math.toIntExact(NumericDecoder.parseLong(source, startInclusive, endExclusive));
+        } catch (RuntimeException e) {
+            throw conversionException(source.subSequence(startInclusive, endExclusive), e);
+        }
+    }
+
+    /**
+     * Converts a range of bytes to an int.
+     *
+     * @param source bytes to convert
+     * @param startInclusive absolute index of the first byte
+     * @param endExclusive absolute index after the last byte
+     * @return converted value
+     * @throws RecordParseException thrown if the range is not a valid int
+     */
+    public int convertToInt(@NotNull final ByteBuffer source,
+                            final int startInclusive,
+                            final int endExclusive) {
+        try {
+            return Math.toIntExact(NumericDecoder.parseLong(source, startInclusive, endExclusive));
+        } catch (RuntimeException e) {
+            throw conversionException(Field.decodeString(source, startInclusive, endExclusive), e);
+        }
+    }
+
+    private RecordParseException conversionException(final CharSequence numericString,
+                                                     final RuntimeException cause) {
+        String msg = String.format("Unable to convert string to int " +
+                        "for field [%s]. Offending String:\n%s",
+                getName(), numericString);
+        return new RecordParseException(msg, cause);
+    }
+
+    @Override
+    public String toString() {
+        return Field.toString(this);
+    }
+}
@@ -0,0 +1,71 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Record field with the primitive data type <code>long</code>. Intended for
+ * numeric fields narrow enough to always fit in a long, so that they can be
+ * decoded and stored without allocating a {@link java.math.BigInteger}.
+ */
+public abstract class LongField<RECORD_TYPE> implements Field<Long, RECORD_TYPE> {
+    public LongField() {
+    }
+
+    @Override
+    public Class<Long> getType() {
+        return Long.class;
+    }
+
+    /**
+     * Converts a range of characters to a long.
+     *
+     * @param source characters to convert
+     * @param startInclusive index of the first character
+     * @param endExclusive index after the last character
+     * @return converted value
+     * @throws RecordParseException thrown if the range is not a valid integer
+     */
+    public long convertToLong(@NotNull final CharSequence source,
+                              final int startInclusive,
+                              final int endExclusive) {
+        try {
+            return NumericDecoder.parseLong(source, startInclusive, endExclusive);
+        } catch (RuntimeException e) {
+            throw conversionException(source.subSequence(startInclusive, endExclusive), e);
+        }
+    }
+
+    /**
+     * Converts a range of bytes to a long.
+     *
+     * @param source bytes to convert
+     * @param startInclusive absolute index of the first byte
+     * @param endExclusive absolute index after the last byte
+     * @return converted value
+     * @throws RecordParseException thrown if the range is not a valid integer
+     */
+    public long convertToLong(@NotNull final ByteBuffer source,
+                              final int startInclusive,
+                              final int endExclusive) {
+        try {
+            return NumericDecoder.parseLong(source, startInclusive, endExclusive);
+        } catch (RuntimeException e) {
+            throw conversionException(Field.decodeString(source, startInclusive, endExclusive), e);
+        }
+    }
+
+    private RecordParseException conversionException(final CharSequence numericString,
+                                                     final RuntimeException cause) {
+        String msg = String.format("Unable to convert string to long " +
+                        "for field [%s]. Offending String:\n%s",
+                getName(), numericString);
+        return new RecordParseException(msg, cause);
+    }
+
+    @Override
+    public String toString() {
+        return Field.toString(this);
+    }
+}
@@ -0,0 +1,366 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link Spliterator} that reads new-line delimited records from a memory
+ * mapped file. The file is mapped in windows so that files larger than the
+ * maximum size of a single mapping (2GB) can be read. Each line is handed to
+ * a {@link RecordBytesParser} as a range of bytes within the mapped window,
+ * so no intermediate character or {@link String} copies of the line are made.
+ *
+ * <p>Blank lines are skipped and both <code>\n</code> and <code>\r\n</code>
+ * line terminators are supported. When a {@link RecordPredicate} is given,
+ * lines that don't match it are skipped as well without being parsed.</p>
+ *
+ * <p>A spliterator covers a range of bytes within the file and owns every line
+ * that <em>starts</em> within that range. Splitting divides the range in half
+ * by byte offset and moves the split point forward to the start of the next
+ * line, so each half can be read independently by a different thread. Because
+ * the number of blank lines and the width of the line terminators isn't known
+ * up front, the size reported is only an estimate based on the record width.
+ * See {@link FixedWidthRecordSpliterator} for exact sizing.</p>
+ */
+public class MappedRecordSpliterator<RECORD_TYPE extends Record> implements Spliterator<RECORD_TYPE> {
+    /**
+     * Default size in bytes of a single mapped window of the file.
+     */
+    static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * Default size in bytes below which a range will no longer be split.
+     */
+    static final long DEFAULT_MIN_SPLIT_SIZE = 64 * 1024;
+
+    /**
+     * Number of bytes beyond the end of a range that are mapped so that the
+     * last line starting within the range can be read without remapping.
+     */
+    private static final int LINE_OVERHANG = 4096;
+
+    private final FileChannel channel;
+    private final RecordBytesParser<RECORD_TYPE> parser;
+
+    /**
+     * Predicate that lines must match to be parsed or null if all lines are parsed.
+     */
+    @Nullable
+    private final RecordPredicate filter;
+
+    private final int recordWidth;
+    private final int windowSize;
+    private final long minSplitSize;
+    private final long fileSize;
+
+    /**
+     * Byte offset of the next line to be read.
+     */
+    private long position;
+
+    /**
+     * Exclusive byte offset at which no more lines are owned by this spliterator.
+     */
+    private long end;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+
+    /**
+     * Creates a new instance covering the entire file.
+     *
+     * @param channel channel of data file to read
+     * @param parser parser used to convert lines to records
+     * @param recordWidth expected width of a record in bytes, used for size estimates
+     * @throws IOException thrown if the size of the file can't be read
+     */
+    public MappedRecordSpliterator(@NotNull final FileChannel channel,
+                                   @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                                   final int recordWidth)
+            throws IOException {
+        this(channel, parser, null, recordWidth);
+    }
+
+    /**
+     * Creates a new instance covering the entire file that only parses the
+     * lines matching a predicate.
+     *
+     * @param channel channel of data file to read
+     * @param parser parser used to convert lines to records
+     * @param filter predicate that lines must match to be parsed or null to parse all lines
+     * @param recordWidth expected width of a record in bytes, used for size estimates
+     * @throws IOException thrown if the size of the file can't be read
+     */
+    public MappedRecordSpliterator(@NotNull final FileChannel channel,
+                                   @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                                   @Nullable final RecordPredicate filter,
+                                   final int recordWidth)
+            throws IOException {
+        this(channel, parser, filter, recordWidth, DEFAULT_WINDOW_SIZE, DEFAULT_MIN_SPLIT_SIZE);
+    }
+
+    MappedRecordSpliterator(@NotNull final FileChannel channel,
+                            @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                            final int recordWidth,
+                            final int windowSize,
+                            final long minSplitSize) throws IOException {
+        this(channel, parser, null, recordWidth, windowSize, minSplitSize);
+    }
+
+    MappedRecordSpliterator(@NotNull final FileChannel channel,
+                            @NotNull final RecordBytesParser<RECORD_TYPE> parser,
+                            @Nullable final RecordPredicate filter,
+                            final int recordWidth,
+                            final int windowSize,
+                            final long minSplitSize) throws IOException {
+        if (windowSize <= 0) {
+            String msg = String.format("Window size must be greater than zero - " +
+                    "Window size [%d] value is invalid", windowSize);
+            throw new IllegalArgumentException(msg);
+        }
+
+        this.channel = channel;
+        this.parser = parser;
+        this.filter = filter;
+        this.recordWidth = Math.max(recordWidth, 0);
+        this.windowSize = windowSize;
+        this.minSplitSize = Math.max(minSplitSize, 1L);
+        this.fileSize = channel.size();
+        this.position = 0L;
+        this.end = fileSize;
+    }
+
+    /**
+     * Creates a new instance covering a subset of the range of its parent.
+     */
+    private MappedRecordSpliterator(@NotNull final MappedRecordSpliterator<RECORD_TYPE> parent,
+                                    final long start,
+                                    final long end) {
+        this.channel = parent.channel;
+        this.parser = parent.parser;
+        this.filter = parent.filter;
+        this.recordWidth = parent.recordWidth;
+        this.windowSize = parent.windowSize;
+        this.minSplitSize = parent.minSplitSize;
+        this.fileSize = parent.fileSize;
+        this.position = start;
+        this.end = end;
+    }
+
+    /**
+     * Determines if the passed character set can be read directly from bytes.
+     * Only character sets in which every character is encoded as a single
+     * byte with the same value as the character are supported.
+     *
+     * @param charset character set of the data file
+     * @return true if data files in the character set can be memory mapped
+     */
+    public static boolean supportsCharset(@NotNull final Charset charset) {
+        return StandardCharsets.US_ASCII.equals(charset)
+                || StandardCharsets.ISO_8859_1.equals(charset);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super RECORD_TYPE> action) {
+        while (position < end) {
+            if (window == null || position < windowStart || position >= windowEnd) {
+                final long rangeSize = end - position + LINE_OVERHANG;
+                window = map(position, Math.min(windowSize, rangeSize));
+            }
+
+            final int lineStart = (int)(position - windowStart);
+            final int windowLimit = (int)(windowEnd - windowStart);
+            int terminator = indexOfNewLine(window, lineStart, windowLimit);
+
+            if (terminator < 0) {
+                if (windowEnd < fileSize) {
+                    if (windowStart == position && windowEnd - windowStart >= windowSize) {
+                        String msg = String.format("Line starting at byte offset " +
+                                "[%d] is longer than the maximum mapped window " +
+                                "size [%d]", position, windowSize);
+                        throw new RecordParseException(msg);
+                    }
+
+                    // Remap so that the window starts at the beginning of the line
+                    window = map(position, windowSize);
+                    continue;
+                }
+
+                // The last line of the file doesn't have a line terminator
+                terminator = windowLimit;
+            }
+
+            int lineEnd = terminator;
+
+            if (lineEnd > lineStart && window.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            position = windowStart + terminator + 1;
+
+            // Skip empty / blank lines
+            if (isBlank(window, lineStart, lineEnd)) {
+                continue;
+            }
+
+            if (filter != null && !filter.test(window, lineStart, lineEnd)) {
+                continue;
+            }
+
+            action.accept(parser.apply(window, lineStart, lineEnd));
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Splits the remaining range in half by byte offset and aligns the split
+     * point to the start of the next line. The prefix of the range is returned
+     * and this instance continues with the suffix.</p>
+     */
+    @Override
+    public Spliterator<RECORD_TYPE> trySplit() {
+        final long remaining = end - position;
+
+        if (remaining < minSplitSize * 2) {
+            return null;
+        }
+
+        final long splitPoint = findLineStart(position + remaining / 2);
+
+        if (splitPoint <= position || splitPoint >= end) {
+            return null;
+        }
+
+        final MappedRecordSpliterator<RECORD_TYPE> prefix =
+                new MappedRecordSpliterator<>(this, position, splitPoint);
+        position = splitPoint;
+
+        return prefix;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The estimate assumes that every line is exactly one record wide and
+     * terminated by a single new line character.</p>
+     */
+    @Override
+    public long estimateSize() {
+        final long remaining = end - position;
+
+        if (remaining <= 0L) {
+            return 0L;
+        }
+
+        return Math.max(1L, remaining / (recordWidth + 1));
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Finds the offset of the first line that starts at or after the passed
+     * offset by reading forward to the next new line character.
+     *
+     * @param offset byte offset to search from
+     * @return offset of the start of the next line or the end of the range if none
+     */
+    private long findLineStart(final long offset) {
+        final ByteBuffer buffer = ByteBuffer.allocate(LINE_OVERHANG);
+        long readPosition = offset - 1;
+
+        try {
+            while (readPosition < end) {
+                buffer.clear();
+                final int read = channel.read(buffer, readPosition);
+
+                if (read <= 0) {
+                    break;
+                }
+
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        return readPosition + i + 1;
+                    }
+                }
+
+                readPosition += read;
+            }
+        } catch (IOException e) {
+            String msg = String.format("Unable to read data file at byte offset [%d]",
+                    readPosition);
+            throw new UncheckedIOException(msg, e);
+        }
+
+        return end;
+    }
+
+    private MappedByteBuffer map(final long start, final long size) {
+        final long boundedSize = Math.min(size, fileSize - start);
+        final MappedByteBuffer mapped = map(channel, start, boundedSize);
+
+        windowStart = start;
+        windowEnd = start + boundedSize;
+
+        return mapped;
+    }
+
+    /**
+     * Memory maps a read-only region of a data file.
+     *
+     * @param channel channel of data file to map
+     * @param start byte offset of start of region
+     * @param size size of region in bytes
+     * @return buffer of mapped region
+     */
+    static MappedByteBuffer map(final FileChannel channel, final long start, final long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        } catch (IOException e) {
+            String msg = String.format("Unable to memory map data file region " +
+                    "starting at [%d] with a size of [%d] bytes", start, size);
+            throw new UncheckedIOException(msg, e);
+        }
+    }
+
+    private static int indexOfNewLine(final MappedByteBuffer buffer,
+                                      final int fromInclusive,
+                                      final int toExclusive) {
+        for (int i = fromInclusive; i < toExclusive; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isBlank(final MappedByteBuffer buffer,
+                                   final int fromInclusive,
+                                   final int toExclusive) {
+        for (int i = fromInclusive; i < toExclusive; i++) {
+            if (!Character.isWhitespace((char)(buffer.get(i) & 0xFF))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -1,11 +1,13 @@
 package com.useswiftly.ingestion.records;
 
 import org.javamoney.moneta.FastMoney;
+import org.jetbrains.annotations.NotNull;
 
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 import javax.money.MonetaryAmount;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 
 /**
  * Record field with the data type {@link MonetaryAmount}.
@@ -22,19 +24,122 @@ public abstract class MonetaryField<RECORD_TYPE> implements Field<MonetaryAmount
         return MonetaryAmount.class;
     }
 
+    /**
+     * @return currency of amounts parsed by this field
+     */
+    public CurrencyUnit getCurrencyUnit() {
+        return currencyUnit;
+    }
+
     public MonetaryAmount convertStringToMonetaryAmount(final String currencyString) {
+        return convertToMonetaryAmount(currencyString, 0, currencyString.length());
+    }
+
+    /**
+     * Converts a range of characters containing a whole number of cents to
+     * a {@link MonetaryAmount} without creating a substring.
+     *
+     * @param source characters to convert
+     * @param startInclusive index of the first character
+     * @param endExclusive index after the last character
+     * @return converted amount
+     * @throws RecordParseException thrown if the range is not a valid amount
+     */
+    public MonetaryAmount convertToMonetaryAmount(@NotNull final CharSequence source,
+                                                  final int startInclusive,
+                                                  final int endExclusive) {
         try {
-            final BigDecimal amount = new BigDecimal(currencyString).movePointLeft(2);
-            return Monetary.getAmountFactory(FastMoney.class)
-                    .setCurrency(currencyUnit).setNumber(amount).create().stripTrailingZeros();
+            if (endExclusive - startInclusive > NumericDecoder.MAX_LONG_DIGITS) {
+                final String currencyString = source.subSequence(startInclusive, endExclusive).toString();
+                return createAmount(new BigDecimal(currencyString).movePointLeft(2));
+            }
+
+            final long cents = NumericDecoder.parseLong(source, startInclusive, endExclusive);
+            return createAmount(BigDecimal.valueOf(cents, 2));
         } catch (RuntimeException e) {
-               String msg = String.format("Problem parsing currency numeric " +
-                               "string value as currency [%s]",
-                       currencyString);
-               throw new RecordParseException(msg);
+            throw conversionException(source.subSequence(startInclusive, endExclusive), e);
         }
     }
 
+    /**
+     * Converts a range of bytes containing a whole number of cents to
+     * a {@link MonetaryAmount} without creating a substring.
+     *
+     * @param source bytes to convert
+     * @param startInclusive absolute index of the first byte
+     * @param endExclusive absolute index after the last byte
+     * @return converted amount
+     * @throws RecordParseException thrown if the range is not a valid amount
+     */
+    public MonetaryAmount convertToMonetaryAmount(@NotNull final ByteBuffer source,
+                                                  final int startInclusive,
+                                                  final int endExclusive) {
+        try {
+            if (endExclusive - startInclusive > NumericDecoder.MAX_LONG_DIGITS) {
+                final String currencyString = Field.decodeString(source, startInclusive, endExclusive);
+                return createAmount(new BigDecimal(currencyString).movePointLeft(2));
+            }
+
+            final long cents = NumericDecoder.parseLong(source, startInclusive, endExclusive);
+            return createAmount(BigDecimal.valueOf(cents, 2));
+        } catch (RuntimeException e) {
+            throw conversionException(Field.decodeString(source, startInclusive, endExclusive), e);
+        }
+    }
+
+    /**
+     * Converts a range of characters containing a whole number of cents to
+     * a long without creating a {@link MonetaryAmount}.
+     *
+     * @param source characters to convert
+     * @param startInclusive index of the first character
+     * @param endExclusive index after the last character
+     * @return amount in cents
+     * @throws RecordParseException thrown if the range is not a valid amount
+     */
+    public long convertToCents(@NotNull final CharSequence source,
+                               final int startInclusive,
+                               final int endExclusive) {
+        try {
+            return NumericDecoder.parseLong(source, startInclusive, endExclusive);
+        } catch (RuntimeException e) {
+            throw conversionException(source.subSequence(startInclusive, endExclusive), e);
+        }
+    }
+
+    /**
+     * Converts a range of bytes containing a whole number of cents to a long
+     * without creating a {@link MonetaryAmount}.
+     *
+     * @param source bytes to convert
+     * @param startInclusive absolute index of the first byte
+     * @param endExclusive absolute index after the last byte
+     * @return amount in cents
+     * @throws RecordParseException thrown if the range is not a valid amount
+     */
+    public long convertToCents(@NotNull final ByteBuffer source,
+                               final int startInclusive,
+                               final int endExclusive) {
+        try {
+            return NumericDecoder.parseLong(source, startInclusive, endExclusive);
+        } catch (RuntimeException e) {
+            throw conversionException(Field.decodeString(source, startInclusive, endExclusive), e);
+        }
+    }
+
+    private MonetaryAmount createAmount(final BigDecimal amount) {
+        return Monetary.getAmountFactory(FastMoney.class)
+                .setCurrency(currencyUnit).setNumber(amount).create().stripTrailingZeros();
+    }
+
+    private RecordParseException conversionException(final CharSequence currencyString,
+                                                     final RuntimeException cause) {
+        String msg = String.format("Problem parsing currency numeric " +
+                        "string value as currency [%s]",
+                currencyString);
+        return new RecordParseException(msg, cause);
+    }
+
     @Override
     public String toString() {
         return Field.toString(this);
@@ -0,0 +1,254 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Decodes signed base 10 integers directly from a range of characters or
+ * bytes without creating an intermediate {@link String}. The accepted syntax
+ * is an optional leading <code>-</code> or <code>+</code> sign followed by one
+ * or more ASCII digits.
+ *
+ * <p>Ranges that are exactly eight characters wide, which is the width of
+ * most numeric columns in the product record data file, are decoded as a
+ * single <code>long</code> word using SWAR (SIMD within a register)
+ * arithmetic: all eight digits are validated and combined with a handful of
+ * mask, multiply and shift operations instead of a loop of eight
+ * multiply-adds and range checks. All other widths, as well as invalid input
+ * (in order to report the offending character), are decoded one character at
+ * a time.</p>
+ */
+public final class NumericDecoder {
+    /**
+     * Maximum number of digits that can always be decoded into a long
+     * without overflow.
+     */
+    public static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Number of characters decoded as a single word.
+     */
+    private static final int SWAR_WIDTH = Long.BYTES;
+
+    private static final long ZEROS = 0x3030303030303030L;
+    private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+    private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+    private static final long DIGIT_OVERFLOW = 0x0606060606060606L;
+    private static final long DIGIT_HIGH_NIBBLES = 0x3333333333333333L;
+    private static final long BYTE_MASK = 0xFFL;
+    private static final long PAIR_MASK = 0x000000FF000000FFL;
+    private static final long PAIR_MULTIPLIER_HIGH = 100L + (1000000L << 32);
+    private static final long PAIR_MULTIPLIER_LOW = 1L + (10000L << 32);
+
+    private NumericDecoder() {
+    }
+
+    /**
+     * Decodes an integer from a range of characters.
+     *
+     * @param source characters to decode
+     * @param startInclusive index of the first character
+     * @param endExclusive index after the last character
+     * @return decoded value
+     * @throws NumberFormatException thrown if the range is not a valid integer
+     */
+    public static long parseLong(@NotNull final CharSequence source,
+                                 final int startInclusive,
+                                 final int endExclusive) {
+        if (endExclusive - startInclusive == SWAR_WIDTH) {
+            long word = 0L;
+            int nonLatin1 = 0;
+
+            // Pack the characters into a little endian word, first character lowest
+            for (int i = SWAR_WIDTH - 1; i >= 0; i--) {
+                final char character = source.charAt(startInclusive + i);
+                nonLatin1 |= character & 0xFF00;
+                word = (word << Byte.SIZE) | (character & BYTE_MASK);
+            }
+
+            if (nonLatin1 == 0) {
+                final long value = parseEightCharacters(word);
+
+                if (value != Long.MIN_VALUE) {
+                    return value;
+                }
+            }
+        }
+
+        return parseLongScalar(source, startInclusive, endExclusive);
+    }
+
+    /**
+     * Decodes an integer from a range of characters one character at a time.
+     */
+    static long parseLongScalar(@NotNull final CharSequence source,
+                                final int startInclusive,
+                                final int endExclusive) {
+        int i = startInclusive;
+        boolean negative = false;
+
+        if (i < endExclusive) {
+            final char sign = source.charAt(i);
+
+            if (sign == '-' || sign == '+') {
+                negative = sign == '-';
+                i++;
+            }
+        }
+
+        checkDigitCount(i, endExclusive);
+
+        long value = 0L;
+
+        for (; i < endExclusive; i++) {
+            final int digit = source.charAt(i) - '0';
+
+            if (digit < 0 || digit > 9) {
+                throw invalidCharacter(source.charAt(i), i - startInclusive);
+            }
+
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes an integer from a range of ASCII bytes. The position and limit
+     * of the buffer are not read or modified.
+     *
+     * @param source bytes to decode
+     * @param startInclusive absolute index of the first byte
+     * @param endExclusive absolute index after the last byte
+     * @return decoded value
+     * @throws NumberFormatException thrown if the range is not a valid integer
+     */
+    public static long parseLong(@NotNull final ByteBuffer source,
+                                 final int startInclusive,
+                                 final int endExclusive) {
+        if (endExclusive - startInclusive == SWAR_WIDTH) {
+            long word = source.getLong(startInclusive);
+
+            // Normalize so that the first byte of the range is the lowest byte
+            if (source.order() == ByteOrder.BIG_ENDIAN) {
+                word = Long.reverseBytes(word);
+            }
+
+            final long value = parseEightCharacters(word);
+
+            if (value != Long.MIN_VALUE) {
+                return value;
+            }
+        }
+
+        return parseLongScalar(source, startInclusive, endExclusive);
+    }
+
+    /**
+     * Decodes an integer from a range of ASCII bytes one byte at a time.
+     */
+    static long parseLongScalar(@NotNull final ByteBuffer source,
+                                final int startInclusive,
+                                final int endExclusive) {
+        int i = startInclusive;
+        boolean negative = false;
+
+        if (i < endExclusive) {
+            final byte sign = source.get(i);
+
+            if (sign == '-' || sign == '+') {
+                negative = sign == '-';
+                i++;
+            }
+        }
+
+        checkDigitCount(i, endExclusive);
+
+        long value = 0L;
+
+        for (; i < endExclusive; i++) {
+            final int digit = source.get(i) - '0';
+
+            if (digit < 0 || digit > 9) {
+                throw invalidCharacter((char)(source.get(i) & 0xFF), i - startInclusive);
+            }
+
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodes eight single byte characters packed into a little endian word
+     * (first character in the lowest byte). The first character may be a
+     * sign, in which case it is treated as a leading zero.
+     *
+     * @param word characters to decode
+     * @return decoded value or {@link Long#MIN_VALUE} if any character is invalid
+     */
+    static long parseEightCharacters(final long word) {
+        final long sign = word & BYTE_MASK;
+        final boolean negative = sign == '-';
+        long digits = word;
+
+        if (negative || sign == '+') {
+            digits = (word & ~BYTE_MASK) | '0';
+        }
+
+        if (!isEightDigits(digits)) {
+            return Long.MIN_VALUE;
+        }
+
+        final long value = convertEightDigits(digits);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Determines if every byte of a word is an ASCII digit. A byte is a digit
+     * if its high nibble is <code>3</code> and adding <code>6</code> to it
+     * doesn't carry into the high nibble (i.e. the low nibble is at most 9).
+     */
+    static boolean isEightDigits(final long word) {
+        return ((word & HIGH_NIBBLES)
+                | (((word + DIGIT_OVERFLOW) & HIGH_NIBBLES) >>> 4)) == DIGIT_HIGH_NIBBLES;
+    }
+
+    /**
+     * Converts a little endian word of eight ASCII digits to its value. The
+     * first step combines every pair of adjacent digits into a two digit
+     * value within a byte. The second step multiplies the four pairs by their
+     * place values (1000000, 10000, 100 and 1) and sums them in the upper
+     * half of the word.
+     */
+    private static long convertEightDigits(final long word) {
+        long value = word - ZEROS;
+        value = value * 10 + (value >>> 8);
+        value = ((value & PAIR_MASK) * PAIR_MULTIPLIER_HIGH
+                + ((value >>> 16) & PAIR_MASK) * PAIR_MULTIPLIER_LOW) >>> 32;
+        return value;
+    }
+
+    private static void checkDigitCount(final int digitsStart, final int digitsEnd) {
+        final int digits = digitsEnd - digitsStart;
+
+        if (digits <= 0) {
+            throw new NumberFormatException("No digits found");
+        }
+
+        if (digits > MAX_LONG_DIGITS) {
+            String msg = String.format("Number of digits [%d] exceeds the maximum " +
+                    "number of digits supported [%d]", digits, MAX_LONG_DIGITS);
+            throw new NumberFormatException(msg);
+        }
+    }
+
+    private static NumberFormatException invalidCharacter(final char character,
+                                                          final int position) {
+        String msg = String.format("Invalid character [%c] at position [%d]",
+                character, position);
+        return new NumberFormatException(msg);
+    }
+}
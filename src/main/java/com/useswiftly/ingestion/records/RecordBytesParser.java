@@ -0,0 +1,25 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface representing the per-line parsing of a record directly from the
+ * bytes of a data file. Implementations are only valid for single byte
+ * character sets where byte positions are the same as character positions.
+ */
+@FunctionalInterface
+public interface RecordBytesParser<RECORD_TYPE extends Record> {
+    /**
+     * Parses a single record line from the specified range of a buffer. The
+     * range does not include the line terminator. The position and limit of
+     * the buffer are not read or modified.
+     *
+     * @param source buffer containing the record line
+     * @param startInclusive absolute index of the first byte of the line
+     * @param endExclusive absolute index after the last byte of the line
+     * @return record parsed from the line
+     */
+    RECORD_TYPE apply(@NotNull ByteBuffer source, int startInclusive, int endExclusive);
+}
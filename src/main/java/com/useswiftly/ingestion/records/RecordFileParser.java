@@ -2,7 +2,13 @@ package com.useswiftly.ingestion.records;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -16,4 +22,170 @@ public interface RecordFileParser<RECORD_TYPE extends Record> {
      * @return stream of records
      */
     Stream<RECORD_TYPE> parse(@NotNull final Reader reader);
+
+    /**
+     * Parses a given data file as a stream of records. Implementations may
+     * memory map the file and parse records directly from its bytes.
+     *
+     * <p><strong>Note:</strong> Be sure to close the stream when finished
+     * because the file remains open until the stream is closed.</p>
+     *
+     * @param path location of data file to parse
+     * @return stream of records
+     * @throws IOException thrown if there is a problem opening the data file
+     */
+    default Stream<RECORD_TYPE> parse(@NotNull final Path path) throws IOException {
+        return parse(path, RecordLayout.DELIMITED);
+    }
+
+    /**
+     * Parses a given data file with the specified layout as a stream of
+     * records. The returned stream can be efficiently split for parallel
+     * processing. When the layout is {@link RecordLayout#FIXED_WIDTH}, the
+     * stream reports its exact size.
+     *
+     * <p><strong>Note:</strong> Be sure to close the stream when finished
+     * because the file remains open until the stream is closed.</p>
+     *
+     * <p>The default implementation reads the file as UTF-8 characters with
+     * {@link #parse(Reader)} and ignores the layout.</p>
+     *
+     * @param path location of data file to parse
+     * @param layout layout of the lines within the data file
+     * @return stream of records
+     * @throws IOException thrown if there is a problem opening the data file
+     */
+    default Stream<RECORD_TYPE> parse(@NotNull final Path path, @NotNull final RecordLayout layout)
+            throws IOException {
+        final Reader reader = Files.newBufferedReader(path);
+
+        return parse(reader).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                String msg = String.format("Unable to close data file [%s]", path);
+                throw new UncheckedIOException(msg, e);
+            }
+        });
+    }
+
+    /**
+     * Parses a given data file as a stream of only the records whose lines
+     * match a predicate. See
+     * {@link #parse(Path, RecordLayout, RecordPredicate)}.
+     *
+     * @param path location of data file to parse
+     * @param filter predicate that lines must match to be parsed
+     * @return stream of matching records
+     * @throws IOException thrown if there is a problem opening the data file
+     */
+    default Stream<RECORD_TYPE> parse(@NotNull final Path path,
+                                      @NotNull final RecordPredicate filter) throws IOException {
+        return parse(path, RecordLayout.DELIMITED, filter);
+    }
+
+    /**
+     * Parses a given data file with the specified layout as a stream of only
+     * the records whose lines match a predicate. The predicate is evaluated
+     * against the raw characters of each line before it is decoded, so lines
+     * that don't match are skipped without creating a record. Apply further
+     * conditions on decoded values with {@link Stream#filter}.
+     *
+     * <p>The returned stream can be split for parallel processing, but never
+     * reports its exact size because the number of matching lines isn't
+     * known up front.</p>
+     *
+     * <p><strong>Note:</strong> Be sure to close the stream when finished
+     * because the file remains open until the stream is closed.</p>
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}
+     * because lines can only be tested by parsers that read them.</p>
+     *
+     * @param path location of data file to parse
+     * @param layout layout of the lines within the data file
+     * @param filter predicate that lines must match to be parsed
+     * @return stream of matching records
+     * @throws IOException thrown if there is a problem opening the data file
+     * @throws UnsupportedOperationException thrown if the parser can't test raw lines
+     */
+    default Stream<RECORD_TYPE> parse(@NotNull final Path path,
+                                      @NotNull final RecordLayout layout,
+                                      @NotNull final RecordPredicate filter) throws IOException {
+        String msg = String.format("Parser [%s] doesn't support record predicates",
+                getClass().getName());
+        throw new UnsupportedOperationException(msg);
+    }
+
+    /**
+     * Creates a parser of the same data files that only decodes the named
+     * fields of each line and leaves the other fields of each record unset.
+     * The projection applies to every parse method of the returned parser
+     * and can be combined with a {@link RecordPredicate}, which reads the
+     * raw lines and so may test fields that aren't decoded.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}
+     * because only parsers that know their fields can leave some unset.</p>
+     *
+     * @param fieldNames plain-text names of the fields to decode (see {@link Field#getName()})
+     * @return new parser that only decodes the named fields
+     * @throws IllegalArgumentException thrown if no fields are named or a
+     *                                  name isn't a field of the records
+     * @throws UnsupportedOperationException thrown if the parser can't project fields
+     */
+    default RecordFileParser<RECORD_TYPE> project(@NotNull final Collection<String> fieldNames) {
+        String msg = String.format("Parser [%s] doesn't support projecting fields",
+                getClass().getName());
+        throw new UnsupportedOperationException(msg);
+    }
+
+    /**
+     * Parses a given data file sequentially and passes each record to an
+     * action, reusing record instances where the implementation supports it.
+     * See {@link #forEachReusing(Path, RecordLayout, boolean, Consumer)} for
+     * the rules on using the records.
+     *
+     * @param path location of data file to parse
+     * @param action action to perform on each record
+     * @throws IOException thrown if there is a problem opening the data file
+     */
+    default void forEachReusing(@NotNull final Path path,
+                                @NotNull final Consumer<? super RECORD_TYPE> action) throws IOException {
+        forEachReusing(path, RecordLayout.DELIMITED, false, action);
+    }
+
+    /**
+     * Parses a given data file and passes each record to an action, for
+     * single-pass consumers that never keep a record after the next one
+     * arrives. Implementations may decode every line into the same mutable
+     * record per thread so that no records are created once parsing is
+     * under way. The file is closed before this method returns.
+     *
+     * <p>The action doesn't own the records it receives:</p>
+     * <ul>
+     *     <li>a record is only valid until the action returns, after which
+     *     it may be overwritten by the next line parsed on the same thread</li>
+     *     <li>a record must not be kept, added to a collection, passed to
+     *     another thread or modified by the action; copy the values that are
+     *     needed later instead</li>
+     *     <li>when parsing in parallel, the action is called from many
+     *     threads at once and must be thread safe</li>
+     * </ul>
+     *
+     * <p>The default implementation creates a record per line with
+     * {@link #parse(Path, RecordLayout)}.</p>
+     *
+     * @param path location of data file to parse
+     * @param layout layout of the lines within the data file
+     * @param parallel true to parse the file with many threads
+     * @param action action to perform on each record
+     * @throws IOException thrown if there is a problem opening the data file
+     */
+    default void forEachReusing(@NotNull final Path path,
+                                @NotNull final RecordLayout layout,
+                                final boolean parallel,
+                                @NotNull final Consumer<? super RECORD_TYPE> action) throws IOException {
+        try (Stream<RECORD_TYPE> records = parse(path, layout)) {
+            (parallel ? records.parallel() : records).forEach(action);
+        }
+    }
 }
@@ -1,78 +1,166 @@
 package com.useswiftly.ingestion.records;
 
-import com.google.common.collect.Iterators;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
 
-import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
- * Class that allows for an arbitrary number of boolean values to be logically
- * grouped and accessed by position.
+ * Class that allows for up to 32 boolean values to be logically grouped and
+ * accessed by position. The flags are stored as a bitmask in a single int,
+ * with the flag at position <code>n</code> stored in bit <code>n</code>.
+ *
+ * <p>Instances may be immutable so that they can be shared between records
+ * (see {@link #isImmutable()}). Attempting to set a flag on an immutable
+ * instance throws an {@link UnsupportedOperationException}.</p>
  */
 public class RecordFlags implements PositionalFlags, Iterable<Boolean> {
-    private final boolean[] values;
+    /**
+     * Maximum number of flags that can be stored.
+     */
+    public static final int MAX_FLAG_COUNT = Integer.SIZE;
+
+    private final int flagCount;
+    private final boolean immutable;
+    private int mask;
 
     @SuppressWarnings("ConstantConditions")
-    public RecordFlags(@Range(from = 0, to = Integer.MAX_VALUE) final int flagCount) {
-        if (flagCount < 0) {
-            String msg = String.format("Total flag count must not be negative - " +
+    public RecordFlags(@Range(from = 0, to = MAX_FLAG_COUNT) final int flagCount) {
+        this(flagCount, 0, false);
+    }
+
+    /**
+     * Creates a new instance with the specified flags set.
+     *
+     * @param flagCount total number of flags
+     * @param mask bitmask of flags that are set
+     * @param immutable true if flags can't be changed after creation
+     */
+    protected RecordFlags(@Range(from = 0, to = MAX_FLAG_COUNT) final int flagCount,
+                          final int mask,
+                          final boolean immutable) {
+        if (flagCount < 0 || flagCount > MAX_FLAG_COUNT) {
+            String msg = String.format("Total flag count must be between 0 and %d - " +
                             "Flag count [%d] value is invalid",
-                    flagCount);
+                    MAX_FLAG_COUNT, flagCount);
+            throw new IllegalArgumentException(msg);
+        }
+
+        if ((mask & ~validBits(flagCount)) != 0) {
+            String msg = String.format("Mask [%s] has flags set beyond the flag " +
+                    "count [%d]", Integer.toBinaryString(mask), flagCount);
             throw new IllegalArgumentException(msg);
         }
 
-        this.values = new boolean[flagCount];
+        this.flagCount = flagCount;
+        this.mask = mask;
+        this.immutable = immutable;
     }
 
     @SuppressWarnings("ConstantConditions")
     @Override
     public boolean getFlagAtPosition(@Range(from = 0, to = Integer.MAX_VALUE) final int position) {
-        if (position < 0 || position > values.length) {
-            String msg = String.format("Invalid flag position provided [%d] the valid " +
-                    "values for flag positions are [0-%d]",
-                    position, values.length - 1);
-            throw new IllegalArgumentException(msg);
-        }
-
-        return values[position];
+        checkPosition(position);
+        return (mask & (1 << position)) != 0;
     }
 
     @SuppressWarnings("ConstantConditions")
     @Override
     public void setFlagAtPosition(@Range(from = 0, to = Integer.MAX_VALUE) final int position, final boolean flag) {
-        if (position < 0 || position > values.length) {
-            String msg = String.format("Invalid flag position provided [%d] the valid " +
-                            "values for flag positions are [0-%d]",
-                    position, values.length - 1);
-            throw new IllegalArgumentException(msg);
+        checkPosition(position);
+
+        if (immutable) {
+            String msg = String.format("Flags [%s] are shared and immutable - " +
+                    "use a copy-on-write method such as withFlagAtPosition() or " +
+                    "a mutable copy to change them", this);
+            throw new UnsupportedOperationException(msg);
         }
 
-        values[position] = flag;
+        mask = withBit(mask, position, flag);
     }
 
     /**
      * @return the total number of available flags
      */
     public int getSize() {
-        return values.length;
+        return flagCount;
+    }
+
+    /**
+     * @return bitmask of all flags with the flag at position n stored in bit n
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * @return true if flags can't be changed
+     */
+    public boolean isImmutable() {
+        return immutable;
     }
 
     /**
      * {@inheritDoc}
      *
-     * <p>Returns an iterator that wraps a copy of the internal flags array.</p>
+     * <p>Returns an iterator over a snapshot of the flags.</p>
      */
     @NotNull
     @Override
     public Iterator<Boolean> iterator() {
-        final Boolean[] copy = new Boolean[values.length];
-        for (int i = 0; i < values.length; i++) {
-            copy[i] = values[i];
+        final int snapshot = mask;
+
+        return new Iterator<>() {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < flagCount;
+            }
+
+            @Override
+            public Boolean next() {
+                if (position >= flagCount) {
+                    throw new NoSuchElementException();
+                }
+
+                return (snapshot & (1 << position++)) != 0;
+            }
+        };
+    }
+
+    /**
+     * Sets or clears a single bit of a mask.
+     *
+     * @param mask mask to modify
+     * @param position bit to set or clear
+     * @param flag true to set the bit
+     * @return modified mask
+     */
+    protected static int withBit(final int mask, final int position, final boolean flag) {
+        if (flag) {
+            return mask | (1 << position);
+        } else {
+            return mask & ~(1 << position);
         }
+    }
 
-        return Iterators.forArray(copy);
+    /**
+     * @param flagCount total number of flags
+     * @return mask with all bits used by the specified number of flags set
+     */
+    protected static int validBits(final int flagCount) {
+        return flagCount == MAX_FLAG_COUNT ? -1 : (1 << flagCount) - 1;
+    }
+
+    protected void checkPosition(final int position) {
+        if (position < 0 || position >= flagCount) {
+            String msg = String.format("Invalid flag position provided [%d] the valid " +
+                            "values for flag positions are [0-%d]",
+                    position, flagCount - 1);
+            throw new IllegalArgumentException(msg);
+        }
     }
 
     @Override
@@ -80,20 +168,20 @@ public class RecordFlags implements PositionalFlags, Iterable<Boolean> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final RecordFlags that = (RecordFlags) o;
-        return Arrays.equals(values, that.values);
+        return flagCount == that.flagCount && mask == that.mask;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(values);
+        return 31 * flagCount + mask;
     }
 
     @Override
     public String toString() {
-        final char[] charValues = new char[values.length];
+        final char[] charValues = new char[flagCount];
 
-        for (int i = 0; i < values.length; i++) {
-            charValues[i] = values[i] ? 'Y' : 'N';
+        for (int i = 0; i < flagCount; i++) {
+            charValues[i] = (mask & (1 << i)) != 0 ? 'Y' : 'N';
         }
 
         return new String(charValues);
@@ -13,4 +13,16 @@ public interface RecordFormattable<RECORD_TYPE extends Record> {
      * @return String representation of the record
      */
     String format(RECORD_TYPE record);
+
+    /**
+     * Appends the formatted record to the supplied builder. Implementations
+     * can override this to avoid creating a {@link String} per record.
+     *
+     * @param record record to format
+     * @param out destination of the formatted record
+     * @return the destination
+     */
+    default StringBuilder formatTo(final RECORD_TYPE record, final StringBuilder out) {
+        return out.append(format(record));
+    }
 }
@@ -0,0 +1,20 @@
+package com.useswiftly.ingestion.records;
+
+/**
+ * Enum indicating how the lines of a record data file are laid out on disk.
+ */
+public enum RecordLayout {
+    /**
+     * Records are separated by new lines. Blank lines are skipped and lines may
+     * be terminated with either <code>\n</code> or <code>\r\n</code>. The
+     * number of records in a file is only known after it has been read.
+     */
+    DELIMITED,
+    /**
+     * Every line is exactly the width of a record and is terminated by the same
+     * line terminator, so the number of records and the position of each
+     * record can be calculated from the file size. Data files that contain
+     * blank lines or mixed line terminators are rejected.
+     */
+    FIXED_WIDTH
+}
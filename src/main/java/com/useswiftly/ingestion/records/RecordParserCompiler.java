@@ -0,0 +1,172 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Compiles a fixed list of {@link Field} instances into a single straight-line
+ * {@link MethodHandle} that decodes every field of a record. Each field is
+ * bound as a constant receiver with its positions inserted as constants, so
+ * once the handle is hot the JVM customizes it for this exact layout and can
+ * inline each field's decode method. This avoids the megamorphic call site of
+ * a loop over a list of different field implementations.
+ */
+public final class RecordParserCompiler {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final String ASSIGN_METHOD_NAME = "convertAndAssignValueToRecord";
+    private static final MethodHandle ADD_OFFSET;
+
+    static {
+        try {
+            ADD_OFFSET = LOOKUP.findStatic(RecordParserCompiler.class, "addOffset",
+                    MethodType.methodType(int.class, int.class, int.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private RecordParserCompiler() {
+    }
+
+    /**
+     * Field decoding logic compiled for a specific list of fields.
+     *
+     * @param <RECORD_TYPE> type of record the fields are assigned to
+     */
+    public static final class CompiledFields<RECORD_TYPE> {
+        /**
+         * Handle of type (ByteBuffer, int, Object) void.
+         */
+        private final MethodHandle bytesAssigner;
+
+        /**
+         * Handle of type (CharSequence, int, Object) void.
+         */
+        private final MethodHandle charsAssigner;
+
+        private CompiledFields(final MethodHandle bytesAssigner,
+                               final MethodHandle charsAssigner) {
+            this.bytesAssigner = bytesAssigner;
+            this.charsAssigner = charsAssigner;
+        }
+
+        /**
+         * Decodes all fields of a record line from a buffer and assigns them to
+         * a record in the order of the compiled field list.
+         *
+         * @param source buffer containing the record line
+         * @param lineStart absolute index of the first byte of the line
+         * @param record record to assign fields to
+         */
+        public void assign(@NotNull final ByteBuffer source,
+                           final int lineStart,
+                           @NotNull final RECORD_TYPE record) {
+            try {
+                bytesAssigner.invokeExact(source, lineStart, (Object)record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Unexpected checked exception from field", t);
+            }
+        }
+
+        /**
+         * Decodes all fields of a record line from characters and assigns them
+         * to a record in the order of the compiled field list.
+         *
+         * @param source characters containing the record line
+         * @param lineStart index of the first character of the line
+         * @param record record to assign fields to
+         */
+        public void assign(@NotNull final CharSequence source,
+                           final int lineStart,
+                           @NotNull final RECORD_TYPE record) {
+            try {
+                charsAssigner.invokeExact(source, lineStart, (Object)record);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Unexpected checked exception from field", t);
+            }
+        }
+    }
+
+    /**
+     * Compiles the specified fields into a single decoder.
+     *
+     * @param fields fields to decode in the order they are assigned
+     * @param <RECORD_TYPE> type of record the fields are assigned to
+     * @return compiled decoder
+     * @throws IllegalStateException thrown if a field's decode method can't be accessed
+     */
+    public static <RECORD_TYPE> CompiledFields<RECORD_TYPE> compile(
+            @NotNull final List<? extends Field<?, RECORD_TYPE>> fields) {
+        try {
+            return new CompiledFields<>(compile(fields, ByteBuffer.class),
+                    compile(fields, CharSequence.class));
+        } catch (ReflectiveOperationException e) {
+            String msg = String.format("Unable to compile fields %s", fields);
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
+    /**
+     * Builds a handle of type (SOURCE, int, Object) void that invokes every
+     * field's decode method in order with its positions offset by the line
+     * start.
+     */
+    private static MethodHandle compile(final List<? extends Field<?, ?>> fields,
+                                        final Class<?> sourceType) throws ReflectiveOperationException {
+        final MethodType assignerType = MethodType.methodType(void.class,
+                sourceType, int.class, Object.class);
+        MethodHandle chain = MethodHandles.empty(assignerType);
+
+        for (final Field<?, ?> field : fields) {
+            final MethodHandle fieldAssigner = compileField(field, sourceType, assignerType);
+            // Runs the chain so far and then the field assigner with the same arguments
+            chain = MethodHandles.foldArguments(fieldAssigner, chain);
+        }
+
+        return chain;
+    }
+
+    private static MethodHandle compileField(final Field<?, ?> field,
+                                             final Class<?> sourceType,
+                                             final MethodType assignerType) throws ReflectiveOperationException {
+        final MethodType decodeType = MethodType.methodType(void.class,
+                sourceType, int.class, int.class, Object.class);
+
+        // (SOURCE, start, end, record) void with the field as a constant receiver
+        final MethodHandle decode = findDecodeMethod(field.getClass(), decodeType).bindTo(field);
+
+        // (SOURCE, lineStart, lineStart, record) void with the positions as constants
+        final MethodHandle offsetDecode = MethodHandles.filterArguments(decode, 1,
+                MethodHandles.insertArguments(ADD_OFFSET, 1, field.getStartPositionInclusive()),
+                MethodHandles.insertArguments(ADD_OFFSET, 1, field.getEndPositionExclusive()));
+
+        return MethodHandles.permuteArguments(offsetDecode, assignerType, 0, 1, 1, 2);
+    }
+
+    /**
+     * Finds the decode method on the concrete field class so that it is bound
+     * directly, falling back to the {@link Field} interface method when the
+     * class isn't accessible.
+     */
+    private static MethodHandle findDecodeMethod(final Class<?> fieldClass,
+                                                 final MethodType decodeType) throws ReflectiveOperationException {
+        try {
+            return LOOKUP.findVirtual(fieldClass, ASSIGN_METHOD_NAME, decodeType);
+        } catch (IllegalAccessException e) {
+            return LOOKUP.findVirtual(Field.class, ASSIGN_METHOD_NAME, decodeType);
+        }
+    }
+
+    private static int addOffset(final int lineStart, final int position) {
+        return lineStart + position;
+    }
+}
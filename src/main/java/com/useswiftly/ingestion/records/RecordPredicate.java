@@ -0,0 +1,106 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Condition evaluated against the raw characters of a record line before the
+ * line is decoded, so that lines that don't match are skipped without
+ * creating a record or decoding any of the other fields. See
+ * {@link FieldPredicates} for predicates on the value of a single field.
+ *
+ * <p>Implementations must be stateless or thread safe because a predicate is
+ * evaluated by every thread parsing a file in parallel.</p>
+ */
+public interface RecordPredicate {
+    /**
+     * Evaluates this predicate against a record line held as single byte
+     * characters. The position and limit of the buffer are not read or
+     * modified.
+     *
+     * @param source buffer containing the record line
+     * @param startInclusive absolute index of the first byte of the line
+     * @param endExclusive absolute index after the last byte of the line
+     * @return true if the line should be decoded
+     * @throws RecordParseException thrown if the line can't be evaluated
+     */
+    boolean test(@NotNull ByteBuffer source, int startInclusive, int endExclusive);
+
+    /**
+     * Evaluates this predicate against a record line held as characters.
+     *
+     * @param source characters containing the record line
+     * @param startInclusive index of the first character of the line
+     * @param endExclusive index after the last character of the line
+     * @return true if the line should be decoded
+     * @throws RecordParseException thrown if the line can't be evaluated
+     */
+    boolean test(@NotNull CharSequence source, int startInclusive, int endExclusive);
+
+    /**
+     * @param other predicate that is only evaluated if this predicate matches
+     * @return predicate that matches lines that match both predicates
+     */
+    default RecordPredicate and(@NotNull final RecordPredicate other) {
+        Objects.requireNonNull(other, "other");
+        final RecordPredicate self = this;
+
+        return new RecordPredicate() {
+            @Override
+            public boolean test(@NotNull final ByteBuffer source, final int startInclusive, final int endExclusive) {
+                return self.test(source, startInclusive, endExclusive)
+                        && other.test(source, startInclusive, endExclusive);
+            }
+
+            @Override
+            public boolean test(@NotNull final CharSequence source, final int startInclusive, final int endExclusive) {
+                return self.test(source, startInclusive, endExclusive)
+                        && other.test(source, startInclusive, endExclusive);
+            }
+        };
+    }
+
+    /**
+     * @param other predicate that is only evaluated if this predicate doesn't match
+     * @return predicate that matches lines that match either predicate
+     */
+    default RecordPredicate or(@NotNull final RecordPredicate other) {
+        Objects.requireNonNull(other, "other");
+        final RecordPredicate self = this;
+
+        return new RecordPredicate() {
+            @Override
+            public boolean test(@NotNull final ByteBuffer source, final int startInclusive, final int endExclusive) {
+                return self.test(source, startInclusive, endExclusive)
+                        || other.test(source, startInclusive, endExclusive);
+            }
+
+            @Override
+            public boolean test(@NotNull final CharSequence source, final int startInclusive, final int endExclusive) {
+                return self.test(source, startInclusive, endExclusive)
+                        || other.test(source, startInclusive, endExclusive);
+            }
+        };
+    }
+
+    /**
+     * @return predicate that matches lines that this predicate doesn't match
+     */
+    default RecordPredicate negate() {
+        final RecordPredicate self = this;
+
+        return new RecordPredicate() {
+            @Override
+            public boolean test(@NotNull final ByteBuffer source, final int startInclusive, final int endExclusive) {
+                return !self.test(source, startInclusive, endExclusive);
+            }
+
+            @Override
+            public boolean test(@NotNull final CharSequence source, final int startInclusive, final int endExclusive) {
+                return !self.test(source, startInclusive, endExclusive);
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Interface representing a destination for formatted records. Each record is
+ * written followed by a line separator. Implementations are not required to
+ * be thread safe.
+ */
+public interface RecordSink extends Closeable {
+    /**
+     * Writes a single formatted record followed by a line separator.
+     *
+     * @param formattedRecord record formatted by a {@link RecordFormattable}
+     * @throws IOException thrown if there is a problem writing
+     */
+    void write(@NotNull CharSequence formattedRecord) throws IOException;
+
+    /**
+     * Writes a range of characters as a single formatted record followed by
+     * a line separator.
+     *
+     * @param formattedRecords characters containing the record
+     * @param startInclusive index of the first character of the record
+     * @param endExclusive index after the last character of the record
+     * @throws IOException thrown if there is a problem writing
+     */
+    default void write(@NotNull final CharSequence formattedRecords,
+                       final int startInclusive,
+                       final int endExclusive) throws IOException {
+        write(formattedRecords.subSequence(startInclusive, endExclusive));
+    }
+
+    /**
+     * Writes all buffered records to the underlying destination.
+     *
+     * @throws IOException thrown if there is a problem writing
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flushes all buffered records and closes the underlying destination.
+     *
+     * @throws IOException thrown if there is a problem writing or closing
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Creates a sink that writes records to a {@link Writer} on the calling
+     * thread.
+     *
+     * @param writer destination of records
+     * @return new instance
+     */
+    static RecordSink of(@NotNull final Writer writer) {
+        final String lineSeparator = System.lineSeparator();
+
+        return new RecordSink() {
+            @Override
+            public void write(@NotNull final CharSequence formattedRecord) throws IOException {
+                writer.append(formattedRecord).append(lineSeparator);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writer.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+}
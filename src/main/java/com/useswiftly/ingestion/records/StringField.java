@@ -3,11 +3,35 @@ package com.useswiftly.ingestion.records;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.ByteBuffer;
+
 /**
- * Record field with the data type {@link String}.
+ * Record field with the data type {@link String}. When the field has a
+ * {@link StringPool}, display strings are read from the pool so that repeated
+ * values share one instance.
  */
 public abstract class StringField<RECORD_TYPE> implements Field<String, RECORD_TYPE> {
+    @Nullable
+    private final StringPool pool;
+
     public StringField() {
+        this(null);
+    }
+
+    /**
+     * @param pool pool of canonical display strings or null to create a new
+     *             string for every value
+     */
+    public StringField(@Nullable final StringPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return pool of canonical display strings or null if not pooled
+     */
+    @Nullable
+    public StringPool getPool() {
+        return pool;
     }
 
     @Override
@@ -17,13 +41,77 @@ public abstract class StringField<RECORD_TYPE> implements Field<String, RECORD_T
 
     @Nullable
     protected String convertSubstringToDisplayString(@NotNull final String substring) {
-        final String trimmed = substring.trim();
+        return convertToDisplayString(substring, 0, substring.length());
+    }
+
+    /**
+     * Trims a range of characters and copies it to a {@link String}. Only
+     * the trimmed range is copied.
+     *
+     * @param source characters to convert
+     * @param startInclusive index of the first character
+     * @param endExclusive index after the last character
+     * @return trimmed string or null if the range is blank
+     */
+    @Nullable
+    protected String convertToDisplayString(@NotNull final CharSequence source,
+                                            final int startInclusive,
+                                            final int endExclusive) {
+        int start = startInclusive;
+        int end = endExclusive;
+
+        while (start < end && source.charAt(start) <= ' ') {
+            start++;
+        }
+
+        while (end > start && source.charAt(end - 1) <= ' ') {
+            end--;
+        }
 
-        if (trimmed.isEmpty()) {
+        if (start == end) {
             return null;
         }
 
-        return trimmed;
+        if (pool != null) {
+            return pool.intern(source, start, end);
+        }
+
+        return source.subSequence(start, end).toString();
+    }
+
+    /**
+     * Trims a range of single byte characters and decodes it to a
+     * {@link String}. Only the trimmed range is decoded.
+     *
+     * @param source bytes to convert
+     * @param startInclusive absolute index of the first byte
+     * @param endExclusive absolute index after the last byte
+     * @return trimmed string or null if the range is blank
+     */
+    @Nullable
+    protected String convertToDisplayString(@NotNull final ByteBuffer source,
+                                            final int startInclusive,
+                                            final int endExclusive) {
+        int start = startInclusive;
+        int end = endExclusive;
+
+        while (start < end && (source.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+
+        while (end > start && (source.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+
+        if (start == end) {
+            return null;
+        }
+
+        if (pool != null) {
+            return pool.intern(source, start, end);
+        }
+
+        return Field.decodeString(source, start, end);
     }
 
     @Override
@@ -0,0 +1,255 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of canonical {@link String} instances for field values that
+ * repeat across records, such as product sizes and descriptions. Values are
+ * looked up by hashing the raw bytes or characters of a field and comparing
+ * them to the pooled string, so a value that is already pooled is returned
+ * without allocating.
+ *
+ * <p>The pool is direct mapped: each value can only be stored in one slot
+ * and a new value evicts the string in its slot. A miss stores its string
+ * with an ordered write rather than an atomic swap, so threads that miss
+ * don't contend on the slots; when two threads race for a slot one string
+ * is lost, which only costs a later miss. The pool is thread safe without
+ * locking. Hit, miss and eviction counts and the number of retained bytes
+ * are kept so that the capacity can be sized for a catalog. Evictions are
+ * counted as each thread saw its slot, so they are approximate when threads
+ * race.</p>
+ */
+public class StringPool {
+    /**
+     * Default number of slots.
+     */
+    public static final int DEFAULT_CAPACITY = 16_384;
+
+    /**
+     * Largest number of slots.
+     */
+    private static final int MAX_CAPACITY = 1 << 24;
+
+    private static final int FNV_OFFSET_BASIS = 0x811C9DC5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private final AtomicReferenceArray<String> strings;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public StringPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    public StringPool(final int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            String msg = String.format("Capacity must be between 1 and %d - " +
+                    "Capacity [%d] value is invalid", MAX_CAPACITY, capacity);
+            throw new IllegalArgumentException(msg);
+        }
+
+        final int size = Integer.highestOneBit(capacity) == capacity ?
+                capacity : Integer.highestOneBit(capacity) << 1;
+
+        this.strings = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the canonical string of a range of single byte characters,
+     * decoding and pooling it if it isn't pooled yet.
+     *
+     * @param source bytes of the value
+     * @param startInclusive absolute index of the first byte
+     * @param endExclusive absolute index after the last byte
+     * @return canonical string
+     */
+    @NotNull
+    public String intern(@NotNull final ByteBuffer source,
+                         final int startInclusive,
+                         final int endExclusive) {
+        int hash = FNV_OFFSET_BASIS;
+
+        for (int i = startInclusive; i < endExclusive; i++) {
+            hash = (hash ^ (source.get(i) & 0xFF)) * FNV_PRIME;
+        }
+
+        final int slot = slotOf(hash);
+        final String pooled = strings.get(slot);
+
+        if (pooled != null && matches(pooled, source, startInclusive, endExclusive)) {
+            hits.increment();
+            return pooled;
+        }
+
+        misses.increment();
+        return put(slot, pooled, Field.decodeString(source, startInclusive, endExclusive));
+    }
+
+    /**
+     * Returns the canonical string of a range of characters, copying and
+     * pooling it if it isn't pooled yet.
+     *
+     * @param source characters of the value
+     * @param startInclusive index of the first character
+     * @param endExclusive index after the last character
+     * @return canonical string
+     */
+    @NotNull
+    public String intern(@NotNull final CharSequence source,
+                         final int startInclusive,
+                         final int endExclusive) {
+        int hash = FNV_OFFSET_BASIS;
+
+        for (int i = startInclusive; i < endExclusive; i++) {
+            hash = (hash ^ source.charAt(i)) * FNV_PRIME;
+        }
+
+        final int slot = slotOf(hash);
+        final String pooled = strings.get(slot);
+
+        if (pooled != null && matches(pooled, source, startInclusive, endExclusive)) {
+            hits.increment();
+            return pooled;
+        }
+
+        misses.increment();
+        return put(slot, pooled, source.subSequence(startInclusive, endExclusive).toString());
+    }
+
+    /**
+     * @return number of slots
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return number of lookups that found a pooled string
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that created a string
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return fraction of lookups that found a pooled string, or zero if
+     *         there were no lookups
+     */
+    public double getHitRate() {
+        final long hitCount = getHitCount();
+        final long lookups = hitCount + getMissCount();
+
+        return lookups == 0L ? 0.0 : (double)hitCount / lookups;
+    }
+
+    /**
+     * @return number of pooled strings replaced by a different string
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of character bytes held by pooled strings, assuming
+     *         single byte characters as stored by compact strings. The
+     *         slots are scanned, so this isn't meant for the hot path.
+     */
+    public long getRetainedBytes() {
+        long bytes = 0L;
+
+        for (int i = 0; i <= mask; i++) {
+            final String pooled = strings.get(i);
+
+            if (pooled != null) {
+                bytes += pooled.length();
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Removes all pooled strings. The hit, miss and eviction counts are not
+     * reset.
+     */
+    public void clear() {
+        for (int i = 0; i <= mask; i++) {
+            strings.set(i, null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[capacity=%d, hits=%d, misses=%d, evictions=%d, retainedBytes=%d]",
+                StringPool.class.getSimpleName(), getCapacity(), getHitCount(),
+                getMissCount(), getEvictionCount(), getRetainedBytes());
+    }
+
+    private int slotOf(final int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private String put(final int slot, final String previous, final String value) {
+        /* A lazy set publishes the fully built string without the fence of
+         * an atomic swap. Losing a racing write is harmless because a value
+         * that didn't stick is pooled again on its next miss. */
+        strings.lazySet(slot, value);
+
+        if (previous != null) {
+            evictions.increment();
+        }
+
+        return value;
+    }
+
+    private static boolean matches(final String pooled,
+                                   final ByteBuffer source,
+                                   final int startInclusive,
+                                   final int endExclusive) {
+        if (pooled.length() != endExclusive - startInclusive) {
+            return false;
+        }
+
+        for (int i = 0; i < pooled.length(); i++) {
+            if (pooled.charAt(i) != (source.get(startInclusive + i) & 0xFF)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean matches(final String pooled,
+                                   final CharSequence source,
+                                   final int startInclusive,
+                                   final int endExclusive) {
+        if (pooled.length() != endExclusive - startInclusive) {
+            return false;
+        }
+
+        for (int i = 0; i < pooled.length(); i++) {
+            if (pooled.charAt(i) != source.charAt(startInclusive + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.money.MonetaryAmount;
+import javax.money.format.AmountFormatContext;
+import javax.money.format.AmountFormatQuery;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * {@link MonetaryAmountFormat} that can be shared between threads by
+ * delegating to a separate format instance for each thread. The Moneta
+ * formats render numbers with a shared {@link java.text.DecimalFormat},
+ * which isn't thread safe, so a single instance used by many threads can
+ * produce corrupted output.
+ *
+ * <p>The supplier must return a new format instance for each call, and
+ * every instance must be configured the same way because the context of the
+ * first instance is reported for all of them.</p>
+ */
+public class ThreadLocalMonetaryAmountFormat implements MonetaryAmountFormat {
+    private final AmountFormatContext context;
+    private final ThreadLocal<MonetaryAmountFormat> formats;
+
+    /**
+     * @param formatSupplier supplier of a new format instance for each thread
+     */
+    public ThreadLocalMonetaryAmountFormat(@NotNull final Supplier<MonetaryAmountFormat> formatSupplier) {
+        Objects.requireNonNull(formatSupplier, "formatSupplier");
+        final MonetaryAmountFormat first = formatSupplier.get();
+
+        this.context = first.getContext();
+        this.formats = ThreadLocal.withInitial(formatSupplier);
+        this.formats.set(first);
+    }
+
+    /**
+     * @param query query used to look up the format of each thread
+     * @return format that looks up a format instance per thread
+     */
+    public static ThreadLocalMonetaryAmountFormat of(@NotNull final AmountFormatQuery query) {
+        Objects.requireNonNull(query, "query");
+        return new ThreadLocalMonetaryAmountFormat(() -> MonetaryFormats.getAmountFormat(query));
+    }
+
+    @Override
+    public AmountFormatContext getContext() {
+        return context;
+    }
+
+    @Override
+    public String format(final MonetaryAmount amount) {
+        return formats.get().format(amount);
+    }
+
+    @Override
+    public String queryFrom(final MonetaryAmount amount) {
+        return formats.get().queryFrom(amount);
+    }
+
+    @Override
+    public void print(final Appendable appendable, final MonetaryAmount amount) throws IOException {
+        formats.get().print(appendable, amount);
+    }
+
+    @Override
+    public MonetaryAmount parse(final CharSequence text) {
+        return formats.get().parse(text);
+    }
+
+    @Override
+    public String toString() {
+        return ThreadLocalMonetaryAmountFormat.class.getSimpleName() + "[" + context + "]";
+    }
+}
@@ -0,0 +1,176 @@
+package com.useswiftly.ingestion.product;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.useswiftly.ingestion.product.app.ProductRecordIngestorModule;
+import org.javamoney.moneta.FastMoney;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.money.Monetary;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.useswiftly.ingestion.product.TestRecordContexts.CURRENCY;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FIXED_POINT_ROUNDING;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FLAG_RULES;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FORMAT;
+import static com.useswiftly.ingestion.product.TestRecordContexts.ROUNDING;
+
+@Test
+public class ImmutableProductRecordTest {
+    public void recordsHaveSameValuesAsBuilder() {
+        for (int i = 0; i < 100; i++) {
+            final ImmutableProductRecord.Builder expected = fill(builder(), i);
+            final ImmutableProductRecord record = expected.build();
+
+            Assert.assertEquals(record.getProductId(), expected.getProductId());
+            Assert.assertEquals(record.getProductDescription(), expected.getProductDescription());
+            Assert.assertEquals(record.getRegularSingularPrice(), expected.getRegularSingularPrice());
+            Assert.assertEquals(record.getPromotionalSingularPrice(), expected.getPromotionalSingularPrice());
+            Assert.assertEquals(record.getRegularSplitPrice(), expected.getRegularSplitPrice());
+            Assert.assertEquals(record.getPromotionalSplitPrice(), expected.getPromotionalSplitPrice());
+            Assert.assertEquals(record.getRegularForX(), expected.getRegularForX());
+            Assert.assertEquals(record.getPromotionalForX(), expected.getPromotionalForX());
+            Assert.assertEquals(record.getFlags(), expected.getFlags());
+            Assert.assertEquals(record.getProductSize(), expected.getProductSize());
+            Assert.assertEquals(record.regularDisplayPrice(), expected.regularDisplayPrice());
+            Assert.assertEquals(record.calculateRegularCalculatorPrice(),
+                    expected.calculateRegularCalculatorPrice());
+            Assert.assertEquals(record.promotionalDisplayPrice(), expected.promotionalDisplayPrice());
+            Assert.assertEquals(record.calculatePromotionalCalculatorPrice(),
+                    expected.calculatePromotionalCalculatorPrice());
+            Assert.assertEquals(record.deriveUnitOfMeasure(), expected.deriveUnitOfMeasure());
+            Assert.assertEquals(record.calculateTaxRate(), expected.calculateTaxRate());
+            Assert.assertEquals(record.toRecord(), fill(new PrimitiveProductRecordImpl(
+                    FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING), i));
+        }
+    }
+
+    public void parsersFillInBuilders() {
+        final Injector injector = Guice.createInjector(new ProductRecordIngestorModule());
+        final ProductRecordParser parser = injector.getInstance(ProductRecordParser.class);
+        final ImmutableProductRecord.Builder builder =
+                injector.getInstance(ImmutableProductRecord.Builder.class);
+        final String line = "14963801 Generic Soda 12-pack                                        " +
+                "00000000 00000549 00001300 00000000 00000002 00000000 NNNNYNNNN   12x12oz";
+
+        parser.apply(line, builder);
+        final ImmutableProductRecord record = builder.build();
+        final ProductRecord expected = parser.apply(line);
+
+        Assert.assertEquals(record.getProductIdAsLong(), 14963801L);
+        Assert.assertEquals(record.getProductDescription(), expected.getProductDescription());
+        Assert.assertEquals(record.regularDisplayPrice(), expected.regularDisplayPrice());
+        Assert.assertEquals(record.promotionalDisplayPrice(), expected.promotionalDisplayPrice());
+        Assert.assertEquals(record.calculateTaxRate(), expected.calculateTaxRate());
+        Assert.assertEquals(record.toRecord(), expected);
+    }
+
+    public void builtRecordsDontChangeWithBuilder() {
+        final ImmutableProductRecord.Builder builder = fill(builder(), 1);
+        final ImmutableProductRecord first = builder.build();
+        final int hash = first.hashCode();
+
+        fill(builder, 2).setProductDescription("changed");
+
+        Assert.assertEquals(first.getProductDescription(), "Product 1");
+        Assert.assertEquals(first.hashCode(), hash);
+        Assert.assertEquals(builder.build().getProductDescription(), "changed");
+    }
+
+    public void recordsOfOtherTypesCanBeCopied() {
+        final ProductRecord record = new ProductRecordImpl(null, FORMAT, ROUNDING)
+                .setProductId(BigInteger.valueOf(42L))
+                .setProductDescription("Crème fraîche")
+                .setRegularSingularPrice(FastMoney.of(3.49, CURRENCY))
+                .setRegularSplitPrice(FastMoney.zero(CURRENCY))
+                .setRegularForX(BigInteger.ZERO)
+                .setFlags(new ProductRecordFlags().setPerWeightItem(true));
+        final ImmutableProductRecord copy = builder().build(record);
+
+        Assert.assertEquals(copy.getProductIdAsLong(), 42L);
+        Assert.assertEquals(copy.getRegularSingularPrice(), FastMoney.of(3.49, CURRENCY));
+        Assert.assertEquals(copy.deriveUnitOfMeasure(), UnitOfMeasure.POUND);
+        Assert.assertEquals(builder().build(copy), copy);
+    }
+
+    public void equalRecordsHaveSameHashAsTableRows() {
+        final ImmutableProductRecord first = fill(builder(), 5).build();
+        final ImmutableProductRecord second = builder().build(fill(builder(), 5));
+        final ProductRecordTable.Row row = new ProductRecordTable.Builder(
+                FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING, CURRENCY).add(first).build().get(0);
+
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(first.hashCode(), second.hashCode());
+        Assert.assertEquals(first.hashCode(), row.hashCode());
+        Assert.assertNotEquals(first, row);
+        Assert.assertNotEquals(first, fill(builder(), 4).build());
+    }
+
+    public void unsetValuesAreNull() {
+        final ImmutableProductRecord record = builder().build();
+
+        Assert.assertEquals(record.getIndex(), -1);
+        Assert.assertNull(record.getProductId());
+        Assert.assertNull(record.getProductDescription());
+        Assert.assertNull(record.getRegularSingularPrice());
+        Assert.assertNull(record.getPromotionalForX());
+        Assert.assertNull(record.getFlags());
+        Assert.assertEquals(record.regularDisplayPrice(), "unknown");
+        Assert.assertFalse(record.toString().contains("index="));
+    }
+
+    public void recordsCanBeSharedAcrossThreads() {
+        final List<ImmutableProductRecord> records = IntStream.range(0, 1000)
+                .mapToObj(i -> fill(builder(), i % 10).build())
+                .collect(Collectors.toList());
+
+        final Set<ImmutableProductRecord> distinct = records.parallelStream()
+                .collect(Collectors.toConcurrentMap(r -> r, r -> r, (a, b) -> a))
+                .keySet();
+        final Set<String> displayPrices = records.parallelStream()
+                .map(ProductRecord::regularDisplayPrice)
+                .collect(Collectors.toSet());
+
+        Assert.assertEquals(distinct.size(), 10);
+        Assert.assertEquals(displayPrices.size(), 10);
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void recordsAreReadOnly() {
+        fill(builder(), 0).build().setProductDescription("changed");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontBuildPricesInOtherCurrencies() {
+        final ImmutableProductRecord.Builder builder = fill(builder(), 0);
+        builder.setRegularSingularPriceInCents(100L, Monetary.getCurrency("EUR"));
+        builder.build();
+    }
+
+    private static ImmutableProductRecord.Builder builder() {
+        return new ImmutableProductRecord.Builder(new ProductRecordContext(
+                FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING), CURRENCY);
+    }
+
+    private static <T extends PrimitiveProductRecordImpl> T fill(final T record, final int i) {
+        final boolean isSplit = i % 3 == 0;
+
+        record.setProductIdAsLong(80_000_000L + i)
+                .setProductDescription("Product " + i)
+                .setRegularSingularPriceInCents(isSplit ? 0L : 100L + i, CURRENCY)
+                .setRegularSplitPriceInCents(isSplit ? 1000L + i : 0L, CURRENCY)
+                .setRegularForXAsInt(isSplit ? 2 + i % 5 : 0)
+                .setPromotionalSingularPriceInCents(i % 2 == 0 ? 0L : 50L + i, CURRENCY)
+                .setPromotionalSplitPriceInCents(0L, CURRENCY)
+                .setPromotionalForXAsInt(0)
+                .setFlags(ProductRecordFlags.valueOf(i % 512))
+                .setProductSize(i % 4 == 0 ? null : i + "oz");
+
+        return record;
+    }
+}
@@ -0,0 +1,104 @@
+package com.useswiftly.ingestion.product;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.useswiftly.ingestion.product.app.ProductRecordIngestorModule;
+import com.useswiftly.ingestion.records.RecordParseException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Test
+public class LazyProductRecordTest {
+    private static final String LINE =
+            "14963801 Generic Soda 12-pack                                        00000000 00000549 00001300 00000000 00000002 00000000 NNNNYNNNN   12x12oz";
+
+    private final Injector injector = Guice.createInjector(new ProductRecordIngestorModule());
+
+    private LazyProductRecord lazy(final String line) {
+        final byte[] bytes = ("xx" + line).getBytes(StandardCharsets.US_ASCII);
+        return injector.getInstance(LazyProductRecordParser.class)
+                .apply(ByteBuffer.wrap(bytes), 2, bytes.length);
+    }
+
+    public void onlyDecodesAccessedFields() {
+        final LazyProductRecord record = lazy(LINE);
+
+        Assert.assertEquals(record.getProductIdAsLong(), 14963801L);
+        Assert.assertTrue(record.isDecoded(LazyProductRecord.Slot.PRODUCT_ID));
+
+        for (LazyProductRecord.Slot slot : LazyProductRecord.Slot.values()) {
+            if (slot != LazyProductRecord.Slot.PRODUCT_ID) {
+                Assert.assertFalse(record.isDecoded(slot), slot.name());
+            }
+        }
+    }
+
+    public void decodesSameValuesAsEagerParser() {
+        final LazyProductRecord record = lazy(LINE);
+        final ProductRecord expected = injector.getInstance(ProductRecordParser.class).apply(LINE);
+
+        Assert.assertEquals(record.getProductId(), expected.getProductId());
+        Assert.assertEquals(record.getProductDescription(), expected.getProductDescription());
+        Assert.assertEquals(record.getRegularSingularPrice(), expected.getRegularSingularPrice());
+        Assert.assertEquals(record.getPromotionalSingularPrice(), expected.getPromotionalSingularPrice());
+        Assert.assertEquals(record.getRegularSplitPrice(), expected.getRegularSplitPrice());
+        Assert.assertEquals(record.getPromotionalSplitPrice(), expected.getPromotionalSplitPrice());
+        Assert.assertEquals(record.getRegularForX(), expected.getRegularForX());
+        Assert.assertEquals(record.getPromotionalForX(), expected.getPromotionalForX());
+        Assert.assertSame(record.getFlags(), expected.getFlags());
+        Assert.assertEquals(record.getProductSize(), expected.getProductSize());
+        Assert.assertEquals(record.regularDisplayPrice(), expected.regularDisplayPrice());
+        Assert.assertEquals(record.promotionalDisplayPrice(), expected.promotionalDisplayPrice());
+        Assert.assertEquals(record.calculateTaxRate(), expected.calculateTaxRate());
+        Assert.assertEquals(record.deriveUnitOfMeasure(), expected.deriveUnitOfMeasure());
+    }
+
+    public void displayPriceOnlyDecodesPriceFields() {
+        final LazyProductRecord record = lazy(LINE);
+
+        Assert.assertEquals(record.promotionalDisplayPrice(), "$5.49");
+        Assert.assertTrue(record.isDecoded(LazyProductRecord.Slot.PROMOTIONAL_FOR_X));
+        Assert.assertFalse(record.isDecoded(LazyProductRecord.Slot.REGULAR_SINGULAR_PRICE));
+        Assert.assertFalse(record.isDecoded(LazyProductRecord.Slot.PRODUCT_DESCRIPTION));
+    }
+
+    public void setterOverridesSourceValue() {
+        final LazyProductRecord record = lazy(LINE);
+        record.setProductId(BigInteger.ONE);
+
+        Assert.assertEquals(record.getProductId(), BigInteger.ONE);
+    }
+
+    public void invalidFieldIsReportedOnAccess() {
+        final LazyProductRecord record = lazy(LINE.replace("14963801", "1496380X"));
+
+        Assert.assertEquals(record.getProductDescription(), "Generic Soda 12-pack");
+        Assert.assertThrows(RecordParseException.class, record::getProductId);
+    }
+
+    public void detachedRecordNoLongerReadsSource() {
+        final byte[] bytes = LINE.getBytes(StandardCharsets.US_ASCII);
+        final ByteBuffer source = ByteBuffer.wrap(bytes);
+        final LazyProductRecord record = injector.getInstance(LazyProductRecordParser.class)
+                .apply(source, 0, bytes.length);
+
+        record.detach();
+        source.put(0, (byte)'9');
+
+        Assert.assertEquals(record.getProductIdAsLong(), 14963801L);
+    }
+
+    public void recordsFromSameLineAreEqual() {
+        Assert.assertEquals(lazy(LINE), lazy(LINE));
+        Assert.assertEquals(lazy(LINE).hashCode(), lazy(LINE).hashCode());
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontCreateRecordWithInvalidLength() {
+        lazy("14963801 Generic Soda");
+    }
+}
@@ -0,0 +1,248 @@
+package com.useswiftly.ingestion.product;
+
+import com.google.inject.Guice;
+import com.useswiftly.ingestion.product.app.ProductRecordIngestorModule;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.useswiftly.ingestion.product.TestRecordContexts.CURRENCY;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FIXED_POINT_ROUNDING;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FLAG_RULES;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FORMAT;
+
+@Test
+public class OffHeapProductRecordStoreTest {
+    private static final OffHeapProductRecordStore.Factory FACTORY = new OffHeapProductRecordStore.Factory(
+            FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING, CURRENCY);
+
+    /**
+     * Segment size that holds four rows.
+     */
+    private static final int SMALL_SEGMENT_SIZE = OffHeapProductRecordStore.ROW_SIZE * 4;
+
+    public void directRowsHaveSameValuesAsRecords() throws IOException {
+        try (OffHeapProductRecordStore store = FACTORY.allocateDirect(0, SMALL_SEGMENT_SIZE)) {
+            assertRowsMatchRecords(store);
+        }
+    }
+
+    public void mappedRowsHaveSameValuesAsRecords() throws IOException {
+        final Path directory = Files.createTempDirectory("off-heap-store-test");
+
+        try (OffHeapProductRecordStore store = FACTORY.mapScratchFile(directory, 0, SMALL_SEGMENT_SIZE)) {
+            assertRowsMatchRecords(store);
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            Assert.assertEquals(files.count(), 0L, "Scratch file wasn't deleted");
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    public void capacityGrowsBySegment() throws IOException {
+        try (OffHeapProductRecordStore store = FACTORY.allocateDirect(5, SMALL_SEGMENT_SIZE)) {
+            Assert.assertEquals(store.getCapacity(), 8);
+            Assert.assertEquals(store.getAllocatedBytes(), 8L * OffHeapProductRecordStore.ROW_SIZE);
+
+            store.appendAll(IntStream.range(0, 9).mapToObj(OffHeapProductRecordStoreTest::record));
+
+            Assert.assertEquals(store.size(), 9);
+            Assert.assertEquals(store.getCapacity(), 12);
+            Assert.assertEquals(store.get(8).getProductIdAsLong(), 80_000_008L);
+        }
+    }
+
+    public void unsetValuesAreNull() throws IOException {
+        try (OffHeapProductRecordStore store = FACTORY.allocateDirect(1)) {
+            store.append(new PrimitiveProductRecordImpl(FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING));
+            final OffHeapProductRecordStore.Row row = store.get(0);
+
+            Assert.assertNull(row.getProductId());
+            Assert.assertNull(row.getProductDescription());
+            Assert.assertNull(row.getRegularSingularPrice());
+            Assert.assertNull(row.getPromotionalForX());
+            Assert.assertNull(row.getFlags());
+            Assert.assertNull(row.getProductSize());
+            Assert.assertEquals(row.regularDisplayPrice(), "unknown");
+        }
+    }
+
+    public void emptyAndMultiByteStringsAreStored() throws IOException {
+        try (OffHeapProductRecordStore store = FACTORY.allocateDirect(1)) {
+            store.append(record(0).setProductDescription("Crème fraîche").setProductSize(""));
+            final OffHeapProductRecordStore.Row row = store.get(0);
+
+            Assert.assertEquals(row.getProductDescription(), "Crème fraîche");
+            Assert.assertEquals(row.getProductSize(), "");
+        }
+    }
+
+    public void latinOneLinesOfFullWidthAreStored() throws IOException {
+        // Every character of both text fields is outside of ASCII
+        final String description = "é".repeat(59);
+        final String productSize = "ñ".repeat(9);
+        final byte[] line = String.format("80000001 %s 00000567 00000000 00000000 00000000 " +
+                "00000000 00000000 NNNNNNNNN %s", description, productSize)
+                .getBytes(StandardCharsets.ISO_8859_1);
+        final ProductRecordParser parser = Guice.createInjector(new ProductRecordIngestorModule())
+                .getInstance(ProductRecordParser.class);
+        final ProductRecord record = parser.apply(ByteBuffer.wrap(line), 0, line.length);
+
+        try (OffHeapProductRecordStore store = FACTORY.allocateDirect(1)) {
+            final OffHeapProductRecordStore.Row row = store.get(store.append(record));
+
+            Assert.assertEquals(row.getProductDescription(), description);
+            Assert.assertEquals(row.getProductSize(), productSize);
+        }
+    }
+
+    public void closeIsIdempotent() throws IOException {
+        final OffHeapProductRecordStore store = FACTORY.allocateDirect(1);
+        store.append(record(0));
+        store.close();
+        store.close();
+
+        Assert.assertTrue(store.isClosed());
+        Assert.assertEquals(store.size(), 0);
+        Assert.assertEquals(store.getAllocatedBytes(), 0L);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void wontReadRowsAfterClose() throws IOException {
+        final OffHeapProductRecordStore store = FACTORY.allocateDirect(1);
+        final OffHeapProductRecordStore.Row row = store.get(store.append(record(0)));
+        store.close();
+
+        row.getProductId();
+    }
+
+    public void readsRacingWithCloseFailCleanly() throws Exception {
+        final OffHeapProductRecordStore store = FACTORY.allocateDirect(50, SMALL_SEGMENT_SIZE);
+        IntStream.range(0, 50).forEach(i -> store.append(record(i)));
+        final List<OffHeapProductRecordStore.Row> rows = IntStream.range(0, 50)
+                .mapToObj(store::get)
+                .collect(Collectors.toList());
+        final List<Throwable> failures = new CopyOnWriteArrayList<>();
+        final CountDownLatch reading = new CountDownLatch(4);
+
+        final Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                reading.countDown();
+
+                try {
+                    for (int i = 0; ; i = (i + 1) % rows.size()) {
+                        Assert.assertEquals(rows.get(i).getProductDescription(), "Product " + i);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            readers[t].start();
+        }
+
+        reading.await();
+        store.close();
+
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        Assert.assertEquals(failures.size(), readers.length);
+        for (Throwable failure : failures) {
+            Assert.assertEquals(failure.getClass(), IllegalStateException.class, failure.toString());
+        }
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void rowsAreReadOnly() throws IOException {
+        try (OffHeapProductRecordStore store = FACTORY.allocateDirect(1)) {
+            store.get(store.append(record(0))).setProductSize("changed");
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontStoreDescriptionsLongerThanRow() throws IOException {
+        final String description = String.format("%60s", "Product");
+
+        try (OffHeapProductRecordStore store = FACTORY.allocateDirect(1)) {
+            store.append(record(0).setProductDescription(description));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontStoreTextOutsideOfLatinOne() throws IOException {
+        try (OffHeapProductRecordStore store = FACTORY.allocateDirect(1)) {
+            store.append(record(0).setProductDescription("Kimchi \uAE40\uCE58"));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontStoreSegmentsSmallerThanRow() {
+        FACTORY.allocateDirect(0, OffHeapProductRecordStore.ROW_SIZE - 1);
+    }
+
+    private static void assertRowsMatchRecords(final OffHeapProductRecordStore store) {
+        final List<PrimitiveProductRecordImpl> records = IntStream.range(0, 50)
+                .mapToObj(OffHeapProductRecordStoreTest::record)
+                .collect(Collectors.toList());
+        records.forEach(store::append);
+
+        Assert.assertEquals(store.size(), records.size());
+
+        for (int i = 0; i < records.size(); i++) {
+            final PrimitiveProductRecordImpl expected = records.get(i);
+            final OffHeapProductRecordStore.Row row = store.get(i);
+
+            Assert.assertEquals(row.getIndex(), i);
+            Assert.assertEquals(row.getProductId(), expected.getProductId());
+            Assert.assertEquals(row.getProductDescription(), expected.getProductDescription());
+            Assert.assertEquals(row.getRegularSingularPrice(), expected.getRegularSingularPrice());
+            Assert.assertEquals(row.getPromotionalSingularPrice(), expected.getPromotionalSingularPrice());
+            Assert.assertEquals(row.getRegularSplitPrice(), expected.getRegularSplitPrice());
+            Assert.assertEquals(row.getPromotionalSplitPrice(), expected.getPromotionalSplitPrice());
+            Assert.assertEquals(row.getRegularForX(), expected.getRegularForX());
+            Assert.assertEquals(row.getPromotionalForX(), expected.getPromotionalForX());
+            Assert.assertEquals(row.getFlags(), expected.getFlags());
+            Assert.assertEquals(row.getProductSize(), expected.getProductSize());
+            Assert.assertEquals(row.regularDisplayPrice(), expected.regularDisplayPrice());
+            Assert.assertEquals(row.calculateRegularCalculatorPrice(), expected.calculateRegularCalculatorPrice());
+            Assert.assertEquals(row.promotionalDisplayPrice(), expected.promotionalDisplayPrice());
+            Assert.assertEquals(row.deriveUnitOfMeasure(), expected.deriveUnitOfMeasure());
+            Assert.assertEquals(row.calculateTaxRate(), expected.calculateTaxRate());
+            Assert.assertEquals(row.toRecord(), expected);
+        }
+
+        Assert.assertEquals(store.stream().count(), (long)records.size());
+        Assert.assertEquals(store.iterator().next(), store.get(0));
+    }
+
+    private static PrimitiveProductRecordImpl record(final int i) {
+        final boolean isSplit = i % 3 == 0;
+
+        return new PrimitiveProductRecordImpl(FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING)
+                .setProductIdAsLong(80_000_000L + i)
+                .setProductDescription("Product " + i)
+                .setRegularSingularPriceInCents(isSplit ? 0L : 100L + i, CURRENCY)
+                .setRegularSplitPriceInCents(isSplit ? 1000L + i : 0L, CURRENCY)
+                .setRegularForXAsInt(isSplit ? 2 + i % 5 : 0)
+                .setPromotionalSingularPriceInCents(i % 2 == 0 ? 0L : 50L + i, CURRENCY)
+                .setPromotionalSplitPriceInCents(0L, CURRENCY)
+                .setPromotionalForXAsInt(0)
+                .setFlags(ProductRecordFlags.valueOf(i % 512))
+                .setProductSize(i % 4 == 0 ? null : i + "oz");
+    }
+}
@@ -0,0 +1,240 @@
+package com.useswiftly.ingestion.product;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.useswiftly.ingestion.product.app.ProductRecordIngestorModule;
+import com.useswiftly.ingestion.product.functions.DisplayPriceCache;
+import org.javamoney.moneta.FastMoney;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.money.MonetaryAmount;
+import java.math.BigInteger;
+
+import static com.useswiftly.ingestion.product.TestRecordContexts.CURRENCY;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FIXED_POINT_ROUNDING;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FORMAT;
+import static com.useswiftly.ingestion.product.TestRecordContexts.ROUNDING;
+
+@Test
+public class PrimitiveProductRecordImplTest {
+    public void cachedPricesMatchComputedPrices() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+        final ProductRecordContext cachedContext = new ProductRecordContext(null, FORMAT,
+                FIXED_POINT_ROUNDING, cache);
+
+        for (int i = 0; i < 2; i++) {
+            for (long cents = -500L; cents < 5_000L; cents += 7L) {
+                final int forX = (int)(cents % 4L);
+                final PrimitiveProductRecordImpl cached = new PrimitiveProductRecordImpl(cachedContext)
+                        .setRegularForXAsInt(forX)
+                        .setRegularSplitPrice(FastMoney.of(cents, CURRENCY).divide(100))
+                        .setRegularSingularPrice(FastMoney.zero(CURRENCY));
+                final PrimitiveProductRecordImpl computed = new PrimitiveProductRecordImpl(null, FORMAT,
+                        FIXED_POINT_ROUNDING)
+                        .setRegularForXAsInt(forX)
+                        .setRegularSplitPrice(FastMoney.of(cents, CURRENCY).divide(100))
+                        .setRegularSingularPrice(FastMoney.zero(CURRENCY));
+
+                Assert.assertEquals(cached.regularDisplayPrice(), computed.regularDisplayPrice());
+                Assert.assertEquals(cached.calculateRegularCalculatorPrice(),
+                        computed.calculateRegularCalculatorPrice());
+            }
+        }
+
+        Assert.assertTrue(cache.getHitCount() > 0L);
+    }
+
+    public void repeatedPricesAreReadFromCache() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+        final ProductRecordContext context = new ProductRecordContext(null, FORMAT,
+                FIXED_POINT_ROUNDING, cache);
+
+        for (int i = 0; i < 3; i++) {
+            final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(context)
+                    .setRegularForXAsInt(2)
+                    .setRegularSplitPrice(FastMoney.of(10.99, CURRENCY))
+                    .setRegularSingularPrice(FastMoney.zero(CURRENCY));
+
+            Assert.assertEquals(record.regularDisplayPrice(), "2 for $10.99");
+            Assert.assertEquals(record.calculateRegularCalculatorPrice(), FastMoney.of(5.495, CURRENCY));
+        }
+
+        Assert.assertEquals(cache.getMissCount(), 2L);
+        Assert.assertEquals(cache.getHitCount(), 4L);
+    }
+
+    public void unsetPrimitivesHaveNullViews() {
+        final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING);
+
+        Assert.assertNull(record.getProductId());
+        Assert.assertNull(record.getRegularForX());
+        Assert.assertNull(record.getPromotionalForX());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void unsetProductIdCantBeReadAsLong() {
+        new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING).getProductIdAsLong();
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void unsetForXCantBeReadAsInt() {
+        new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING).getRegularForXAsInt();
+    }
+
+    public void primitiveValuesHaveBigIntegerViews() {
+        final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setProductIdAsLong(80000001L)
+                .setRegularForXAsInt(2)
+                .setPromotionalForXAsInt(3);
+
+        Assert.assertEquals(record.getProductId(), BigInteger.valueOf(80000001L));
+        Assert.assertEquals(record.getRegularForX(), BigInteger.valueOf(2L));
+        Assert.assertEquals(record.getPromotionalForX(), BigInteger.valueOf(3L));
+
+        // Views are created once and reused
+        Assert.assertSame(record.getProductId(), record.getProductId());
+    }
+
+    public void bigIntegerValuesCanBeReadAsPrimitives() {
+        final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setProductId(BigInteger.valueOf(14963801L))
+                .setRegularForX(BigInteger.valueOf(4L))
+                .setPromotionalForX(BigInteger.ZERO);
+
+        Assert.assertEquals(record.getProductIdAsLong(), 14963801L);
+        Assert.assertEquals(record.getRegularForXAsInt(), 4);
+        Assert.assertEquals(record.getPromotionalForXAsInt(), 0);
+    }
+
+    public void settingPrimitiveReplacesView() {
+        final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setProductId(BigInteger.ONE);
+        record.setProductIdAsLong(2L);
+
+        Assert.assertEquals(record.getProductId(), BigInteger.TWO);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void wontAcceptForXLargerThanInt() {
+        new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setRegularForX(BigInteger.valueOf(Integer.MAX_VALUE).add(BigInteger.ONE));
+    }
+
+    public void recordsWithSameValuesAreEqual() {
+        final ProductRecord bigIntegerRecord = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setProductId(BigInteger.TEN)
+                .setRegularForX(BigInteger.TWO);
+        final ProductRecord primitiveRecord = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setProductIdAsLong(10L)
+                .setRegularForXAsInt(2);
+
+        Assert.assertEquals(primitiveRecord, bigIntegerRecord);
+        Assert.assertEquals(primitiveRecord.hashCode(), bigIntegerRecord.hashCode());
+    }
+
+    public void displayPriceMatchesProductRecordImpl() {
+        final MonetaryAmount[][] prices = {
+                { FastMoney.of(345.49, CURRENCY), FastMoney.zero(CURRENCY) },
+                { FastMoney.zero(CURRENCY), FastMoney.of(10.99, CURRENCY) },
+                { FastMoney.zero(CURRENCY), FastMoney.zero(CURRENCY) },
+                { FastMoney.of(13312.12945, CURRENCY), FastMoney.zero(CURRENCY) },
+                { FastMoney.zero(CURRENCY), FastMoney.of(-12.00, CURRENCY) }
+        };
+        final int[] forXs = { 0, 1, 2, 3, 7 };
+
+        for (MonetaryAmount[] price : prices) {
+            for (int forX : forXs) {
+                final ProductRecordImpl expected = new ProductRecordImpl(null, FORMAT, ROUNDING)
+                        .setRegularSingularPrice(price[0])
+                        .setRegularSplitPrice(price[1])
+                        .setRegularForX(BigInteger.valueOf(forX));
+                final PrimitiveProductRecordImpl actual = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                        .setRegularSingularPrice(price[0])
+                        .setRegularSplitPrice(price[1])
+                        .setRegularForXAsInt(forX);
+
+                Assert.assertEquals(actual.regularDisplayPrice(), expected.regularDisplayPrice());
+                Assert.assertEquals(actual.calculateRegularCalculatorPrice(),
+                        expected.calculateRegularCalculatorPrice());
+            }
+        }
+    }
+
+    public void regularDisplayPriceForSplitPriceFormatsCorrectly() {
+        final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setRegularForXAsInt(2)
+                .setRegularSplitPrice(FastMoney.of(10.99, CURRENCY))
+                .setRegularSingularPrice(FastMoney.zero(CURRENCY));
+        final String expected = "2 for $10.99";
+        final String actual = record.regularDisplayPrice();
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void regularCalculatorPriceForSplitPriceIsRoundedCorrectly() {
+        final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setRegularForXAsInt(3)
+                .setRegularSplitPrice(FastMoney.of(10.00, CURRENCY))
+                .setRegularSingularPrice(FastMoney.zero(CURRENCY));
+        final MonetaryAmount expected = FastMoney.of(3.3333, CURRENCY);
+        final MonetaryAmount actual = record.calculateRegularCalculatorPrice();
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void promotionalDisplayPriceWithoutForXFormatsCorrectly() {
+        final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setPromotionalSplitPrice(FastMoney.zero(CURRENCY))
+                .setPromotionalSingularPrice(FastMoney.of(5.49, CURRENCY));
+        final String expected = "$5.49";
+        final String actual = record.promotionalDisplayPrice();
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void centsAreMaterializedAsFastMoney() {
+        final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(null, FORMAT, FIXED_POINT_ROUNDING)
+                .setRegularSingularPriceInCents(567L, CURRENCY)
+                .setRegularSplitPriceInCents(0L, CURRENCY)
+                .setPromotionalSingularPriceInCents(0L, CURRENCY)
+                .setPromotionalSplitPriceInCents(1300L, CURRENCY)
+                .setPromotionalForXAsInt(3);
+
+        Assert.assertEquals(record.getRegularSingularPrice(), FastMoney.of(5.67, CURRENCY));
+        Assert.assertEquals(record.getRegularSplitPrice(), FastMoney.zero(CURRENCY));
+        Assert.assertEquals(record.regularDisplayPrice(), "$5.67");
+        Assert.assertEquals(record.promotionalDisplayPrice(), "3 for $13.00");
+        Assert.assertEquals(record.calculatePromotionalCalculatorPrice(), FastMoney.of(4.3333, CURRENCY));
+    }
+
+    public void factoryRecordsShareContext() {
+        final Injector injector = Guice.createInjector(new ProductRecordIngestorModule());
+        final ProductRecordFactory factory = injector.getInstance(ProductRecordFactory.class);
+        final ProductRecordContext context = injector.getInstance(ProductRecordContext.class);
+        final PrimitiveProductRecordImpl first = (PrimitiveProductRecordImpl)factory.newRecord();
+        final PrimitiveProductRecordImpl second = (PrimitiveProductRecordImpl)factory.newRecord();
+
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first.getFlagRules(), context.getFlagRules());
+        Assert.assertSame(second.getDisplayPriceFormat(), context.getDisplayPriceFormat());
+        Assert.assertSame(injector.getInstance(ProductRecordFactory.class), factory);
+
+        first.setProductIdAsLong(1L)
+                .setRegularSingularPriceInCents(349L, CURRENCY)
+                .setRegularSplitPriceInCents(0L, CURRENCY)
+                .setRegularForXAsInt(0)
+                .setFlags(ProductRecordFlags.valueOf(0b100));
+
+        final ProductRecord injected = injector.getInstance(ProductRecord.class)
+                .setProductIdAsLong(1L)
+                .setRegularSingularPriceInCents(349L, CURRENCY)
+                .setRegularSplitPriceInCents(0L, CURRENCY)
+                .setRegularForXAsInt(0)
+                .setFlags(ProductRecordFlags.valueOf(0b100));
+
+        Assert.assertEquals(first, injected);
+        Assert.assertEquals(first.regularDisplayPrice(), injected.regularDisplayPrice());
+        Assert.assertEquals(first.deriveUnitOfMeasure(), injected.deriveUnitOfMeasure());
+    }
+}
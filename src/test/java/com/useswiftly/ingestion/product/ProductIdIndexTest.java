@@ -0,0 +1,171 @@
+package com.useswiftly.ingestion.product;
+
+import com.google.inject.Guice;
+import com.useswiftly.ingestion.product.app.ProductRecordIngestorModule;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static com.useswiftly.ingestion.product.TestRecordContexts.CURRENCY;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FIXED_POINT_ROUNDING;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FLAG_RULES;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FORMAT;
+
+@Test
+public class ProductIdIndexTest {
+    public void canLookUpRowsOfTable() {
+        final ProductRecordTable table = new ProductRecordTable.Builder(
+                FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING, CURRENCY)
+                .addAll(IntStream.range(0, 10_000).mapToObj(ProductIdIndexTest::record))
+                .build();
+        final ProductIdIndex index = ProductIdIndex.of(table);
+
+        Assert.assertEquals(index.size(), table.size());
+
+        for (int row = 0; row < table.size(); row++) {
+            Assert.assertEquals(index.get(table.get(row).getProductIdAsLong()), row);
+        }
+
+        Assert.assertEquals(index.get(1L), ProductIdIndex.NOT_FOUND);
+        Assert.assertFalse(index.contains(Long.MIN_VALUE));
+    }
+
+    public void canLookUpRowsOfOffHeapStore() throws IOException {
+        final OffHeapProductRecordStore.Factory factory = new OffHeapProductRecordStore.Factory(
+                FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING, CURRENCY);
+
+        try (OffHeapProductRecordStore store = factory.allocateDirect(100)) {
+            store.appendAll(IntStream.range(0, 100).mapToObj(ProductIdIndexTest::record));
+            store.append(new PrimitiveProductRecordImpl(FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING));
+            final ProductIdIndex index = ProductIdIndex.of(store);
+
+            Assert.assertEquals(index.size(), 100);
+            Assert.assertEquals(index.get(80_000_042L), 42);
+        }
+    }
+
+    public void canIndexDataFileWhileParsing() throws IOException {
+        final List<Long> productIds = LongStream.range(0, 5_000)
+                .map(i -> 10_000_000L + (i * 7_919L) % 5_000L)
+                .boxed()
+                .collect(Collectors.toList());
+        // The last line repeats the product ID of the first line
+        productIds.add(productIds.get(0));
+        final String data = productIds.stream()
+                .map(productId -> String.format("%08d Product %-51d 00000100 00000000 00000000 " +
+                        "00000000 00000000 00000000 NNNNYNNNN      18oz", productId, productId))
+                .collect(Collectors.joining("\n"));
+        final Path file = Files.createTempFile("product-id-index", ".txt");
+
+        try {
+            Files.write(file, data.getBytes(StandardCharsets.US_ASCII));
+            final ProductRecordFileParser parser = Guice.createInjector(new ProductRecordIngestorModule())
+                    .getInstance(ProductRecordFileParser.class);
+            final ProductIdIndex index = parser.indexProductIds(file);
+
+            Assert.assertEquals(index.size(), 5_000);
+            Assert.assertEquals(index.get(productIds.get(0)), 0);
+
+            for (int row = 0; row < 5_000; row++) {
+                Assert.assertEquals(index.get(productIds.get(row)), row);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void lowestRowOfDuplicateProductIdIsIndexed() {
+        final ProductIdIndex index = new ProductIdIndex.Builder(4)
+                .put(7L, 3)
+                .put(7L, 1)
+                .put(7L, 2)
+                .build();
+
+        Assert.assertEquals(index.size(), 1);
+        Assert.assertEquals(index.get(7L), 1);
+    }
+
+    public void bulkLookupMatchesSingleLookups() {
+        final Random random = new Random(17L);
+        final long[] productIds = random.longs(5_000, 0L, 99_999_999L).toArray();
+        final ProductIdIndex.Builder builder = new ProductIdIndex.Builder(productIds.length);
+
+        for (int i = 0; i < productIds.length; i++) {
+            builder.put(productIds[i], i);
+        }
+
+        final ProductIdIndex index = builder.build();
+        final long[] lookups = random.longs(10_000, 0L, 99_999_999L).toArray();
+        System.arraycopy(productIds, 0, lookups, 0, productIds.length);
+        final int[] rows = index.getAll(lookups);
+
+        for (int i = 0; i < lookups.length; i++) {
+            Assert.assertEquals(rows[i], index.get(lookups[i]));
+        }
+
+        Assert.assertEquals(rows[productIds.length - 1], index.get(productIds[productIds.length - 1]));
+        Assert.assertNotEquals(rows[0], ProductIdIndex.NOT_FOUND);
+    }
+
+    public void parallelPutsMatchSequentialPuts() {
+        final int count = 200_000;
+        final ProductIdIndex.Builder builder = new ProductIdIndex.Builder(count);
+        IntStream.range(0, count).parallel().forEach(i -> builder.put(i % (count / 2), i));
+        final ProductIdIndex index = builder.build();
+
+        Assert.assertEquals(index.size(), count / 2);
+
+        for (int i = 0; i < count / 2; i++) {
+            Assert.assertEquals(index.get(i), i);
+        }
+    }
+
+    public void negativeProductIdsAreIndexed() {
+        final ProductIdIndex index = new ProductIdIndex.Builder(1).put(-5L, 0).build();
+
+        Assert.assertEquals(index.get(-5L), 0);
+        Assert.assertEquals(index.get(5L), ProductIdIndex.NOT_FOUND);
+    }
+
+    public void emptyIndexFindsNothing() {
+        final ProductIdIndex index = new ProductIdIndex.Builder(0).build();
+
+        Assert.assertEquals(index.size(), 0);
+        Assert.assertEquals(index.get(0L), ProductIdIndex.NOT_FOUND);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void wontAddMoreProductIdsThanCapacity() {
+        final ProductIdIndex.Builder builder = new ProductIdIndex.Builder(4);
+
+        for (int i = 0; i <= builder.build().getCapacity(); i++) {
+            builder.put(i, i);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontAddUnsetProductId() {
+        new ProductIdIndex.Builder(1).put(Long.MIN_VALUE, 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontLookUpIntoArrayOfDifferentLength() {
+        new ProductIdIndex.Builder(1).build().getAll(new long[2], new int[1]);
+    }
+
+    private static PrimitiveProductRecordImpl record(final int i) {
+        return new PrimitiveProductRecordImpl(FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING)
+                .setProductIdAsLong(80_000_000L + i)
+                .setProductDescription("Product " + i)
+                .setRegularSingularPriceInCents(100L + i, CURRENCY);
+    }
+}
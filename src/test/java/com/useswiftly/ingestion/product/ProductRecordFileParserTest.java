@@ -0,0 +1,61 @@
+package com.useswiftly.ingestion.product;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.useswiftly.ingestion.product.app.ProductRecordIngestorModule;
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.RecordLayout;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.inject.Provider;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Test
+public class ProductRecordFileParserTest {
+    private static final String LINES =
+            "80000001 Kimchi-flavored white rice                                  00000567 00000000 00000000 00000000 00000000 00000000 NNNNNNNNN      18oz\n" +
+            "14963801 Generic Soda 12-pack                                        00000000 00000549 00001300 00000000 00000002 00000000 NNNNYNNNN   12x12oz\n";
+
+    private final Injector injector = Guice.createInjector(new ProductRecordIngestorModule());
+
+    public void projectedParserIsCreatedOnce() throws IOException {
+        final AtomicInteger created = new AtomicInteger();
+        final Provider<ProductRecordParser> provider = () -> {
+            created.incrementAndGet();
+            return injector.getInstance(ProductRecordParser.class);
+        };
+        final ProductRecordFileParser parser = new ProductRecordFileParser(provider,
+                injector.getProvider(LazyProductRecordParser.class),
+                injector.getInstance(Charset.class), injector.getInstance(FlagRuleTable.class))
+                .project(Set.of("Product ID"));
+        final Path file = Files.createTempFile("product-record-file-parser", ".txt");
+
+        try {
+            Files.write(file, LINES.getBytes(StandardCharsets.US_ASCII));
+
+            for (int i = 0; i < 3; i++) {
+                try (Stream<ProductRecord> records = parser.parse(file, RecordLayout.FIXED_WIDTH)) {
+                    final List<ProductRecord> parsed = records.collect(Collectors.toList());
+
+                    Assert.assertEquals(parsed.size(), 2);
+                    Assert.assertEquals(parsed.get(1).getProductIdAsLong(), 14963801L);
+                    Assert.assertNull(parsed.get(1).getProductDescription());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        Assert.assertEquals(created.get(), 1);
+    }
+}
@@ -1,32 +1,30 @@
 package com.useswiftly.ingestion.product;
 
+import com.useswiftly.ingestion.product.functions.DisplayPriceCache;
 import com.useswiftly.ingestion.records.RecordFormattable;
 import org.javamoney.moneta.FastMoney;
-import org.javamoney.moneta.format.CurrencyStyle;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 import javax.money.MonetaryAmount;
-import javax.money.format.AmountFormatQueryBuilder;
-import javax.money.format.MonetaryAmountFormat;
-import javax.money.format.MonetaryFormats;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Locale;
+import java.util.Random;
 
+import static com.useswiftly.ingestion.product.TestRecordContexts.CURRENCY;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FIXED_POINT_ROUNDING;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FLAG_RULES;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FORMAT;
+import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @Test
 public class ProductRecordFormatterTest {
-    private static final Locale LOCALE = Locale.US;
-    private static final MonetaryAmountFormat MONETARY_AMOUNT_FORMAT =
-            MonetaryFormats.getAmountFormat(
-            AmountFormatQueryBuilder.of(LOCALE).set(CurrencyStyle.SYMBOL)
-                    .build());
     private static final RecordFormattable<ProductRecord> FORMATTER =
-            new ProductRecordFormatter(MONETARY_AMOUNT_FORMAT);
+            new ProductRecordFormatter(FORMAT);
 
     public void canFormatFullProductRecord() {
         final BigInteger productId = new BigInteger("12345678");
@@ -81,6 +79,87 @@ public class ProductRecordFormatterTest {
         Assert.assertEquals(actual, expected);
     }
 
+    public void cachedPricesMatchFormattedPrices() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+        final RecordFormattable<ProductRecord> cachingFormatter =
+                new ProductRecordFormatter(FORMAT, cache);
+        final ProductRecord record = mock(ProductRecord.class);
+        when(record.getProductId()).thenReturn(BigInteger.TEN);
+        when(record.calculateRegularCalculatorPrice()).thenReturn(amount(-10000.24));
+        when(record.calculatePromotionalCalculatorPrice()).thenReturn(amount(5.5));
+
+        Assert.assertEquals(cachingFormatter.format(record), FORMATTER.format(record));
+        Assert.assertEquals(cachingFormatter.format(record), FORMATTER.format(record));
+        Assert.assertEquals(cache.getMissCount(), 2L);
+        Assert.assertEquals(cache.getHitCount(), 2L);
+    }
+
+    public void formatToAppendsToExistingContents() {
+        final ProductRecord record = mock(ProductRecord.class);
+        when(record.getProductId()).thenReturn(BigInteger.ONE);
+
+        final StringBuilder out = new StringBuilder("> ");
+        FORMATTER.formatTo(record, out);
+
+        Assert.assertEquals(out.toString(), "> " + FORMATTER.format(record));
+    }
+
+    public void canFormatUnpopulatedPrimitiveRecord() {
+        final ProductRecord record = new PrimitiveProductRecordImpl(null,
+                FORMAT, FIXED_POINT_ROUNDING);
+
+        final String actual = FORMATTER.format(record);
+        final String expected = "[productId=null, productDescription='null', regularDisplayPrice=unknown, regularCalculatorPrice=null, promotionalDisplayPrice=unknown, promotionalCalculatorPrice=null, unitOfMeasure=null, productSize='n/a', taxRate=null]";
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void primitiveRecordOutputMatchesGenericOutput() {
+        final Random random = new Random(7L);
+
+        for (int i = 0; i < 2_000; i++) {
+            final PrimitiveProductRecordImpl record = randomRecord(random);
+            // A delegating mock isn't a PrimitiveProductRecordImpl, so it is formatted generically
+            final ProductRecord generic = mock(ProductRecord.class, delegatesTo(record));
+
+            Assert.assertEquals(FORMATTER.format(record), FORMATTER.format(generic));
+        }
+    }
+
+    public void primitiveRecordWithOtherCurrencyMatchesGenericOutput() {
+        final CurrencyUnit euro = Monetary.getCurrency("EUR");
+        final PrimitiveProductRecordImpl record = new PrimitiveProductRecordImpl(FLAG_RULES,
+                FORMAT, FIXED_POINT_ROUNDING)
+                .setProductIdAsLong(42L)
+                .setRegularSingularPriceInCents(0L, euro)
+                .setRegularSplitPriceInCents(1000L, euro)
+                .setRegularForXAsInt(3)
+                .setPromotionalSingularPriceInCents(250L, euro)
+                .setPromotionalSplitPriceInCents(0L, euro)
+                .setPromotionalForXAsInt(0)
+                .setFlags(new ProductRecordFlags());
+        final ProductRecord generic = mock(ProductRecord.class, delegatesTo(record));
+
+        Assert.assertEquals(FORMATTER.format(record), FORMATTER.format(generic));
+    }
+
+    private static PrimitiveProductRecordImpl randomRecord(final Random random) {
+        final boolean isSplit = random.nextBoolean();
+        final long price = random.nextInt(100_000_000) * (random.nextInt(10) == 0 ? -1L : 1L);
+        final long promotionalPrice = random.nextInt(4) == 0 ? 0L : random.nextInt(100_000);
+
+        return new PrimitiveProductRecordImpl(FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING)
+                .setProductIdAsLong(random.nextInt(100_000_000))
+                .setProductDescription("Product " + random.nextInt())
+                .setRegularSingularPriceInCents(isSplit ? 0L : price, CURRENCY)
+                .setRegularSplitPriceInCents(isSplit ? price : 0L, CURRENCY)
+                .setRegularForXAsInt(isSplit ? 1 + random.nextInt(12) : 0)
+                .setPromotionalSingularPriceInCents(0L, CURRENCY)
+                .setPromotionalSplitPriceInCents(promotionalPrice, CURRENCY)
+                .setPromotionalForXAsInt(random.nextInt(3))
+                .setFlags(ProductRecordFlags.valueOf(random.nextInt(512)))
+                .setProductSize(random.nextBoolean() ? "18oz" : null);
+    }
+
     private static MonetaryAmount amount(final Number amount) {
         return Monetary.getAmountFactory(FastMoney.class)
                 .setCurrency(Monetary.getCurrency("USD"))
@@ -20,4 +20,48 @@ public class ProductRecordImplFlagsTest {
         Assert.assertTrue(flags.isPerWeightItem(),
                 "Per weight item flag wasn't set properly");
     }
+
+    public void canonicalInstancesAreShared() {
+        Assert.assertSame(ProductRecordFlags.valueOf(0b10100),
+                ProductRecordFlags.valueOf(0b10100));
+        Assert.assertTrue(ProductRecordFlags.valueOf(0b10100).isImmutable());
+    }
+
+    public void canonicalInstanceEqualsMutableInstance() {
+        final ProductRecordFlags flags = new ProductRecordFlags()
+                .setPerWeightItem(true)
+                .setTaxableItem(true);
+
+        Assert.assertFalse(flags.isImmutable());
+        Assert.assertEquals(ProductRecordFlags.valueOf(0b10100), flags);
+        Assert.assertSame(flags.toImmutable(), ProductRecordFlags.valueOf(0b10100));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void cantSetFlagOnCanonicalInstance() {
+        ProductRecordFlags.valueOf(0).setTaxableItem(true);
+    }
+
+    public void canCopyOnWrite() {
+        final ProductRecordFlags flags = ProductRecordFlags.valueOf(0);
+        final ProductRecordFlags taxable = flags.withFlagAtPosition(4, true);
+
+        Assert.assertFalse(flags.isTaxableItem());
+        Assert.assertTrue(taxable.isTaxableItem());
+        Assert.assertSame(taxable, ProductRecordFlags.valueOf(0b10000));
+    }
+
+    public void canMakeMutableCopy() {
+        final ProductRecordFlags flags = ProductRecordFlags.valueOf(0b10000);
+        final ProductRecordFlags copy = flags.mutableCopy().setPerWeightItem(true);
+
+        Assert.assertFalse(flags.isPerWeightItem());
+        Assert.assertTrue(copy.isPerWeightItem());
+        Assert.assertTrue(copy.isTaxableItem());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void cantGetCanonicalInstanceForMaskOutOfRange() {
+        ProductRecordFlags.valueOf(1 << ProductRecordFlags.FLAG_COUNT);
+    }
 }
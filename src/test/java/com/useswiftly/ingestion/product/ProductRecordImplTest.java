@@ -1,5 +1,6 @@
 package com.useswiftly.ingestion.product;
 
+import com.useswiftly.ingestion.product.functions.DisplayPriceCache;
 import org.javamoney.moneta.FastMoney;
 import org.javamoney.moneta.format.CurrencyStyle;
 import org.testng.Assert;
@@ -16,6 +17,9 @@ import javax.money.format.MonetaryFormats;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Test
 public class ProductRecordImplTest {
@@ -27,10 +31,115 @@ public class ProductRecordImplTest {
                     .setScale(4)
                     .set(RoundingMode.HALF_DOWN).build());
 
+    public void cachedPricesMatchComputedPrices() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+
+        for (int i = 0; i < 2; i++) {
+            for (long cents = -500L; cents < 5_000L; cents += 7L) {
+                final int forX = (int)(cents % 4L);
+                final ProductRecordImpl cached = new ProductRecordImpl(null, FORMAT, ROUNDING, cache)
+                        .setRegularForX(BigInteger.valueOf(forX))
+                        .setRegularSplitPrice(FastMoney.of(cents, CURRENCY).divide(100))
+                        .setRegularSingularPrice(FastMoney.zero(CURRENCY));
+                final ProductRecordImpl computed = new ProductRecordImpl(null, FORMAT, ROUNDING)
+                        .setRegularForX(BigInteger.valueOf(forX))
+                        .setRegularSplitPrice(FastMoney.of(cents, CURRENCY).divide(100))
+                        .setRegularSingularPrice(FastMoney.zero(CURRENCY));
+
+                Assert.assertEquals(cached.regularDisplayPrice(), computed.regularDisplayPrice());
+                Assert.assertEquals(cached.calculateRegularCalculatorPrice(),
+                        computed.calculateRegularCalculatorPrice());
+            }
+        }
+
+        Assert.assertTrue(cache.getHitCount() > 0L);
+    }
+
+    public void repeatedPricesAreReadFromCache() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+
+        for (int i = 0; i < 3; i++) {
+            final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING, cache)
+                    .setRegularForX(BigInteger.valueOf(2L))
+                    .setRegularSplitPrice(FastMoney.of(10.99, CURRENCY))
+                    .setRegularSingularPrice(FastMoney.zero(CURRENCY));
+
+            Assert.assertEquals(record.regularDisplayPrice(), "2 for $10.99");
+            Assert.assertEquals(record.calculateRegularCalculatorPrice(), FastMoney.of(5.495, CURRENCY));
+        }
+
+        Assert.assertEquals(cache.getMissCount(), 2L);
+        Assert.assertEquals(cache.getHitCount(), 4L);
+    }
+
+    public void derivedPricesAreMemoized() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING, cache)
+                .setRegularForX(BigInteger.valueOf(2L))
+                .setRegularSplitPrice(FastMoney.of(10.99, CURRENCY))
+                .setRegularSingularPrice(FastMoney.zero(CURRENCY))
+                .setPromotionalForX(BigInteger.ZERO)
+                .setPromotionalSplitPrice(FastMoney.zero(CURRENCY))
+                .setPromotionalSingularPrice(FastMoney.of(4.99, CURRENCY));
+
+        final String displayPrice = record.regularDisplayPrice();
+        final MonetaryAmount calculatorPrice = record.calculateRegularCalculatorPrice();
+        record.toString();
+
+        Assert.assertSame(record.regularDisplayPrice(), displayPrice);
+        Assert.assertSame(record.calculateRegularCalculatorPrice(), calculatorPrice);
+        Assert.assertEquals(record.promotionalDisplayPrice(), "$4.99");
+        // Each price is only looked up once
+        Assert.assertEquals(cache.getMissCount() + cache.getHitCount(), 4L);
+    }
+
+    public void settersInvalidateMemoizedPrices() {
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
+                .setRegularForX(BigInteger.valueOf(2L))
+                .setRegularSplitPrice(FastMoney.of(10.99, CURRENCY))
+                .setRegularSingularPrice(FastMoney.zero(CURRENCY))
+                .setPromotionalForX(BigInteger.ZERO)
+                .setPromotionalSplitPrice(FastMoney.zero(CURRENCY))
+                .setPromotionalSingularPrice(FastMoney.of(4.99, CURRENCY));
+
+        Assert.assertEquals(record.regularDisplayPrice(), "2 for $10.99");
+        Assert.assertEquals(record.promotionalDisplayPrice(), "$4.99");
+
+        record.setRegularForX(BigInteger.valueOf(3L));
+        Assert.assertEquals(record.regularDisplayPrice(), "3 for $10.99");
+        Assert.assertEquals(record.calculateRegularCalculatorPrice(), FastMoney.of(3.6633, CURRENCY));
+
+        record.setRegularSplitPriceInCents(1200L, CURRENCY);
+        Assert.assertEquals(record.regularDisplayPrice(), "3 for $12.00");
+        Assert.assertEquals(record.calculateRegularCalculatorPrice(), FastMoney.of(4, CURRENCY));
+
+        record.setPromotionalSingularPrice(FastMoney.of(3.99, CURRENCY));
+        Assert.assertEquals(record.promotionalDisplayPrice(), "$3.99");
+        Assert.assertEquals(record.calculatePromotionalCalculatorPrice(), FastMoney.of(3.99, CURRENCY));
+        Assert.assertEquals(record.regularDisplayPrice(), "3 for $12.00");
+    }
+
+    public void memoizedPricesAreConsistentAcrossThreads() {
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
+                .setRegularForX(BigInteger.valueOf(3L))
+                .setRegularSplitPrice(FastMoney.of(10.00, CURRENCY))
+                .setRegularSingularPrice(FastMoney.zero(CURRENCY));
+
+        final Set<String> displayPrices = IntStream.range(0, 10_000).parallel()
+                .mapToObj(i -> record.regularDisplayPrice())
+                .collect(Collectors.toSet());
+        final Set<MonetaryAmount> calculatorPrices = IntStream.range(0, 10_000).parallel()
+                .mapToObj(i -> record.calculateRegularCalculatorPrice())
+                .collect(Collectors.toSet());
+
+        Assert.assertEquals(displayPrices, Set.of("3 for $10.00"));
+        Assert.assertEquals(calculatorPrices, Set.of(FastMoney.of(3.3333, CURRENCY)));
+    }
+
     // Regular price tests
 
     public void regularDisplayPriceForSingularPositivePriceFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setRegularSplitPrice(FastMoney.zero(CURRENCY))
                 .setRegularSingularPrice(FastMoney.of(345.49, CURRENCY));
         final String expected = "$345.49";
@@ -40,7 +149,7 @@ public class ProductRecordImplTest {
     }
 
     public void regularDisplayPriceForSingularNegativePriceFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setRegularSplitPrice(FastMoney.zero(CURRENCY))
                 .setRegularSingularPrice(FastMoney.of(-12.00, CURRENCY));
         final String expected = "$-12.00";
@@ -50,7 +159,7 @@ public class ProductRecordImplTest {
     }
 
     public void regularDisplayPriceForSingularPriceWith5DecimalsFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setRegularSplitPrice(FastMoney.zero(CURRENCY))
                 .setRegularSingularPrice(FastMoney.of(13312.12945, CURRENCY));
         final String expected = "$13,312.13";
@@ -60,7 +169,7 @@ public class ProductRecordImplTest {
     }
 
     public void regularDisplayPriceForPositiveSplitPriceFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setRegularForX(BigInteger.valueOf(2L))
                 .setRegularSplitPrice(FastMoney.of(10.99, CURRENCY))
                 .setRegularSingularPrice(FastMoney.zero(CURRENCY));
@@ -71,7 +180,7 @@ public class ProductRecordImplTest {
     }
 
     public void regularDisplayPriceForNegativeSplitPriceFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setRegularForX(BigInteger.valueOf(2L))
                 .setRegularSplitPrice(FastMoney.of(-12230.99, CURRENCY))
                 .setRegularSingularPrice(FastMoney.zero(CURRENCY));
@@ -83,7 +192,7 @@ public class ProductRecordImplTest {
 
     public void canCalculateRegularCalculatorPriceForSingularPriceWithNoRoundingNeeded() {
         final MonetaryAmount expected = FastMoney.of(345.49, CURRENCY);
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setRegularSplitPrice(FastMoney.zero(CURRENCY))
                 .setRegularSingularPrice(expected);
         final MonetaryAmount actual = record.calculateRegularCalculatorPrice();
@@ -92,7 +201,7 @@ public class ProductRecordImplTest {
     }
 
     public void canCalculateRegularCalculatorPriceForSingularPriceWithRoundingNeeded() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setRegularSplitPrice(FastMoney.zero(CURRENCY))
                 .setRegularSingularPrice(FastMoney.of(345.42949, CURRENCY));
         final MonetaryAmount actual = record.calculateRegularCalculatorPrice();
@@ -102,7 +211,7 @@ public class ProductRecordImplTest {
     }
 
     public void canCalculateRegularCalculatorPriceForSplitPriceWithNoRoundingNeeded() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setRegularForX(BigInteger.valueOf(3))
                 .setRegularSplitPrice(FastMoney.of(9, CURRENCY))
                 .setRegularSingularPrice(FastMoney.zero(CURRENCY));
@@ -113,7 +222,7 @@ public class ProductRecordImplTest {
     }
 
     public void canCalculateRegularCalculatorPriceForSplitPriceWithRoundingNeeded() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setRegularForX(BigInteger.valueOf(3))
                 .setRegularSplitPrice(FastMoney.of(10, CURRENCY))
                 .setRegularSingularPrice(FastMoney.zero(CURRENCY));
@@ -126,7 +235,7 @@ public class ProductRecordImplTest {
     // Promotional price tests
 
     public void promotionalDisplayPriceForSingularPositivePriceFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setPromotionalSplitPrice(FastMoney.zero(CURRENCY))
                 .setPromotionalSingularPrice(FastMoney.of(345.49, CURRENCY));
         final String expected = "$345.49";
@@ -136,7 +245,7 @@ public class ProductRecordImplTest {
     }
 
     public void promotionalDisplayPriceForSingularNegativePriceFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setPromotionalSplitPrice(FastMoney.zero(CURRENCY))
                 .setPromotionalSingularPrice(FastMoney.of(-12.00, CURRENCY));
         final String expected = "$-12.00";
@@ -146,7 +255,7 @@ public class ProductRecordImplTest {
     }
 
     public void promotionalDisplayPriceForSingularPriceWith5DecimalsFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setPromotionalSplitPrice(FastMoney.zero(CURRENCY))
                 .setPromotionalSingularPrice(FastMoney.of(13312.12945, CURRENCY));
         final String expected = "$13,312.13";
@@ -156,7 +265,7 @@ public class ProductRecordImplTest {
     }
 
     public void promotionalDisplayPriceForPositiveSplitPriceFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setPromotionalForX(BigInteger.valueOf(2L))
                 .setPromotionalSplitPrice(FastMoney.of(10.99, CURRENCY))
                 .setPromotionalSingularPrice(FastMoney.zero(CURRENCY));
@@ -167,7 +276,7 @@ public class ProductRecordImplTest {
     }
 
     public void promotionalDisplayPriceForNegativeSplitPriceFormatsCorrectly() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setPromotionalForX(BigInteger.valueOf(2L))
                 .setPromotionalSplitPrice(FastMoney.of(-12230.99, CURRENCY))
                 .setPromotionalSingularPrice(FastMoney.zero(CURRENCY));
@@ -179,7 +288,7 @@ public class ProductRecordImplTest {
 
     public void canCalculatePromotionalCalculatorPriceForSingularPriceWithNoRoundingNeeded() {
         final MonetaryAmount expected = FastMoney.of(345.49, CURRENCY);
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setPromotionalSplitPrice(FastMoney.zero(CURRENCY))
                 .setPromotionalSingularPrice(expected);
         final MonetaryAmount actual = record.calculatePromotionalCalculatorPrice();
@@ -188,7 +297,7 @@ public class ProductRecordImplTest {
     }
 
     public void canCalculatePromotionalCalculatorPriceForSingularPriceWithRoundingNeeded() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setPromotionalSplitPrice(FastMoney.zero(CURRENCY))
                 .setPromotionalSingularPrice(FastMoney.of(345.42949, CURRENCY));
         final MonetaryAmount actual = record.calculatePromotionalCalculatorPrice();
@@ -198,7 +307,7 @@ public class ProductRecordImplTest {
     }
 
     public void canCalculatePromotionalCalculatorPriceForSplitPriceWithNoRoundingNeeded() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setPromotionalForX(BigInteger.valueOf(3))
                 .setPromotionalSplitPrice(FastMoney.of(9, CURRENCY))
                 .setPromotionalSingularPrice(FastMoney.zero(CURRENCY));
@@ -209,7 +318,7 @@ public class ProductRecordImplTest {
     }
 
     public void canCalculatePromotionalCalculatorPriceForSplitPriceWithRoundingNeeded() {
-        final ProductRecordImpl record = new ProductRecordImpl(null, null, FORMAT, ROUNDING)
+        final ProductRecordImpl record = new ProductRecordImpl(null, FORMAT, ROUNDING)
                 .setPromotionalForX(BigInteger.valueOf(3))
                 .setPromotionalSplitPrice(FastMoney.of(10, CURRENCY))
                 .setPromotionalSingularPrice(FastMoney.zero(CURRENCY));
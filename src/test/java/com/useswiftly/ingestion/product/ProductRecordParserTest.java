@@ -0,0 +1,187 @@
+package com.useswiftly.ingestion.product;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import com.useswiftly.ingestion.product.app.ProductRecordIngestorModule;
+import com.useswiftly.ingestion.product.fields.ProductDescriptionField;
+import com.useswiftly.ingestion.product.fields.ProductSizeField;
+import com.useswiftly.ingestion.records.Field;
+import com.useswiftly.ingestion.records.RecordParseException;
+import com.useswiftly.ingestion.records.StringField;
+import com.useswiftly.ingestion.records.StringPool;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Verifies the compiled parser against the field list interpreter.
+ */
+@Test
+public class ProductRecordParserTest {
+    private static final List<String> LINES = List.of(
+            "80000001 Kimchi-flavored white rice                                  00000567 00000000 00000000 00000000 00000000 00000000 NNNNNNNNN      18oz",
+            "14963801 Generic Soda 12-pack                                        00000000 00000549 00001300 00000000 00000002 00000000 NNNNYNNNN   12x12oz",
+            "40123401 Marlboro Cigarettes                                         00001000 00000549 00000000 00000000 00000000 00000000 YNNNNNNNN          ",
+            "50133333 Fuji Apples (Organic)                                       00000349 00000000 00000000 00000000 00000000 00000000 NNYNNNNNN        lb",
+            "99999999 Negative prices                                             -0000100 -0000050 00000000 00000000 00000000 00000000 NNYNYNNNY        lb");
+
+    private static final List<String> BAD_LINES = List.of(
+            "8000000X Kimchi-flavored white rice                                  00000567 00000000 00000000 00000000 00000000 00000000 NNNNNNNNN      18oz",
+            "80000001 Kimchi-flavored white rice                                  00000567 00000000 00000000 00000000 00000000 00000000 NNNNNXNNN      18oz",
+            "80000001 Too short");
+
+    private final Injector injector = Guice.createInjector(new ProductRecordIngestorModule());
+
+    private ProductRecordParser interpreter() {
+        return new ProductRecordParser(fields(), injector.getProvider(ProductRecord.class),
+                injector.getInstance(Charset.class));
+    }
+
+    private ProductRecordParser compiled() {
+        return new ProductRecordParser(fields(), injector.getProvider(ProductRecord.class),
+                injector.getInstance(Charset.class), true);
+    }
+
+    private List<Field<?, ProductRecord>> fields() {
+        return injector.getInstance(Key.get(new TypeLiteral<List<Field<?, ProductRecord>>>() {}));
+    }
+
+    public void injectedParserIsCompiled() {
+        Assert.assertTrue(injector.getInstance(ProductRecordParser.class).isCompiled());
+        Assert.assertFalse(interpreter().isCompiled());
+    }
+
+    public void descriptionAndSizeFieldsHaveSeparatePools() {
+        final StringPool descriptionPool = injector.getInstance(
+                Key.get(StringPool.class, Names.named("ProductDescriptionPool")));
+        final StringPool productSizePool = injector.getInstance(
+                Key.get(StringPool.class, Names.named("ProductSizePool")));
+        Assert.assertNotSame(descriptionPool, productSizePool);
+
+        for (Field<?, ProductRecord> field : fields()) {
+            if (field instanceof ProductDescriptionField) {
+                Assert.assertSame(((StringField<?>)field).getPool(), descriptionPool);
+            } else if (field instanceof ProductSizeField) {
+                Assert.assertSame(((StringField<?>)field).getPool(), productSizePool);
+            }
+        }
+    }
+
+    public void compiledParserMatchesInterpreterForStrings() {
+        final ProductRecordParser interpreter = interpreter();
+        final ProductRecordParser compiled = compiled();
+
+        for (String line : LINES) {
+            Assert.assertEquals(compiled.apply(line), interpreter.apply(line), line);
+        }
+    }
+
+    public void compiledParserMatchesInterpreterForBytes() {
+        final ProductRecordParser interpreter = interpreter();
+        final ProductRecordParser compiled = compiled();
+
+        for (String line : LINES) {
+            final byte[] bytes = ("xx" + line + "\n").getBytes(StandardCharsets.US_ASCII);
+            final ByteBuffer source = ByteBuffer.wrap(bytes);
+            final int end = bytes.length - 1;
+
+            Assert.assertEquals(compiled.apply(source, 2, end),
+                    interpreter.apply(source, 2, end), line);
+        }
+    }
+
+    public void compiledParserRejectsSameLinesAsInterpreter() {
+        final ProductRecordParser interpreter = interpreter();
+        final ProductRecordParser compiled = compiled();
+
+        for (String line : BAD_LINES) {
+            final String expected = parseError(interpreter, line);
+            Assert.assertNotNull(expected, line);
+            Assert.assertEquals(parseError(compiled, line), expected, line);
+        }
+    }
+
+    public void reusedRecordsMatchNewRecords() {
+        for (ProductRecordParser parser : List.of(interpreter(), compiled())) {
+            final ProductRecord reused = parser.newRecord();
+
+            // Lines are parsed in both orders so that each value overwrites a different one
+            for (String line : LINES) {
+                Assert.assertSame(parser.apply(line, reused), reused);
+                Assert.assertEquals(reused, parser.apply(line), line);
+            }
+
+            for (int i = LINES.size() - 1; i >= 0; i--) {
+                final byte[] bytes = LINES.get(i).getBytes(StandardCharsets.US_ASCII);
+                parser.apply(ByteBuffer.wrap(bytes), 0, bytes.length, reused);
+                Assert.assertEquals(reused, parser.apply(LINES.get(i)), LINES.get(i));
+            }
+        }
+    }
+
+    public void projectedParsersOnlyDecodeSelectedFields() {
+        for (ProductRecordParser parser : List.of(interpreter(), compiled())) {
+            final ProductRecordParser projected = parser.project(Set.of("Flags", "Product ID"));
+
+            Assert.assertEquals(projected.isCompiled(), parser.isCompiled());
+            Assert.assertEquals(projected.getRecordSize(), parser.getRecordSize());
+            Assert.assertEquals(projected.getFields().size(), 2);
+
+            for (String line : LINES) {
+                final byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+                final ProductRecord expected = parser.apply(line);
+
+                for (ProductRecord actual : List.of(projected.apply(line),
+                        projected.apply(ByteBuffer.wrap(bytes), 0, bytes.length))) {
+                    Assert.assertEquals(actual.getProductId(), expected.getProductId(), line);
+                    Assert.assertEquals(actual.getFlags(), expected.getFlags(), line);
+                    Assert.assertNull(actual.getProductDescription(), line);
+                    Assert.assertNull(actual.getRegularSingularPrice(), line);
+                    Assert.assertNull(actual.getPromotionalSplitPrice(), line);
+                    Assert.assertNull(actual.getRegularForX(), line);
+                    Assert.assertNull(actual.getProductSize(), line);
+                }
+            }
+        }
+    }
+
+    public void projectedParsersValidateLengthAndSelectedFields() {
+        for (ProductRecordParser parser : List.of(interpreter(), compiled())) {
+            final ProductRecordParser withFlags = parser.project(Set.of("Flags"));
+            final ProductRecordParser withoutFlags = parser.project(Set.of("Product Description"));
+
+            // BAD_LINES hold a bad product ID, bad flags and a short line in that order
+            Assert.assertEquals(parseError(withFlags, BAD_LINES.get(1)), parseError(parser, BAD_LINES.get(1)));
+            Assert.assertNull(parseError(withFlags, BAD_LINES.get(0)));
+            Assert.assertNull(parseError(withoutFlags, BAD_LINES.get(1)));
+            Assert.assertEquals(parseError(withoutFlags, BAD_LINES.get(2)), parseError(parser, BAD_LINES.get(2)));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontProjectUnknownFields() {
+        interpreter().project(Set.of("Flags", "Unknown"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontProjectNoFields() {
+        compiled().project(Set.of());
+    }
+
+    private static String parseError(final ProductRecordParser parser, final String line) {
+        try {
+            parser.apply(line);
+            return null;
+        } catch (RecordParseException e) {
+            return e.getMessage();
+        }
+    }
+}
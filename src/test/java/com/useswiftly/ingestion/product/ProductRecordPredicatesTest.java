@@ -0,0 +1,64 @@
+package com.useswiftly.ingestion.product;
+
+import com.google.inject.Guice;
+import com.useswiftly.ingestion.product.app.ProductRecordIngestorModule;
+import com.useswiftly.ingestion.records.RecordPredicate;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Test
+public class ProductRecordPredicatesTest {
+    private static final List<String> LINES = List.of(
+            "80000001 Kimchi-flavored white rice                                  00000567 00000000 00000000 00000000 00000000 00000000 NNNNNNNNN      18oz",
+            "14963801 Generic Soda 12-pack                                        00000000 00000549 00001300 00000000 00000002 00000000 NNNNYNNNN   12x12oz",
+            "40123401 Marlboro Cigarettes                                         00001000 00000000 00000000 00000549 00000000 00000002 YNNNNNNNN          ",
+            "50133333 Fuji Apples (Organic)                                       00000349 00000000 00000000 00000000 00000000 00000000 NNYNYNNNN        lb");
+
+    private final ProductRecordPredicates predicates = Guice.createInjector(
+            new ProductRecordIngestorModule()).getInstance(ProductRecordPredicates.class);
+
+    public void canMatchFlags() {
+        Assert.assertEquals(matching(predicates.taxable()), List.of(14963801L, 50133333L));
+        Assert.assertEquals(matching(predicates.perWeight()), List.of(50133333L));
+    }
+
+    public void canMatchProductIdRange() {
+        Assert.assertEquals(matching(predicates.productIdBetween(40123401L, 80000000L)),
+                List.of(40123401L, 50133333L));
+    }
+
+    public void canMatchPromotionalPrices() {
+        Assert.assertEquals(matching(predicates.hasPromotionalPrice()), List.of(14963801L, 40123401L));
+        Assert.assertEquals(matching(predicates.hasPromotionalPrice().negate().and(predicates.taxable())),
+                List.of(50133333L));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void wontFindUnknownField() {
+        predicates.field("Unknown");
+    }
+
+    /**
+     * @return product IDs of the lines matching the predicate, which must be
+     *         the same whether the lines are read as characters or bytes
+     */
+    private static List<Long> matching(final RecordPredicate predicate) {
+        final List<Long> fromCharacters = LINES.stream()
+                .filter(line -> predicate.test(line, 0, line.length()))
+                .map(line -> Long.parseLong(line.substring(0, 8)))
+                .collect(Collectors.toList());
+        final List<Long> fromBytes = LINES.stream()
+                .filter(line -> predicate.test(ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII)),
+                        0, line.length()))
+                .map(line -> Long.parseLong(line.substring(0, 8)))
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(fromBytes, fromCharacters);
+        return fromCharacters;
+    }
+}
@@ -0,0 +1,187 @@
+package com.useswiftly.ingestion.product;
+
+import org.javamoney.moneta.FastMoney;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.money.Monetary;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.useswiftly.ingestion.product.TestRecordContexts.CURRENCY;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FIXED_POINT_ROUNDING;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FLAG_RULES;
+import static com.useswiftly.ingestion.product.TestRecordContexts.FORMAT;
+import static com.useswiftly.ingestion.product.TestRecordContexts.ROUNDING;
+
+@Test
+public class ProductRecordTableTest {
+    public void rowsHaveSameValuesAsRecords() {
+        final List<PrimitiveProductRecordImpl> records = IntStream.range(0, 100)
+                .mapToObj(ProductRecordTableTest::record)
+                .collect(Collectors.toList());
+        final ProductRecordTable table = builder().addAll(records.stream()).build();
+
+        Assert.assertEquals(table.size(), records.size());
+
+        for (int i = 0; i < records.size(); i++) {
+            final PrimitiveProductRecordImpl expected = records.get(i);
+            final ProductRecordTable.Row row = table.get(i);
+
+            Assert.assertEquals(row.getIndex(), i);
+            Assert.assertEquals(row.getProductId(), expected.getProductId());
+            Assert.assertEquals(row.getProductDescription(), expected.getProductDescription());
+            Assert.assertEquals(row.getRegularSingularPrice(), expected.getRegularSingularPrice());
+            Assert.assertEquals(row.getPromotionalSingularPrice(), expected.getPromotionalSingularPrice());
+            Assert.assertEquals(row.getRegularSplitPrice(), expected.getRegularSplitPrice());
+            Assert.assertEquals(row.getPromotionalSplitPrice(), expected.getPromotionalSplitPrice());
+            Assert.assertEquals(row.getRegularForX(), expected.getRegularForX());
+            Assert.assertEquals(row.getPromotionalForX(), expected.getPromotionalForX());
+            Assert.assertEquals(row.getFlags(), expected.getFlags());
+            Assert.assertEquals(row.getProductSize(), expected.getProductSize());
+            Assert.assertEquals(row.regularDisplayPrice(), expected.regularDisplayPrice());
+            Assert.assertEquals(row.calculateRegularCalculatorPrice(), expected.calculateRegularCalculatorPrice());
+            Assert.assertEquals(row.promotionalDisplayPrice(), expected.promotionalDisplayPrice());
+            Assert.assertEquals(row.calculatePromotionalCalculatorPrice(),
+                    expected.calculatePromotionalCalculatorPrice());
+            Assert.assertEquals(row.deriveUnitOfMeasure(), expected.deriveUnitOfMeasure());
+            Assert.assertEquals(row.calculateTaxRate(), expected.calculateTaxRate());
+            Assert.assertEquals(row.toRecord(), expected);
+        }
+    }
+
+    public void canStoreRecordsOfOtherTypes() {
+        final ProductRecord record = new ProductRecordImpl(null, FORMAT, ROUNDING)
+                .setProductId(BigInteger.valueOf(42L))
+                .setProductDescription("Crème fraîche")
+                .setRegularSingularPrice(FastMoney.of(3.49, CURRENCY))
+                .setRegularSplitPrice(FastMoney.zero(CURRENCY))
+                .setRegularForX(BigInteger.ZERO)
+                .setFlags(new ProductRecordFlags().setPerWeightItem(true));
+        final ProductRecordTable.Row row = builder().add(record).build().get(0);
+
+        Assert.assertEquals(row.getProductIdAsLong(), 42L);
+        Assert.assertEquals(row.getProductDescription(), "Crème fraîche");
+        Assert.assertEquals(row.getRegularSingularPrice(), FastMoney.of(3.49, CURRENCY));
+        Assert.assertEquals(row.getRegularForXAsInt(), 0);
+        Assert.assertEquals(row.getFlags(), ProductRecordFlags.valueOf(record.getFlags().getMask()));
+        Assert.assertEquals(row.deriveUnitOfMeasure(), UnitOfMeasure.POUND);
+    }
+
+    public void unsetValuesAreNull() {
+        final ProductRecordTable.Row row = builder()
+                .add(new PrimitiveProductRecordImpl(FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING))
+                .build().get(0);
+
+        Assert.assertNull(row.getProductId());
+        Assert.assertNull(row.getProductDescription());
+        Assert.assertNull(row.getRegularSingularPrice());
+        Assert.assertNull(row.getPromotionalForX());
+        Assert.assertNull(row.getFlags());
+        Assert.assertNull(row.getProductSize());
+        Assert.assertEquals(row.regularDisplayPrice(), "unknown");
+        Assert.assertNull(row.calculatePromotionalCalculatorPrice());
+    }
+
+    public void stringsCanSpanManyPages() {
+        final String description = String.format("%-59s", "Product description");
+        final ProductRecordTable.Builder builder = builder();
+        final int count = 40_000;
+
+        for (int i = 0; i < count; i++) {
+            builder.add(record(i).setProductDescription(description + i));
+        }
+
+        final ProductRecordTable table = builder.build();
+
+        Assert.assertTrue(table.estimateHeapBytes() > 2L * 1024L * 1024L);
+        Assert.assertEquals(table.get(0).getProductDescription(), description + 0);
+        Assert.assertEquals(table.get(count - 1).getProductDescription(), description + (count - 1));
+    }
+
+    public void canStoreEmptyStrings() {
+        final ProductRecordTable.Builder builder = builder();
+
+        // The first value is stored before any page has been allocated
+        builder.add(record(0).setProductDescription("").setProductSize(""));
+
+        // Fill the first page exactly before storing another empty value
+        final String filler = "x".repeat(1 << 15);
+        for (int i = 1; i <= 32; i++) {
+            builder.add(record(i).setProductDescription(filler).setProductSize(null));
+        }
+
+        builder.add(record(33).setProductDescription("").setProductSize(""));
+        builder.add(record(34).setProductDescription("After").setProductSize(""));
+
+        final ProductRecordTable table = builder.build();
+
+        Assert.assertEquals(table.get(0).getProductDescription(), "");
+        Assert.assertEquals(table.get(0).getProductSize(), "");
+        Assert.assertEquals(table.get(32).getProductDescription(), filler);
+        Assert.assertEquals(table.get(33).getProductDescription(), "");
+        Assert.assertEquals(table.get(33).getProductSize(), "");
+        Assert.assertEquals(table.get(34).getProductDescription(), "After");
+    }
+
+    public void iteratorAndStreamVisitAllRows() {
+        final ProductRecordTable table = builder()
+                .add(record(0))
+                .add(record(1))
+                .add(record(2))
+                .build();
+        final List<ProductRecord> iterated = new ArrayList<>();
+        table.forEach(iterated::add);
+
+        Assert.assertEquals(iterated, table.stream().collect(Collectors.toList()));
+        Assert.assertEquals(iterated.size(), 3);
+        Assert.assertEquals(iterated.get(2), table.get(2));
+    }
+
+    public void rowsOfDifferentTablesWithSameValuesAreEqual() {
+        final ProductRecordTable.Row first = builder().add(record(5)).build().get(0);
+        final ProductRecordTable.Row second = builder().add(record(4)).add(record(5)).build().get(1);
+
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(first.hashCode(), second.hashCode());
+        Assert.assertNotEquals(first, builder().add(record(4)).build().get(0));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void rowsAreReadOnly() {
+        builder().add(record(0)).build().get(0).setProductDescription("changed");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontStorePricesInOtherCurrencies() {
+        builder().add(record(0).setRegularSingularPriceInCents(100L, Monetary.getCurrency("EUR")));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void wontGetRowOutsideOfTable() {
+        builder().add(record(0)).build().get(1);
+    }
+
+    private static ProductRecordTable.Builder builder() {
+        return new ProductRecordTable.Builder(FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING, CURRENCY);
+    }
+
+    private static PrimitiveProductRecordImpl record(final int i) {
+        final boolean isSplit = i % 3 == 0;
+
+        return new PrimitiveProductRecordImpl(FLAG_RULES, FORMAT, FIXED_POINT_ROUNDING)
+                .setProductIdAsLong(80_000_000L + i)
+                .setProductDescription("Product " + i)
+                .setRegularSingularPriceInCents(isSplit ? 0L : 100L + i, CURRENCY)
+                .setRegularSplitPriceInCents(isSplit ? 1000L + i : 0L, CURRENCY)
+                .setRegularForXAsInt(isSplit ? 2 + i % 5 : 0)
+                .setPromotionalSingularPriceInCents(i % 2 == 0 ? 0L : 50L + i, CURRENCY)
+                .setPromotionalSplitPriceInCents(0L, CURRENCY)
+                .setPromotionalForXAsInt(0)
+                .setFlags(ProductRecordFlags.valueOf(i % 512))
+                .setProductSize(i % 4 == 0 ? null : i + "oz");
+    }
+}
@@ -0,0 +1,41 @@
+package com.useswiftly.ingestion.product;
+
+import com.useswiftly.ingestion.product.functions.CalculateTaxRateFunction;
+import com.useswiftly.ingestion.product.functions.DeriveUnitOfMeasureFunction;
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.useswiftly.ingestion.records.FixedPointRounding;
+import org.javamoney.moneta.format.CurrencyStyle;
+
+import javax.inject.Provider;
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryRounding;
+import javax.money.RoundingQueryBuilder;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * Record dependencies shared by the tests of records, tables and stores.
+ * They are configured the same as in
+ * {@link com.useswiftly.ingestion.product.app.ProductRecordIngestorModule}.
+ */
+final class TestRecordContexts {
+    static final CurrencyUnit CURRENCY = Monetary.getCurrency("USD");
+    static final MonetaryAmountFormat FORMAT = MonetaryFormats.getAmountFormat(
+            AmountFormatQueryBuilder.of(Locale.US).set(CurrencyStyle.SYMBOL).build());
+    static final MonetaryRounding ROUNDING = Monetary.getRounding(
+            RoundingQueryBuilder.of()
+                    .setScale(4)
+                    .set(RoundingMode.HALF_DOWN).build());
+    static final FixedPointRounding FIXED_POINT_ROUNDING = FixedPointRounding.of(ROUNDING);
+    static final Provider<BigDecimal> TAX_RATE = () -> new BigDecimal("7.775");
+    static final FlagRuleTable FLAG_RULES = new FlagRuleTable(
+            CalculateTaxRateFunction::taxRateFor, new DeriveUnitOfMeasureFunction(), TAX_RATE);
+
+    private TestRecordContexts() {
+    }
+}
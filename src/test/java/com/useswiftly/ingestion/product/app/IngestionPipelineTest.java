@@ -0,0 +1,188 @@
+package com.useswiftly.ingestion.product.app;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import com.useswiftly.ingestion.product.ProductRecord;
+import com.useswiftly.ingestion.product.ProductRecordParser;
+import com.useswiftly.ingestion.product.functions.FlagRuleTable;
+import com.google.inject.util.Modules;
+import com.useswiftly.ingestion.records.RecordFormattable;
+import com.useswiftly.ingestion.records.RecordParseException;
+import com.useswiftly.ingestion.records.ThreadLocalMonetaryAmountFormat;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.inject.Provider;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Test
+public class IngestionPipelineTest {
+    private static final String LINE_FORMAT =
+            "%08d Product %-51d 00000%03d 00000000 00000000 00000000 00000000 00000000 NNNNYNNNN      18oz";
+
+    private static final String PRICED_LINE_FORMAT =
+            "%08d Product %-51d %08d 00000000 00000000 %08d 00000000 00000002 NNNNYNNNN      18oz";
+
+    private final Injector injector = Guice.createInjector(new ProductRecordIngestorModule());
+    private final RecordFormattable<ProductRecord> formatter = injector.getInstance(
+            Key.get(new TypeLiteral<RecordFormattable<ProductRecord>>() {}));
+    private final ProductRecordParser parser = injector.getInstance(ProductRecordParser.class);
+
+    private IngestionPipeline pipeline(final int workers, final boolean ordered, final int chunkSize) {
+        return new IngestionPipeline(parser, formatter, injector.getInstance(FlagRuleTable.class),
+                injector.getInstance(Charset.class),
+                workers, ordered, chunkSize);
+    }
+
+    private static List<String> lines(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> String.format(LINE_FORMAT, i, i, i % 1000))
+                .collect(Collectors.toList());
+    }
+
+    private static ReadableByteChannel channel(final String data) {
+        return Channels.newChannel(new ByteArrayInputStream(
+                data.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private String expectedOutput(final List<String> lines) {
+        return lines.stream()
+                .filter(line -> !line.isBlank())
+                .map(line -> formatter.format(parser.apply(line)) + System.lineSeparator())
+                .collect(Collectors.joining());
+    }
+
+    public void orderedOutputMatchesSequentialFormatting() throws IOException {
+        final List<String> lines = lines(500);
+        final StringWriter output = new StringWriter();
+
+        // Small chunks so that lines span chunk boundaries
+        final long count = pipeline(4, true, 100)
+                .run(channel(String.join("\n", lines) + "\n"), output);
+
+        Assert.assertEquals(count, 500L);
+        Assert.assertEquals(output.toString(), expectedOutput(lines));
+    }
+
+    public void unorderedOutputContainsEveryRecord() throws IOException {
+        final List<String> lines = lines(500);
+        final StringWriter output = new StringWriter();
+
+        final long count = pipeline(4, false, 1000)
+                .run(channel(String.join("\n", lines)), output);
+
+        final String[] actual = output.toString().split(System.lineSeparator());
+        final String[] expected = expectedOutput(lines).split(System.lineSeparator());
+        Arrays.sort(actual);
+        Arrays.sort(expected);
+
+        Assert.assertEquals(count, 500L);
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void skipsBlankLinesAndCarriageReturns() throws IOException {
+        final List<String> lines = lines(3);
+        final String data = "\r\n" + lines.get(0) + "\r\n   \n" + lines.get(1) + "\n\n" + lines.get(2);
+        final StringWriter output = new StringWriter();
+
+        final long count = pipeline(2, true, 64).run(channel(data), output);
+
+        Assert.assertEquals(count, 3L);
+        Assert.assertEquals(output.toString(), expectedOutput(lines));
+    }
+
+    public void canProcessEmptyInput() throws IOException {
+        final StringWriter output = new StringWriter();
+
+        Assert.assertEquals(pipeline(3, true, 64).run(channel(""), output), 0L);
+        Assert.assertEquals(output.toString(), "");
+    }
+
+    public void appliesTaxRateChangedBetweenRuns() throws IOException {
+        final AtomicReference<BigDecimal> taxRate = new AtomicReference<>(new BigDecimal("7.775"));
+        final Injector taxInjector = Guice.createInjector(Modules.override(
+                new ProductRecordIngestorModule()).with(binder ->
+                binder.bind(BigDecimal.class).annotatedWith(Names.named("TaxRate"))
+                        .toProvider((Provider<BigDecimal>)taxRate::get)));
+        final IngestionPipeline taxPipeline = new IngestionPipeline(
+                taxInjector.getInstance(ProductRecordParser.class),
+                taxInjector.getInstance(Key.get(new TypeLiteral<RecordFormattable<ProductRecord>>() {})),
+                taxInjector.getInstance(FlagRuleTable.class), StandardCharsets.US_ASCII, 2, true, 64);
+        // The lines are taxable, so the output holds the tax rate
+        final String data = String.format(LINE_FORMAT, 1, 1, 100);
+
+        final StringWriter before = new StringWriter();
+        taxPipeline.run(channel(data), before);
+        Assert.assertTrue(before.toString().contains("taxRate=7.775]"), before.toString());
+
+        taxRate.set(new BigDecimal("8.25"));
+
+        final StringWriter after = new StringWriter();
+        taxPipeline.run(channel(data), after);
+        Assert.assertTrue(after.toString().contains("taxRate=8.25]"), after.toString());
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void willReportParseErrors() throws IOException {
+        final List<String> lines = lines(200);
+        final String data = String.join("\n", lines.subList(0, 100)) + "\nbad line\n"
+                + String.join("\n", lines.subList(100, 200));
+
+        pipeline(4, true, 256).run(channel(data), new StringWriter());
+    }
+
+    public void concurrentWorkersMatchSingleWorkerWithNonDefaultFormat() throws IOException {
+        // Prices in the German format are always rendered by Moneta
+        final MonetaryAmountFormat format = ThreadLocalMonetaryAmountFormat.of(
+                AmountFormatQueryBuilder.of(Locale.GERMANY).build());
+        final Injector germanInjector = Guice.createInjector(Modules.override(
+                new ProductRecordIngestorModule()).with(binder ->
+                binder.bind(MonetaryAmountFormat.class).toInstance(format)));
+        final ProductRecordParser germanParser = germanInjector.getInstance(ProductRecordParser.class);
+        final RecordFormattable<ProductRecord> germanFormatter = germanInjector.getInstance(
+                Key.get(new TypeLiteral<RecordFormattable<ProductRecord>>() {}));
+        final FlagRuleTable germanFlagRules = germanInjector.getInstance(FlagRuleTable.class);
+
+        // Distinct prices so that few formatted prices come from the price cache
+        final String data = IntStream.range(0, 20_000)
+                .mapToObj(i -> String.format(PRICED_LINE_FORMAT, i, i, (i * 7919L) % 100_000_000L,
+                        (i * 104_729L) % 100_000_000L))
+                .collect(Collectors.joining("\n"));
+
+        final StringWriter expected = new StringWriter();
+        new IngestionPipeline(germanParser, germanFormatter, germanFlagRules,
+                StandardCharsets.US_ASCII, 1, true, 4096)
+                .run(channel(data), expected);
+
+        final StringWriter actual = new StringWriter();
+        new IngestionPipeline(germanParser, germanFormatter, germanFlagRules,
+                StandardCharsets.US_ASCII, 8, true, 4096)
+                .run(channel(data), actual);
+
+        Assert.assertTrue(expected.toString().contains(" USD"));
+        Assert.assertEquals(actual.toString(), expected.toString());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontCreatePipelineWithoutWorkers() {
+        pipeline(0, true, 64);
+    }
+}
@@ -6,11 +6,15 @@ import com.useswiftly.ingestion.records.RecordParseException;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -84,4 +88,50 @@ public class FlagsFieldTest {
         final ProductRecord record = mock(ProductRecord.class);
         flagsField.convertAndAssignValueToRecord(String.valueOf(ys), record);
     }
+
+    public void canConvertByteRange() {
+        final FlagsField flagsField = new FlagsField();
+        final ByteBuffer source = ByteBuffer.wrap(
+                "xxNNYNYNNNYyy".getBytes(StandardCharsets.US_ASCII));
+
+        final ProductRecord record = mock(ProductRecord.class);
+        when(record.setFlags(any(ProductRecordFlags.class)))
+                .then(invocationOnMock -> {
+                    final ProductRecordFlags flags = invocationOnMock.getArgument(0);
+
+                    Assert.assertNotNull(flags);
+                    Assert.assertTrue(flags.isPerWeightItem());
+                    Assert.assertTrue(flags.isTaxableItem());
+                    Assert.assertTrue(flags.getFlagAtPosition(8));
+                    Assert.assertFalse(flags.getFlagAtPosition(0));
+
+                    return null;
+                });
+
+        flagsField.convertAndAssignValueToRecord(source, 2, 11, record);
+        verify(record).setFlags(any(ProductRecordFlags.class));
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontConvertBadByteCharacters() {
+        final FlagsField flagsField = new FlagsField();
+        final ByteBuffer source = ByteBuffer.wrap(
+                "NNNNyNNNN".getBytes(StandardCharsets.US_ASCII));
+
+        final ProductRecord record = mock(ProductRecord.class);
+        flagsField.convertAndAssignValueToRecord(source, 0, 9, record);
+    }
+
+    public void assignsCanonicalInstances() {
+        final FlagsField flagsField = new FlagsField();
+        final ByteBuffer source = ByteBuffer.wrap(
+                "NNYNYNNNY".getBytes(StandardCharsets.US_ASCII));
+
+        final ProductRecord record = mock(ProductRecord.class);
+        flagsField.convertAndAssignValueToRecord(source, 0, 9, record);
+        flagsField.convertAndAssignValueToRecord("NNYNYNNNY", record);
+
+        verify(record, times(2)).setFlags(ProductRecordFlags.valueOf(0b100010100));
+        verify(record, times(2)).setFlags(argThat(flags -> flags == ProductRecordFlags.valueOf(0b100010100)));
+    }
 }
@@ -0,0 +1,116 @@
+package com.useswiftly.ingestion.product.functions;
+
+import com.useswiftly.ingestion.records.FixedPointMoney;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.format.CurrencyStyle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryRounding;
+import javax.money.RoundingQueryBuilder;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+@Test
+public class DisplayPriceCacheTest {
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+    private static final MonetaryAmountFormat FORMAT = MonetaryFormats.getAmountFormat(
+            AmountFormatQueryBuilder.of(Locale.US).set(CurrencyStyle.SYMBOL).build());
+    private static final MonetaryAmountFormat OTHER_FORMAT = MonetaryFormats.getAmountFormat(
+            AmountFormatQueryBuilder.of(Locale.GERMANY).set(CurrencyStyle.SYMBOL).build());
+    private static final MonetaryRounding ROUNDING = Monetary.getRounding(
+            RoundingQueryBuilder.of()
+                    .setScale(4)
+                    .set(RoundingMode.HALF_DOWN).build());
+
+    public void canCacheDisplayPrice() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+        final FixedPointMoney price = FixedPointMoney.ofCents(1099L, USD);
+
+        Assert.assertNull(cache.getDisplayPrice(price, 2, FORMAT));
+        cache.putDisplayPrice(price, 2, FORMAT, "2 for $10.99");
+
+        Assert.assertEquals(cache.getDisplayPrice(FixedPointMoney.ofCents(1099L, USD), 2, FORMAT),
+                "2 for $10.99");
+        Assert.assertEquals(cache.getHitCount(), 1L);
+        Assert.assertEquals(cache.getMissCount(), 1L);
+    }
+
+    public void keyIncludesQuantityCurrencyAndFormat() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+        final FixedPointMoney price = FixedPointMoney.ofCents(1099L, USD);
+        cache.putDisplayPrice(price, 2, FORMAT, "2 for $10.99");
+
+        Assert.assertNull(cache.getDisplayPrice(price, 3, FORMAT));
+        Assert.assertNull(cache.getDisplayPrice(FixedPointMoney.ofCents(1099L,
+                Monetary.getCurrency("EUR")), 2, FORMAT));
+        Assert.assertNull(cache.getDisplayPrice(price, 2, OTHER_FORMAT));
+        Assert.assertEquals(cache.getMissCount(), 3L);
+    }
+
+    public void quantitiesNotGreaterThanZeroShareKey() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+        final FixedPointMoney price = FixedPointMoney.ofCents(1099L, USD);
+        cache.putDisplayPrice(price, -1, FORMAT, "$10.99");
+
+        Assert.assertEquals(cache.getDisplayPrice(price, 0, FORMAT), "$10.99");
+    }
+
+    public void displayAndCalculatorPricesAreSeparate() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+        final FixedPointMoney price = FixedPointMoney.ofCents(1000L, USD);
+        final MonetaryAmount calculatorPrice = FastMoney.of(5, USD);
+        cache.putCalculatorPrice(price, 2, ROUNDING, calculatorPrice);
+
+        Assert.assertNull(cache.getDisplayPrice(price, 2, FORMAT));
+        Assert.assertEquals(cache.getCalculatorPrice(price, 2, ROUNDING), calculatorPrice);
+    }
+
+    public void newKeyEvictsEntryInSameSlot() {
+        final DisplayPriceCache cache = new DisplayPriceCache(1);
+        final FixedPointMoney first = FixedPointMoney.ofCents(100L, USD);
+        final FixedPointMoney second = FixedPointMoney.ofCents(200L, USD);
+
+        cache.putDisplayPrice(first, 0, FORMAT, "$1.00");
+        cache.putDisplayPrice(first, 0, FORMAT, "$1.00");
+        Assert.assertEquals(cache.getEvictionCount(), 0L);
+
+        cache.putDisplayPrice(second, 0, FORMAT, "$2.00");
+
+        Assert.assertEquals(cache.getEvictionCount(), 1L);
+        Assert.assertNull(cache.getDisplayPrice(first, 0, FORMAT));
+        Assert.assertEquals(cache.getDisplayPrice(second, 0, FORMAT), "$2.00");
+    }
+
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        Assert.assertEquals(new DisplayPriceCache(1000).getCapacity(), 1024);
+        Assert.assertEquals(new DisplayPriceCache(1024).getCapacity(), 1024);
+    }
+
+    public void clearRemovesCachedValues() {
+        final DisplayPriceCache cache = new DisplayPriceCache();
+        final FixedPointMoney price = FixedPointMoney.ofCents(100L, USD);
+        cache.putDisplayPrice(price, 0, FORMAT, "$1.00");
+        cache.clear();
+
+        Assert.assertNull(cache.getDisplayPrice(price, 0, FORMAT));
+    }
+
+    public void canNotCacheAmountsWithTooManyDecimals() {
+        final MonetaryAmount amount = Monetary.getDefaultAmountFactory()
+                .setCurrency(USD).setNumber(new java.math.BigDecimal("1.000001")).create();
+
+        Assert.assertNull(DisplayPriceCache.keyOf(amount));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontCreateCacheWithoutCapacity() {
+        new DisplayPriceCache(0);
+    }
+}
@@ -0,0 +1,109 @@
+package com.useswiftly.ingestion.product.functions;
+
+import com.useswiftly.ingestion.product.ProductRecordFlags;
+import com.useswiftly.ingestion.product.UnitOfMeasure;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.inject.Provider;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Test
+public class FlagRuleTableTest {
+    public void tableMatchesRuleFunctionsForAllFlagCombinations() {
+        final Provider<BigDecimal> provider = () -> new BigDecimal("7.775");
+        final CalculateTaxRateFunction taxRateFunction = new CalculateTaxRateFunction(provider);
+        final DeriveUnitOfMeasureFunction unitOfMeasureFunction = new DeriveUnitOfMeasureFunction();
+        final FlagRuleTable table = new FlagRuleTable(CalculateTaxRateFunction::taxRateFor,
+                unitOfMeasureFunction, provider);
+
+        for (int mask = 0; mask < 1 << ProductRecordFlags.FLAG_COUNT; mask++) {
+            final ProductRecordFlags flags = ProductRecordFlags.valueOf(mask);
+
+            Assert.assertEquals(table.lookupTaxRate(flags), taxRateFunction.apply(flags));
+            Assert.assertEquals(table.lookupUnitOfMeasure(flags), unitOfMeasureFunction.apply(flags));
+        }
+    }
+
+    public void canLookupMutableFlags() {
+        final Provider<BigDecimal> provider = () -> new BigDecimal("7.775");
+        final FlagRuleTable table = new FlagRuleTable(CalculateTaxRateFunction::taxRateFor,
+                new DeriveUnitOfMeasureFunction(), provider);
+        final ProductRecordFlags flags = new ProductRecordFlags()
+                .setTaxableItem(true)
+                .setPerWeightItem(true);
+
+        Assert.assertEquals(table.lookupTaxRate(flags), new BigDecimal("7.775"));
+        Assert.assertEquals(table.lookupUnitOfMeasure(flags), UnitOfMeasure.POUND);
+    }
+
+    public void willReturnSameInstanceForRepeatedLookups() {
+        final Provider<BigDecimal> provider = () -> new BigDecimal("7.775");
+        final FlagRuleTable table = new FlagRuleTable(CalculateTaxRateFunction::taxRateFor,
+                new DeriveUnitOfMeasureFunction(), provider);
+        final ProductRecordFlags flags = ProductRecordFlags.valueOf(0b10000);
+
+        Assert.assertSame(table.lookupTaxRate(flags), table.lookupTaxRate(flags));
+    }
+
+    public void willOnlyRebuildOnRefreshWhenTaxRateChanges() {
+        final AtomicReference<BigDecimal> taxRate = new AtomicReference<>(new BigDecimal("7.775"));
+        final Provider<BigDecimal> provider = taxRate::get;
+        final FlagRuleTable table = new FlagRuleTable(CalculateTaxRateFunction::taxRateFor,
+                new DeriveUnitOfMeasureFunction(), provider);
+        final ProductRecordFlags taxable = ProductRecordFlags.valueOf(0b10000);
+        final BigDecimal built = table.lookupTaxRate(taxable);
+
+        Assert.assertEquals(built, new BigDecimal("7.775"));
+
+        // An equal rate of another scale keeps the table
+        taxRate.set(new BigDecimal("7.7750"));
+        Assert.assertFalse(table.refresh());
+        Assert.assertSame(table.lookupTaxRate(taxable), built);
+
+        taxRate.set(new BigDecimal("8.25"));
+        Assert.assertEquals(table.lookupTaxRate(taxable), new BigDecimal("7.775"));
+
+        Assert.assertTrue(table.refresh());
+        Assert.assertEquals(table.lookupTaxRate(taxable), new BigDecimal("8.25"));
+        Assert.assertEquals(table.lookupTaxRate(ProductRecordFlags.valueOf(0)), BigDecimal.ZERO);
+
+        taxRate.set(null);
+        Assert.assertTrue(table.refresh());
+        Assert.assertNull(table.lookupTaxRate(taxable));
+        Assert.assertFalse(table.refresh());
+    }
+
+    public void willReadTaxRateProviderOncePerBuild() {
+        final AtomicInteger reads = new AtomicInteger();
+        final Provider<BigDecimal> provider = () -> new BigDecimal(reads.incrementAndGet());
+        final FlagRuleTable table = new FlagRuleTable(CalculateTaxRateFunction::taxRateFor,
+                new DeriveUnitOfMeasureFunction(), provider);
+        final ProductRecordFlags taxable = ProductRecordFlags.valueOf(0b10000);
+
+        // Every taxable combination holds the rate read when the table was built
+        for (int mask = 0; mask < 1 << ProductRecordFlags.FLAG_COUNT; mask++) {
+            final ProductRecordFlags flags = ProductRecordFlags.valueOf(mask);
+            Assert.assertEquals(table.lookupTaxRate(flags),
+                    flags.isTaxableItem() ? BigDecimal.ONE : BigDecimal.ZERO);
+        }
+
+        Assert.assertEquals(reads.get(), 1);
+
+        Assert.assertTrue(table.refresh());
+        Assert.assertEquals(table.lookupTaxRate(taxable), new BigDecimal(2));
+        Assert.assertEquals(reads.get(), 2);
+    }
+
+    @SuppressWarnings("ConstantConditions")
+    public void willReturnNullIfFlagsAreNull() {
+        final Provider<BigDecimal> provider = () -> new BigDecimal("7.775");
+        final FlagRuleTable table = new FlagRuleTable(CalculateTaxRateFunction::taxRateFor,
+                new DeriveUnitOfMeasureFunction(), provider);
+
+        Assert.assertNull(table.lookupTaxRate(null));
+        Assert.assertNull(table.lookupUnitOfMeasure(null));
+    }
+}
@@ -5,6 +5,8 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 @Test
 public class BigIntegerFieldTest {
@@ -83,4 +85,46 @@ public class BigIntegerFieldTest {
         final FakeField field = new FakeField();
         field.convertStringToBigInteger("Something");
     }
+
+    public void canConvertCharacterRangeToBigInteger() {
+        final String original = "Product 00000349 ID";
+        final BigInteger expected = BigInteger.valueOf(349L);
+
+        final FakeField field = new FakeField();
+        final BigInteger actual = field.convertToBigInteger(original, 8, 16);
+
+        Assert.assertEquals(actual, expected,
+                "Didn't convert character range to BigInteger as expected");
+    }
+
+    public void canConvertByteRangeToBigInteger() {
+        final ByteBuffer original = ByteBuffer.wrap(
+                "Product -0000349 ID".getBytes(StandardCharsets.US_ASCII));
+        final BigInteger expected = BigInteger.valueOf(-349L);
+
+        final FakeField field = new FakeField();
+        final BigInteger actual = field.convertToBigInteger(original, 8, 16);
+
+        Assert.assertEquals(actual, expected,
+                "Didn't convert byte range to BigInteger as expected");
+    }
+
+    public void canConvertNumericStringLargerThanLongToBigInteger() {
+        final String original = "123456789012345678901234567890";
+        final BigInteger expected = new BigInteger(original);
+
+        final FakeField field = new FakeField();
+        final BigInteger actual = field.convertStringToBigInteger(original);
+
+        Assert.assertEquals(actual, expected,
+                "Didn't convert String to BigInteger as expected");
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void cantParseNonNumericByteRange() {
+        final ByteBuffer original = ByteBuffer.wrap(
+                "Something".getBytes(StandardCharsets.US_ASCII));
+        final FakeField field = new FakeField();
+        field.convertToBigInteger(original, 0, original.limit());
+    }
 }
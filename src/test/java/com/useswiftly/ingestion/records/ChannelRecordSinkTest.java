@@ -0,0 +1,173 @@
+package com.useswiftly.ingestion.records;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Test
+public class ChannelRecordSinkTest {
+    private static final String SEPARATOR = System.lineSeparator();
+
+    public void canWriteRecordsSpanningManyBuffers() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final String expected = IntStream.range(0, 1000)
+                .mapToObj(i -> "record " + i + SEPARATOR)
+                .collect(Collectors.joining());
+
+        try (RecordSink sink = new ChannelRecordSink(Channels.newChannel(out),
+                StandardCharsets.US_ASCII, 16)) {
+            for (int i = 0; i < 1000; i++) {
+                sink.write("record " + i);
+            }
+        }
+
+        Assert.assertEquals(out.toString(StandardCharsets.US_ASCII), expected);
+    }
+
+    public void flushWritesBufferedRecords() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (RecordSink sink = new ChannelRecordSink(Channels.newChannel(out),
+                StandardCharsets.US_ASCII)) {
+            sink.write("first");
+            Assert.assertEquals(out.size(), 0);
+
+            sink.flush();
+            Assert.assertEquals(out.toString(StandardCharsets.US_ASCII), "first" + SEPARATOR);
+        }
+    }
+
+    public void canEncodeMultiByteCharacters() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final String record = "Crème brûlée €5.49";
+
+        try (RecordSink sink = new ChannelRecordSink(Channels.newChannel(out),
+                StandardCharsets.UTF_8, 16)) {
+            sink.write(record);
+            sink.write(record);
+        }
+
+        Assert.assertEquals(out.toString(StandardCharsets.UTF_8),
+                record + SEPARATOR + record + SEPARATOR);
+    }
+
+    public void replacesCharactersOutsideOfSingleByteCharset() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (RecordSink sink = new ChannelRecordSink(Channels.newChannel(out),
+                StandardCharsets.US_ASCII)) {
+            sink.write("€5");
+        }
+
+        Assert.assertEquals(out.toString(StandardCharsets.US_ASCII), "?5" + SEPARATOR);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void willReportWriteFailures() throws IOException {
+        final WritableByteChannel failing = new WritableByteChannel() {
+            @Override
+            public int write(final ByteBuffer src) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        try (RecordSink sink = new ChannelRecordSink(failing, StandardCharsets.US_ASCII, 16)) {
+            for (int i = 0; i < 100; i++) {
+                sink.write("record " + i);
+            }
+
+            sink.flush();
+        }
+    }
+
+    @Test(timeOut = 10_000L)
+    public void willReportUncheckedWriteFailures() throws IOException {
+        final WritableByteChannel failing = new WritableByteChannel() {
+            @Override
+            public int write(final ByteBuffer src) {
+                throw new NonWritableChannelException();
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        final RecordSink sink = new ChannelRecordSink(failing, StandardCharsets.US_ASCII, 16);
+
+        try {
+            for (int i = 0; i < 100; i++) {
+                sink.write("record " + i);
+            }
+
+            sink.flush();
+            Assert.fail("Expected unchecked write failure to be reported");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getCause() instanceof NonWritableChannelException);
+        }
+
+        try {
+            sink.close();
+            Assert.fail("Expected unchecked write failure to be reported on close");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getCause() instanceof NonWritableChannelException);
+        }
+    }
+
+    public void nonClosingChannelIsLeftOpen() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final WritableByteChannel channel = Channels.newChannel(out);
+
+        try (RecordSink sink = new ChannelRecordSink(ChannelRecordSink.nonClosing(channel),
+                StandardCharsets.US_ASCII)) {
+            sink.write("first");
+        }
+
+        Assert.assertEquals(out.toString(StandardCharsets.US_ASCII), "first" + SEPARATOR);
+        Assert.assertTrue(channel.isOpen());
+    }
+
+    public void closingStdoutSinkLeavesStdoutOpen() throws IOException {
+        ChannelRecordSink.stdout(StandardCharsets.US_ASCII).close();
+
+        Assert.assertTrue(FileDescriptor.out.valid());
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void cantWriteAfterClose() throws IOException {
+        final RecordSink sink = new ChannelRecordSink(
+                Channels.newChannel(new ByteArrayOutputStream()), StandardCharsets.US_ASCII);
+        sink.close();
+        sink.write("record");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontCreateSinkWithTinyBuffer() {
+        new ChannelRecordSink(Channels.newChannel(new ByteArrayOutputStream()),
+                StandardCharsets.US_ASCII, 1);
+    }
+}
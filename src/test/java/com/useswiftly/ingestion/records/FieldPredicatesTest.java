@@ -0,0 +1,128 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Test
+public class FieldPredicatesTest {
+    private static class FakeRecord implements Record {
+    }
+
+    /**
+     * Field that only has a position, because predicates never convert values.
+     */
+    private static class FakeField implements Field<String, FakeRecord> {
+        private final int start;
+        private final int end;
+
+        private FakeField(final int start, final int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int getStartPositionInclusive() {
+            return start;
+        }
+
+        @Override
+        public int getEndPositionExclusive() {
+            return end;
+        }
+
+        @Override
+        public String getName() {
+            return "Fake Field";
+        }
+
+        @Override
+        public Class<String> getType() {
+            return String.class;
+        }
+
+        @Override
+        public void convertAndAssignValueToRecord(@NotNull final String substring,
+                                                  @NotNull final FakeRecord record) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final String LINE = "00000042 -0000150 NYNNY";
+
+    private static final FakeField ID = new FakeField(0, 8);
+    private static final FakeField PRICE = new FakeField(9, 17);
+    private static final FakeField FLAGS = new FakeField(18, 23);
+
+    public void numericFieldsAreDecodedFromCharacters() {
+        Assert.assertTrue(FieldPredicates.between(ID, 40L, 42L).test(LINE, 0, LINE.length()));
+        Assert.assertFalse(FieldPredicates.between(ID, 43L, 50L).test(LINE, 0, LINE.length()));
+        Assert.assertTrue(FieldPredicates.numeric(PRICE, value -> value == -150L)
+                .test(LINE, 0, LINE.length()));
+    }
+
+    public void numericFieldsAreDecodedFromBytes() {
+        final ByteBuffer source = bytes("xx" + LINE + "yy");
+
+        Assert.assertTrue(FieldPredicates.between(ID, 42L, 42L).test(source, 2, 2 + LINE.length()));
+        Assert.assertTrue(FieldPredicates.notZero(PRICE).test(source, 2, 2 + LINE.length()));
+        Assert.assertFalse(FieldPredicates.numeric(PRICE, value -> value > 0L)
+                .test(source, 2, 2 + LINE.length()));
+    }
+
+    public void flagsAreReadFromSingleCharacters() {
+        final ByteBuffer source = bytes(LINE);
+
+        Assert.assertFalse(FieldPredicates.flag(FLAGS, 0).test(LINE, 0, LINE.length()));
+        Assert.assertTrue(FieldPredicates.flag(FLAGS, 1).test(LINE, 0, LINE.length()));
+        Assert.assertTrue(FieldPredicates.flag(FLAGS, 4).test(source, 0, LINE.length()));
+        Assert.assertFalse(FieldPredicates.flag(FLAGS, 3).test(source, 0, LINE.length()));
+    }
+
+    public void predicatesCanBeCombined() {
+        final RecordPredicate idMatches = FieldPredicates.between(ID, 42L, 42L);
+        final RecordPredicate flagMatches = FieldPredicates.flag(FLAGS, 0);
+        final ByteBuffer source = bytes(LINE);
+
+        Assert.assertFalse(idMatches.and(flagMatches).test(LINE, 0, LINE.length()));
+        Assert.assertTrue(idMatches.or(flagMatches).test(source, 0, LINE.length()));
+        Assert.assertTrue(flagMatches.negate().test(source, 0, LINE.length()));
+        Assert.assertTrue(flagMatches.negate().and(idMatches).test(LINE, 0, LINE.length()));
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontMatchInvalidNumbers() {
+        final String line = "0000004X";
+        FieldPredicates.notZero(ID).test(bytes(line), 0, line.length());
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontMatchInvalidFlags() {
+        final String line = LINE.replace("NYNNY", "NXNNY");
+        FieldPredicates.flag(FLAGS, 1).test(line, 0, line.length());
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontReadPastEndOfLine() {
+        // The field would otherwise be read from the bytes of the next line
+        final ByteBuffer source = bytes(LINE + "\n" + LINE);
+        FieldPredicates.flag(FLAGS, 4).test(source, 0, 20);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontCreateFlagOutsideOfField() {
+        FieldPredicates.flag(FLAGS, 5);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontCreateNumericPredicateForWideField() {
+        FieldPredicates.notZero(new FakeField(0, 19));
+    }
+
+    private static ByteBuffer bytes(final String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
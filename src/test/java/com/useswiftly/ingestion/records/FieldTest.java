@@ -0,0 +1,76 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Test
+public class FieldTest {
+    private static class FakeRecord implements Record {
+        private String value;
+    }
+
+    /**
+     * Field that only implements the {@link String} based contract.
+     */
+    private static class FakeField implements Field<String, FakeRecord> {
+        @Override
+        public int getStartPositionInclusive() {
+            return 2;
+        }
+
+        @Override
+        public int getEndPositionExclusive() {
+            return 5;
+        }
+
+        @Override
+        public String getName() {
+            return "Fake Field";
+        }
+
+        @Override
+        public Class<String> getType() {
+            return String.class;
+        }
+
+        @Override
+        public void convertAndAssignValueToRecord(@NotNull final String substring,
+                                                  @NotNull final FakeRecord record) {
+            record.value = substring;
+        }
+    }
+
+    public void characterRangesAreAdaptedToStrings() {
+        final FakeRecord record = new FakeRecord();
+        new FakeField().convertAndAssignValueToRecord("xxabcyy", 2, 5, record);
+
+        Assert.assertEquals(record.value, "abc");
+    }
+
+    public void byteRangesAreAdaptedToStrings() {
+        final FakeRecord record = new FakeRecord();
+        final ByteBuffer source = ByteBuffer.wrap("xxabcyy".getBytes(StandardCharsets.US_ASCII));
+        new FakeField().convertAndAssignValueToRecord(source, 2, 5, record);
+
+        Assert.assertEquals(record.value, "abc");
+    }
+
+    public void canDecodeDirectByteRange() {
+        final byte[] bytes = "xxabcyy".getBytes(StandardCharsets.US_ASCII);
+        final ByteBuffer source = ByteBuffer.allocateDirect(bytes.length);
+        source.put(bytes);
+
+        Assert.assertEquals(Field.decodeString(source, 2, 5), "abc");
+    }
+
+    public void canDecodeSlicedHeapByteRange() {
+        final ByteBuffer source = ByteBuffer.wrap(
+                "--xxabcyy".getBytes(StandardCharsets.US_ASCII), 2, 7).slice();
+
+        Assert.assertEquals(Field.decodeString(source, 2, 5), "abc");
+    }
+}
@@ -0,0 +1,76 @@
+package com.useswiftly.ingestion.records;
+
+import org.javamoney.moneta.format.CurrencyStyle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+import java.util.Locale;
+import java.util.Random;
+
+@Test
+public class FixedPointMoneyFormatTest {
+    private static final CurrencyUnit USD = Monetary.getCurrency("USD");
+    private static final MonetaryAmountFormat FORMAT = MonetaryFormats.getAmountFormat(
+            AmountFormatQueryBuilder.of(Locale.US).set(CurrencyStyle.SYMBOL).build());
+
+    public void supportsDefaultUsFormat() {
+        Assert.assertTrue(FixedPointMoneyFormat.supports(FORMAT));
+    }
+
+    public void doesNotSupportOtherLocales() {
+        final MonetaryAmountFormat format = MonetaryFormats.getAmountFormat(
+                AmountFormatQueryBuilder.of(Locale.GERMANY).set(CurrencyStyle.SYMBOL).build());
+
+        Assert.assertFalse(FixedPointMoneyFormat.supports(format));
+    }
+
+    public void doesNotSupportOtherCurrencies() {
+        final FixedPointMoney amount = FixedPointMoney.ofCents(100L, Monetary.getCurrency("EUR"));
+
+        Assert.assertFalse(FixedPointMoneyFormat.supports(amount));
+    }
+
+    public void matchesDefaultFormatForEdgeCases() {
+        final long[] values = {
+                0L, 1L, -1L, 499L, 500L, 501L, 1_500L, 2_500L, -500L, -1_500L,
+                -4_999L, 99_999L, 100_000L, 123_456_789L, -1_922_233_300L,
+                100_000_000L, 99_999_999_999L, 123_456_789_012_345L,
+                Long.MAX_VALUE, Long.MIN_VALUE + 1L
+        };
+
+        for (long value : values) {
+            assertMatchesDefaultFormat(value);
+        }
+    }
+
+    public void matchesDefaultFormatForRandomAmounts() {
+        final Random random = new Random(42L);
+
+        for (int i = 0; i < 10_000; i++) {
+            // Mostly amounts of up to 8 digits of cents, like in the data file
+            final long value = i % 10 == 0 ?
+                    random.nextLong() / 1000L : (random.nextInt(200_000_000) - 100_000_000) * 10L;
+            assertMatchesDefaultFormat(value);
+        }
+    }
+
+    public void appendsToExistingContents() {
+        final StringBuilder out = new StringBuilder("price=");
+        FixedPointMoneyFormat.append(FixedPointMoney.ofCents(123_456L, USD), out);
+
+        Assert.assertEquals(out.toString(), "price=$1,234.56");
+    }
+
+    private static void assertMatchesDefaultFormat(final long unscaledValue) {
+        final FixedPointMoney amount = FixedPointMoney.of(unscaledValue, USD);
+        final String expected = FORMAT.format(amount.toMonetaryAmount());
+        final String actual = FixedPointMoneyFormat.append(amount, new StringBuilder()).toString();
+
+        Assert.assertEquals(actual, expected, "Unscaled value: " + unscaledValue);
+    }
+}
@@ -0,0 +1,104 @@
+package com.useswiftly.ingestion.records;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+@Test
+public class FixedPointMoneyTest {
+    private static final CurrencyUnit CURRENCY = Monetary.getCurrency("USD");
+
+    public void canCreateFromCents() {
+        final FixedPointMoney amount = FixedPointMoney.ofCents(-349L, CURRENCY);
+
+        Assert.assertEquals(amount.getUnscaledValue(), -349_000L);
+        Assert.assertEquals(amount.toMonetaryAmount(), FastMoney.of(-3.49, CURRENCY));
+    }
+
+    public void canRoundTripFastMoney() {
+        final MonetaryAmount expected = FastMoney.of(13312.12945, CURRENCY);
+        final MonetaryAmount actual = FixedPointMoney.from(expected).toMonetaryAmount();
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void canConvertOtherAmountTypes() {
+        final FixedPointMoney actual = FixedPointMoney.from(Money.of(new BigDecimal("10.5"), CURRENCY));
+        Assert.assertEquals(actual, FixedPointMoney.ofCents(1050L, CURRENCY));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void wontConvertAmountsWithTooManyDecimals() {
+        FixedPointMoney.from(Money.of(new BigDecimal("0.000001"), CURRENCY));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void wontDivideByZero() {
+        FixedPointMoney.ofCents(100L, CURRENCY).divide(0L);
+    }
+
+    public void divisionMatchesFastMoney() {
+        final Random random = new Random(5L);
+
+        for (int i = 0; i < 10_000; i++) {
+            final long cents = random.nextInt(200_000_000) - 100_000_000;
+            final int divisor = 1 + random.nextInt(99);
+            final FastMoney fastMoney = FastMoney.of(BigDecimal.valueOf(cents, 2), CURRENCY);
+
+            final MonetaryAmount expected = fastMoney.divide(BigDecimal.valueOf(divisor));
+            final MonetaryAmount actual = FixedPointMoney.ofCents(cents, CURRENCY)
+                    .divide(divisor).toMonetaryAmount();
+
+            Assert.assertEquals(actual, expected, cents + " / " + divisor);
+        }
+    }
+
+    public void roundingMatchesBigDecimal() {
+        final Random random = new Random(4L);
+        final RoundingMode[] modes = {
+                RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+                RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN
+        };
+
+        for (int i = 0; i < 10_000; i++) {
+            // Bias towards ties by using few significant digits
+            final long unscaled = random.nextBoolean()
+                    ? random.nextInt(2_000_000) - 1_000_000
+                    : (random.nextInt(2_000) - 1_000) * 5L;
+            final int scale = random.nextInt(FixedPointMoney.SCALE + 1);
+            final FixedPointMoney amount = FixedPointMoney.of(unscaled, CURRENCY);
+
+            for (RoundingMode mode : modes) {
+                final BigDecimal expected = BigDecimal.valueOf(unscaled, FixedPointMoney.SCALE)
+                        .setScale(scale, mode);
+                final BigDecimal actual = BigDecimal.valueOf(
+                        amount.round(scale, mode).getUnscaledValue(), FixedPointMoney.SCALE);
+
+                Assert.assertEquals(actual.compareTo(expected), 0,
+                        String.format("%s rounded to %d with %s", amount, scale, mode));
+            }
+        }
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void unnecessaryRoundingFailsWhenRoundingIsNeeded() {
+        FixedPointMoney.of(12_345L, CURRENCY).round(4, RoundingMode.UNNECESSARY);
+    }
+
+    public void unnecessaryRoundingPassesWhenExact() {
+        final FixedPointMoney amount = FixedPointMoney.of(12_340L, CURRENCY);
+        Assert.assertEquals(amount.round(4, RoundingMode.UNNECESSARY), amount);
+    }
+
+    public void toStringShowsCurrencyAndAmount() {
+        Assert.assertEquals(FixedPointMoney.ofCents(567L, CURRENCY).toString(), "USD 5.67000");
+    }
+}
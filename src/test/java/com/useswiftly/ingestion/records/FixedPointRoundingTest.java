@@ -0,0 +1,40 @@
+package com.useswiftly.ingestion.records;
+
+import org.javamoney.moneta.FastMoney;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryRounding;
+import javax.money.RoundingQueryBuilder;
+import java.math.RoundingMode;
+
+@Test
+public class FixedPointRoundingTest {
+    private static final CurrencyUnit CURRENCY = Monetary.getCurrency("USD");
+
+    public void scaleRoundingIsAppliedWithLongArithmetic() {
+        final MonetaryRounding rounding = Monetary.getRounding(
+                RoundingQueryBuilder.of().setScale(4).set(RoundingMode.HALF_DOWN).build());
+        final FixedPointRounding fixedPointRounding = FixedPointRounding.of(rounding);
+
+        Assert.assertTrue(fixedPointRounding.isFixedScale());
+
+        final FastMoney amount = FastMoney.of(3.33335, CURRENCY);
+        Assert.assertEquals(fixedPointRounding.apply(FixedPointMoney.from(amount)).toMonetaryAmount(),
+                amount.with(rounding));
+    }
+
+    public void otherRoundingsAreAppliedToMonetaryAmounts() {
+        // The default rounding doesn't have a fixed scale, it uses the currency's digits
+        final MonetaryRounding rounding = Monetary.getDefaultRounding();
+        final FixedPointRounding fixedPointRounding = FixedPointRounding.of(rounding);
+
+        Assert.assertFalse(fixedPointRounding.isFixedScale());
+
+        final FastMoney amount = FastMoney.of(3.335, CURRENCY);
+        Assert.assertEquals(fixedPointRounding.apply(FixedPointMoney.from(amount)).toMonetaryAmount(),
+                amount.with(rounding));
+    }
+}
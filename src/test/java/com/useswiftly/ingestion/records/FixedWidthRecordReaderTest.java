@@ -0,0 +1,223 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Test
+public class FixedWidthRecordReaderTest {
+    private static class FakeRecord implements Record {
+        private final String line;
+
+        private FakeRecord(final String line) {
+            this.line = line;
+        }
+    }
+
+    /**
+     * Field that only has a position, because the reader never converts keys.
+     */
+    private static class FakeField implements Field<String, FakeRecord> {
+        private final int start;
+        private final int end;
+
+        private FakeField(final int start, final int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int getStartPositionInclusive() {
+            return start;
+        }
+
+        @Override
+        public int getEndPositionExclusive() {
+            return end;
+        }
+
+        @Override
+        public String getName() {
+            return "Fake Key";
+        }
+
+        @Override
+        public Class<String> getType() {
+            return String.class;
+        }
+
+        @Override
+        public void convertAndAssignValueToRecord(@NotNull final String substring,
+                                                  @NotNull final FakeRecord record) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final int RECORD_WIDTH = 6;
+
+    private static final RecordBytesParser<FakeRecord> PARSER = (source, start, end) -> {
+        final byte[] bytes = new byte[end - start];
+
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = source.get(start + i);
+        }
+
+        return new FakeRecord(new String(bytes, StandardCharsets.US_ASCII));
+    };
+
+    private static final FakeField KEY = new FakeField(0, 4);
+
+    /**
+     * Records sorted by key with a duplicate key and no final line terminator.
+     */
+    private static final String SORTED = "0010 a\r\n0020 b\r\n0020 c\r\n0030 d\r\n0050 e";
+
+    public void sizeIsComputedFromFileLength() throws IOException {
+        final Path file = write(SORTED);
+
+        try (FixedWidthRecordReader<FakeRecord> reader = open(file, 16)) {
+            Assert.assertEquals(reader.size(), 5L);
+            Assert.assertEquals(reader.getLayout().getTerminatorLength(), 2);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void canReadRecordsByOrdinalAcrossWindows() throws IOException {
+        final Path file = write(SORTED);
+
+        // Windows of 2 records each, so the last window holds a single record
+        try (FixedWidthRecordReader<FakeRecord> reader = open(file, 16)) {
+            Assert.assertEquals(reader.get(4L).line, "0050 e");
+            Assert.assertEquals(reader.get(0L).line, "0010 a");
+            Assert.assertEquals(reader.get(3L).line, "0030 d");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void canReadRangesOfRecords() throws IOException {
+        final Path file = write(SORTED);
+
+        try (FixedWidthRecordReader<FakeRecord> reader = open(file, 16)) {
+            Assert.assertEquals(lines(reader, 1L, 4L), List.of("0020 b", "0020 c", "0030 d"));
+            Assert.assertEquals(reader.range(2L, 2L).count(), 0L);
+            Assert.assertEquals(reader.range(0L, 5L).parallel().map(record -> record.line)
+                    .collect(Collectors.toList()), List.of(SORTED.split("\r\n")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void canBinarySearchSortedKeys() throws IOException {
+        final Path file = write(SORTED);
+
+        try (FixedWidthRecordReader<FakeRecord> reader = open(file, 16)) {
+            Assert.assertEquals(reader.binarySearch(10L), 0L);
+            Assert.assertEquals(reader.binarySearch(20L), 1L);
+            Assert.assertEquals(reader.binarySearch(50L), 4L);
+            Assert.assertEquals(reader.binarySearch(5L), -1L);
+            Assert.assertEquals(reader.binarySearch(40L), -5L);
+            Assert.assertEquals(reader.binarySearch(60L), -6L);
+
+            final Optional<FakeRecord> found = reader.find(30L);
+            Assert.assertTrue(found.isPresent());
+            Assert.assertEquals(found.get().line, "0030 d");
+            Assert.assertFalse(reader.find(25L).isPresent());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void canBinarySearchEmptyFile() throws IOException {
+        final Path file = write("");
+
+        try (FixedWidthRecordReader<FakeRecord> reader = open(file, 16)) {
+            Assert.assertEquals(reader.size(), 0L);
+            Assert.assertEquals(reader.binarySearch(10L), -1L);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void wontReadPastLastRecord() throws IOException {
+        final Path file = write(SORTED);
+
+        try (FixedWidthRecordReader<FakeRecord> reader = open(file, 16)) {
+            reader.get(5L);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void wontSearchWithoutKeyField() throws IOException {
+        final Path file = write(SORTED);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             FixedWidthRecordReader<FakeRecord> reader =
+                     new FixedWidthRecordReader<>(channel, PARSER, RECORD_WIDTH, null)) {
+            reader.binarySearch(10L);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void wontReadAfterClose() throws IOException {
+        final Path file = write(SORTED);
+
+        try {
+            final FixedWidthRecordReader<FakeRecord> reader = open(file, 16);
+            reader.close();
+            Assert.assertTrue(reader.isClosed());
+            reader.get(0L);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontReadMisalignedRecords() throws IOException {
+        // The file size is consistent, but the second line is one character short
+        final Path file = write("0010 a\n0020 \n0030 dd");
+
+        try (FixedWidthRecordReader<FakeRecord> reader = open(file, 4096)) {
+            reader.get(1L);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<String> lines(final FixedWidthRecordReader<FakeRecord> reader,
+                                      final long fromInclusive,
+                                      final long toExclusive) {
+        return reader.range(fromInclusive, toExclusive)
+                .map(record -> record.line)
+                .collect(Collectors.toList());
+    }
+
+    private static FixedWidthRecordReader<FakeRecord> open(final Path file,
+                                                          final int windowSize) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new FixedWidthRecordReader<>(channel, PARSER,
+                FixedWidthLayout.detect(channel, RECORD_WIDTH), KEY, windowSize);
+    }
+
+    private static Path write(final String contents) throws IOException {
+        final Path file = Files.createTempFile("fixed-width-record-reader", ".txt");
+        Files.write(file, contents.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+}
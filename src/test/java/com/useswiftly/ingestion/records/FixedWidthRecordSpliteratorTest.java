@@ -0,0 +1,223 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@Test
+public class FixedWidthRecordSpliteratorTest {
+    private static class FakeRecord implements Record {
+        private final String line;
+
+        private FakeRecord(final String line) {
+            this.line = line;
+        }
+    }
+
+    private static final int RECORD_WIDTH = 4;
+
+    private static final RecordBytesParser<FakeRecord> PARSER = (source, start, end) -> {
+        final byte[] bytes = new byte[end - start];
+
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = source.get(start + i);
+        }
+
+        return new FakeRecord(new String(bytes, StandardCharsets.US_ASCII));
+    };
+
+    /**
+     * Matches records whose last digit is even.
+     */
+    private static final RecordPredicate EVEN = new RecordPredicate() {
+        @Override
+        public boolean test(@NotNull final ByteBuffer source, final int start, final int end) {
+            return (source.get(end - 1) - '0') % 2 == 0;
+        }
+
+        @Override
+        public boolean test(@NotNull final CharSequence source, final int start, final int end) {
+            return (source.charAt(end - 1) - '0') % 2 == 0;
+        }
+    };
+
+    public void canDetectNewLineLayout() throws IOException {
+        final FixedWidthLayout layout = detect("aaaa\nbbbb\ncccc\n");
+
+        Assert.assertEquals(layout.getTerminatorLength(), 1);
+        Assert.assertEquals(layout.getStride(), 5);
+        Assert.assertEquals(layout.getRecordCount(), 3L);
+    }
+
+    public void canDetectCarriageReturnLayout() throws IOException {
+        final FixedWidthLayout layout = detect("aaaa\r\nbbbb\r\ncccc\r\n");
+
+        Assert.assertEquals(layout.getTerminatorLength(), 2);
+        Assert.assertEquals(layout.getStride(), 6);
+        Assert.assertEquals(layout.getRecordCount(), 3L);
+    }
+
+    public void canDetectLayoutWithUnterminatedLastRecord() throws IOException {
+        final FixedWidthLayout layout = detect("aaaa\nbbbb\ncccc");
+        Assert.assertEquals(layout.getRecordCount(), 3L);
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontDetectLayoutWithWrongFirstLineWidth() throws IOException {
+        detect("aaa\nbbbb\ncccc\n");
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontDetectLayoutWithInconsistentFileSize() throws IOException {
+        detect("aaaa\nbbbb\n\ncccc\n");
+    }
+
+    public void reportsExactSize() throws IOException {
+        final Path file = write("aaaa\nbbbb\ncccc\ndddd\n");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final FixedWidthRecordSpliterator<FakeRecord> spliterator =
+                    new FixedWidthRecordSpliterator<>(channel, PARSER, RECORD_WIDTH);
+
+            Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+            Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+            Assert.assertEquals(spliterator.getExactSizeIfKnown(), 4L);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void canSplitByRecordCount() throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        final List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            final String line = String.format("%04d", i);
+            expected.add(line);
+            contents.append(line).append("\r\n");
+        }
+
+        final Path file = write(contents.toString());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final FixedWidthLayout layout = FixedWidthLayout.detect(channel, RECORD_WIDTH);
+            final FixedWidthRecordSpliterator<FakeRecord> spliterator =
+                    new FixedWidthRecordSpliterator<>(channel, PARSER, layout, 60, 16);
+
+            final Spliterator<FakeRecord> prefix = spliterator.trySplit();
+            Assert.assertNotNull(prefix);
+            Assert.assertEquals(prefix.estimateSize() + spliterator.estimateSize(), 1000L);
+
+            final List<String> actual = new ArrayList<>();
+            prefix.forEachRemaining(record -> actual.add(record.line));
+            spliterator.forEachRemaining(record -> actual.add(record.line));
+
+            Assert.assertEquals(actual, expected);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void canReadInParallel() throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        final List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            final String line = String.format("%04d", i);
+            expected.add(line);
+            contents.append(line).append('\n');
+        }
+
+        final Path file = write(contents.toString());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final FixedWidthLayout layout = FixedWidthLayout.detect(channel, RECORD_WIDTH);
+            final FixedWidthRecordSpliterator<FakeRecord> spliterator =
+                    new FixedWidthRecordSpliterator<>(channel, PARSER, layout, 4096, 64);
+
+            final List<String> actual = StreamSupport.stream(spliterator, true)
+                    .map(record -> record.line)
+                    .collect(Collectors.toList());
+
+            Assert.assertEquals(actual, expected);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void onlyParsesRecordsMatchingFilter() throws IOException {
+        final StringBuilder contents = new StringBuilder();
+
+        for (int i = 0; i < 10; i++) {
+            contents.append(String.format("%04d", i)).append('\n');
+        }
+
+        final Path file = write(contents.toString());
+        final AtomicInteger parsed = new AtomicInteger();
+        final RecordBytesParser<FakeRecord> countingParser = (source, start, end) -> {
+            parsed.incrementAndGet();
+            return PARSER.apply(source, start, end);
+        };
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final FixedWidthRecordSpliterator<FakeRecord> spliterator =
+                    new FixedWidthRecordSpliterator<>(channel, countingParser, EVEN, RECORD_WIDTH);
+
+            Assert.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+            Assert.assertEquals(spliterator.estimateSize(), 10L);
+
+            final List<String> actual = StreamSupport.stream(spliterator, false)
+                    .map(record -> record.line)
+                    .collect(Collectors.toList());
+
+            Assert.assertEquals(actual, List.of("0000", "0002", "0004", "0006", "0008"));
+            Assert.assertEquals(parsed.get(), 5);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontReadMisalignedRecords() throws IOException {
+        // File size is consistent with the layout, but the second line is short
+        final Path file = write("aaaa\nbbb\nccccc\ndddd\n");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final FixedWidthRecordSpliterator<FakeRecord> spliterator =
+                    new FixedWidthRecordSpliterator<>(channel, PARSER, RECORD_WIDTH);
+            spliterator.forEachRemaining(record -> { });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static FixedWidthLayout detect(final String contents) throws IOException {
+        final Path file = write(contents);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return FixedWidthLayout.detect(channel, RECORD_WIDTH);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static Path write(final String contents) throws IOException {
+        final Path file = Files.createTempFile("fixed-width-record-spliterator", ".txt");
+        Files.write(file, contents.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+}
@@ -0,0 +1,60 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Test
+public class IntegerFieldTest {
+    private static class FakeRecord implements Record {
+    }
+
+    private static class FakeField extends IntegerField<FakeRecord> {
+        @Override
+        public int getStartPositionInclusive() {
+            return 0;
+        }
+
+        @Override
+        public int getEndPositionExclusive() {
+            return 8;
+        }
+
+        @Override
+        public String getName() {
+            return "Fake Field";
+        }
+
+        @Override
+        public void convertAndAssignValueToRecord(@NotNull final String substring,
+                                                  @NotNull final FakeRecord record) {
+            throw new UnsupportedOperationException("Not implemented for test");
+        }
+    }
+
+    public void canConvertCharacterRangeToInt() {
+        final FakeField field = new FakeField();
+        Assert.assertEquals(field.convertToInt("x=00000002", 2, 10), 2);
+    }
+
+    public void canConvertByteRangeToInt() {
+        final ByteBuffer source = ByteBuffer.wrap("x=99999999".getBytes(StandardCharsets.US_ASCII));
+        final FakeField field = new FakeField();
+        Assert.assertEquals(field.convertToInt(source, 2, 10), 99999999);
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void cantParseValueLargerThanInt() {
+        final String source = "2147483648";
+        new FakeField().convertToInt(source, 0, source.length());
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void cantParseNonNumericBytes() {
+        final ByteBuffer source = ByteBuffer.wrap("0000000x".getBytes(StandardCharsets.US_ASCII));
+        new FakeField().convertToInt(source, 0, 8);
+    }
+}
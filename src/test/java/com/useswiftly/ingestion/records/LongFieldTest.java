@@ -0,0 +1,59 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+@Test
+public class LongFieldTest {
+    private static class FakeRecord implements Record {
+    }
+
+    private static class FakeField extends LongField<FakeRecord> {
+        @Override
+        public int getStartPositionInclusive() {
+            return 0;
+        }
+
+        @Override
+        public int getEndPositionExclusive() {
+            return 8;
+        }
+
+        @Override
+        public String getName() {
+            return "Fake Field";
+        }
+
+        @Override
+        public void convertAndAssignValueToRecord(@NotNull final String substring,
+                                                  @NotNull final FakeRecord record) {
+            throw new UnsupportedOperationException("Not implemented for test");
+        }
+    }
+
+    public void canConvertCharacterRangeToLong() {
+        final FakeField field = new FakeField();
+        Assert.assertEquals(field.convertToLong("id:80000001", 3, 11), 80000001L);
+    }
+
+    public void canConvertByteRangeToLong() {
+        final ByteBuffer source = ByteBuffer.wrap("id:-0000349".getBytes(StandardCharsets.US_ASCII));
+        final FakeField field = new FakeField();
+        Assert.assertEquals(field.convertToLong(source, 3, 11), -349L);
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void cantParseNonNumericCharacters() {
+        new FakeField().convertToLong("Something", 0, 9);
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void cantParseNonNumericBytes() {
+        final ByteBuffer source = ByteBuffer.wrap("Somethin".getBytes(StandardCharsets.US_ASCII));
+        new FakeField().convertToLong(source, 0, 8);
+    }
+}
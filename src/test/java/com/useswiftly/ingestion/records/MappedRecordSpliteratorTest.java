@@ -0,0 +1,194 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@Test
+public class MappedRecordSpliteratorTest {
+    private static class FakeRecord implements Record {
+        private final String line;
+
+        private FakeRecord(final String line) {
+            this.line = line;
+        }
+    }
+
+    private static final RecordBytesParser<FakeRecord> PARSER = (source, start, end) -> {
+        final byte[] bytes = new byte[end - start];
+
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = source.get(start + i);
+        }
+
+        return new FakeRecord(new String(bytes, StandardCharsets.US_ASCII));
+    };
+
+    public void canReadLinesWithNewLineTerminators() throws IOException {
+        final List<String> actual = readLines("aaaa\nbbbb\ncccc\n", 1024);
+        Assert.assertEquals(actual, List.of("aaaa", "bbbb", "cccc"));
+    }
+
+    public void canReadLinesWithCarriageReturnTerminators() throws IOException {
+        final List<String> actual = readLines("aaaa\r\nbbbb\r\ncccc\r\n", 1024);
+        Assert.assertEquals(actual, List.of("aaaa", "bbbb", "cccc"));
+    }
+
+    public void canReadLastLineWithoutTerminator() throws IOException {
+        final List<String> actual = readLines("aaaa\nbbbb\ncccc", 1024);
+        Assert.assertEquals(actual, List.of("aaaa", "bbbb", "cccc"));
+    }
+
+    public void willSkipBlankLines() throws IOException {
+        final List<String> actual = readLines("\naaaa\n   \n\nbbbb\n \t\n", 1024);
+        Assert.assertEquals(actual, List.of("aaaa", "bbbb"));
+    }
+
+    public void willSkipLinesNotMatchingFilter() throws IOException {
+        final RecordPredicate startsWithB = new RecordPredicate() {
+            @Override
+            public boolean test(@NotNull final ByteBuffer source, final int start, final int end) {
+                return source.get(start) == 'b';
+            }
+
+            @Override
+            public boolean test(@NotNull final CharSequence source, final int start, final int end) {
+                return source.charAt(start) == 'b';
+            }
+        };
+        final Path file = Files.createTempFile("mapped-record-spliterator", ".txt");
+
+        try {
+            Files.write(file, "aaaa\nbbbb\n\nbbcc\ncccc\n".getBytes(StandardCharsets.US_ASCII));
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final MappedRecordSpliterator<FakeRecord> spliterator =
+                        new MappedRecordSpliterator<>(channel, PARSER, startsWithB, 4);
+                final List<String> actual = StreamSupport.stream(spliterator, false)
+                        .map(record -> record.line)
+                        .collect(Collectors.toList());
+
+                Assert.assertEquals(actual, List.of("bbbb", "bbcc"));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void canReadLinesSpanningMultipleWindows() throws IOException {
+        final List<String> actual = readLines("aaaa\nbbbb\ncccc\ndddd\n", 7);
+        Assert.assertEquals(actual, List.of("aaaa", "bbbb", "cccc", "dddd"));
+    }
+
+    public void canReadEmptyFile() throws IOException {
+        final List<String> actual = readLines("", 1024);
+        Assert.assertTrue(actual.isEmpty());
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void wontReadLinesLongerThanWindow() throws IOException {
+        readLines("aaaaaaaaaa\nbbbb\n", 4);
+    }
+
+    public void canSplitIntoRangesAlignedToLines() throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        final List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            final String line = String.format("%04d", i);
+            expected.add(line);
+            contents.append(line).append(i % 7 == 0 ? "\r\n" : "\n");
+
+            if (i % 13 == 0) {
+                contents.append('\n');
+            }
+        }
+
+        final Path file = Files.createTempFile("mapped-record-spliterator", ".txt");
+
+        try {
+            Files.write(file, contents.toString().getBytes(StandardCharsets.US_ASCII));
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final MappedRecordSpliterator<FakeRecord> spliterator =
+                        new MappedRecordSpliterator<>(channel, PARSER, 4, 64, 16);
+                final List<String> actual = new ArrayList<>();
+                final int splits = drainInOrder(spliterator, actual);
+
+                Assert.assertTrue(splits > 1, "Spliterator was never split");
+                Assert.assertEquals(actual, expected);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void canEstimateSizeFromRecordWidth() throws IOException {
+        final Path file = Files.createTempFile("mapped-record-spliterator", ".txt");
+
+        try {
+            Files.write(file, "aaaa\nbbbb\ncccc\ndddd\n".getBytes(StandardCharsets.US_ASCII));
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final MappedRecordSpliterator<FakeRecord> spliterator =
+                        new MappedRecordSpliterator<>(channel, PARSER, 4);
+                Assert.assertEquals(spliterator.estimateSize(), 4L);
+                Assert.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Recursively splits a spliterator as far as possible and then reads every
+     * split in encounter order.
+     *
+     * @return total number of splits read
+     */
+    private static int drainInOrder(final Spliterator<FakeRecord> spliterator,
+                                    final List<String> lines) {
+        final Spliterator<FakeRecord> prefix = spliterator.trySplit();
+
+        if (prefix == null) {
+            spliterator.forEachRemaining(record -> lines.add(record.line));
+            return 1;
+        }
+
+        return drainInOrder(prefix, lines) + drainInOrder(spliterator, lines);
+    }
+
+    private static List<String> readLines(final String contents, final int windowSize)
+            throws IOException {
+        final Path file = Files.createTempFile("mapped-record-spliterator", ".txt");
+
+        try {
+            Files.write(file, contents.getBytes(StandardCharsets.US_ASCII));
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final MappedRecordSpliterator<FakeRecord> spliterator =
+                        new MappedRecordSpliterator<>(channel, PARSER, 4, windowSize,
+                                Long.MAX_VALUE);
+
+                return StreamSupport.stream(spliterator, false)
+                        .map(record -> record.line)
+                        .collect(Collectors.toList());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.testng.annotations.Test;
 import javax.money.CurrencyUnit;
 import javax.money.Monetary;
 import javax.money.MonetaryAmount;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 @Test
 public class MonetaryFieldTest {
@@ -89,4 +91,49 @@ public class MonetaryFieldTest {
         final FakeField field = new FakeField();
         field.convertStringToMonetaryAmount("something");
     }
+
+    public void canConvertCharacterRangeToCurrency() {
+        final String original = "price:00000349;";
+
+        final FakeField field = new FakeField();
+        final MonetaryAmount actual = field.convertToMonetaryAmount(original, 6, 14);
+        final MonetaryAmount expected = Monetary.getAmountFactory(FastMoney.class)
+                .setCurrency(TEST_CURRENCY).setNumber(3.49).create();
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void canConvertByteRangeToCurrency() {
+        final ByteBuffer original = ByteBuffer.wrap(
+                "price:-0000349;".getBytes(StandardCharsets.US_ASCII));
+
+        final FakeField field = new FakeField();
+        final MonetaryAmount actual = field.convertToMonetaryAmount(original, 6, 14);
+        final MonetaryAmount expected = Monetary.getAmountFactory(FastMoney.class)
+                .setCurrency(TEST_CURRENCY).setNumber(-3.49).create();
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void cantParseNonNumericByteRange() {
+        final ByteBuffer original = ByteBuffer.wrap(
+                "something".getBytes(StandardCharsets.US_ASCII));
+        final FakeField field = new FakeField();
+        field.convertToMonetaryAmount(original, 0, original.limit());
+    }
+
+    public void canConvertByteRangeToCents() {
+        final ByteBuffer original = ByteBuffer.wrap(
+                "price:-0000349;".getBytes(StandardCharsets.US_ASCII));
+
+        final FakeField field = new FakeField();
+        Assert.assertEquals(field.convertToCents(original, 6, 14), -349L);
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void cantParseNonNumericStringAsCents() {
+        final FakeField field = new FakeField();
+        field.convertToCents("something", 0, 9);
+    }
 }
@@ -0,0 +1,185 @@
+package com.useswiftly.ingestion.records;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+@Test
+public class NumericDecoderTest {
+    public void canDecodeCharacterRange() {
+        final String source = "xx00000349yy";
+        Assert.assertEquals(NumericDecoder.parseLong(source, 2, 10), 349L);
+    }
+
+    public void canDecodeByteRange() {
+        final ByteBuffer source = ByteBuffer.wrap("xx-0000349yy".getBytes(StandardCharsets.US_ASCII));
+        Assert.assertEquals(NumericDecoder.parseLong(source, 2, 10), -349L);
+    }
+
+    public void canDecodeExplicitPositiveSign() {
+        Assert.assertEquals(NumericDecoder.parseLong("+12", 0, 3), 12L);
+    }
+
+    public void canDecodeMaximumNumberOfDigits() {
+        final String source = "999999999999999999";
+        Assert.assertEquals(NumericDecoder.parseLong(source, 0, source.length()),
+                999_999_999_999_999_999L);
+    }
+
+    public void wontModifyBufferPosition() {
+        final ByteBuffer source = ByteBuffer.wrap("12345678".getBytes(StandardCharsets.US_ASCII));
+        source.position(3);
+
+        NumericDecoder.parseLong(source, 0, 8);
+
+        Assert.assertEquals(source.position(), 3);
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public void wontDecodeEmptyRange() {
+        NumericDecoder.parseLong("1234", 2, 2);
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public void wontDecodeSignWithoutDigits() {
+        NumericDecoder.parseLong("-", 0, 1);
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public void wontDecodeNonDigits() {
+        NumericDecoder.parseLong("12 4", 0, 4);
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public void wontDecodeNonDigitBytes() {
+        final ByteBuffer source = ByteBuffer.wrap("0000.349".getBytes(StandardCharsets.US_ASCII));
+        NumericDecoder.parseLong(source, 0, 8);
+    }
+
+    @Test(expectedExceptions = NumberFormatException.class)
+    public void wontDecodeTooManyDigits() {
+        final String source = "9999999999999999999";
+        NumericDecoder.parseLong(source, 0, source.length());
+    }
+
+    public void canDecodeEightDigitsInEitherByteOrder() {
+        final Random random = new Random(8L);
+
+        for (int i = 0; i < 10_000; i++) {
+            final long expected = random.nextInt(100_000_000);
+            final String text = String.format("%08d", expected);
+
+            Assert.assertEquals(NumericDecoder.parseLong(text, 0, 8), expected, text);
+            Assert.assertEquals(NumericDecoder.parseLong(bytes(text, ByteOrder.BIG_ENDIAN), 0, 8),
+                    expected, text);
+            Assert.assertEquals(NumericDecoder.parseLong(bytes(text, ByteOrder.LITTLE_ENDIAN), 0, 8),
+                    expected, text);
+        }
+    }
+
+    public void canDecodeSignedEightCharacters() {
+        final Random random = new Random(-8L);
+
+        for (int i = 0; i < 10_000; i++) {
+            final long digits = random.nextInt(10_000_000);
+            final boolean negative = random.nextBoolean();
+            final String text = String.format("%s%07d", negative ? "-" : "+", digits);
+            final long expected = negative ? -digits : digits;
+
+            Assert.assertEquals(NumericDecoder.parseLong(text, 0, 8), expected, text);
+            Assert.assertEquals(NumericDecoder.parseLong(bytes(text, ByteOrder.BIG_ENDIAN), 0, 8),
+                    expected, text);
+        }
+    }
+
+    public void canDecodeEightDigitsAtUnalignedOffset() {
+        final ByteBuffer source = bytes("abc12345678def", ByteOrder.BIG_ENDIAN);
+        Assert.assertEquals(NumericDecoder.parseLong(source, 3, 11), 12345678L);
+    }
+
+    public void wontDecodeEightCharactersWithAnyNonDigit() {
+        final byte[] digits = "12345678".getBytes(StandardCharsets.US_ASCII);
+
+        for (int position = 0; position < digits.length; position++) {
+            for (int value = 0; value < 256; value++) {
+                final boolean isDigit = value >= '0' && value <= '9';
+                final boolean isSign = position == 0 && (value == '-' || value == '+');
+
+                if (isDigit || isSign) {
+                    continue;
+                }
+
+                final byte[] invalid = digits.clone();
+                invalid[position] = (byte)value;
+
+                final String text = new String(invalid, StandardCharsets.ISO_8859_1);
+                assertInvalid(ByteBuffer.wrap(invalid), text);
+                assertInvalid(ByteBuffer.wrap(invalid).order(ByteOrder.LITTLE_ENDIAN), text);
+                assertInvalid(text);
+            }
+        }
+    }
+
+    public void wontDecodeEightCharactersWithWideCharacter() {
+        // Low byte of the character is the digit '1'
+        assertInvalid("1234567\u0131");
+    }
+
+    public void swarAndScalarDecodingAgree() {
+        final Random random = new Random(64L);
+        final byte[] bytes = new byte[8];
+
+        for (int i = 0; i < 100_000; i++) {
+            for (int j = 0; j < bytes.length; j++) {
+                // Mostly digits with the occasional byte near the digit range
+                bytes[j] = (byte)(random.nextInt(10) == 0 ? '*' + random.nextInt(32) : '0' + random.nextInt(10));
+            }
+
+            final ByteBuffer source = ByteBuffer.wrap(bytes);
+            Long scalar;
+
+            try {
+                scalar = NumericDecoder.parseLongScalar(source, 0, 8);
+            } catch (NumberFormatException e) {
+                scalar = null;
+            }
+
+            final long swar = NumericDecoder.parseEightCharacters(
+                    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getLong(0));
+
+            if (scalar == null) {
+                Assert.assertEquals(swar, Long.MIN_VALUE,
+                        new String(bytes, StandardCharsets.ISO_8859_1));
+            } else {
+                Assert.assertEquals(swar, scalar.longValue(),
+                        new String(bytes, StandardCharsets.ISO_8859_1));
+            }
+        }
+    }
+
+    private static ByteBuffer bytes(final String text, final ByteOrder order) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)).order(order);
+    }
+
+    private static void assertInvalid(final ByteBuffer source, final String text) {
+        try {
+            NumericDecoder.parseLong(source, 0, 8);
+            Assert.fail("Expected invalid bytes to be rejected: " + text);
+        } catch (NumberFormatException e) {
+            // expected
+        }
+    }
+
+    private static void assertInvalid(final String text) {
+        try {
+            NumericDecoder.parseLong(text, 0, 8);
+            Assert.fail("Expected invalid characters to be rejected: " + text);
+        } catch (NumberFormatException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies the default methods with a parser that only implements
+ * {@link RecordFileParser#parse(Reader)}.
+ */
+@Test
+public class RecordFileParserTest {
+    private static class FakeRecord implements Record {
+        private final String line;
+
+        private FakeRecord(final String line) {
+            this.line = line;
+        }
+    }
+
+    private static final RecordFileParser<FakeRecord> PARSER = new RecordFileParser<>() {
+        @Override
+        public Stream<FakeRecord> parse(@NotNull final Reader reader) {
+            return new BufferedReader(reader).lines().map(FakeRecord::new);
+        }
+    };
+
+    public void canParseFilesWithReaderParser() throws IOException {
+        final Path file = write("a\nb\nc");
+
+        try (Stream<FakeRecord> records = PARSER.parse(file, RecordLayout.FIXED_WIDTH)) {
+            Assert.assertEquals(records.map(record -> record.line).collect(Collectors.toList()),
+                    List.of("a", "b", "c"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public void canParseFilesForEachWithReaderParser() throws IOException {
+        final Path file = write("a\nb\nc");
+        final List<String> lines = new ArrayList<>();
+
+        try {
+            PARSER.forEachReusing(file, record -> lines.add(record.line));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        Assert.assertEquals(lines, List.of("a", "b", "c"));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void wontFilterWithReaderParser() throws IOException {
+        PARSER.parse(Path.of("unused"), RecordLayout.DELIMITED, mock(RecordPredicate.class));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void wontProjectWithReaderParser() {
+        PARSER.project(Set.of("Line"));
+    }
+
+    private static Path write(final String contents) throws IOException {
+        final Path file = Files.createTempFile("record-file-parser", ".txt");
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -41,4 +41,63 @@ public class RecordFlagsTest {
         final RecordFlags recordFlags = new RecordFlags(3);
         recordFlags.getFlagAtPosition(-1);
     }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void cantInstantiateWithMoreFlagsThanFitInMask() {
+        new RecordFlags(RecordFlags.MAX_FLAG_COUNT + 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void cantSetPositionEqualToSize() {
+        final RecordFlags recordFlags = new RecordFlags(3);
+        recordFlags.setFlagAtPosition(3, true);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void cantReadPositionEqualToSize() {
+        final RecordFlags recordFlags = new RecordFlags(3);
+        recordFlags.getFlagAtPosition(3);
+    }
+
+    public void canUseAllThirtyTwoFlags() {
+        final RecordFlags recordFlags = new RecordFlags(RecordFlags.MAX_FLAG_COUNT);
+        recordFlags.setFlagAtPosition(31, true);
+        recordFlags.setFlagAtPosition(0, true);
+
+        Assert.assertTrue(recordFlags.getFlagAtPosition(31));
+        Assert.assertEquals(recordFlags.getMask(), Integer.MIN_VALUE | 1);
+    }
+
+    public void canClearFlag() {
+        final RecordFlags recordFlags = new RecordFlags(3);
+        recordFlags.setFlagAtPosition(1, true);
+        recordFlags.setFlagAtPosition(1, false);
+
+        Assert.assertFalse(recordFlags.getFlagAtPosition(1));
+        Assert.assertEquals(recordFlags.getMask(), 0);
+    }
+
+    public void canIterateOverFlags() {
+        final RecordFlags recordFlags = new RecordFlags(3);
+        recordFlags.setFlagAtPosition(1, true);
+
+        final StringBuilder builder = new StringBuilder();
+        for (Boolean flag : recordFlags) {
+            builder.append(flag ? 'Y' : 'N');
+        }
+
+        Assert.assertEquals(builder.toString(), "NYN");
+        Assert.assertEquals(recordFlags.toString(), "NYN");
+    }
+
+    public void flagsWithSameValuesAreEqual() {
+        final RecordFlags a = new RecordFlags(3);
+        a.setFlagAtPosition(2, true);
+        final RecordFlags b = new RecordFlags(3);
+        b.setFlagAtPosition(2, true);
+
+        Assert.assertEquals(a, b);
+        Assert.assertEquals(a.hashCode(), b.hashCode());
+        Assert.assertNotEquals(a, new RecordFlags(4));
+    }
 }
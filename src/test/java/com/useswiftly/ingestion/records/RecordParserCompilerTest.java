@@ -0,0 +1,105 @@
+package com.useswiftly.ingestion.records;
+
+import org.jetbrains.annotations.NotNull;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Test
+public class RecordParserCompilerTest {
+    /**
+     * Field that records its name and value so that assignment order and
+     * positions can be verified.
+     */
+    private static class RecordingField implements Field<String, List<String>> {
+        private final String name;
+        private final int start;
+        private final int end;
+
+        private RecordingField(final String name, final int start, final int end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int getStartPositionInclusive() {
+            return start;
+        }
+
+        @Override
+        public int getEndPositionExclusive() {
+            return end;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<String> getType() {
+            return String.class;
+        }
+
+        @Override
+        public void convertAndAssignValueToRecord(@NotNull final String substring,
+                                                  @NotNull final List<String> record) {
+            record.add(name + '=' + substring);
+        }
+    }
+
+    private static final List<RecordingField> FIELDS = List.of(
+            new RecordingField("b", 4, 6),
+            new RecordingField("a", 0, 3),
+            new RecordingField("c", 7, 8));
+
+    public void canAssignFieldsInOrderFromBytes() {
+        final RecordParserCompiler.CompiledFields<List<String>> compiled =
+                RecordParserCompiler.compile(FIELDS);
+        final ByteBuffer source = ByteBuffer.wrap(
+                "--abc de f".getBytes(StandardCharsets.US_ASCII));
+        final List<String> record = new ArrayList<>();
+
+        compiled.assign(source, 2, record);
+
+        Assert.assertEquals(record, List.of("b=de", "a=abc", "c=f"));
+    }
+
+    public void canAssignFieldsInOrderFromCharacters() {
+        final RecordParserCompiler.CompiledFields<List<String>> compiled =
+                RecordParserCompiler.compile(FIELDS);
+        final List<String> record = new ArrayList<>();
+
+        compiled.assign("abc de f", 0, record);
+
+        Assert.assertEquals(record, List.of("b=de", "a=abc", "c=f"));
+    }
+
+    public void canCompileEmptyFieldList() {
+        final RecordParserCompiler.CompiledFields<List<String>> compiled =
+                RecordParserCompiler.compile(List.of());
+        final List<String> record = new ArrayList<>();
+
+        compiled.assign("abc", 0, record);
+
+        Assert.assertTrue(record.isEmpty());
+    }
+
+    @Test(expectedExceptions = RecordParseException.class)
+    public void willPropagateFieldExceptions() {
+        final Field<String, List<String>> failing = new RecordingField("x", 0, 1) {
+            @Override
+            public void convertAndAssignValueToRecord(@NotNull final String substring,
+                                                      @NotNull final List<String> record) {
+                throw new RecordParseException("bad field");
+            }
+        };
+
+        RecordParserCompiler.compile(List.of(failing)).assign("abc", 0, new ArrayList<>());
+    }
+}
@@ -4,12 +4,22 @@ import org.jetbrains.annotations.NotNull;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 @Test
 public class StringFieldTest {
     private static class FakeRecord implements Record {
     }
 
     private static class FakeField extends StringField<FakeRecord> {
+        private FakeField() {
+        }
+
+        private FakeField(final StringPool pool) {
+            super(pool);
+        }
+
         @Override
         public int getStartPositionInclusive() {
             return 0;
@@ -49,4 +59,52 @@ public class StringFieldTest {
 
         Assert.assertNull(actual);
     }
+
+    public void characterRangesWillBeTrimmed() {
+        final String original = "xx   string value   yy";
+
+        final FakeField field = new FakeField();
+        final String actual = field.convertToDisplayString(original, 2, 20);
+        final String expected = "string value";
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void byteRangesWillBeTrimmed() {
+        final ByteBuffer original = ByteBuffer.wrap(
+                "xx   string value   yy".getBytes(StandardCharsets.US_ASCII));
+
+        final FakeField field = new FakeField();
+        final String actual = field.convertToDisplayString(original, 2, 20);
+        final String expected = "string value";
+
+        Assert.assertEquals(actual, expected);
+    }
+
+    public void byteRangesEmptyAfterTrimWillBeNull() {
+        final ByteBuffer original = ByteBuffer.allocateDirect(8);
+
+        for (int i = 0; i < original.limit(); i++) {
+            original.put(i, (byte)' ');
+        }
+
+        final FakeField field = new FakeField();
+        final String actual = field.convertToDisplayString(original, 0, 8);
+
+        Assert.assertNull(actual);
+    }
+
+    public void pooledRangesReturnSameInstance() {
+        final ByteBuffer original = ByteBuffer.wrap(
+                " 12oz  12oz ".getBytes(StandardCharsets.US_ASCII));
+
+        final FakeField field = new FakeField(new StringPool());
+        final String first = field.convertToDisplayString(original, 0, 6);
+        final String second = field.convertToDisplayString(original, 6, 12);
+
+        Assert.assertEquals(first, "12oz");
+        Assert.assertSame(second, first);
+        Assert.assertSame(field.convertSubstringToDisplayString("12oz   "), first);
+        Assert.assertEquals(field.getPool().getHitCount(), 2L);
+    }
 }
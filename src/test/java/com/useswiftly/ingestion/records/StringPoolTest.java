@@ -0,0 +1,97 @@
+package com.useswiftly.ingestion.records;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+@Test
+public class StringPoolTest {
+    public void repeatedBytesReturnSameInstance() {
+        final StringPool pool = new StringPool();
+        final ByteBuffer first = ByteBuffer.wrap("xx12x12ozyy".getBytes(StandardCharsets.US_ASCII));
+        final ByteBuffer second = ByteBuffer.allocateDirect(16).put(
+                "  12x12oz".getBytes(StandardCharsets.US_ASCII));
+
+        final String expected = pool.intern(first, 2, 9);
+        final String actual = pool.intern(second, 2, 9);
+
+        Assert.assertEquals(expected, "12x12oz");
+        Assert.assertSame(actual, expected);
+        Assert.assertEquals(pool.getHitCount(), 1L);
+        Assert.assertEquals(pool.getMissCount(), 1L);
+        Assert.assertEquals(pool.getHitRate(), 0.5);
+        Assert.assertEquals(pool.getRetainedBytes(), 7L);
+    }
+
+    public void repeatedCharactersReturnSameInstance() {
+        final StringPool pool = new StringPool();
+        final String expected = pool.intern("  18oz", 2, 6);
+        final String actual = pool.intern(new StringBuilder("18oz  "), 0, 4);
+
+        Assert.assertEquals(expected, "18oz");
+        Assert.assertSame(actual, expected);
+    }
+
+    public void bytesAndCharactersShareValues() {
+        final StringPool pool = new StringPool();
+        final String expected = pool.intern("Crème fraîche", 0, 13);
+        final ByteBuffer bytes = ByteBuffer.wrap("Crème fraîche".getBytes(StandardCharsets.ISO_8859_1));
+
+        Assert.assertSame(pool.intern(bytes, 0, bytes.limit()), expected);
+    }
+
+    public void collidingValuesAreEvicted() {
+        final StringPool pool = new StringPool(1);
+
+        Assert.assertEquals(pool.intern("12oz", 0, 4), "12oz");
+        Assert.assertEquals(pool.intern("1 lb", 0, 4), "1 lb");
+        Assert.assertEquals(pool.intern("12oz", 0, 4), "12oz");
+        Assert.assertEquals(pool.getEvictionCount(), 2L);
+        Assert.assertEquals(pool.getHitCount(), 0L);
+        Assert.assertEquals(pool.getRetainedBytes(), 4L);
+    }
+
+    public void emptyPoolHasNoHitRate() {
+        Assert.assertEquals(new StringPool().getHitRate(), 0.0);
+    }
+
+    public void clearReleasesRetainedBytes() {
+        final StringPool pool = new StringPool();
+        final StringBuilder description = new StringBuilder("Generic Soda 12-pack");
+        final String first = pool.intern(description, 0, description.length());
+        pool.clear();
+
+        Assert.assertEquals(pool.getRetainedBytes(), 0L);
+        Assert.assertNotSame(pool.intern(description, 0, description.length()), first);
+    }
+
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        Assert.assertEquals(new StringPool(1000).getCapacity(), 1024);
+    }
+
+    public void concurrentLookupsReturnEqualValues() {
+        final StringPool pool = new StringPool(64);
+        final AtomicReferenceArray<String> results = new AtomicReferenceArray<>(10_000);
+
+        IntStream.range(0, results.length()).parallel().forEach(i -> {
+            final String value = "size " + (i % 100);
+            results.set(i, pool.intern(value, 0, value.length()));
+        });
+
+        for (int i = 0; i < results.length(); i++) {
+            Assert.assertEquals(results.get(i), "size " + (i % 100));
+        }
+
+        Assert.assertEquals(pool.getHitCount() + pool.getMissCount(), (long)results.length());
+        Assert.assertTrue(pool.getRetainedBytes() <= 64L * "size 99".length());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void wontCreateEmptyPool() {
+        new StringPool(0);
+    }
+}
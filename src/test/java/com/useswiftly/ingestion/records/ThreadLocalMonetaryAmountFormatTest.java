@@ -0,0 +1,69 @@
+package com.useswiftly.ingestion.records;
+
+import org.javamoney.moneta.format.CurrencyStyle;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+import javax.money.format.AmountFormatQuery;
+import javax.money.format.AmountFormatQueryBuilder;
+import javax.money.format.MonetaryAmountFormat;
+import javax.money.format.MonetaryFormats;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@Test
+public class ThreadLocalMonetaryAmountFormatTest {
+    private static final AmountFormatQuery GERMAN = AmountFormatQueryBuilder.of(Locale.GERMANY).build();
+    private static final MonetaryAmount AMOUNT = Monetary.getDefaultAmountFactory()
+            .setCurrency("EUR").setNumber(1234.5).create();
+
+    public void formatsLikeDelegate() {
+        final MonetaryAmountFormat format = ThreadLocalMonetaryAmountFormat.of(GERMAN);
+        final MonetaryAmountFormat delegate = MonetaryFormats.getAmountFormat(GERMAN);
+
+        Assert.assertEquals(format.format(AMOUNT), delegate.format(AMOUNT));
+        Assert.assertEquals(format.queryFrom(AMOUNT), delegate.format(AMOUNT));
+        Assert.assertEquals(format.getContext().get(Locale.class), Locale.GERMANY);
+    }
+
+    public void reportsContextOfDelegate() {
+        final MonetaryAmountFormat format = ThreadLocalMonetaryAmountFormat.of(
+                AmountFormatQueryBuilder.of(Locale.US).set(CurrencyStyle.SYMBOL).build());
+
+        Assert.assertTrue(FixedPointMoneyFormat.supports(format));
+        Assert.assertFalse(FixedPointMoneyFormat.supports(ThreadLocalMonetaryAmountFormat.of(GERMAN)));
+    }
+
+    public void usesSeparateDelegatePerThread() throws InterruptedException {
+        final List<MonetaryAmountFormat> created = new CopyOnWriteArrayList<>();
+        final MonetaryAmountFormat format = new ThreadLocalMonetaryAmountFormat(() -> {
+            final MonetaryAmountFormat delegate = MonetaryFormats.getAmountFormat(GERMAN);
+            created.add(delegate);
+            return delegate;
+        });
+        final Set<String> results = ConcurrentHashMap.newKeySet();
+
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                results.add(format.format(AMOUNT));
+                results.add(format.format(AMOUNT));
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // One delegate for the creating thread and one for each other thread
+        Assert.assertEquals(created.size(), threads.length + 1);
+        Assert.assertEquals(Set.copyOf(created).size(), created.size());
+        Assert.assertEquals(results, Set.of(MonetaryFormats.getAmountFormat(GERMAN).format(AMOUNT)));
+    }
+}